@@ -37,6 +37,30 @@ public enum AbilityKey {
     SERVER_SUPPORT_PERSISTENT_INSTANCE_BY_GRPC("supportPersistentInstanceByGrpc",
             "support persistent instance by grpc", AbilityMode.SERVER),
     
+    /**
+     * Server support parse and send compact binary payload body.
+     */
+    SERVER_SUPPORT_COMPACT_PAYLOAD("supportCompactPayload", "support compact binary payload body",
+            AbilityMode.SERVER),
+    
+    /**
+     * Server support incremental config listen with the digest of all listened configs.
+     */
+    SERVER_SUPPORT_CONFIG_LISTEN_DIGEST("supportConfigListenDigest", "support incremental config listen by digest",
+            AbilityMode.SERVER),
+    
+    /**
+     * Sdk client support parse and send compact binary payload body.
+     */
+    SDK_CLIENT_SUPPORT_COMPACT_PAYLOAD("supportCompactPayload", "support compact binary payload body",
+            AbilityMode.SDK_CLIENT),
+    
+    /**
+     * Cluster client support parse and send compact binary payload body.
+     */
+    CLUSTER_CLIENT_SUPPORT_COMPACT_PAYLOAD("supportCompactPayload", "support compact binary payload body",
+            AbilityMode.CLUSTER_CLIENT),
+    
     /**
      * For Test temporarily.
      */
@@ -45,6 +45,7 @@ public class SdkClientAbilities extends AbstractAbilityRegistry {
          *
          */
         // put ability here, which you want current client supports
+        supportedAbilities.put(AbilityKey.SDK_CLIENT_SUPPORT_COMPACT_PAYLOAD, true);
     }
     
     /**.
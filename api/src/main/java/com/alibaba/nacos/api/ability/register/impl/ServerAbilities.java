@@ -46,6 +46,8 @@ public class ServerAbilities extends AbstractAbilityRegistry {
          */
         // put ability here, which you want current server supports
         supportedAbilities.put(AbilityKey.SERVER_SUPPORT_PERSISTENT_INSTANCE_BY_GRPC, true);
+        supportedAbilities.put(AbilityKey.SERVER_SUPPORT_COMPACT_PAYLOAD, true);
+        supportedAbilities.put(AbilityKey.SERVER_SUPPORT_CONFIG_LISTEN_DIGEST, true);
     }
     
     /**.
@@ -32,6 +32,11 @@ public class ConfigChangeBatchListenResponse extends Response {
     
     List<ConfigContext> changedConfigs = new ArrayList<>();
     
+    /**
+     * Whether the listen digest of request is different from the server, client should listen all configs again.
+     */
+    boolean resyncRequired;
+    
     public ConfigChangeBatchListenResponse() {
     }
     
@@ -68,6 +73,24 @@ public class ConfigChangeBatchListenResponse extends Response {
         this.changedConfigs = changedConfigs;
     }
     
+    /**
+     * Getter method for property <tt>resyncRequired</tt>.
+     *
+     * @return property value of resyncRequired
+     */
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+    
+    /**
+     * Setter method for property <tt>resyncRequired</tt>.
+     *
+     * @param resyncRequired value to be assigned to property resyncRequired
+     */
+    public void setResyncRequired(boolean resyncRequired) {
+        this.resyncRequired = resyncRequired;
+    }
+    
     /**
      * build fail response.
      *
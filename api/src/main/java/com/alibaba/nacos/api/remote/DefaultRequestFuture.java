@@ -74,11 +74,26 @@ public class DefaultRequestFuture implements RequestFuture {
     
     public DefaultRequestFuture(String connectionId, String requestId, RequestCallBack requestCallBack,
             TimeoutInnerTrigger timeoutInnerTrigger) {
+        this(connectionId, requestId, requestCallBack, timeoutInnerTrigger, true);
+    }
+    
+    /**
+     * Create future of request.
+     *
+     * @param connectionId        connection id
+     * @param requestId           request id
+     * @param requestCallBack     callback of request, nullable
+     * @param timeoutInnerTrigger trigger on timeout, nullable
+     * @param scheduleTimeout     whether schedule the timeout of callback by this future, if false, the caller should
+     *                            call {@link #onTimeout()} after the timeout of callback.
+     */
+    public DefaultRequestFuture(String connectionId, String requestId, RequestCallBack requestCallBack,
+            TimeoutInnerTrigger timeoutInnerTrigger, boolean scheduleTimeout) {
         this.timeStamp = System.currentTimeMillis();
         this.requestCallBack = requestCallBack;
         this.requestId = requestId;
         this.connectionId = connectionId;
-        if (requestCallBack != null) {
+        if (requestCallBack != null && scheduleTimeout) {
             this.timeoutFuture = RpcScheduledExecutor.TIMEOUT_SCHEDULER
                     .schedule(new TimeoutHandler(), requestCallBack.getTimeout(), TimeUnit.MILLISECONDS);
         }
@@ -110,6 +125,15 @@ public class DefaultRequestFuture implements RequestFuture {
         callBacInvoke();
     }
     
+    /**
+     * Fail the future by timeout of callback if it is not done yet.
+     */
+    public void onTimeout() {
+        if (!isDone && requestCallBack != null) {
+            new TimeoutHandler().run();
+        }
+    }
+    
     private void callBacInvoke() {
         if (requestCallBack != null) {
             if (requestCallBack.getExecutor() != null) {
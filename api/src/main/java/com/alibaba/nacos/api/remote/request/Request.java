@@ -17,6 +17,8 @@
 package com.alibaba.nacos.api.remote.request;
 
 import com.alibaba.nacos.api.remote.Payload;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -102,10 +104,11 @@ public abstract class Request implements Payload {
     public abstract String getModule();
     
     /**
-     * Getter method for property <tt>headers</tt>.
+     * Getter method for property <tt>headers</tt>, headers are sent in the metadata of payload but not the body.
      *
      * @return property value of headers
      */
+    @JsonIgnore
     public Map<String, String> getHeaders() {
         return headers;
     }
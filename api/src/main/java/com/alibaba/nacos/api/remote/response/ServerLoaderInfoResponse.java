@@ -31,6 +31,16 @@ public class ServerLoaderInfoResponse extends Response {
     
     Map<String, String> loaderMetrics = new HashMap<>();
     
+    /**
+     * client ip -> connection count, only client ips which might reach the connection limit in cluster are included.
+     */
+    Map<String, Integer> clientIpCounts = new HashMap<>();
+    
+    /**
+     * label key -> label value -> connection count, only labels with connection limit in cluster are included.
+     */
+    Map<String, Map<String, Integer>> labelCounts = new HashMap<>();
+    
     public String getMetricsValue(String key) {
         return loaderMetrics.get(key);
     }
@@ -56,4 +66,20 @@ public class ServerLoaderInfoResponse extends Response {
     public void setLoaderMetrics(Map<String, String> loaderMetrics) {
         this.loaderMetrics = loaderMetrics;
     }
-}
\ No newline at end of file
+    
+    public Map<String, Integer> getClientIpCounts() {
+        return clientIpCounts;
+    }
+    
+    public void setClientIpCounts(Map<String, Integer> clientIpCounts) {
+        this.clientIpCounts = clientIpCounts;
+    }
+    
+    public Map<String, Map<String, Integer>> getLabelCounts() {
+        return labelCounts;
+    }
+    
+    public void setLabelCounts(Map<String, Map<String, Integer>> labelCounts) {
+        this.labelCounts = labelCounts;
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.api.ability.register.impl;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
 import org.junit.Test;
 
 import static org.junit.Assert.assertTrue;
@@ -24,7 +25,6 @@ public class SdkClientAbilitiesTest {
     
     @Test
     public void testGetStaticAbilities() {
-        // TODO add the sdk client abilities.
-        assertTrue(SdkClientAbilities.getStaticAbilities().isEmpty());
+        assertTrue(SdkClientAbilities.getStaticAbilities().get(AbilityKey.SDK_CLIENT_SUPPORT_COMPACT_PAYLOAD));
     }
 }
\ No newline at end of file
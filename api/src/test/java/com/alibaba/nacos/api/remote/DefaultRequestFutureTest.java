@@ -276,6 +276,20 @@ public class DefaultRequestFutureTest {
         assertEquals(callback, requestFuture.getRequestCallBack());
     }
     
+    @Test
+    public void testASyncGetResponseFailureWithTimeoutByCaller() throws InterruptedException {
+        MockTimeoutInnerTrigger trigger = new MockTimeoutInnerTrigger();
+        MockRequestCallback callback = new MockRequestCallback(100L);
+        final DefaultRequestFuture requestFuture = new DefaultRequestFuture(CONNECTION_ID, REQUEST_ID, callback, trigger,
+                false);
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertNull(callback.exception);
+        assertFalse(trigger.isTimeout);
+        requestFuture.onTimeout();
+        assertTrue(callback.exception instanceof TimeoutException);
+        assertTrue(trigger.isTimeout);
+    }
+    
     private class MockTimeoutInnerTrigger implements DefaultRequestFuture.TimeoutInnerTrigger {
         
         boolean isTimeout;
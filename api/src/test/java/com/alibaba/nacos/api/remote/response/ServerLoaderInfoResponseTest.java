@@ -52,4 +52,13 @@ public class ServerLoaderInfoResponseTest {
         assertEquals(1, response.getLoaderMetrics().size());
         assertEquals("testValue", response.getMetricsValue("test"));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testDeserializationWithConnectionCounts() throws JsonProcessingException {
+        String json = "{\"resultCode\":200,\"errorCode\":0,\"loaderMetrics\":{},\"clientIpCounts\":{\"1.1.1.1\":3},"
+                + "\"labelCounts\":{\"app\":{\"test\":2}},\"success\":true}";
+        ServerLoaderInfoResponse response = mapper.readValue(json, ServerLoaderInfoResponse.class);
+        assertEquals(3, response.getClientIpCounts().get("1.1.1.1").intValue());
+        assertEquals(2, response.getLabelCounts().get("app").get("test").intValue());
+    }
+}
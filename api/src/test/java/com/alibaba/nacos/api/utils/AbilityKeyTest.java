@@ -95,21 +95,21 @@ public class AbilityKeyTest {
     @Test
     public void testGetAllValues() {
         Collection<AbilityKey> actual = AbilityKey.getAllValues(AbilityMode.SERVER);
-        assertEquals(3, actual.size());
+        assertEquals(5, actual.size());
         actual = AbilityKey.getAllValues(AbilityMode.SDK_CLIENT);
-        assertEquals(1, actual.size());
+        assertEquals(2, actual.size());
         actual = AbilityKey.getAllValues(AbilityMode.CLUSTER_CLIENT);
-        assertEquals(1, actual.size());
+        assertEquals(2, actual.size());
     }
     
     @Test
     public void testGetAllNames() {
         Collection<String> actual = AbilityKey.getAllNames(AbilityMode.SERVER);
-        assertEquals(3, actual.size());
+        assertEquals(5, actual.size());
         actual = AbilityKey.getAllNames(AbilityMode.SDK_CLIENT);
-        assertEquals(1, actual.size());
+        assertEquals(2, actual.size());
         actual = AbilityKey.getAllNames(AbilityMode.CLUSTER_CLIENT);
-        assertEquals(1, actual.size());
+        assertEquals(2, actual.size());
     }
     
     @Test
@@ -152,6 +152,16 @@ public class CacheData {
      */
     private volatile boolean isDiscard = false;
     
+    /**
+     * if the failover file of cache data is watched, it is only checked after changed, otherwise in every listen loop.
+     */
+    private volatile boolean isFailoverFileWatched = false;
+    
+    /**
+     * if the failover file of cache data may be changed since last check.
+     */
+    private final AtomicBoolean isFailoverFileChanged = new AtomicBoolean(true);
+    
     private String type;
     
     public boolean isInitializing() {
@@ -284,6 +294,23 @@ public class CacheData {
         }
     }
     
+    public void setFailoverFileWatched(boolean failoverFileWatched) {
+        this.isFailoverFileWatched = failoverFileWatched;
+    }
+    
+    public void markFailoverFileChanged() {
+        isFailoverFileChanged.set(true);
+    }
+    
+    /**
+     * Whether the failover file should be checked, a watched file is checked once after each change.
+     *
+     * @return true if the failover file should be checked
+     */
+    public boolean needCheckFailoverFile() {
+        return !isFailoverFileWatched || isFailoverFileChanged.compareAndSet(true, false);
+    }
+    
     public int getTaskId() {
         return taskId;
     }
@@ -17,6 +17,8 @@
 package com.alibaba.nacos.client.config.impl;
 
 import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.ability.constant.AbilityStatus;
 import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.config.ConfigType;
 import com.alibaba.nacos.api.config.listener.Listener;
@@ -46,6 +48,7 @@ import com.alibaba.nacos.client.monitor.MetricsMonitor;
 import com.alibaba.nacos.client.naming.utils.CollectionUtils;
 import com.alibaba.nacos.client.utils.AppNameUtils;
 import com.alibaba.nacos.client.utils.EnvUtil;
+import com.alibaba.nacos.client.utils.FailoverFileWatcher;
 import com.alibaba.nacos.client.utils.LogUtils;
 import com.alibaba.nacos.client.utils.ParamUtil;
 import com.alibaba.nacos.client.utils.TenantUtil;
@@ -67,6 +70,7 @@ import com.alibaba.nacos.common.utils.ConnLabelsUtils;
 import com.alibaba.nacos.common.utils.ConvertUtils;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.common.utils.MapDigest;
 import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.common.utils.VersionUtils;
@@ -78,6 +82,7 @@ import org.slf4j.Logger;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -89,6 +94,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -129,6 +135,11 @@ public class ClientWorker implements Closeable {
      */
     private final AtomicReference<Map<String, CacheData>> cacheMap = new AtomicReference<>(new HashMap<>());
     
+    /**
+     * groupKey -> listener of failover file, the failover file of cache data is checked only after it is changed.
+     */
+    private final Map<String, FailoverFileListener> failoverFileListeners = new ConcurrentHashMap<>();
+    
     private final DefaultLabelsCollectorManager defaultLabelsCollectorManager = new DefaultLabelsCollectorManager();
     
     private Map<String, String> appLables = new HashMap<>();
@@ -292,6 +303,7 @@ public class ClientWorker implements Closeable {
             if (remove != null) {
                 decreaseTaskIdCount(remove.getTaskId());
             }
+            unwatchFailoverFile(groupKey);
             cacheMap.set(copy);
         }
         LOGGER.info("[{}] [unsubscribe] {}", agent.getName(), groupKey);
@@ -362,6 +374,7 @@ public class ClientWorker implements Closeable {
                 int taskId = calculateTaskId();
                 increaseTaskIdCount(taskId);
                 cache.setTaskId(taskId);
+                watchFailoverFile(key, cache);
             }
             
             Map<String, CacheData> copy = new HashMap<>(cacheMap.get());
@@ -410,6 +423,7 @@ public class ClientWorker implements Closeable {
                     cache.setEncryptedDataKey(response.getEncryptedDataKey());
                     cache.setContent(response.getContent());
                 }
+                watchFailoverFile(key, cache);
             }
             
             Map<String, CacheData> copy = new HashMap<>(this.cacheMap.get());
@@ -437,6 +451,28 @@ public class ClientWorker implements Closeable {
         }
     }
     
+    private void watchFailoverFile(String groupKey, CacheData cache) {
+        try {
+            File file = LocalConfigInfoProcessor.getFailoverFile(cache.envName, cache.dataId, cache.group,
+                    cache.tenant);
+            FailoverFileListener listener = new FailoverFileListener(file, cache);
+            if (FailoverFileWatcher.getInstance().watch(file, listener)) {
+                failoverFileListeners.put(groupKey, listener);
+                cache.setFailoverFileWatched(true);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("[{}] [failover-watch] watch failover file failed, check it in every listen loop. {}",
+                    agent.getName(), groupKey, e);
+        }
+    }
+    
+    private void unwatchFailoverFile(String groupKey) {
+        FailoverFileListener listener = failoverFileListeners.remove(groupKey);
+        if (null != listener) {
+            FailoverFileWatcher.getInstance().unwatch(listener.file, listener);
+        }
+    }
+    
     private void increaseTaskIdCount(int taskId) {
         taskIdCacheCountList.get(taskId).incrementAndGet();
     }
@@ -569,6 +605,9 @@ public class ClientWorker implements Closeable {
         if (agent != null) {
             agent.shutdown();
         }
+        for (String groupKey : failoverFileListeners.keySet()) {
+            unwatchFailoverFile(groupKey);
+        }
         LOGGER.info("{} do shutdown stop", className);
     }
     
@@ -582,6 +621,27 @@ public class ClientWorker implements Closeable {
         return agent.isHealthServer();
     }
     
+    /**
+     * Listener of failover file, marks the cache data to check its failover file in the next listen loop.
+     */
+    private class FailoverFileListener implements FailoverFileWatcher.FileChangeListener {
+        
+        private final File file;
+        
+        private final CacheData cacheData;
+        
+        private FailoverFileListener(File file, CacheData cacheData) {
+            this.file = file;
+            this.cacheData = cacheData;
+        }
+        
+        @Override
+        public void onChanged(File changedFile) {
+            cacheData.markFailoverFileChanged();
+            agent.notifyListenConfig();
+        }
+    }
+    
     public class ConfigRpcTransportClient extends ConfigTransportClient {
         
         Map<String, ExecutorService> multiTaskExecutor = new HashMap<>();
@@ -595,7 +655,7 @@ public class ClientWorker implements Closeable {
         Subscriber subscriber = null;
         
         /**
-         * 3 minutes to check all listen cache keys.
+         * 3 minutes to check all listen cache keys, by the digest of them if the server supports.
          */
         private static final long ALL_SYNC_INTERNAL = 3 * 60 * 1000L;
         
@@ -806,6 +866,7 @@ public class ClientWorker implements Closeable {
         public void executeConfigListen() throws NacosException {
             
             Map<String, List<CacheData>> listenCachesMap = new HashMap<>(16);
+            Map<String, List<CacheData>> consistentCachesMap = new HashMap<>(16);
             Map<String, List<CacheData>> removeListenCachesMap = new HashMap<>(16);
             long now = System.currentTimeMillis();
             boolean needAllSync = now - lastAllSyncTime >= ALL_SYNC_INTERNAL;
@@ -813,7 +874,9 @@ public class ClientWorker implements Closeable {
                 
                 synchronized (cache) {
                     
-                    checkLocalConfig(cache);
+                    if (cache.needCheckFailoverFile()) {
+                        checkLocalConfig(cache);
+                    }
                     
                     // check local listeners consistent.
                     if (cache.isConsistentWithServer()) {
@@ -829,7 +892,10 @@ public class ClientWorker implements Closeable {
                     }
                     
                     if (!cache.isDiscard()) {
-                        List<CacheData> cacheDatas = listenCachesMap.computeIfAbsent(String.valueOf(cache.getTaskId()),
+                        // consistent caches are only here for all sync, they are checked by digest if supported.
+                        Map<String, List<CacheData>> targetMap =
+                                cache.isConsistentWithServer() ? consistentCachesMap : listenCachesMap;
+                        List<CacheData> cacheDatas = targetMap.computeIfAbsent(String.valueOf(cache.getTaskId()),
                                 k -> new LinkedList<>());
                         cacheDatas.add(cache);
                     } else {
@@ -841,12 +907,12 @@ public class ClientWorker implements Closeable {
                 
             }
             
-            //execute check listen ,return true if has change keys.
-            boolean hasChangedKeys = checkListenCache(listenCachesMap);
-            
-            //execute check remove listen.
+            //execute check remove listen first, so the listen digest of server only counts listening caches.
             checkRemoveListenCache(removeListenCachesMap);
             
+            //execute check listen ,return true if has change keys.
+            boolean hasChangedKeys = checkListenCache(listenCachesMap, consistentCachesMap);
+            
             if (needAllSync) {
                 lastAllSyncTime = now;
             }
@@ -997,29 +1063,53 @@ public class ClientWorker implements Closeable {
             }
         }
         
-        private boolean checkListenCache(Map<String, List<CacheData>> listenCachesMap) throws NacosException {
+        private boolean checkListenCache(Map<String, List<CacheData>> listenCachesMap,
+                Map<String, List<CacheData>> consistentCachesMap) throws NacosException {
             
             final AtomicBoolean hasChangedKeys = new AtomicBoolean(false);
-            if (!listenCachesMap.isEmpty()) {
+            Set<String> taskIds = new HashSet<>(listenCachesMap.keySet());
+            taskIds.addAll(consistentCachesMap.keySet());
+            if (!taskIds.isEmpty()) {
                 List<Future> listenFutures = new ArrayList<>();
-                for (Map.Entry<String, List<CacheData>> entry : listenCachesMap.entrySet()) {
-                    String taskId = entry.getKey();
+                for (String taskId : taskIds) {
                     RpcClient rpcClient = ensureRpcClient(taskId);
+                    List<CacheData> changedCaches = listenCachesMap.getOrDefault(taskId, Collections.emptyList());
+                    List<CacheData> consistentCaches = consistentCachesMap.getOrDefault(taskId,
+                            Collections.emptyList());
+                    final boolean digestSync = !consistentCaches.isEmpty() && isListenDigestSupported(rpcClient);
+                    final List<CacheData> listenCaches = new ArrayList<>(changedCaches);
+                    if (!digestSync) {
+                        listenCaches.addAll(consistentCaches);
+                    }
                     
                     ExecutorService executorService = ensureSyncExecutor(taskId);
                     Future future = executorService.submit(() -> {
-                        List<CacheData> listenCaches = entry.getValue();
                         //reset notify change flag.
                         for (CacheData cacheData : listenCaches) {
                             cacheData.getReceiveNotifyChanged().set(false);
                         }
                         ConfigBatchListenRequest configChangeListenRequest = buildConfigRequest(listenCaches);
                         configChangeListenRequest.setListen(true);
+                        if (digestSync) {
+                            configChangeListenRequest.setListenDigest(
+                                    buildListenDigest(listenCaches, consistentCaches));
+                        }
                         try {
                             ConfigChangeBatchListenResponse listenResponse = (ConfigChangeBatchListenResponse) requestProxy(
                                     rpcClient, configChangeListenRequest);
                             if (listenResponse != null && listenResponse.isSuccess()) {
                                 
+                                if (digestSync && listenResponse.isResyncRequired()) {
+                                    LOGGER.warn("[{}] listen digest is different from server, resync {} configs",
+                                            rpcClient.getName(), consistentCaches.size());
+                                    for (CacheData cacheData : consistentCaches) {
+                                        synchronized (cacheData) {
+                                            cacheData.setConsistentWithServer(false);
+                                        }
+                                    }
+                                    hasChangedKeys.set(true);
+                                }
+                                
                                 Set<String> changeKeys = new HashSet<String>();
                                 
                                 List<ConfigChangeBatchListenResponse.ConfigContext> changedConfigs = listenResponse.getChangedConfigs();
@@ -1123,6 +1213,31 @@ public class ClientWorker implements Closeable {
             return configChangeListenRequest;
         }
         
+        private boolean isListenDigestSupported(RpcClient rpcClient) {
+            return AbilityStatus.SUPPORTED == rpcClient.getConnectionAbility(
+                    AbilityKey.SERVER_SUPPORT_CONFIG_LISTEN_DIGEST);
+        }
+        
+        /**
+         * build digest of all caches listened by a connection.
+         *
+         * @param listenCaches     caches sent in the listen request.
+         * @param consistentCaches caches consistent with server and not sent.
+         * @return digest, see {@link MapDigest}.
+         */
+        private String buildListenDigest(List<CacheData> listenCaches, List<CacheData> consistentCaches) {
+            MapDigest digest = new MapDigest();
+            for (CacheData cacheData : listenCaches) {
+                digest.add(GroupKey.getKeyTenant(cacheData.dataId, cacheData.group, cacheData.tenant),
+                        cacheData.getMd5());
+            }
+            for (CacheData cacheData : consistentCaches) {
+                digest.add(GroupKey.getKeyTenant(cacheData.dataId, cacheData.group, cacheData.tenant),
+                        cacheData.getMd5());
+            }
+            return digest.toString();
+        }
+        
         @Override
         public void removeCache(String dataId, String group) {
             // Notify to rpc un listen ,and remove cache if success.
@@ -179,6 +179,9 @@ public class FailoverReactor implements Closeable {
         String className = this.getClass().getName();
         NAMING_LOGGER.info("{} do shutdown begin", className);
         ThreadUtils.shutdownThreadPool(executorService, NAMING_LOGGER);
+        if (failoverDataSource instanceof Closeable) {
+            ((Closeable) failoverDataSource).shutdown();
+        }
         NAMING_LOGGER.info("{} do shutdown stop", className);
     }
     
@@ -16,15 +16,18 @@
 
 package com.alibaba.nacos.client.naming.backups.datasource;
 
+import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.client.naming.backups.FailoverData;
 import com.alibaba.nacos.client.naming.backups.FailoverDataSource;
 import com.alibaba.nacos.client.naming.backups.FailoverSwitch;
 import com.alibaba.nacos.client.naming.backups.NamingFailoverData;
 import com.alibaba.nacos.client.utils.ConcurrentDiskUtil;
+import com.alibaba.nacos.client.utils.FailoverFileWatcher;
 import com.alibaba.nacos.client.naming.cache.DiskCache;
 import com.alibaba.nacos.client.naming.utils.CacheDirUtil;
 import com.alibaba.nacos.client.naming.utils.UtilAndComs;
+import com.alibaba.nacos.common.lifecycle.Closeable;
 import com.alibaba.nacos.common.utils.StringUtils;
 
 import java.io.File;
@@ -33,6 +36,7 @@ import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.alibaba.nacos.client.utils.LogUtils.NAMING_LOGGER;
 
@@ -41,7 +45,7 @@ import static com.alibaba.nacos.client.utils.LogUtils.NAMING_LOGGER;
  *
  * @author zongkang.guo
  */
-public class DiskFailoverDataSource implements FailoverDataSource {
+public class DiskFailoverDataSource implements FailoverDataSource, Closeable {
     
     private static final String FAILOVER_DIR = "/failover";
     
@@ -59,6 +63,17 @@ public class DiskFailoverDataSource implements FailoverDataSource {
     
     private long lastModifiedMillis = 0L;
     
+    /**
+     * if the switch file is watched, it is only read after changed.
+     */
+    private boolean switchFileWatched = false;
+    
+    private final AtomicBoolean switchFileChanged = new AtomicBoolean(true);
+    
+    private final FailoverFileWatcher.FileChangeListener switchFileListener = file -> switchFileChanged.set(true);
+    
+    private File watchedSwitchFile;
+    
     public DiskFailoverDataSource() {
         failoverDir = CacheDirUtil.getCacheDir() + FAILOVER_DIR;
     }
@@ -105,8 +120,16 @@ public class DiskFailoverDataSource implements FailoverDataSource {
     public FailoverSwitch getSwitch() {
         try {
             File switchFile = Paths.get(failoverDir, UtilAndComs.FAILOVER_SWITCH).toFile();
+            if (!switchFileWatched) {
+                switchFileWatched = FailoverFileWatcher.getInstance().watch(switchFile, switchFileListener);
+                watchedSwitchFile = switchFile;
+            }
+            if (switchFileWatched && !switchFileChanged.compareAndSet(true, false)) {
+                return new FailoverSwitch(Boolean.parseBoolean(switchParams.get(FAILOVER_MODE_PARAM)));
+            }
             if (!switchFile.exists()) {
                 NAMING_LOGGER.debug("failover switch is not found, {}", switchFile.getName());
+                switchParams.put(FAILOVER_MODE_PARAM, Boolean.FALSE.toString());
                 return new FailoverSwitch(Boolean.FALSE);
             }
             
@@ -132,6 +155,8 @@ public class DiskFailoverDataSource implements FailoverDataSource {
                         }
                     }
                 }
+            } else {
+                return new FailoverSwitch(Boolean.parseBoolean(switchParams.get(FAILOVER_MODE_PARAM)));
             }
             
         } catch (Throwable e) {
@@ -150,4 +175,12 @@ public class DiskFailoverDataSource implements FailoverDataSource {
         return new ConcurrentHashMap<>(0);
     }
     
+    @Override
+    public void shutdown() throws NacosException {
+        if (switchFileWatched) {
+            FailoverFileWatcher.getInstance().unwatch(watchedSwitchFile, switchFileListener);
+            switchFileWatched = false;
+        }
+    }
+    
 }
\ No newline at end of file
@@ -25,21 +25,26 @@ import com.alibaba.nacos.client.env.NacosClientProperties;
 import com.alibaba.nacos.client.monitor.MetricsMonitor;
 import com.alibaba.nacos.client.naming.backups.FailoverReactor;
 import com.alibaba.nacos.client.naming.event.InstancesChangeEvent;
+import com.alibaba.nacos.client.naming.event.InstancesDiff;
 import com.alibaba.nacos.client.naming.utils.CacheDirUtil;
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
 import com.alibaba.nacos.common.lifecycle.Closeable;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.utils.ConvertUtils;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.common.utils.ThreadUtils;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.alibaba.nacos.client.utils.LogUtils.NAMING_LOGGER;
 
@@ -60,6 +65,10 @@ public class ServiceInfoHolder implements Closeable {
     
     private String notifierEventScope;
     
+    private final Map<String, ServiceInfo> pendingDiskCaches = new ConcurrentHashMap<>();
+    
+    private final ExecutorService diskCacheExecutor;
+    
     public ServiceInfoHolder(String namespace, String notifierEventScope, NacosClientProperties properties) {
         cacheDir = CacheDirUtil.initCacheDir(namespace, properties);
         if (isLoadCacheAtStart(properties)) {
@@ -70,6 +79,8 @@ public class ServiceInfoHolder implements Closeable {
         this.failoverReactor = new FailoverReactor(this, notifierEventScope);
         this.pushEmptyProtection = isPushEmptyProtect(properties);
         this.notifierEventScope = notifierEventScope;
+        this.diskCacheExecutor = ExecutorFactory.newSingleExecutorService(
+                new NameThreadFactory("com.alibaba.nacos.client.naming.disk.cache"));
     }
     
     private boolean isLoadCacheAtStart(NacosClientProperties properties) {
@@ -135,20 +146,16 @@ public class ServiceInfoHolder implements Closeable {
             return oldService;
         }
         serviceInfoMap.put(serviceInfo.getKey(), serviceInfo);
-        boolean changed = isChangedServiceInfo(oldService, serviceInfo);
-        if (StringUtils.isBlank(serviceInfo.getJsonFromServer())) {
-            serviceInfo.setJsonFromServer(JacksonUtils.toJson(serviceInfo));
-        }
+        InstancesDiff diff = getServiceInfoDiff(oldService, serviceInfo);
         MetricsMonitor.getServiceInfoMapSizeMonitor().set(serviceInfoMap.size());
-        if (changed) {
-            NAMING_LOGGER.info("current ips:({}) service: {} -> {}", serviceInfo.ipCount(), serviceInfo.getKey(),
-                    JacksonUtils.toJson(serviceInfo.getHosts()));
+        if (null == oldService || diff.hasDifferent()) {
+            NAMING_LOGGER.info("current ips:({}) service: {}", serviceInfo.ipCount(), serviceInfo.getKey());
             if (!failoverReactor.isFailoverSwitch(serviceKey)) {
                 NotifyCenter.publishEvent(
                         new InstancesChangeEvent(notifierEventScope, serviceInfo.getName(), serviceInfo.getGroupName(),
-                                serviceInfo.getClusters(), serviceInfo.getHosts()));
+                                serviceInfo.getClusters(), serviceInfo.getHosts(), diff));
             }
-            DiskCache.write(serviceInfo, cacheDir);
+            writeDiskCache(serviceInfo);
         }
         return serviceInfo;
     }
@@ -157,6 +164,31 @@ public class ServiceInfoHolder implements Closeable {
         return null == serviceInfo.getHosts() || (pushEmptyProtection && !serviceInfo.validate());
     }
     
+    /**
+     * Write the service info to disk cache asynchronously, writes of the same service before flushed are coalesced to
+     * the latest one.
+     *
+     * @param serviceInfo service info
+     */
+    private void writeDiskCache(ServiceInfo serviceInfo) {
+        String serviceKey = serviceInfo.getKey();
+        if (null != pendingDiskCaches.put(serviceKey, serviceInfo)) {
+            return;
+        }
+        try {
+            diskCacheExecutor.execute(() -> flushDiskCache(serviceKey));
+        } catch (RejectedExecutionException e) {
+            flushDiskCache(serviceKey);
+        }
+    }
+    
+    private void flushDiskCache(String serviceKey) {
+        ServiceInfo serviceInfo = pendingDiskCaches.remove(serviceKey);
+        if (null != serviceInfo) {
+            DiskCache.write(serviceInfo, cacheDir);
+        }
+    }
+    
     /**
      * isChangedServiceInfo.
      *
@@ -165,73 +197,77 @@ public class ServiceInfoHolder implements Closeable {
      * @return
      */
     public boolean isChangedServiceInfo(ServiceInfo oldService, ServiceInfo newService) {
+        InstancesDiff diff = getServiceInfoDiff(oldService, newService);
+        return null == oldService || diff.hasDifferent();
+    }
+    
+    /**
+     * Get the differences of instances between old and new service info in one pass, instances are matched by address.
+     *
+     * @param oldService old service data
+     * @param newService new service data
+     * @return instances diff, empty if the new service data is out of date
+     */
+    public InstancesDiff getServiceInfoDiff(ServiceInfo oldService, ServiceInfo newService) {
+        InstancesDiff diff = new InstancesDiff();
         if (null == oldService) {
             NAMING_LOGGER.info("init new ips({}) service: {} -> {}", newService.ipCount(), newService.getKey(),
                     JacksonUtils.toJson(newService.getHosts()));
-            return true;
+            diff.getAddedInstances().addAll(newService.getHosts());
+            return diff;
         }
         if (oldService.getLastRefTime() > newService.getLastRefTime()) {
             NAMING_LOGGER.warn("out of date data received, old-t: {}, new-t: {}", oldService.getLastRefTime(),
                     newService.getLastRefTime());
-            return false;
+            return diff;
         }
-        boolean changed = false;
         Map<String, Instance> oldHostMap = new HashMap<>(oldService.getHosts().size());
         for (Instance host : oldService.getHosts()) {
             oldHostMap.put(host.toInetAddr(), host);
         }
-        Map<String, Instance> newHostMap = new HashMap<>(newService.getHosts().size());
+        Set<String> newHostKeys = new HashSet<>(newService.getHosts().size());
         for (Instance host : newService.getHosts()) {
-            newHostMap.put(host.toInetAddr(), host);
-        }
-        
-        Set<Instance> modHosts = new HashSet<>();
-        Set<Instance> newHosts = new HashSet<>();
-        Set<Instance> remvHosts = new HashSet<>();
-        
-        List<Map.Entry<String, Instance>> newServiceHosts = new ArrayList<>(newHostMap.entrySet());
-        for (Map.Entry<String, Instance> entry : newServiceHosts) {
-            Instance host = entry.getValue();
-            String key = entry.getKey();
-            if (oldHostMap.containsKey(key) && !StringUtils.equals(host.toString(), oldHostMap.get(key).toString())) {
-                modHosts.add(host);
+            String key = host.toInetAddr();
+            if (!newHostKeys.add(key)) {
                 continue;
             }
-            
-            if (!oldHostMap.containsKey(key)) {
-                newHosts.add(host);
+            Instance oldHost = oldHostMap.remove(key);
+            if (null == oldHost) {
+                diff.getAddedInstances().add(host);
+            } else if (!isSameInstance(oldHost, host)) {
+                diff.getModifiedInstances().add(host);
             }
         }
+        diff.getRemovedInstances().addAll(oldHostMap.values());
         
-        for (Map.Entry<String, Instance> entry : oldHostMap.entrySet()) {
-            Instance host = entry.getValue();
-            String key = entry.getKey();
-            if (newHostMap.containsKey(key)) {
-                continue;
-            }
-            
-            //add to remove hosts
-            remvHosts.add(host);
+        if (diff.isAdded()) {
+            NAMING_LOGGER.info("new ips({}) service: {} -> {}", diff.getAddedInstances().size(), newService.getKey(),
+                    JacksonUtils.toJson(diff.getAddedInstances()));
         }
         
-        if (newHosts.size() > 0) {
-            changed = true;
-            NAMING_LOGGER.info("new ips({}) service: {} -> {}", newHosts.size(), newService.getKey(),
-                    JacksonUtils.toJson(newHosts));
+        if (diff.isRemoved()) {
+            NAMING_LOGGER.info("removed ips({}) service: {} -> {}", diff.getRemovedInstances().size(),
+                    newService.getKey(), JacksonUtils.toJson(diff.getRemovedInstances()));
         }
         
-        if (remvHosts.size() > 0) {
-            changed = true;
-            NAMING_LOGGER.info("removed ips({}) service: {} -> {}", remvHosts.size(), newService.getKey(),
-                    JacksonUtils.toJson(remvHosts));
+        if (diff.isModified()) {
+            NAMING_LOGGER.info("modified ips({}) service: {} -> {}", diff.getModifiedInstances().size(),
+                    newService.getKey(), JacksonUtils.toJson(diff.getModifiedInstances()));
         }
-        
-        if (modHosts.size() > 0) {
-            changed = true;
-            NAMING_LOGGER.info("modified ips({}) service: {} -> {}", modHosts.size(), newService.getKey(),
-                    JacksonUtils.toJson(modHosts));
-        }
-        return changed;
+        return diff;
+    }
+    
+    /**
+     * Compare the same fields as {@link Instance#toString()} without building the strings.
+     */
+    private static boolean isSameInstance(Instance oldHost, Instance newHost) {
+        return oldHost.getPort() == newHost.getPort() && Double.compare(oldHost.getWeight(), newHost.getWeight()) == 0
+                && oldHost.isHealthy() == newHost.isHealthy() && oldHost.isEnabled() == newHost.isEnabled()
+                && oldHost.isEphemeral() == newHost.isEphemeral() && Objects.equals(oldHost.getIp(), newHost.getIp())
+                && Objects.equals(oldHost.getInstanceId(), newHost.getInstanceId())
+                && Objects.equals(oldHost.getClusterName(), newHost.getClusterName())
+                && Objects.equals(oldHost.getServiceName(), newHost.getServiceName())
+                && Objects.equals(oldHost.getMetadata(), newHost.getMetadata());
     }
     
     public String getCacheDir() {
@@ -253,6 +289,10 @@ public class ServiceInfoHolder implements Closeable {
         String className = this.getClass().getName();
         NAMING_LOGGER.info("{} do shutdown begin", className);
         failoverReactor.shutdown();
+        ThreadUtils.shutdownThreadPool(diskCacheExecutor, NAMING_LOGGER);
+        for (String serviceKey : pendingDiskCaches.keySet()) {
+            flushDiskCache(serviceKey);
+        }
         NAMING_LOGGER.info("{} do shutdown stop", className);
     }
 }
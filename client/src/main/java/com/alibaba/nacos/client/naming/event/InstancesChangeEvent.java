@@ -41,12 +41,20 @@ public class InstancesChangeEvent extends Event {
     
     private final List<Instance> hosts;
     
+    private final InstancesDiff instancesDiff;
+    
     public InstancesChangeEvent(String eventScope, String serviceName, String groupName, String clusters, List<Instance> hosts) {
+        this(eventScope, serviceName, groupName, clusters, hosts, null);
+    }
+    
+    public InstancesChangeEvent(String eventScope, String serviceName, String groupName, String clusters,
+            List<Instance> hosts, InstancesDiff instancesDiff) {
         this.eventScope = eventScope;
         this.serviceName = serviceName;
         this.groupName = groupName;
         this.clusters = clusters;
         this.hosts = hosts;
+        this.instancesDiff = instancesDiff;
     }
     
     public String getServiceName() {
@@ -65,6 +73,15 @@ public class InstancesChangeEvent extends Event {
         return hosts;
     }
     
+    /**
+     * Get the differences from the previous instances.
+     *
+     * @return instances diff, null if the differences are not computed, such as changes caused by failover
+     */
+    public InstancesDiff getInstancesDiff() {
+        return instancesDiff;
+    }
+    
     @Override
     public String scope() {
         return this.eventScope;
@@ -0,0 +1,69 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.naming.event;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The differences of instances between the old and new service info.
+ *
+ * @author Nacos
+ */
+public class InstancesDiff {
+    
+    private final List<Instance> addedInstances = new ArrayList<>();
+    
+    private final List<Instance> removedInstances = new ArrayList<>();
+    
+    private final List<Instance> modifiedInstances = new ArrayList<>();
+    
+    public List<Instance> getAddedInstances() {
+        return addedInstances;
+    }
+    
+    public List<Instance> getRemovedInstances() {
+        return removedInstances;
+    }
+    
+    public List<Instance> getModifiedInstances() {
+        return modifiedInstances;
+    }
+    
+    public boolean isAdded() {
+        return !addedInstances.isEmpty();
+    }
+    
+    public boolean isRemoved() {
+        return !removedInstances.isEmpty();
+    }
+    
+    public boolean isModified() {
+        return !modifiedInstances.isEmpty();
+    }
+    
+    /**
+     * Whether there is any instance added, removed or modified.
+     *
+     * @return true if there is difference
+     */
+    public boolean hasDifferent() {
+        return isAdded() || isRemoved() || isModified();
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.utils;
+
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Watcher of local failover files, shared by config and naming.
+ *
+ * <p>Failover files are rarely changed, so instead of checking each file periodically, the directories of them are
+ * watched by {@link WatchService} and listeners are notified when the file may be changed. A directory which does not
+ * exist yet is waited for by watching its nearest existing ancestor. If watching is not supported, {@link #watch}
+ * returns false and the caller should keep checking the file by itself.
+ *
+ * @author Nacos
+ */
+public final class FailoverFileWatcher {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(FailoverFileWatcher.class);
+    
+    private static final FailoverFileWatcher INSTANCE = new FailoverFileWatcher();
+    
+    private final Map<Path, Set<FileChangeListener>> listeners = new ConcurrentHashMap<>();
+    
+    private final Map<Path, WatchKey> watchedDirs = new ConcurrentHashMap<>();
+    
+    private final WatchService watchService;
+    
+    private FailoverFileWatcher() {
+        watchService = newWatchService();
+        if (null != watchService) {
+            new NameThreadFactory("com.alibaba.nacos.client.failover.watcher").newThread(this::processEvents)
+                    .start();
+        }
+    }
+    
+    public static FailoverFileWatcher getInstance() {
+        return INSTANCE;
+    }
+    
+    private static WatchService newWatchService() {
+        try {
+            return FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.warn("[failover-watcher] watch service is not supported, failover files will be polled.", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Watch the file, the listener is notified when the file is created, modified or deleted.
+     *
+     * @param file     file to watch, it and its parent directories may not exist
+     * @param listener listener
+     * @return true if watched, false if watching is not supported
+     */
+    public boolean watch(File file, FileChangeListener listener) {
+        if (null == watchService) {
+            return false;
+        }
+        Path path = file.toPath().toAbsolutePath().normalize();
+        listeners.compute(path, (key, value) -> {
+            Set<FileChangeListener> result = null == value ? new CopyOnWriteArraySet<>() : value;
+            result.add(listener);
+            return result;
+        });
+        try {
+            register(path);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("[failover-watcher] watch {} failed, it will be polled.", path, e);
+            unwatch(file, listener);
+            return false;
+        }
+    }
+    
+    /**
+     * Stop notifying the listener for the file.
+     *
+     * @param file     file watched
+     * @param listener listener
+     */
+    public void unwatch(File file, FileChangeListener listener) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        listeners.computeIfPresent(path, (key, value) -> {
+            value.remove(listener);
+            return value.isEmpty() ? null : value;
+        });
+    }
+    
+    /**
+     * Register the deepest existing directory of the file. Registering again until it is stable, in case of the
+     * directories are created during registering.
+     */
+    private synchronized void register(Path file) throws IOException {
+        while (true) {
+            Path dir = file.getParent();
+            while (null != dir && !Files.isDirectory(dir)) {
+                dir = dir.getParent();
+            }
+            if (null == dir || watchedDirs.containsKey(dir)) {
+                return;
+            }
+            watchedDirs.put(dir, dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY));
+        }
+    }
+    
+    private void processEvents() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            Path dir = (Path) key.watchable();
+            Set<Path> changedPaths = new HashSet<>();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (StandardWatchEventKinds.OVERFLOW == event.kind()) {
+                    changedPaths.add(dir);
+                } else {
+                    changedPaths.add(dir.resolve((Path) event.context()));
+                }
+            }
+            // the directory is deleted, files under it should be checked and its ancestor should be watched.
+            if (!key.reset()) {
+                watchedDirs.remove(dir, key);
+                changedPaths.add(dir);
+            }
+            notifyChanged(changedPaths);
+        }
+    }
+    
+    private void notifyChanged(Set<Path> changedPaths) {
+        for (Map.Entry<Path, Set<FileChangeListener>> entry : listeners.entrySet()) {
+            Path file = entry.getKey();
+            if (!isAffected(file, changedPaths)) {
+                continue;
+            }
+            try {
+                register(file);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("[failover-watcher] watch {} failed.", file, e);
+            }
+            for (FileChangeListener listener : entry.getValue()) {
+                try {
+                    listener.onChanged(file.toFile());
+                } catch (Throwable throwable) {
+                    LOGGER.error("[failover-watcher] notify change of {} failed.", file, throwable);
+                }
+            }
+        }
+    }
+    
+    private boolean isAffected(Path file, Set<Path> changedPaths) {
+        for (Path each : changedPaths) {
+            if (file.startsWith(each)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public interface FileChangeListener {
+        
+        /**
+         * Called in the watcher thread when the file may be changed, it should be quick.
+         *
+         * @param file file changed
+         */
+        void onChanged(File file);
+    }
+}
@@ -40,8 +40,8 @@ public class ClientAbilityControlManagerTest {
         Map<AbilityMode, Map<AbilityKey, Boolean>> actual = clientAbilityControlManager.initCurrentNodeAbilities();
         assertEquals(1, actual.size());
         assertTrue(actual.containsKey(AbilityMode.SDK_CLIENT));
-        // Current not define sdk ability.
-        assertEquals(0, actual.get(AbilityMode.SDK_CLIENT).size());
+        assertEquals(1, actual.get(AbilityMode.SDK_CLIENT).size());
+        assertTrue(actual.get(AbilityMode.SDK_CLIENT).get(AbilityKey.SDK_CLIENT_SUPPORT_COMPACT_PAYLOAD));
     }
     
     @Test
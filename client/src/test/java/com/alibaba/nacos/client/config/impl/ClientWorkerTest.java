@@ -17,6 +17,8 @@
 package com.alibaba.nacos.client.config.impl;
 
 import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.ability.constant.AbilityStatus;
 import com.alibaba.nacos.api.config.ConfigType;
 import com.alibaba.nacos.api.config.listener.AbstractListener;
 import com.alibaba.nacos.api.config.listener.Listener;
@@ -41,6 +43,7 @@ import com.alibaba.nacos.common.remote.client.RpcClientFactory;
 import com.alibaba.nacos.common.remote.client.RpcClientTlsConfig;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.common.utils.MapDigest;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.After;
 import org.junit.Assert;
@@ -69,6 +72,7 @@ import static com.alibaba.nacos.api.annotation.NacosProperties.NAMESPACE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -578,6 +582,60 @@ public class ClientWorkerTest {
         
     }
     
+    @Test
+    public void testExecuteConfigListenResyncByDigest() throws Exception {
+        Properties prop = new Properties();
+        ConfigFilterChainManager filter = new ConfigFilterChainManager(new Properties());
+        ServerListManager agent = Mockito.mock(ServerListManager.class);
+        Mockito.when(agent.getName()).thenReturn("mocktest");
+        final NacosClientProperties nacosClientProperties = NacosClientProperties.PROTOTYPE.derive(prop);
+        ClientWorker clientWorker = new ClientWorker(filter, agent, nacosClientProperties);
+        clientWorker.shutdown();
+        
+        String group = "group123";
+        String tenant = "tenant122324";
+        String dataIdConsistent = "dataIdConsistent" + System.currentTimeMillis();
+        CacheData cacheConsistent = normalNotConsistentCache(filter, agent.getName(), dataIdConsistent, group,
+                tenant);
+        cacheConsistent.setConsistentWithServer(true);
+        cacheConsistent.setInitializing(false);
+        Map<String, CacheData> cacheDataMapMocked = Mockito.mock(Map.class);
+        Mockito.when(cacheDataMapMocked.values()).thenReturn(Collections.singletonList(cacheConsistent));
+        AtomicReference<Map<String, CacheData>> cacheMapMocked = Mockito.mock(AtomicReference.class);
+        Mockito.when(cacheMapMocked.get()).thenReturn(cacheDataMapMocked);
+        Field cacheMap = ClientWorker.class.getDeclaredField("cacheMap");
+        cacheMap.setAccessible(true);
+        cacheMap.set(clientWorker, cacheMapMocked);
+        // time for all sync.
+        Field lastAllSyncTime = ClientWorker.ConfigRpcTransportClient.class.getDeclaredField("lastAllSyncTime");
+        lastAllSyncTime.setAccessible(true);
+        lastAllSyncTime.set(clientWorker.getAgent(), 0L);
+        
+        RpcClient rpcClientInner = Mockito.mock(RpcClient.class);
+        Mockito.when(rpcClientInner.isWaitInitiated()).thenReturn(true, false);
+        rpcClientFactoryMockedStatic.when(
+                () -> RpcClientFactory.createClient(anyString(), any(ConnectionType.class), any(Map.class),
+                        any(RpcClientTlsConfig.class))).thenReturn(rpcClientInner);
+        Mockito.when(rpcClientInner.getConnectionAbility(AbilityKey.SERVER_SUPPORT_CONFIG_LISTEN_DIGEST))
+                .thenReturn(AbilityStatus.SUPPORTED);
+        ConfigChangeBatchListenResponse response = new ConfigChangeBatchListenResponse();
+        response.setResyncRequired(true);
+        AtomicReference<ConfigBatchListenRequest> requestRef = new AtomicReference<>();
+        Mockito.when(rpcClientInner.request(any(ConfigBatchListenRequest.class), anyLong())).thenAnswer(invocation -> {
+            requestRef.set(invocation.getArgument(0));
+            return response;
+        });
+        
+        (clientWorker.getAgent()).executeConfigListen();
+        
+        // consistent cache is not sent but counted in digest.
+        assertTrue(requestRef.get().getConfigListenContexts().isEmpty());
+        assertEquals(new MapDigest().add(GroupKey.getKeyTenant(dataIdConsistent, group, tenant),
+                cacheConsistent.getMd5()).toString(), requestRef.get().getListenDigest());
+        // server asks for resync, the cache will be listened again.
+        assertFalse(cacheConsistent.isConsistentWithServer());
+    }
+    
     private CacheData discardCache(ConfigFilterChainManager filter, String envName, String dataId, String group,
             String tenant) {
         CacheData cacheData = new CacheData(filter, envName, dataId, group, tenant);
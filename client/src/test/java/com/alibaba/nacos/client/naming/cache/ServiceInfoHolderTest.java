@@ -24,6 +24,7 @@ import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.client.env.NacosClientProperties;
 import com.alibaba.nacos.client.naming.backups.FailoverReactor;
+import com.alibaba.nacos.client.naming.event.InstancesDiff;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -31,6 +32,8 @@ import org.junit.Test;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -88,6 +91,31 @@ public class ServiceInfoHolderTest {
         Assert.assertEquals(info2, actual2);
     }
     
+    @Test
+    public void testGetServiceInfoDiff() {
+        ServiceInfo oldInfo = new ServiceInfo("a@@b@@c");
+        Instance instance1 = createInstance("1.1.1.1", 1);
+        Instance instance2 = createInstance("1.1.1.2", 2);
+        Instance instance3 = createInstance("1.1.1.3", 3);
+        oldInfo.setHosts(Arrays.asList(instance1, instance2, instance3));
+        
+        ServiceInfo newInfo = new ServiceInfo("a@@b@@c");
+        Instance modifiedInstance2 = createInstance("1.1.1.2", 2);
+        modifiedInstance2.setWeight(2.0);
+        Instance instance4 = createInstance("1.1.1.4", 4);
+        newInfo.setHosts(Arrays.asList(createInstance("1.1.1.1", 1), modifiedInstance2, instance4));
+        
+        InstancesDiff diff = holder.getServiceInfoDiff(oldInfo, newInfo);
+        Assert.assertTrue(diff.hasDifferent());
+        Assert.assertEquals(Collections.singletonList(instance4), diff.getAddedInstances());
+        Assert.assertEquals(Collections.singletonList(instance3), diff.getRemovedInstances());
+        Assert.assertEquals(Collections.singletonList(modifiedInstance2), diff.getModifiedInstances());
+        
+        Assert.assertFalse(holder.getServiceInfoDiff(newInfo, newInfo).hasDifferent());
+        Assert.assertTrue(holder.isChangedServiceInfo(oldInfo, newInfo));
+        Assert.assertFalse(holder.isChangedServiceInfo(newInfo, newInfo));
+    }
+    
     private Instance createInstance(String ip, int port) {
         Instance instance = new Instance();
         instance.setIp(ip);
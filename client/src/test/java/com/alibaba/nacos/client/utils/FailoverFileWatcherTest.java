@@ -0,0 +1,67 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FailoverFileWatcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWatchFileInNotExistDirectory() throws Exception {
+        File file = new File(folder.getRoot(), "data/group/dataId");
+        Semaphore changed = new Semaphore(0);
+        FailoverFileWatcher.FileChangeListener listener = changedFile -> changed.release();
+        assertTrue(FailoverFileWatcher.getInstance().watch(file, listener));
+
+        assertTrue(file.getParentFile().mkdirs());
+        Files.write(file.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        assertTrue(changed.tryAcquire(10, TimeUnit.SECONDS));
+
+        changed.drainPermits();
+        assertTrue(file.delete());
+        assertTrue(changed.tryAcquire(10, TimeUnit.SECONDS));
+
+        FailoverFileWatcher.getInstance().unwatch(file, listener);
+        changed.drainPermits();
+        Files.write(file.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        assertFalse(changed.tryAcquire(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testNotNotifyOtherFile() throws Exception {
+        File file = new File(folder.getRoot(), "dataId");
+        Semaphore changed = new Semaphore(0);
+        assertTrue(FailoverFileWatcher.getInstance().watch(file, changedFile -> changed.release()));
+
+        Files.write(new File(folder.getRoot(), "otherDataId").toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        assertFalse(changed.tryAcquire(1, TimeUnit.SECONDS));
+    }
+}
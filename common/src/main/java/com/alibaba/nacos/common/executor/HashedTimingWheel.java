@@ -0,0 +1,228 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel for large amount of low precision timeouts, such as heartbeat checks and push ack timeouts.
+ *
+ * <p>Timeouts are hashed into the buckets of the wheel by their deadlines and each tick only visits the bucket of
+ * current tick, so adding and expiring a timeout cost O(1) however many timeouts are pending. New and cancelled timeouts
+ * are queued and moved into or out of the wheel by the tick thread, which is the only thread touching the buckets, so
+ * a cancelled timeout doesn't hold its task until its deadline. Tasks are run in the tick thread, so they should be
+ * quick and dispatch heavy work to other executors.
+ *
+ * @author Nacos
+ */
+public class HashedTimingWheel {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedTimingWheel.class);
+    
+    private final long tickNanos;
+    
+    private final Timeout[] buckets;
+    
+    private final int mask;
+    
+    private final long startTime;
+    
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    
+    private final AtomicInteger timeoutCount = new AtomicInteger();
+    
+    /**
+     * The next tick to process, only accessed by the tick thread.
+     */
+    private long currentTick;
+    
+    public HashedTimingWheel(ScheduledExecutorService tickExecutor, long tickDuration, TimeUnit unit,
+            int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickDuration and ticksPerWheel must be positive");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.buckets = new Timeout[Math.max(wheelSize, 1)];
+        this.mask = buckets.length - 1;
+        this.startTime = System.nanoTime();
+        tickExecutor.scheduleAtFixedRate(this::advance, tickDuration, tickDuration, unit);
+    }
+    
+    /**
+     * Run the task once after the delay.
+     *
+     * @param task  task, run in the tick thread
+     * @param delay delay
+     * @param unit  unit of delay
+     * @return timeout which can be cancelled
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startTime + unit.toNanos(Math.max(delay, 0));
+        Timeout timeout = new Timeout(this, task, deadline);
+        timeoutCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+    
+    /**
+     * Count of timeouts which are neither expired nor removed after cancelled.
+     *
+     * @return timeout count
+     */
+    int size() {
+        return timeoutCount.get();
+    }
+    
+    private void advance() {
+        try {
+            long elapsedTicks = (System.nanoTime() - startTime) / tickNanos;
+            transferPendingTimeouts();
+            removeCancelledTimeouts();
+            while (currentTick <= elapsedTicks) {
+                expireBucket(currentTick);
+                currentTick++;
+            }
+        } catch (Throwable throwable) {
+            LOGGER.error("[TIMING-WHEEL] advance failed.", throwable);
+        }
+    }
+    
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while (null != (timeout = pendingTimeouts.poll())) {
+            if (timeout.cancelled) {
+                timeoutCount.decrementAndGet();
+                continue;
+            }
+            // round up so that timeouts never expire before their deadlines.
+            long deadlineTick = Math.max((timeout.deadline + tickNanos - 1) / tickNanos, currentTick);
+            timeout.remainingRounds = (deadlineTick - currentTick) / buckets.length;
+            int index = (int) (deadlineTick & mask);
+            Timeout head = buckets[index];
+            if (null != head) {
+                head.prev = timeout;
+            }
+            timeout.next = head;
+            timeout.bucketIndex = index;
+            buckets[index] = timeout;
+        }
+    }
+    
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while (null != (timeout = cancelledTimeouts.poll())) {
+            // timeouts cancelled before transferred or already removed are not in any bucket.
+            if (timeout.bucketIndex >= 0) {
+                remove(timeout);
+            }
+        }
+    }
+    
+    private void expireBucket(long tick) {
+        Timeout timeout = buckets[(int) (tick & mask)];
+        while (null != timeout) {
+            Timeout next = timeout.next;
+            if (timeout.cancelled || timeout.remainingRounds <= 0) {
+                remove(timeout);
+                if (!timeout.cancelled) {
+                    timeout.expire();
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+    
+    private void remove(Timeout timeout) {
+        if (null == timeout.prev) {
+            buckets[timeout.bucketIndex] = timeout.next;
+        } else {
+            timeout.prev.next = timeout.next;
+        }
+        if (null != timeout.next) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucketIndex = -1;
+        timeoutCount.decrementAndGet();
+    }
+    
+    /**
+     * Handle of a task added to the wheel.
+     */
+    public static final class Timeout {
+        
+        private final HashedTimingWheel wheel;
+        
+        private final Runnable task;
+        
+        private final long deadline;
+        
+        private long remainingRounds;
+        
+        private Timeout prev;
+        
+        private Timeout next;
+        
+        /**
+         * Index of the bucket holding this timeout, -1 if it is not in the wheel, only accessed by the tick thread.
+         */
+        private int bucketIndex = -1;
+        
+        private volatile boolean cancelled;
+        
+        private Timeout(HashedTimingWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+        
+        /**
+         * Cancel the task if it is not run yet, it is removed from the wheel on next tick.
+         */
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                wheel.cancelledTimeouts.add(this);
+            }
+        }
+        
+        public boolean isCancelled() {
+            return cancelled;
+        }
+        
+        private void expire() {
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                LOGGER.error("[TIMING-WHEEL] run task {} failed.", task, throwable);
+            }
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.BatchSubscriber;
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import com.alibaba.nacos.common.utils.CollectionUtils;
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.alibaba.nacos.common.notify.NotifyCenter.ringBufferSize;
+
+/**
+ * Event publisher which drains events in batches.
+ *
+ * <p>Events are staged in a lock free {@link MpscRingBuffer} and drained by the publisher thread in batches of at most
+ * {@code nacos.core.notify.batch-size} events. {@link BatchSubscriber} receives all matched events of a batch in one
+ * callback, other subscribers receive events one by one like {@link DefaultPublisher}. When the buffer is full, the
+ * event is handled by the caller thread as {@link DefaultPublisher} does.
+ *
+ * <p>Use it for a hot event type by {@link NotifyCenter#registerToPublisher(Class, EventPublisherFactory, int)} with
+ * {@link #FACTORY}.
+ *
+ * @author Nacos
+ */
+public class BatchEventPublisher extends Thread implements EventPublisher {
+    
+    /**
+     * Factory of batch event publisher.
+     */
+    public static final EventPublisherFactory FACTORY = (eventType, bufferSize) -> {
+        BatchEventPublisher publisher = new BatchEventPublisher();
+        publisher.init(eventType, bufferSize);
+        return publisher;
+    };
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotifyCenter.class);
+    
+    private static final int MAX_BATCH_SIZE = Integer.getInteger("nacos.core.notify.batch-size", 256);
+    
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+    
+    private final ConcurrentHashSet<Subscriber> subscribers = new ConcurrentHashSet<>();
+    
+    private final AtomicLong droppedEventCount = new AtomicLong();
+    
+    private final AtomicLong callerRunsCount = new AtomicLong();
+    
+    private volatile boolean initialized = false;
+    
+    private volatile boolean shutdown = false;
+    
+    private volatile boolean waiting = false;
+    
+    private volatile long lastEventSequence = -1L;
+    
+    private MpscRingBuffer<Event> ringBuffer;
+    
+    @Override
+    public void init(Class<? extends Event> type, int bufferSize) {
+        setDaemon(true);
+        setName("nacos.batch-publisher-" + type.getName());
+        this.ringBuffer = new MpscRingBuffer<>(bufferSize == -1 ? ringBufferSize : bufferSize);
+        start();
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (!initialized) {
+            super.start();
+            initialized = true;
+        }
+    }
+    
+    public ConcurrentHashSet<Subscriber> getSubscribers() {
+        return subscribers;
+    }
+    
+    @Override
+    public long currentEventSize() {
+        return ringBuffer.size();
+    }
+    
+    /**
+     * Count of events dropped because there was no subscriber.
+     *
+     * @return dropped event count
+     */
+    public long getDroppedEventCount() {
+        return droppedEventCount.get();
+    }
+    
+    /**
+     * Count of events handled by the publishing thread because the buffer was full.
+     *
+     * @return caller runs count
+     */
+    public long getCallerRunsCount() {
+        return callerRunsCount.get();
+    }
+    
+    @Override
+    public void run() {
+        try {
+            // To ensure that messages are not lost, wait for the first Subscriber to register.
+            int waitTimes = 60;
+            while (!shutdown && !hasSubscriber() && waitTimes > 0) {
+                ThreadUtils.sleep(1000L);
+                waitTimes--;
+            }
+            List<Event> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            while (!shutdown) {
+                if (ringBuffer.drainTo(batch, MAX_BATCH_SIZE) == 0) {
+                    waitForEvents();
+                    continue;
+                }
+                receiveEvents(batch);
+                batch.clear();
+            }
+        } catch (Throwable ex) {
+            LOGGER.error("Event listener exception : ", ex);
+        }
+    }
+    
+    private void waitForEvents() {
+        waiting = true;
+        try {
+            // check again after waiting is visible, publisher unparks this thread once it sees waiting.
+            if (ringBuffer.isEmpty() && !shutdown) {
+                LockSupport.parkNanos(this, MAX_WAIT_NANOS);
+            }
+        } finally {
+            waiting = false;
+        }
+    }
+    
+    private boolean hasSubscriber() {
+        return CollectionUtils.isNotEmpty(subscribers);
+    }
+    
+    @Override
+    public void addSubscriber(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+    
+    @Override
+    public void removeSubscriber(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+    
+    @Override
+    public boolean publish(Event event) {
+        checkIsStart();
+        if (!ringBuffer.offer(event)) {
+            callerRunsCount.incrementAndGet();
+            LOGGER.warn("Unable to plug in due to buffer full, synchronize sending time, event : {}", event);
+            receiveEvents(Collections.singletonList(event));
+            return true;
+        }
+        if (waiting) {
+            LockSupport.unpark(this);
+        }
+        return true;
+    }
+    
+    void checkIsStart() {
+        if (!initialized) {
+            throw new IllegalStateException("Publisher does not start");
+        }
+    }
+    
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        LockSupport.unpark(this);
+    }
+    
+    public boolean isInitialized() {
+        return initialized;
+    }
+    
+    /**
+     * Receive and notify subscribers to process a batch of events.
+     *
+     * @param events events in publishing order
+     */
+    void receiveEvents(List<Event> events) {
+        if (!hasSubscriber()) {
+            droppedEventCount.addAndGet(events.size());
+            LOGGER.warn("[NotifyCenter] {} events of {} are lost, because there is no subscriber.", events.size(),
+                    events.get(0).getClass());
+            return;
+        }
+        final long previousSequence = lastEventSequence;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber instanceof BatchSubscriber) {
+                notifyBatchSubscriber((BatchSubscriber) subscriber, events, previousSequence);
+                continue;
+            }
+            for (Event event : events) {
+                if (isAcceptable(subscriber, event, previousSequence)) {
+                    notifySubscriber(subscriber, event);
+                }
+            }
+        }
+        long maxSequence = previousSequence;
+        for (Event event : events) {
+            maxSequence = Math.max(maxSequence, event.sequence());
+        }
+        lastEventSequence = maxSequence;
+    }
+    
+    private boolean isAcceptable(Subscriber subscriber, Event event, long previousSequence) {
+        if (!subscriber.scopeMatches(event)) {
+            return false;
+        }
+        // Whether to ignore expiration events
+        if (subscriber.ignoreExpireEvent() && previousSequence > event.sequence()) {
+            LOGGER.debug("[NotifyCenter] the {} is unacceptable to this subscriber, because had expire",
+                    event.getClass());
+            return false;
+        }
+        return true;
+    }
+    
+    private void notifyBatchSubscriber(BatchSubscriber subscriber, List<Event> events, long previousSequence) {
+        List<Event> accepted = new ArrayList<>(events.size());
+        for (Event event : events) {
+            if (isAcceptable(subscriber, event, previousSequence)) {
+                accepted.add(event);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        LOGGER.debug("[NotifyCenter] {} events will received by {}", accepted.size(), subscriber);
+        final Runnable job = () -> subscriber.onEvents(accepted);
+        execute(subscriber, job);
+    }
+    
+    @Override
+    public void notifySubscriber(final Subscriber subscriber, final Event event) {
+        LOGGER.debug("[NotifyCenter] the {} will received by {}", event, subscriber);
+        final Runnable job = () -> subscriber.onEvent(event);
+        execute(subscriber, job);
+    }
+    
+    private void execute(Subscriber subscriber, Runnable job) {
+        final Executor executor = subscriber.executor();
+        if (executor != null) {
+            executor.execute(job);
+        } else {
+            try {
+                job.run();
+            } catch (Throwable e) {
+                LOGGER.error("Event callback exception: ", e);
+            }
+        }
+    }
+}
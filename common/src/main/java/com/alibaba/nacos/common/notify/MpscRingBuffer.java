@@ -0,0 +1,111 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock free ring buffer for multiple producers and a single consumer.
+ *
+ * <p>Producers claim a slot by CAS on the producer index and then fill it, the consumer takes filled slots in order
+ * and stops at the first slot which is claimed but not filled yet, so the order of claiming is kept.
+ *
+ * @author Nacos
+ */
+class MpscRingBuffer<E> {
+    
+    private final int capacity;
+    
+    private final int mask;
+    
+    private final AtomicReferenceArray<E> buffer;
+    
+    private final AtomicLong producerIndex = new AtomicLong();
+    
+    /**
+     * Only written by the consumer.
+     */
+    private volatile long consumerIndex;
+    
+    MpscRingBuffer(int requestedCapacity) {
+        int actualCapacity = 1;
+        while (actualCapacity < requestedCapacity) {
+            actualCapacity <<= 1;
+        }
+        this.capacity = actualCapacity;
+        this.mask = actualCapacity - 1;
+        this.buffer = new AtomicReferenceArray<>(actualCapacity);
+    }
+    
+    /**
+     * Offer an element, can be called by any thread.
+     *
+     * @param element element, not null
+     * @return {@code false} if the buffer is full
+     */
+    boolean offer(E element) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex >= capacity) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        buffer.lazySet((int) index & mask, element);
+        return true;
+    }
+    
+    /**
+     * Move at most max elements to the target, must only be called by the consumer.
+     *
+     * @param target target collection
+     * @param max    max count of elements
+     * @return count of moved elements
+     */
+    int drainTo(Collection<? super E> target, int max) {
+        long index = consumerIndex;
+        int count = 0;
+        while (count < max) {
+            int offset = (int) index & mask;
+            E element = buffer.get(offset);
+            if (null == element) {
+                break;
+            }
+            buffer.lazySet(offset, null);
+            target.add(element);
+            index++;
+            count++;
+        }
+        consumerIndex = index;
+        return count;
+    }
+    
+    int size() {
+        long size = producerIndex.get() - consumerIndex;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+    
+    boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    int capacity() {
+        return capacity;
+    }
+}
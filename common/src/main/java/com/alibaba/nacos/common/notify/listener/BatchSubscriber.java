@@ -0,0 +1,46 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify.listener;
+
+import com.alibaba.nacos.common.notify.Event;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Subscriber which can receive a batch of events in one callback.
+ *
+ * <p>{@link com.alibaba.nacos.common.notify.BatchEventPublisher} hands all matched events drained together to
+ * {@link #onEvents(List)}, other publishers call {@link #onEvent(Event)} with a single event.
+ *
+ * @author Nacos
+ */
+@SuppressWarnings("PMD.AbstractClassShouldStartWithAbstractNamingRule")
+public abstract class BatchSubscriber<T extends Event> extends Subscriber<T> {
+    
+    /**
+     * Batch event callback, events are in publishing order.
+     *
+     * @param events events matched this subscriber, not empty
+     */
+    public abstract void onEvents(List<T> events);
+    
+    @Override
+    public void onEvent(T event) {
+        onEvents(Collections.singletonList(event));
+    }
+}
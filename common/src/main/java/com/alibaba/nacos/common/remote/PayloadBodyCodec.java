@@ -0,0 +1,111 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.remote.exception.RemoteException;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.google.protobuf.ByteString;
+
+/**
+ * Codec of the body of gRPC payload.
+ *
+ * <p>The codec is marked by the type url of the body, an empty type url means json, so payloads of old versions are
+ * still parsed as json. A codec other than json is only used to a peer which declares the ability to parse it.
+ *
+ * @author Nacos
+ */
+public enum PayloadBodyCodec {
+    
+    /**
+     * Jackson json, supported by all versions.
+     */
+    JSON("") {
+        @Override
+        public byte[] encode(Object obj) {
+            return JacksonUtils.toJsonBytes(obj);
+        }
+        
+        @Override
+        public <T> T decode(ByteString body, Class<T> cls) {
+            return JacksonUtils.toObj(new ByteBufferBackedInputStream(body.asReadOnlyByteBuffer()), cls);
+        }
+    },
+    
+    /**
+     * Binary encoding of the same json tokens, see {@link CompactBodyCodec}.
+     */
+    COMPACT("nacos/compact") {
+        @Override
+        public byte[] encode(Object obj) {
+            return CompactBodyCodec.encode(obj);
+        }
+        
+        @Override
+        public <T> T decode(ByteString body, Class<T> cls) {
+            return CompactBodyCodec.decode(body.toByteArray(), cls);
+        }
+    };
+    
+    private final String typeUrl;
+    
+    PayloadBodyCodec(String typeUrl) {
+        this.typeUrl = typeUrl;
+    }
+    
+    public String getTypeUrl() {
+        return typeUrl;
+    }
+    
+    /**
+     * Encode object to body bytes.
+     *
+     * @param obj object
+     * @return body bytes
+     * @throws com.alibaba.nacos.api.exception.runtime.NacosSerializationException if encode failed
+     */
+    public abstract byte[] encode(Object obj);
+    
+    /**
+     * Decode body bytes to object.
+     *
+     * @param body body bytes
+     * @param cls  class of object
+     * @param <T>  General type
+     * @return object
+     * @throws com.alibaba.nacos.api.exception.runtime.NacosDeserializationException if decode failed
+     */
+    public abstract <T> T decode(ByteString body, Class<T> cls);
+    
+    /**
+     * Get codec by the type url of body.
+     *
+     * @param typeUrl type url of body
+     * @return codec
+     * @throws RemoteException if the codec is unknown
+     */
+    public static PayloadBodyCodec getByTypeUrl(String typeUrl) {
+        if (null == typeUrl || typeUrl.isEmpty()) {
+            return JSON;
+        }
+        if (COMPACT.typeUrl.equals(typeUrl)) {
+            return COMPACT;
+        }
+        throw new RemoteException(NacosException.SERVER_ERROR, "Unknown payload body codec:" + typeUrl);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote;
+
+import com.alibaba.nacos.api.exception.runtime.NacosSerializationException;
+import com.alibaba.nacos.api.remote.request.Request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Body of a request serialized once per codec and shared by the same request sent to many connections.
+ *
+ * <p>The body is split around the value of the request id, the request id of each connection is put between the
+ * prefix and the suffix when the body is sent, so the receiver reads the request id from the body as usual. The json
+ * body is built at once, the body of other codecs is built when a connection which negotiated the codec sends it.
+ *
+ * @author Nacos
+ */
+public class SharedRequestBody {
+    
+    /**
+     * Longer than the strings referenced by {@link CompactBodyCodec}, so the compact codec writes the request id as a
+     * plain string, and replacing it doesn't shift the references of other strings.
+     */
+    private static final String REQUEST_ID_PLACEHOLDER = UUID.randomUUID().toString() + UUID.randomUUID();
+    
+    private final Request request;
+    
+    private final Encoding[] encodings = new Encoding[PayloadBodyCodec.values().length];
+    
+    private SharedRequestBody(Request request) {
+        this.request = request;
+    }
+    
+    /**
+     * Share the body of request without headers and request id, headers and request id are sent per connection.
+     *
+     * <p>The request is kept to build the body of other codecs later, it must not be modified or sent afterwards.
+     *
+     * @param request request to be shared
+     * @return shared request body
+     * @throws IllegalArgumentException if the request id can't be located in the serialized body
+     */
+    public static SharedRequestBody of(Request request) {
+        SharedRequestBody result = new SharedRequestBody(request);
+        result.getEncoding(PayloadBodyCodec.JSON);
+        return result;
+    }
+    
+    /**
+     * Get the body encoded by the codec, json is used instead if the request can't be encoded by the codec.
+     *
+     * @param codec body codec negotiated with the receiver
+     * @return encoded body
+     * @throws IllegalArgumentException if the request id can't be located in the serialized body
+     */
+    public synchronized Encoding getEncoding(PayloadBodyCodec codec) {
+        Encoding result = encodings[codec.ordinal()];
+        if (null == result) {
+            try {
+                result = encode(codec);
+            } catch (NacosSerializationException e) {
+                if (PayloadBodyCodec.JSON == codec) {
+                    throw e;
+                }
+                // json is supported by all peers, fall back to it if the request can't be encoded by the codec.
+                result = getEncoding(PayloadBodyCodec.JSON);
+            }
+            encodings[codec.ordinal()] = result;
+        }
+        return result;
+    }
+    
+    private Encoding encode(PayloadBodyCodec codec) {
+        String requestId = request.getRequestId();
+        request.setRequestId(REQUEST_ID_PLACEHOLDER);
+        byte[] bytes;
+        try {
+            bytes = codec.encode(request);
+        } finally {
+            request.setRequestId(requestId);
+        }
+        byte[] pattern = encodeRequestId(codec, REQUEST_ID_PLACEHOLDER);
+        int index = indexOf(bytes, pattern);
+        if (index < 0) {
+            throw new IllegalArgumentException(
+                    "Request id not found in body of " + request.getClass().getSimpleName());
+        }
+        int suffixStart = index + pattern.length;
+        byte[] prefix = new byte[index];
+        byte[] suffix = new byte[bytes.length - suffixStart];
+        System.arraycopy(bytes, 0, prefix, 0, index);
+        System.arraycopy(bytes, suffixStart, suffix, 0, suffix.length);
+        return new Encoding(codec, prefix, suffix);
+    }
+    
+    private static byte[] encodeRequestId(PayloadBodyCodec codec, String requestId) {
+        if (PayloadBodyCodec.COMPACT == codec) {
+            return CompactBodyCodec.encodeUnreferencedString(requestId);
+        }
+        return requestId.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static int indexOf(byte[] source, byte[] target) {
+        for (int i = 0; i <= source.length - target.length; i++) {
+            if (matchesAt(source, i, target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static boolean matchesAt(byte[] source, int offset, byte[] target) {
+        for (int i = 0; i < target.length; i++) {
+            if (source[offset + i] != target[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Body of the request encoded by one codec, split around the value of the request id.
+     */
+    public static final class Encoding {
+        
+        private final PayloadBodyCodec codec;
+        
+        private final byte[] prefix;
+        
+        private final byte[] suffix;
+        
+        private Encoding(PayloadBodyCodec codec, byte[] prefix, byte[] suffix) {
+            this.codec = codec;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+        
+        /**
+         * Codec of the body, which is json if the request can't be encoded by the requested codec.
+         *
+         * @return codec of the body
+         */
+        public PayloadBodyCodec getCodec() {
+            return codec;
+        }
+        
+        /**
+         * Bytes before the encoded request id. Must not be modified.
+         *
+         * @return prefix bytes
+         */
+        public byte[] getPrefix() {
+            return prefix;
+        }
+        
+        /**
+         * Bytes after the encoded request id. Must not be modified.
+         *
+         * @return suffix bytes
+         */
+        public byte[] getSuffix() {
+            return suffix;
+        }
+        
+        /**
+         * Encode the request id to be put between the prefix and the suffix, a json request id is not escaped and
+         * must be a plain json string.
+         *
+         * @param requestId request id
+         * @return encoded request id
+         */
+        public byte[] encodeRequestId(String requestId) {
+            return SharedRequestBody.encodeRequestId(codec, requestId);
+        }
+        
+        /**
+         * Build the full body for the request id.
+         *
+         * @param requestId request id
+         * @return full body
+         */
+        public byte[] toBytes(String requestId) {
+            byte[] id = encodeRequestId(requestId);
+            byte[] result = new byte[prefix.length + id.length + suffix.length];
+            System.arraycopy(prefix, 0, result, 0, prefix.length);
+            System.arraycopy(id, 0, result, prefix.length, id.length);
+            System.arraycopy(suffix, 0, result, prefix.length + id.length, suffix.length);
+            return result;
+        }
+    }
+}
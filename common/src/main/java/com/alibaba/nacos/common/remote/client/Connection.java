@@ -19,6 +19,7 @@ package com.alibaba.nacos.common.remote.client;
 import com.alibaba.nacos.api.ability.constant.AbilityKey;
 import com.alibaba.nacos.api.ability.constant.AbilityStatus;
 import com.alibaba.nacos.api.remote.Requester;
+import com.alibaba.nacos.common.remote.PayloadBodyCodec;
 
 import java.util.Map;
 
@@ -58,6 +59,17 @@ public abstract class Connection implements Requester {
         return  abilityTable.get(abilityKey.getName()) ? AbilityStatus.SUPPORTED : AbilityStatus.NOT_SUPPORTED;
     }
 
+    /**
+     * Codec of payload body sent by this connection, the compact codec is used only if the server declares the
+     * ability to parse it.
+     *
+     * @return payload body codec
+     */
+    public PayloadBodyCodec getPayloadBodyCodec() {
+        return AbilityStatus.SUPPORTED == getConnectionAbility(AbilityKey.SERVER_SUPPORT_COMPACT_PAYLOAD)
+                ? PayloadBodyCodec.COMPACT : PayloadBodyCodec.JSON;
+    }
+    
     public boolean isAbilitiesSet() {
         return abilityTable != null;
     }
@@ -69,7 +69,7 @@ public class GrpcConnection extends Connection {
     
     @Override
     public Response request(Request request, long timeouts) throws NacosException {
-        Payload grpcRequest = GrpcUtils.convert(request);
+        Payload grpcRequest = GrpcUtils.convert(request, getPayloadBodyCodec());
         ListenableFuture<Payload> requestFuture = grpcFutureServiceStub.request(grpcRequest);
         Payload grpcResponse;
         try {
@@ -87,7 +87,7 @@ public class GrpcConnection extends Connection {
     
     @Override
     public RequestFuture requestFuture(Request request) throws NacosException {
-        Payload grpcRequest = GrpcUtils.convert(request);
+        Payload grpcRequest = GrpcUtils.convert(request, getPayloadBodyCodec());
         
         final ListenableFuture<Payload> requestFuture = grpcFutureServiceStub.request(grpcRequest);
         return new RequestFuture() {
@@ -120,18 +120,18 @@ public class GrpcConnection extends Connection {
     }
     
     public void sendResponse(Response response) {
-        Payload convert = GrpcUtils.convert(response);
+        Payload convert = GrpcUtils.convert(response, getPayloadBodyCodec());
         payloadStreamObserver.onNext(convert);
     }
     
     public void sendRequest(Request request) {
-        Payload convert = GrpcUtils.convert(request);
+        Payload convert = GrpcUtils.convert(request, getPayloadBodyCodec());
         payloadStreamObserver.onNext(convert);
     }
     
     @Override
     public void asyncRequest(Request request, final RequestCallBack requestCallBack) throws NacosException {
-        Payload grpcRequest = GrpcUtils.convert(request);
+        Payload grpcRequest = GrpcUtils.convert(request, getPayloadBodyCodec());
         ListenableFuture<Payload> requestFuture = grpcFutureServiceStub.request(grpcRequest);
         
         //set callback .
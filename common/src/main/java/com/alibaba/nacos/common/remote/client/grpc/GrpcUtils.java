@@ -17,23 +17,24 @@
 package com.alibaba.nacos.common.remote.client.grpc;
 
 import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.exception.runtime.NacosSerializationException;
 import com.alibaba.nacos.api.grpc.auto.Metadata;
 import com.alibaba.nacos.api.grpc.auto.Payload;
 import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.utils.NetUtils;
+import com.alibaba.nacos.common.remote.PayloadBodyCodec;
 import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.SharedRequestBody;
 import com.alibaba.nacos.common.remote.exception.RemoteException;
 import com.alibaba.nacos.common.utils.JacksonUtils;
-import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.UnsafeByteOperations;
 
-import java.nio.ByteBuffer;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * gRPC utils, use to parse request and response.
@@ -43,6 +44,12 @@ import java.util.Map;
  */
 public class GrpcUtils {
     
+    /**
+     * Metadata of requests without header and responses, keyed by the payload class. Metadata is immutable so it is
+     * shared by payloads.
+     */
+    private static final Map<Class<?>, Metadata> SHARED_METADATA = new ConcurrentHashMap<>(64);
+    
     /**
      * convert request to payload.
      *
@@ -61,9 +68,8 @@ public class GrpcUtils {
         payloadBuilder.setMetadata(metaBuilder.build());
         
         // request body .
-        byte[] jsonBytes = convertRequestToByte(request);
-        return payloadBuilder.setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(jsonBytes))).build();
-        
+        return payloadBuilder.setBody(convertToBody(request, PayloadBodyCodec.JSON)).build();
+    
     }
     
     /**
@@ -73,17 +79,40 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Request request) {
-        
-        Metadata newMeta = Metadata.newBuilder().setType(request.getClass().getSimpleName())
-                .setClientIp(NetUtils.localIP()).putAllHeaders(request.getHeaders()).build();
-        
-        byte[] jsonBytes = convertRequestToByte(request);
-        
-        Payload.Builder builder = Payload.newBuilder();
-        
-        return builder.setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(jsonBytes)))
-                .setMetadata(newMeta).build();
-        
+        return convert(request, PayloadBodyCodec.JSON);
+    }
+    
+    /**
+     * convert request to payload with the body encoded by codec.
+     *
+     * @param request request.
+     * @param codec   body codec negotiated with the receiver.
+     * @return payload.
+     */
+    public static Payload convert(Request request, PayloadBodyCodec codec) {
+        Any body = convertToBody(request, codec);
+        return Payload.newBuilder().setBody(body).setMetadata(getRequestMetadata(request)).build();
+    }
+    
+    /**
+     * convert request to payload with a body serialized once, only the metadata and the request id are built for
+     * the request, the shared bytes are not copied.
+     *
+     * @param request request, whose request id is put into the body.
+     * @param body    shared body serialized from an equivalent request.
+     * @param codec   body codec negotiated with the receiver.
+     * @return payload.
+     */
+    public static Payload convert(Request request, SharedRequestBody body, PayloadBodyCodec codec) {
+        SharedRequestBody.Encoding encoding = body.getEncoding(codec);
+        ByteString value = UnsafeByteOperations.unsafeWrap(encoding.getPrefix())
+                .concat(UnsafeByteOperations.unsafeWrap(encoding.encodeRequestId(request.getRequestId())))
+                .concat(UnsafeByteOperations.unsafeWrap(encoding.getSuffix()));
+        Any.Builder builder = Any.newBuilder().setValue(value);
+        if (PayloadBodyCodec.JSON != encoding.getCodec()) {
+            builder.setTypeUrl(encoding.getCodec().getTypeUrl());
+        }
+        return Payload.newBuilder().setBody(builder).setMetadata(getRequestMetadata(request)).build();
     }
     
     /**
@@ -93,23 +122,61 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Response response) {
-        byte[] jsonBytes = JacksonUtils.toJsonBytes(response);
-        
-        Metadata.Builder metaBuilder = Metadata.newBuilder().setType(response.getClass().getSimpleName());
-        return Payload.newBuilder().setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(jsonBytes)))
-                .setMetadata(metaBuilder.build()).build();
+        return convert(response, PayloadBodyCodec.JSON);
+    }
+    
+    /**
+     * convert response to payload with the body encoded by codec.
+     *
+     * @param response response.
+     * @param codec    body codec negotiated with the receiver.
+     * @return payload.
+     */
+    public static Payload convert(Response response, PayloadBodyCodec codec) {
+        Metadata metadata = SHARED_METADATA.get(response.getClass());
+        if (null == metadata) {
+            metadata = Metadata.newBuilder().setType(response.getClass().getSimpleName()).build();
+            SHARED_METADATA.put(response.getClass(), metadata);
+        }
+        return Payload.newBuilder().setBody(convertToBody(response, codec)).setMetadata(metadata).build();
+    }
+    
+    private static Metadata getRequestMetadata(Request request) {
+        String clientIp = NetUtils.localIP();
+        if (!request.getHeaders().isEmpty()) {
+            return Metadata.newBuilder().setType(request.getClass().getSimpleName()).setClientIp(clientIp)
+                    .putAllHeaders(request.getHeaders()).build();
+        }
+        Metadata metadata = SHARED_METADATA.get(request.getClass());
+        if (null == metadata || !clientIp.equals(metadata.getClientIp())) {
+            metadata = Metadata.newBuilder().setType(request.getClass().getSimpleName()).setClientIp(clientIp).build();
+            SHARED_METADATA.put(request.getClass(), metadata);
+        }
+        return metadata;
     }
     
-    private static byte[] convertRequestToByte(Request request) {
-        Map<String, String> requestHeaders = new HashMap<>(request.getHeaders());
-        request.clearHeaders();
-        byte[] jsonBytes = JacksonUtils.toJsonBytes(request);
-        request.putAllHeader(requestHeaders);
-        return jsonBytes;
+    private static Any convertToBody(Object obj, PayloadBodyCodec codec) {
+        PayloadBodyCodec actualCodec = codec;
+        byte[] bytes;
+        try {
+            bytes = codec.encode(obj);
+        } catch (NacosSerializationException e) {
+            if (PayloadBodyCodec.JSON == codec) {
+                throw e;
+            }
+            // json is supported by all peers, fall back to it if the object can't be encoded by the codec.
+            actualCodec = PayloadBodyCodec.JSON;
+            bytes = JacksonUtils.toJsonBytes(obj);
+        }
+        Any.Builder builder = Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(bytes));
+        if (PayloadBodyCodec.JSON != actualCodec) {
+            builder.setTypeUrl(actualCodec.getTypeUrl());
+        }
+        return builder.build();
     }
     
     /**
-     * parse payload to request/response model.
+     * parse payload to request/response model, the body is decoded by the codec marked in its type url.
      *
      * @param payload payload to be parsed.
      * @return payload
@@ -117,10 +184,10 @@ public class GrpcUtils {
     public static Object parse(Payload payload) {
         Class classType = PayloadRegistry.getClassByType(payload.getMetadata().getType());
         if (classType != null) {
-            ByteString byteString = payload.getBody().getValue();
-            ByteBuffer byteBuffer = byteString.asReadOnlyByteBuffer();
-            Object obj = JacksonUtils.toObj(new ByteBufferBackedInputStream(byteBuffer), classType);
-            if (obj instanceof Request) {
+            PayloadBodyCodec codec = PayloadBodyCodec.getByTypeUrl(payload.getBody().getTypeUrl());
+            Object obj = codec.decode(payload.getBody().getValue(), classType);
+            // most payloads have no header, skip building the headers map of metadata for them.
+            if (obj instanceof Request && payload.getMetadata().getHeadersCount() > 0) {
                 ((Request) obj).putAllHeader(payload.getMetadata().getHeadersMap());
             }
             return obj;
@@ -0,0 +1,330 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+import org.slf4j.Logger;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Nacos sharded delay task execute engine.
+ *
+ * <p>Tasks are sharded by the hash of key. Each shard has its own tasks, timing wheel and processing thread, so tasks
+ * of one key are always processed in order by one thread. A new task is merged with the exist task of the same key by
+ * {@link ConcurrentHashMap#compute} without any engine lock, and each tick a shard only visits the keys which may be due
+ * in that tick instead of all keys.
+ *
+ * <p>The due time of a task is checked again when it is visited, so a task whose interval or last process time changed
+ * after adding is rescheduled instead of processed.
+ *
+ * @author Nacos
+ */
+public class NacosShardedDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<AbstractDelayTask> {
+    
+    private static final int MAX_DEFAULT_SHARD_COUNT = 8;
+    
+    /**
+     * Count of ticks in one round of the wheel, tasks due later than half a round are rescheduled when visited.
+     */
+    private static final int WHEEL_SIZE = 512;
+    
+    private static final int MAX_SCHEDULE_TICKS = WHEEL_SIZE / 2;
+    
+    private final ScheduledExecutorService processingExecutor;
+    
+    private final Shard[] shards;
+    
+    private final long tickMillis;
+    
+    private final long startTime;
+    
+    public NacosShardedDelayTaskExecuteEngine(String name, Logger logger) {
+        this(name, Math.min(ThreadUtils.getSuitableThreadCount(1), MAX_DEFAULT_SHARD_COUNT), logger, 100L);
+    }
+    
+    public NacosShardedDelayTaskExecuteEngine(String name, int shardCount, Logger logger, long processInterval) {
+        super(logger);
+        this.tickMillis = processInterval;
+        this.startTime = System.currentTimeMillis();
+        this.shards = new Shard[shardCount];
+        processingExecutor = ExecutorFactory.newScheduledExecutorService(shardCount, new NameThreadFactory(name));
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+            processingExecutor.scheduleWithFixedDelay(new ProcessRunnable(shards[i]), processInterval,
+                    processInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @Override
+    public int size() {
+        int result = 0;
+        for (Shard each : shards) {
+            result += each.tasks.size();
+        }
+        return result;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        for (Shard each : shards) {
+            if (!each.tasks.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public void addTask(Object key, AbstractDelayTask newTask) {
+        Shard shard = getShard(key);
+        shard.tasks.compute(key, (k, holder) -> {
+            if (null == holder) {
+                TaskHolder result = new TaskHolder(newTask);
+                shard.schedule(k, result, getDueTick(newTask));
+                return result;
+            }
+            newTask.merge(holder.task);
+            holder.task = newTask;
+            long dueTick = getDueTick(newTask);
+            if (dueTick < holder.scheduledTick) {
+                shard.schedule(k, holder, dueTick);
+            }
+            return holder;
+        });
+    }
+    
+    @Override
+    public AbstractDelayTask removeTask(Object key) {
+        AbstractDelayTask[] result = new AbstractDelayTask[1];
+        getShard(key).tasks.computeIfPresent(key, (k, holder) -> {
+            if (holder.task.shouldProcess()) {
+                result[0] = holder.task;
+                return null;
+            }
+            return holder;
+        });
+        return result[0];
+    }
+    
+    @Override
+    public Collection<Object> getAllTaskKeys() {
+        Collection<Object> keys = new HashSet<>();
+        for (Shard each : shards) {
+            keys.addAll(each.tasks.keySet());
+        }
+        return keys;
+    }
+    
+    @Override
+    public void shutdown() throws NacosException {
+        for (Shard each : shards) {
+            each.tasks.clear();
+        }
+        processingExecutor.shutdown();
+    }
+    
+    /**
+     * Whether tasks should be processed now, tasks are kept and processed later if not.
+     *
+     * @return {@code true} by default
+     */
+    protected boolean shouldProcessTasks() {
+        return true;
+    }
+    
+    /**
+     * process due tasks of all shards in execute engine.
+     */
+    protected void processTasks() {
+        for (Shard each : shards) {
+            processTasks(each);
+        }
+    }
+    
+    private void processTasks(Shard shard) {
+        if (shouldProcessTasks()) {
+            shard.process(getCurrentTick());
+        }
+    }
+    
+    private Shard getShard(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return shards[(hash & Integer.MAX_VALUE) % shards.length];
+    }
+    
+    private long getCurrentTick() {
+        return (System.currentTimeMillis() - startTime) / tickMillis;
+    }
+    
+    private long getDueTick(AbstractDelayTask task) {
+        long dueTime = task.getLastProcessTime() + task.getTaskInterval() - startTime;
+        return dueTime <= 0 ? 0 : (dueTime + tickMillis - 1) / tickMillis;
+    }
+    
+    private void processTask(Object taskKey, AbstractDelayTask task) {
+        NacosTaskProcessor processor = getProcessor(taskKey);
+        try {
+            // ReAdd task if process failed
+            if (!processor.process(task)) {
+                retryFailedTask(taskKey, task);
+            }
+        } catch (Throwable e) {
+            getEngineLog().error("Nacos task execute error ", e);
+            retryFailedTask(taskKey, task);
+        }
+    }
+    
+    private void retryFailedTask(Object key, AbstractDelayTask task) {
+        task.setLastProcessTime(System.currentTimeMillis());
+        addTask(key, task);
+    }
+    
+    private static class TaskHolder {
+        
+        /**
+         * Only changed in {@code compute} of the key.
+         */
+        private volatile AbstractDelayTask task;
+        
+        /**
+         * The tick the key is put in the wheel for, only changed in {@code compute} of the key. Entries of the key in
+         * other buckets are stale and skipped.
+         */
+        private volatile long scheduledTick;
+        
+        private TaskHolder(AbstractDelayTask task) {
+            this.task = task;
+        }
+    }
+    
+    private class Shard {
+        
+        private final ConcurrentHashMap<Object, TaskHolder> tasks = new ConcurrentHashMap<>();
+        
+        private final Queue<Object>[] wheel;
+        
+        private final ReentrantLock processLock = new ReentrantLock();
+        
+        /**
+         * The last tick whose bucket is processing or processed.
+         */
+        private volatile long processedTick = -1L;
+        
+        @SuppressWarnings("unchecked")
+        private Shard() {
+            wheel = new Queue[WHEEL_SIZE];
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel[i] = new ConcurrentLinkedQueue<>();
+            }
+        }
+        
+        /**
+         * Put the key into the wheel, must be called in {@code compute} of the key.
+         */
+        private void schedule(Object key, TaskHolder holder, long dueTick) {
+            long processed = processedTick;
+            long tick = Math.min(Math.max(dueTick, processed + 1), processed + MAX_SCHEDULE_TICKS);
+            holder.scheduledTick = tick;
+            wheel[getBucketIndex(tick)].offer(key);
+            // the bucket may be processed before offered, put the key into a later bucket until it is not.
+            processed = processedTick;
+            while (processed >= tick) {
+                tick = processed + 1;
+                wheel[getBucketIndex(tick)].offer(key);
+                processed = processedTick;
+            }
+        }
+        
+        private void process(long currentTick) {
+            if (!processLock.tryLock()) {
+                return;
+            }
+            try {
+                // buckets of skipped rounds are the same buckets, so one round is enough to catch up.
+                long tick = Math.max(processedTick + 1, currentTick - WHEEL_SIZE + 1);
+                for (; tick <= currentTick; tick++) {
+                    processedTick = tick;
+                    Queue<Object> bucket = wheel[getBucketIndex(tick)];
+                    Object key;
+                    while (null != (key = bucket.poll())) {
+                        processKey(key, tick);
+                    }
+                }
+            } finally {
+                processLock.unlock();
+            }
+        }
+        
+        private void processKey(Object key, long tick) {
+            TaskHolder holder = tasks.get(key);
+            if (null == holder || holder.scheduledTick > tick) {
+                return;
+            }
+            AbstractDelayTask[] result = new AbstractDelayTask[1];
+            tasks.computeIfPresent(key, (k, current) -> {
+                if (current.scheduledTick > tick) {
+                    return current;
+                }
+                if (current.task.shouldProcess()) {
+                    result[0] = current.task;
+                    return null;
+                }
+                schedule(k, current, getDueTick(current.task));
+                return current;
+            });
+            if (null != result[0]) {
+                processTask(key, result[0]);
+            }
+        }
+        
+        private int getBucketIndex(long tick) {
+            return (int) (tick % WHEEL_SIZE);
+        }
+    }
+    
+    private class ProcessRunnable implements Runnable {
+        
+        private final Shard shard;
+        
+        private ProcessRunnable(Shard shard) {
+            this.shard = shard;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                processTasks(shard);
+            } catch (Throwable e) {
+                getEngineLog().error(e.toString(), e);
+            }
+        }
+    }
+}
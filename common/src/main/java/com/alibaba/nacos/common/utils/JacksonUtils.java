@@ -28,6 +28,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.NamedType;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import java.io.InputStream;
 import java.io.IOException;
@@ -80,6 +81,40 @@ public final class JacksonUtils {
         }
     }
     
+    /**
+     * Object to token buffer, which keeps the json tokens without formatting them to text.
+     *
+     * @param obj obj
+     * @return token buffer
+     * @throws NacosSerializationException if transfer failed
+     */
+    public static TokenBuffer toTokenBuffer(Object obj) {
+        TokenBuffer tokens = new TokenBuffer(mapper, false);
+        try {
+            mapper.writeValue(tokens, obj);
+            return tokens;
+        } catch (IOException e) {
+            throw new NacosSerializationException(obj.getClass(), e);
+        }
+    }
+    
+    /**
+     * Token buffer deserialize to Object.
+     *
+     * @param tokens json tokens
+     * @param cls    class of object
+     * @param <T>    General type
+     * @return object
+     * @throws NacosDeserializationException if deserialize failed
+     */
+    public static <T> T toObj(TokenBuffer tokens, Class<T> cls) {
+        try {
+            return mapper.readValue(tokens.asParser(mapper), cls);
+        } catch (IOException e) {
+            throw new NacosDeserializationException(cls, e);
+        }
+    }
+    
     /**
      * Json string deserialize to Object.
      *
@@ -0,0 +1,113 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.utils;
+
+import java.util.Map;
+
+/**
+ * Order independent digest of string key value pairs.
+ *
+ * <p>Each pair is hashed to 64 bits and combined by both sum and xor of the hashes, so two sides holding the same pairs
+ * get the same digest whatever the order they add pairs. The result is stable across processes and versions, it can
+ * be sent to remote to compare whole sets without sending them.
+ *
+ * @author Nacos
+ */
+public final class MapDigest {
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private static final char SEPARATOR = '\0';
+    
+    private int count;
+    
+    private long sum;
+    
+    private long xor;
+    
+    /**
+     * Add a pair, null value is treated as empty.
+     *
+     * @param key   key
+     * @param value value
+     * @return this digest
+     */
+    public MapDigest add(String key, String value) {
+        long hash = hash(key, value);
+        count++;
+        sum += hash;
+        xor ^= mix(hash);
+        return this;
+    }
+    
+    /**
+     * Digest of all entries of the map.
+     *
+     * @param map map
+     * @return digest string
+     */
+    public static String of(Map<String, String> map) {
+        MapDigest digest = new MapDigest();
+        if (null != map) {
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                digest.add(entry.getKey(), entry.getValue());
+            }
+        }
+        return digest.toString();
+    }
+    
+    private static long hash(String key, String value) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, key);
+        hash = (hash ^ SEPARATOR) * FNV_PRIME;
+        hash = hash(hash, null == value ? StringUtils.EMPTY : value);
+        return mix(hash);
+    }
+    
+    private static long hash(long seed, String text) {
+        long hash = seed;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+    
+    /**
+     * Finalization mix of murmur3, spread the bits so that sum and xor of hashes are independent.
+     */
+    private static long mix(long value) {
+        long result = value;
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+    
+    /**
+     * Digest string, the count of pairs with the combined hashes.
+     *
+     * @return digest string
+     */
+    @Override
+    public String toString() {
+        return count + "-" + Long.toHexString(sum) + "-" + Long.toHexString(xor);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.executor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HashedTimingWheelTest {
+    
+    private ScheduledExecutorService executor;
+    
+    private HashedTimingWheel wheel;
+    
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        wheel = new HashedTimingWheel(executor, 10, TimeUnit.MILLISECONDS, 8);
+    }
+    
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    public void testRunAfterDelayLongerThanOneRound() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicLong runTime = new AtomicLong();
+        long startTime = System.nanoTime();
+        wheel.newTimeout(() -> {
+            runTime.set(System.nanoTime());
+            latch.countDown();
+        }, 200, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(runTime.get() - startTime >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+    
+    @Test
+    public void testCancel() throws InterruptedException {
+        CountDownLatch cancelledLatch = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        HashedTimingWheel.Timeout timeout = wheel.newTimeout(cancelledLatch::countDown, 50, TimeUnit.MILLISECONDS);
+        wheel.newTimeout(latch::countDown, 100, TimeUnit.MILLISECONDS);
+        timeout.cancel();
+        assertTrue(timeout.isCancelled());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(cancelledLatch.await(100, TimeUnit.MILLISECONDS));
+    }
+    
+    @Test
+    public void testCancelledTimeoutRemovedBeforeDeadline() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        wheel.newTimeout(latch::countDown, 60, TimeUnit.SECONDS);
+        HashedTimingWheel.Timeout timeout = wheel.newTimeout(latch::countDown, 60, TimeUnit.SECONDS);
+        wheel.newTimeout(latch::countDown, 60, TimeUnit.SECONDS);
+        assertEquals(3, wheel.size());
+        timeout.cancel();
+        timeout.cancel();
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (wheel.size() > 2 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(2, wheel.size());
+        assertEquals(2, latch.getCount());
+    }
+    
+    @Test
+    public void testRearmInTask() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+                if (latch.getCount() > 0) {
+                    wheel.newTimeout(this, 20, TimeUnit.MILLISECONDS);
+                }
+            }
+        };
+        wheel.newTimeout(task, 0, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.BatchSubscriber;
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchEventPublisherTest {
+    
+    private BatchEventPublisher publisher;
+    
+    @Before
+    public void setUp() throws Exception {
+        publisher = (BatchEventPublisher) BatchEventPublisher.FACTORY.apply(MockEvent.class, 4);
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        publisher.shutdown();
+    }
+    
+    @Test
+    public void testInit() {
+        assertTrue(publisher.isInitialized());
+        assertEquals(0, publisher.currentEventSize());
+    }
+    
+    @Test
+    public void testPublishWhenBufferFull() {
+        // Stop the publisher thread to mock buffer full.
+        publisher.shutdown();
+        for (int i = 0; i < 4; i++) {
+            publisher.publish(new MockEvent());
+        }
+        assertEquals(4, publisher.currentEventSize());
+        // Test throw event when no subscribers.
+        publisher.publish(new MockEvent());
+        assertEquals(1, publisher.getCallerRunsCount());
+        assertEquals(1, publisher.getDroppedEventCount());
+        MockSubscriber subscriber = new MockSubscriber();
+        publisher.addSubscriber(subscriber);
+        publisher.publish(new MockEvent());
+        assertEquals(2, publisher.getCallerRunsCount());
+        assertEquals(1, subscriber.received.size());
+    }
+    
+    @Test
+    public void testBatchSubscriberReceiveBatch() throws InterruptedException {
+        MockBatchSubscriber batchSubscriber = new MockBatchSubscriber();
+        MockSubscriber subscriber = new MockSubscriber();
+        publisher.addSubscriber(batchSubscriber);
+        publisher.addSubscriber(subscriber);
+        List<MockEvent> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MockEvent event = new MockEvent();
+            events.add(event);
+            publisher.publish(event);
+        }
+        TimeUnit.MILLISECONDS.sleep(1500);
+        assertEquals(events, batchSubscriber.received);
+        assertEquals(events, subscriber.received);
+        assertTrue(batchSubscriber.batchCount <= 3);
+        assertEquals(0, publisher.currentEventSize());
+    }
+    
+    @Test
+    public void testRingBufferKeepOrderAndCapacity() {
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(3);
+        assertEquals(4, ringBuffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.offer(i));
+        }
+        assertEquals(false, ringBuffer.offer(4));
+        List<Integer> target = new ArrayList<>();
+        assertEquals(2, ringBuffer.drainTo(target, 2));
+        assertTrue(ringBuffer.offer(4));
+        assertTrue(ringBuffer.offer(5));
+        assertEquals(4, ringBuffer.drainTo(target, 10));
+        assertEquals(0, ringBuffer.drainTo(target, 10));
+        for (int i = 0; i < 6; i++) {
+            assertEquals(Integer.valueOf(i), target.get(i));
+        }
+        assertTrue(ringBuffer.isEmpty());
+    }
+    
+    private static class MockEvent extends Event {
+        
+        private static final long serialVersionUID = 3245838812624311386L;
+    }
+    
+    private static class MockSubscriber extends Subscriber<MockEvent> {
+        
+        private final List<MockEvent> received = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public void onEvent(MockEvent event) {
+            received.add(event);
+        }
+        
+        @Override
+        public Class<? extends Event> subscribeType() {
+            return MockEvent.class;
+        }
+    }
+    
+    private static class MockBatchSubscriber extends BatchSubscriber<MockEvent> {
+        
+        private final List<MockEvent> received = new CopyOnWriteArrayList<>();
+        
+        private volatile int batchCount;
+        
+        @Override
+        public void onEvents(List<MockEvent> events) {
+            batchCount++;
+            received.addAll(events);
+        }
+        
+        @Override
+        public Class<? extends Event> subscribeType() {
+            return MockEvent.class;
+        }
+    }
+}
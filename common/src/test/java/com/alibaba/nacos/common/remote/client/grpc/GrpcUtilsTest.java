@@ -21,16 +21,26 @@ package com.alibaba.nacos.common.remote.client.grpc;
 import com.alibaba.nacos.api.config.remote.response.ClientConfigMetricResponse;
 import com.alibaba.nacos.api.grpc.auto.Metadata;
 import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.request.ServiceQueryRequest;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.common.remote.PayloadBodyCodec;
 import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.SharedRequestBody;
 import com.alibaba.nacos.common.remote.exception.RemoteException;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -72,6 +82,42 @@ public class GrpcUtilsTest {
         return request;
     }
     
+    @Test
+    public void testConvertRequestWithSharedBody() {
+        SharedRequestBody body = SharedRequestBody.of(request);
+        request.setRequestId("10086");
+        Payload convert = GrpcUtils.convert(request, body, PayloadBodyCodec.JSON);
+        assertEquals("", convert.getBody().getTypeUrl());
+        assertEquals(request.getClass().getSimpleName(), convert.getMetadata().getType());
+        assertEquals("v1", convert.getMetadata().getHeadersMap().get("h1"));
+        ServiceQueryRequest actual = (ServiceQueryRequest) GrpcUtils.parse(convert);
+        assertEquals("10086", actual.getRequestId());
+        assertEquals("cluster", actual.getCluster());
+        assertEquals("namespace", actual.getNamespace());
+        assertEquals(3, request.getHeaders().size());
+    }
+    
+    @Test
+    public void testConvertRequestWithSharedCompactBody() {
+        SharedRequestBody body = SharedRequestBody.of(createRequest());
+        // the request id equals a string of the body, which must not be written as a reference to the request id.
+        request.setRequestId("cluster");
+        Payload convert = GrpcUtils.convert(request, body, PayloadBodyCodec.COMPACT);
+        assertEquals(PayloadBodyCodec.COMPACT.getTypeUrl(), convert.getBody().getTypeUrl());
+        assertEquals("v1", convert.getMetadata().getHeadersMap().get("h1"));
+        ServiceQueryRequest actual = (ServiceQueryRequest) GrpcUtils.parse(convert);
+        assertEquals("cluster", actual.getRequestId());
+        assertEquals("cluster", actual.getCluster());
+        assertEquals("namespace", actual.getNamespace());
+        assertTrue(actual.isHealthyOnly());
+        assertSame(body.getEncoding(PayloadBodyCodec.COMPACT), body.getEncoding(PayloadBodyCodec.COMPACT));
+        
+        request.setRequestId("10086");
+        actual = (ServiceQueryRequest) GrpcUtils.parse(GrpcUtils.convert(request, body, PayloadBodyCodec.COMPACT));
+        assertEquals("10086", actual.getRequestId());
+        assertEquals("cluster", actual.getCluster());
+    }
+    
     @Test
     public void testConvertRequest() {
         Payload convert = GrpcUtils.convert(request);
@@ -91,6 +137,19 @@ public class GrpcUtilsTest {
         assertEquals("v3", convert.getMetadata().getHeadersMap().get("h3"));
     }
     
+    @Test
+    public void testConvertRequestWithoutHeaderShareMetadata() {
+        NotifySubscriberRequest first = NotifySubscriberRequest.buildNotifySubscriberRequest(new ServiceInfo());
+        NotifySubscriberRequest second = NotifySubscriberRequest.buildNotifySubscriberRequest(new ServiceInfo());
+        Payload firstPayload = GrpcUtils.convert(first);
+        assertSame(firstPayload.getMetadata(), GrpcUtils.convert(second).getMetadata());
+        assertSame(GrpcUtils.convert(response).getMetadata(), GrpcUtils.convert(response).getMetadata());
+        
+        Payload payload = GrpcUtils.convert(request);
+        assertFalse(payload.getBody().getValue().toStringUtf8().contains("headers"));
+        assertEquals(3, request.getHeaders().size());
+    }
+    
     @Test
     public void testConvertResponse() {
         Payload convert = GrpcUtils.convert(response);
@@ -113,6 +172,59 @@ public class GrpcUtilsTest {
         
     }
     
+    @Test
+    public void testParseCompactBody() {
+        Payload requestPayload = GrpcUtils.convert(request, PayloadBodyCodec.COMPACT);
+        assertEquals(PayloadBodyCodec.COMPACT.getTypeUrl(), requestPayload.getBody().getTypeUrl());
+        assertEquals(3, this.request.getHeaders().size());
+        
+        ServiceQueryRequest request = (ServiceQueryRequest) GrpcUtils.parse(requestPayload);
+        assertEquals(this.request.getHeaders(), request.getHeaders());
+        assertEquals(this.request.getCluster(), request.getCluster());
+        assertEquals(this.request.isHealthyOnly(), request.isHealthyOnly());
+        assertEquals(this.request.getNamespace(), request.getNamespace());
+        
+        Payload responsePayload = GrpcUtils.convert(response, PayloadBodyCodec.COMPACT);
+        ClientConfigMetricResponse response = (ClientConfigMetricResponse) GrpcUtils.parse(responsePayload);
+        assertEquals(this.response.getMetrics(), response.getMetrics());
+    }
+    
+    @Test
+    public void testCompactBodySmallerThanJson() {
+        ServiceInfo serviceInfo = new ServiceInfo("group@@service");
+        List<Instance> hosts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Instance instance = new Instance();
+            instance.setIp("192.168.0." + i);
+            instance.setPort(8848);
+            instance.setWeight(1.5);
+            instance.setClusterName("DEFAULT");
+            instance.setServiceName("group@@service");
+            instance.addMetadata("version", "v" + i % 3);
+            hosts.add(instance);
+        }
+        serviceInfo.setHosts(hosts);
+        serviceInfo.setLastRefTime(System.currentTimeMillis());
+        NotifySubscriberRequest notifyRequest = NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo);
+        notifyRequest.setRequestId("1");
+        
+        Payload json = GrpcUtils.convert(notifyRequest, PayloadBodyCodec.JSON);
+        Payload compact = GrpcUtils.convert(notifyRequest, PayloadBodyCodec.COMPACT);
+        assertEquals("", json.getBody().getTypeUrl());
+        assertTrue(compact.getBody().getValue().size() < json.getBody().getValue().size() / 2);
+        
+        NotifySubscriberRequest actual = (NotifySubscriberRequest) GrpcUtils.parse(compact);
+        assertEquals("1", actual.getRequestId());
+        assertEquals(serviceInfo.getLastRefTime(), actual.getServiceInfo().getLastRefTime());
+        assertEquals(serviceInfo.getHosts(), actual.getServiceInfo().getHosts());
+    }
+    
+    @Test(expected = RemoteException.class)
+    public void testParseUnknownBodyCodec() {
+        Payload payload = GrpcUtils.convert(request);
+        GrpcUtils.parse(payload.toBuilder().setBody(payload.getBody().toBuilder().setTypeUrl("unknown")).build());
+    }
+    
     @Test(expected = RemoteException.class)
     public void testParseNullType() {
         Payload mockPayload = mock(Payload.class);
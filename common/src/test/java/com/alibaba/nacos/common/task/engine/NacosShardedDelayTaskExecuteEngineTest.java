@@ -0,0 +1,202 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.internal.verification.Times;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NacosShardedDelayTaskExecuteEngineTest {
+    
+    private NacosShardedDelayTaskExecuteEngine engine;
+    
+    @Mock
+    private NacosTaskProcessor taskProcessor;
+    
+    @Mock
+    private NacosTaskProcessor testTaskProcessor;
+    
+    private AbstractDelayTask abstractTask;
+    
+    @Before
+    public void setUp() throws Exception {
+        engine = new NacosShardedDelayTaskExecuteEngine(NacosShardedDelayTaskExecuteEngineTest.class.getName(), 4, null,
+                100L);
+        engine.setDefaultTaskProcessor(taskProcessor);
+        abstractTask = new AbstractDelayTask() {
+            @Override
+            public void merge(AbstractDelayTask task) {
+            }
+        };
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        engine.shutdown();
+    }
+    
+    @Test
+    public void testSize() {
+        assertEquals(0, engine.size());
+        engine.addTask("test", abstractTask);
+        assertEquals(1, engine.size());
+        engine.removeTask("test");
+        assertEquals(0, engine.size());
+    }
+    
+    @Test
+    public void testIsEmpty() {
+        assertTrue(engine.isEmpty());
+        engine.addTask("test", abstractTask);
+        assertFalse(engine.isEmpty());
+        engine.removeTask("test");
+        assertTrue(engine.isEmpty());
+    }
+    
+    @Test
+    public void testAddProcessor() throws InterruptedException {
+        when(testTaskProcessor.process(abstractTask)).thenReturn(true);
+        engine.addProcessor("test", testTaskProcessor);
+        engine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(200);
+        verify(testTaskProcessor).process(abstractTask);
+        verify(taskProcessor, never()).process(abstractTask);
+        assertEquals(1, engine.getAllProcessorKey().size());
+    }
+    
+    @Test
+    public void testRemoveProcessor() throws InterruptedException {
+        when(taskProcessor.process(abstractTask)).thenReturn(true);
+        engine.addProcessor("test", testTaskProcessor);
+        engine.removeProcessor("test");
+        engine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(200);
+        verify(testTaskProcessor, never()).process(abstractTask);
+        verify(taskProcessor).process(abstractTask);
+    }
+    
+    @Test
+    public void testRetryTaskAfterFail() throws InterruptedException {
+        when(taskProcessor.process(abstractTask)).thenReturn(false, true);
+        engine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(300);
+        verify(taskProcessor, new Times(2)).process(abstractTask);
+    }
+    
+    @Test
+    public void testProcessorWithException() throws InterruptedException {
+        when(taskProcessor.process(abstractTask)).thenThrow(new RuntimeException("test"));
+        engine.addProcessor("test", testTaskProcessor);
+        engine.removeProcessor("test");
+        engine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(1, engine.size());
+    }
+    
+    @Test
+    public void testTaskShouldNotExecute() throws InterruptedException {
+        engine.addProcessor("test", testTaskProcessor);
+        engine.addTask("test", abstractTask);
+        abstractTask.setTaskInterval(10000L);
+        abstractTask.setLastProcessTime(System.currentTimeMillis());
+        TimeUnit.MILLISECONDS.sleep(200);
+        verify(testTaskProcessor, never()).process(abstractTask);
+        assertEquals(1, engine.size());
+    }
+    
+    @Test
+    public void testTaskMerge() {
+        engine.addProcessor("test", testTaskProcessor);
+        engine.addTask("test", abstractTask);
+        engine.addTask("test", new AbstractDelayTask() {
+            @Override
+            public void merge(AbstractDelayTask task) {
+                setLastProcessTime(task.getLastProcessTime());
+                setTaskInterval(task.getTaskInterval());
+            }
+        });
+        assertEquals(1, engine.size());
+    }
+    
+    @Test
+    public void testConcurrentAddTaskMerged() throws InterruptedException {
+        AtomicInteger processedCount = new AtomicInteger();
+        when(taskProcessor.process(any())).then(invocation -> {
+            processedCount.addAndGet(((CountTask) invocation.getArgument(0)).count);
+            return true;
+        });
+        int threadCount = 8;
+        int keyCount = 100;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < keyCount; j++) {
+                    engine.addTask("key" + j, new CountTask());
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertTrue(engine.isEmpty());
+        assertEquals(threadCount * keyCount, processedCount.get());
+    }
+    
+    @Test
+    public void testMergeIntoEarlierTaskProcessedEarlier() throws InterruptedException {
+        when(taskProcessor.process(any())).thenReturn(true);
+        CountTask task = new CountTask();
+        task.setTaskInterval(10000L);
+        task.setLastProcessTime(System.currentTimeMillis());
+        engine.addTask("test", task);
+        CountTask newTask = new CountTask();
+        engine.addTask("test", newTask);
+        TimeUnit.MILLISECONDS.sleep(300);
+        verify(taskProcessor).process(newTask);
+        assertEquals(2, newTask.count);
+        assertTrue(engine.isEmpty());
+    }
+    
+    private static class CountTask extends AbstractDelayTask {
+        
+        private int count = 1;
+        
+        @Override
+        public void merge(AbstractDelayTask task) {
+            count += ((CountTask) task).count;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.utils;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class MapDigestTest {
+    
+    @Test
+    public void testOrderIndependent() {
+        String digest = new MapDigest().add("k1", "v1").add("k2", "v2").add("k3", null).toString();
+        assertEquals(digest, new MapDigest().add("k3", "").add("k2", "v2").add("k1", "v1").toString());
+        Map<String, String> map = new HashMap<>();
+        map.put("k1", "v1");
+        map.put("k2", "v2");
+        map.put("k3", null);
+        assertEquals(digest, MapDigest.of(map));
+    }
+    
+    @Test
+    public void testDifferentPairs() {
+        String digest = new MapDigest().add("k1", "v1").add("k2", "v2").toString();
+        assertNotEquals(digest, new MapDigest().add("k1", "v2").add("k2", "v1").toString());
+        assertNotEquals(digest, new MapDigest().add("k1v", "1").add("k2", "v2").toString());
+        assertNotEquals(digest, new MapDigest().add("k1", "v1").toString());
+        assertEquals(new MapDigest().toString(), MapDigest.of(null));
+    }
+}
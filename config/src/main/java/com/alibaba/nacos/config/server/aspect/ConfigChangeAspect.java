@@ -23,6 +23,7 @@ import com.alibaba.nacos.api.config.remote.response.ConfigRemoveResponse;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.api.remote.response.ResponseCode;
 import com.alibaba.nacos.common.model.RestResultUtils;
+import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.config.server.configuration.ConfigChangeConfigs;
 import com.alibaba.nacos.config.server.model.SameConfigPolicy;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
@@ -30,7 +31,6 @@ import com.alibaba.nacos.config.server.utils.RequestUtil;
 import com.alibaba.nacos.config.server.utils.TimeUtils;
 import com.alibaba.nacos.plugin.config.ConfigChangePluginManager;
 import com.alibaba.nacos.plugin.config.constants.ConfigChangeConstants;
-import com.alibaba.nacos.plugin.config.constants.ConfigChangeExecuteTypes;
 import com.alibaba.nacos.plugin.config.constants.ConfigChangePointCutTypes;
 import com.alibaba.nacos.plugin.config.model.ConfigChangeRequest;
 import com.alibaba.nacos.plugin.config.model.ConfigChangeResponse;
@@ -45,10 +45,13 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.List;
 import java.util.ArrayList;
-import java.util.Properties;
-import java.util.Locale;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Config change pointcut aspect,which config change plugin services will pointcut.
@@ -61,11 +64,17 @@ public class ConfigChangeAspect {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigChangeAspect.class);
     
-    private static final Integer DEFAULT_BEFORE_LIST_CAPACITY = 2;
+    /**
+     * Max count of requests waiting for after execute plugin services, later requests are rejected.
+     */
+    private static final int AFTER_PLUGIN_QUEUE_CAPACITY = 16384;
     
-    private static final Integer DEFAULT_AFTER_LIST_CAPACITY = 1;
+    private static final int AFTER_PLUGIN_BATCH_SIZE = 16;
     
-    private static final String ENABLED = "enabled";
+    /**
+     * Max count of tasks draining the pending requests concurrently, same as the threads of plugin executor.
+     */
+    private static final int AFTER_PLUGIN_DRAINER_COUNT = ThreadUtils.getSuitableThreadCount();
     
     /**
      * Publish or update config through http.
@@ -117,6 +126,13 @@ public class ConfigChangeAspect {
     
     private ConfigChangePluginManager configChangeManager;
     
+    private final Map<ConfigChangePointCutTypes, ConfigChangePluginPipeline> pipelines = new ConcurrentHashMap<>(
+            ConfigChangePointCutTypes.values().length);
+    
+    private final BlockingQueue<Runnable> afterPluginTasks = new ArrayBlockingQueue<>(AFTER_PLUGIN_QUEUE_CAPACITY);
+    
+    private final AtomicInteger afterPluginDrainers = new AtomicInteger();
+    
     public ConfigChangeAspect(ConfigChangeConfigs configChangeConfigs) {
         this.configChangeConfigs = configChangeConfigs;
         configChangeManager = ConfigChangePluginManager.getInstance();
@@ -131,10 +147,9 @@ public class ConfigChangeAspect {
             String appName, String srcUser, String configTags, String desc, String use, String effect, String type)
             throws Throwable {
         final ConfigChangePointCutTypes configChangePointCutType = ConfigChangePointCutTypes.PUBLISH_BY_HTTP;
-        final List<ConfigChangePluginService> pluginServices = getPluginServices(
-                configChangePointCutType);
+        final ConfigChangePluginPipeline pipeline = getPipeline(configChangePointCutType);
         // didn't enabled or add relative plugin
-        if (pluginServices.isEmpty()) {
+        if (pipeline.isEmpty()) {
             return pjp.proceed();
         }
         ConfigChangeRequest configChangeRequest = new ConfigChangeRequest(configChangePointCutType);
@@ -150,7 +165,7 @@ public class ConfigChangeAspect {
         configChangeRequest.setArg("use", use);
         configChangeRequest.setArg("effect", effect);
         configChangeRequest.setArg("type", type);
-        return configChangeServiceHandle(pjp, pluginServices, configChangeRequest);
+        return configChangeServiceHandle(pjp, pipeline, configChangeRequest);
     }
     
     /**
@@ -160,10 +175,9 @@ public class ConfigChangeAspect {
     Object removeConfigByIdAround(ProceedingJoinPoint pjp, HttpServletRequest request, HttpServletResponse response,
             String dataId, String group, String tenant) throws Throwable {
         final ConfigChangePointCutTypes configChangePointCutType = ConfigChangePointCutTypes.REMOVE_BY_HTTP;
-        final List<ConfigChangePluginService> pluginServices = getPluginServices(
-                configChangePointCutType);
+        final ConfigChangePluginPipeline pipeline = getPipeline(configChangePointCutType);
         // didn't enabled or add relative plugin
-        if (pluginServices.isEmpty()) {
+        if (pipeline.isEmpty()) {
             return pjp.proceed();
         }
         ConfigChangeRequest configChangeRequest = new ConfigChangeRequest(configChangePointCutType);
@@ -173,7 +187,7 @@ public class ConfigChangeAspect {
         configChangeRequest.setArg("srcIp", RequestUtil.getRemoteIp(request));
         configChangeRequest.setArg("requestIpApp", RequestUtil.getAppName(request));
         configChangeRequest.setArg("use", RequestUtil.getSrcUserName(request));
-        return configChangeServiceHandle(pjp, pluginServices, configChangeRequest);
+        return configChangeServiceHandle(pjp, pipeline, configChangeRequest);
     }
     
     /**
@@ -183,10 +197,9 @@ public class ConfigChangeAspect {
     public Object removeConfigByIdsAround(ProceedingJoinPoint pjp, HttpServletRequest request, List<Long> ids)
             throws Throwable {
         final ConfigChangePointCutTypes configChangePointCutType = ConfigChangePointCutTypes.REMOVE_BATCH_HTTP;
-        final List<ConfigChangePluginService> pluginServices = getPluginServices(
-                configChangePointCutType);
+        final ConfigChangePluginPipeline pipeline = getPipeline(configChangePointCutType);
         // didn't enabled or add relative plugin
-        if (pluginServices.isEmpty()) {
+        if (pipeline.isEmpty()) {
             return pjp.proceed();
         }
         ConfigChangeRequest configChangeRequest = new ConfigChangeRequest(configChangePointCutType);
@@ -194,7 +207,7 @@ public class ConfigChangeAspect {
         configChangeRequest.setArg("srcIp", RequestUtil.getRemoteIp(request));
         configChangeRequest.setArg("requestIpApp", RequestUtil.getAppName(request));
         configChangeRequest.setArg("use", RequestUtil.getSrcUserName(request));
-        return configChangeServiceHandle(pjp, pluginServices, configChangeRequest);
+        return configChangeServiceHandle(pjp, pipeline, configChangeRequest);
     }
     
     /**
@@ -204,10 +217,9 @@ public class ConfigChangeAspect {
     public Object importConfigAround(ProceedingJoinPoint pjp, HttpServletRequest request, String srcUser,
             String namespace, SameConfigPolicy policy, MultipartFile file) throws Throwable {
         final ConfigChangePointCutTypes configChangePointCutType = ConfigChangePointCutTypes.IMPORT_BY_HTTP;
-        final List<ConfigChangePluginService> pluginServices = getPluginServices(
-                configChangePointCutType);
+        final ConfigChangePluginPipeline pipeline = getPipeline(configChangePointCutType);
         // didn't enabled or add relative plugin
-        if (pluginServices.isEmpty()) {
+        if (pipeline.isEmpty()) {
             return pjp.proceed();
         }
         ConfigChangeRequest configChangeRequest = new ConfigChangeRequest(configChangePointCutType);
@@ -218,7 +230,7 @@ public class ConfigChangeAspect {
         configChangeRequest.setArg("srcIp", RequestUtil.getRemoteIp(request));
         configChangeRequest.setArg("requestIpApp", RequestUtil.getAppName(request));
         configChangeRequest.setArg("use", RequestUtil.getSrcUserName(request));
-        return configChangeServiceHandle(pjp, pluginServices, configChangeRequest);
+        return configChangeServiceHandle(pjp, pipeline, configChangeRequest);
     }
     
     /**
@@ -228,10 +240,9 @@ public class ConfigChangeAspect {
     Object publishConfigAroundRpc(ProceedingJoinPoint pjp, ConfigPublishRequest request, RequestMeta meta)
             throws Throwable {
         final ConfigChangePointCutTypes configChangePointCutType = ConfigChangePointCutTypes.PUBLISH_BY_RPC;
-        final List<ConfigChangePluginService> pluginServices = getPluginServices(
-                configChangePointCutType);
+        final ConfigChangePluginPipeline pipeline = getPipeline(configChangePointCutType);
         // didn't enabled or add relative plugin
-        if (pluginServices.isEmpty()) {
+        if (pipeline.isEmpty()) {
             return pjp.proceed();
         }
         ConfigChangeRequest configChangeRequest = new ConfigChangeRequest(configChangePointCutType);
@@ -249,7 +260,7 @@ public class ConfigChangeAspect {
         configChangeRequest.setArg("requestIpApp", request.getAdditionParam("requestIpApp"));
         configChangeRequest.setArg("srcUser", request.getAdditionParam("src_user"));
         configChangeRequest.setArg("use", request.getAdditionParam("use"));
-        return configChangeServiceHandle(pjp, pluginServices, configChangeRequest);
+        return configChangeServiceHandle(pjp, pipeline, configChangeRequest);
     }
     
     /**
@@ -259,10 +270,9 @@ public class ConfigChangeAspect {
     Object removeConfigAroundRpc(ProceedingJoinPoint pjp, ConfigRemoveRequest request, RequestMeta meta)
             throws Throwable {
         final ConfigChangePointCutTypes configChangePointCutType = ConfigChangePointCutTypes.REMOVE_BY_RPC;
-        final List<ConfigChangePluginService> pluginServices = getPluginServices(
-                configChangePointCutType);
+        final ConfigChangePluginPipeline pipeline = getPipeline(configChangePointCutType);
         // didn't enabled or add relative plugin
-        if (pluginServices.isEmpty()) {
+        if (pipeline.isEmpty()) {
             return pjp.proceed();
         }
         ConfigChangeRequest configChangeRequest = new ConfigChangeRequest(configChangePointCutType);
@@ -274,45 +284,27 @@ public class ConfigChangeAspect {
         configChangeRequest.setArg("requestIpApp", request.getHeader("requestIpApp"));
         configChangeRequest.setArg("srcUser", request.getHeader("src_user"));
         configChangeRequest.setArg("use", request.getHeader("use"));
-        return configChangeServiceHandle(pjp, pluginServices, configChangeRequest);
+        return configChangeServiceHandle(pjp, pipeline, configChangeRequest);
     }
     
     /**
      * Execute relevant config change plugin services.
      */
-    private Object configChangeServiceHandle(ProceedingJoinPoint pjp,
-            List<ConfigChangePluginService> configChangePluginServiceList,
+    private Object configChangeServiceHandle(ProceedingJoinPoint pjp, ConfigChangePluginPipeline pipeline,
             ConfigChangeRequest configChangeRequest) {
         configChangeRequest.setArg("modifyTime", TimeUtils.getCurrentTimeStr());
         ConfigChangePointCutTypes handleType = configChangeRequest.getRequestType();
         ConfigChangeResponse configChangeResponse = new ConfigChangeResponse(handleType);
         // default success,when before plugin service verify failed , set false
         configChangeResponse.setSuccess(true);
-
-        List<ConfigChangePluginService> beforeExecutePluginServices = new ArrayList<>(DEFAULT_BEFORE_LIST_CAPACITY);
-        List<ConfigChangePluginService> afterExecutePluginServices = new ArrayList<>(DEFAULT_AFTER_LIST_CAPACITY);
         
         Object retVal = null;
         Object[] args = pjp.getArgs();
         configChangeRequest.setArg(ConfigChangeConstants.ORIGINAL_ARGS, args);
         
-        for (ConfigChangePluginService ccs : configChangePluginServiceList) {
-            if (!isEnabled(ccs)) {
-                continue;
-            }
-            if (ConfigChangeExecuteTypes.EXECUTE_BEFORE_TYPE.equals(ccs.executeType())) {
-                beforeExecutePluginServices.add(ccs);
-            } else {
-                afterExecutePluginServices.add(ccs);
-            }
-        }
-        
         // before plugin service execute
-        for (ConfigChangePluginService ccs : beforeExecutePluginServices) {
-            final String serviceType = ccs.getServiceType().toLowerCase(Locale.ROOT);
-            final Properties properties = configChangeConfigs.getPluginProperties(serviceType);
-            configChangeRequest.setArg(ConfigChangeConstants.PLUGIN_PROPERTIES, properties);
-            ccs.execute(configChangeRequest, configChangeResponse);
+        for (ConfigChangePluginPipeline.PluginInvoker each : pipeline.getBeforeInvokers()) {
+            each.execute(configChangeRequest, configChangeResponse);
             if (null != configChangeResponse.getArgs()) {
                 // update args by filter with whitelist
                 args = configChangeResponse.getArgs();
@@ -336,41 +328,62 @@ public class ConfigChangeAspect {
         }
         
         // after plugin service execute
-        ConfigExecutor.executeAsyncConfigChangePluginTask(() -> {
-            for (ConfigChangePluginService ccs : afterExecutePluginServices) {
-                try {
-                    final String serviceType = ccs.getServiceType().toLowerCase(Locale.ROOT);
-                    final Properties properties = configChangeConfigs.getPluginProperties(serviceType);
-                    configChangeRequest.setArg(ConfigChangeConstants.PLUGIN_PROPERTIES, properties);
-                    ccs.execute(configChangeRequest, configChangeResponse);
-                } catch (Throwable throwable) {
-                    LOGGER.warn("execute async plugin services failed {}", throwable.getMessage());
-                }
-            }
-        });
+        if (pipeline.hasAfterInvokers()) {
+            executeAfterPlugins(pipeline, configChangeRequest, configChangeResponse);
+        }
         
         return retVal;
     }
     
-    private List<ConfigChangePluginService> getPluginServices(
-            ConfigChangePointCutTypes configChangePointCutType) {
-        List<ConfigChangePluginService> pluginServicePriorityList = ConfigChangePluginManager
-                .findPluginServicesByPointcut(configChangePointCutType);
-        if (pluginServicePriorityList == null) {
-            return new ArrayList<>();
+    private void executeAfterPlugins(ConfigChangePluginPipeline pipeline, ConfigChangeRequest configChangeRequest,
+            ConfigChangeResponse configChangeResponse) {
+        if (!afterPluginTasks.offer(() -> pipeline.executeAfter(configChangeRequest, configChangeResponse))) {
+            pipeline.rejectAfter();
+            LOGGER.warn("too many pending config change plugin tasks, skip after plugin services of {}",
+                    configChangeRequest.getRequestType());
+            return;
+        }
+        if (tryAcquireAfterPluginDrainer()) {
+            ConfigExecutor.executeAsyncConfigChangePluginTask(this::drainAfterPluginTasks);
         }
-        for (ConfigChangePluginService each : pluginServicePriorityList) {
-            if (isEnabled(each)) {
-                return pluginServicePriorityList;
+    }
+    
+    private boolean tryAcquireAfterPluginDrainer() {
+        int drainers;
+        while ((drainers = afterPluginDrainers.get()) < AFTER_PLUGIN_DRAINER_COUNT) {
+            if (afterPluginDrainers.compareAndSet(drainers, drainers + 1)) {
+                return true;
             }
         }
-        return new ArrayList<>();
+        return false;
+    }
+    
+    /**
+     * Execute pending after plugin tasks in batches, the drain tasks run across the threads of plugin executor.
+     */
+    private void drainAfterPluginTasks() {
+        List<Runnable> batch = new ArrayList<>(AFTER_PLUGIN_BATCH_SIZE);
+        do {
+            while (afterPluginTasks.drainTo(batch, AFTER_PLUGIN_BATCH_SIZE) > 0) {
+                for (Runnable each : batch) {
+                    each.run();
+                }
+                batch.clear();
+            }
+            afterPluginDrainers.decrementAndGet();
+            // tasks offered while all drainers were running are drained by the drainer released last.
+        } while (!afterPluginTasks.isEmpty() && tryAcquireAfterPluginDrainer());
     }
     
-    private boolean isEnabled(ConfigChangePluginService configChangePluginService) {
-        Properties serviceConfigProperties = configChangeConfigs
-                .getPluginProperties(configChangePluginService.getServiceType());
-        return Boolean.parseBoolean(serviceConfigProperties.getProperty(ENABLED));
+    private ConfigChangePluginPipeline getPipeline(ConfigChangePointCutTypes configChangePointCutType) {
+        List<ConfigChangePluginService> pluginServices = ConfigChangePluginManager
+                .findPluginServicesByPointcut(configChangePointCutType);
+        ConfigChangePluginPipeline pipeline = pipelines.get(configChangePointCutType);
+        if (null == pipeline || pipeline.isStale(pluginServices, configChangeConfigs)) {
+            pipeline = ConfigChangePluginPipeline.build(pluginServices, configChangeConfigs);
+            pipelines.put(configChangePointCutType, pipeline);
+        }
+        return pipeline;
     }
     
     private Object wrapErrorResp(ConfigChangeResponse configChangeResponse) {
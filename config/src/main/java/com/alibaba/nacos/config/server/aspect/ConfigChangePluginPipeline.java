@@ -0,0 +1,183 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.aspect;
+
+import com.alibaba.nacos.config.server.configuration.ConfigChangeConfigs;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.plugin.config.constants.ConfigChangeConstants;
+import com.alibaba.nacos.plugin.config.constants.ConfigChangeExecuteTypes;
+import com.alibaba.nacos.plugin.config.model.ConfigChangeRequest;
+import com.alibaba.nacos.plugin.config.model.ConfigChangeResponse;
+import com.alibaba.nacos.plugin.config.spi.ConfigChangePluginService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enabled config change plugin services of one pointcut, split into before and after execute services.
+ *
+ * <p>The pipeline is built once and reused until the plugin services of the pointcut or the plugin properties change.
+ *
+ * @author Nacos
+ */
+final class ConfigChangePluginPipeline {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigChangePluginPipeline.class);
+    
+    private static final String ENABLED = "enabled";
+    
+    private final List<ConfigChangePluginService> pluginServices;
+    
+    private final int pluginServiceCount;
+    
+    private final int configsVersion;
+    
+    private final List<PluginInvoker> beforeInvokers;
+    
+    private final List<PluginInvoker> afterInvokers;
+    
+    private ConfigChangePluginPipeline(List<ConfigChangePluginService> pluginServices, int configsVersion,
+            List<PluginInvoker> beforeInvokers, List<PluginInvoker> afterInvokers) {
+        this.pluginServices = pluginServices;
+        this.pluginServiceCount = pluginServices.size();
+        this.configsVersion = configsVersion;
+        this.beforeInvokers = beforeInvokers;
+        this.afterInvokers = afterInvokers;
+    }
+    
+    /**
+     * Build pipeline with the enabled plugin services, the order of plugin services is kept.
+     *
+     * @param pluginServices      plugin services of the pointcut, sorted by order
+     * @param configChangeConfigs config change plugin configs
+     * @return pipeline
+     */
+    static ConfigChangePluginPipeline build(List<ConfigChangePluginService> pluginServices,
+            ConfigChangeConfigs configChangeConfigs) {
+        int configsVersion = configChangeConfigs.getVersion();
+        List<PluginInvoker> beforeInvokers = new ArrayList<>();
+        List<PluginInvoker> afterInvokers = new ArrayList<>();
+        for (ConfigChangePluginService each : pluginServices) {
+            Properties enabledProperties = configChangeConfigs.getPluginProperties(each.getServiceType());
+            if (!Boolean.parseBoolean(enabledProperties.getProperty(ENABLED))) {
+                continue;
+            }
+            Properties properties = configChangeConfigs
+                    .getPluginProperties(each.getServiceType().toLowerCase(Locale.ROOT));
+            PluginInvoker invoker = new PluginInvoker(each, properties);
+            if (ConfigChangeExecuteTypes.EXECUTE_BEFORE_TYPE.equals(each.executeType())) {
+                beforeInvokers.add(invoker);
+            } else {
+                afterInvokers.add(invoker);
+            }
+        }
+        return new ConfigChangePluginPipeline(pluginServices, configsVersion,
+                beforeInvokers.isEmpty() ? Collections.emptyList() : beforeInvokers,
+                afterInvokers.isEmpty() ? Collections.emptyList() : afterInvokers);
+    }
+    
+    /**
+     * Whether the pipeline should be rebuilt, plugin services might join the list of pointcut dynamically.
+     *
+     * @param pluginServices      current plugin services of the pointcut
+     * @param configChangeConfigs config change plugin configs
+     * @return true if the pipeline is out of date
+     */
+    boolean isStale(List<ConfigChangePluginService> pluginServices, ConfigChangeConfigs configChangeConfigs) {
+        if (configsVersion != configChangeConfigs.getVersion() || pluginServiceCount != pluginServices.size()) {
+            return true;
+        }
+        // a new empty list is returned for the pointcut without plugin services.
+        return 0 != pluginServiceCount && this.pluginServices != pluginServices;
+    }
+    
+    boolean isEmpty() {
+        return beforeInvokers.isEmpty() && afterInvokers.isEmpty();
+    }
+    
+    List<PluginInvoker> getBeforeInvokers() {
+        return beforeInvokers;
+    }
+    
+    boolean hasAfterInvokers() {
+        return !afterInvokers.isEmpty();
+    }
+    
+    /**
+     * Execute after execute plugin services, failure of one service doesn't stop the others.
+     *
+     * @param configChangeRequest  config change request
+     * @param configChangeResponse config change response
+     */
+    void executeAfter(ConfigChangeRequest configChangeRequest, ConfigChangeResponse configChangeResponse) {
+        for (PluginInvoker each : afterInvokers) {
+            try {
+                each.execute(configChangeRequest, configChangeResponse);
+            } catch (Throwable throwable) {
+                LOGGER.warn("execute async plugin services failed {}", throwable.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Record the after execute plugin services are rejected, because of too many pending requests.
+     */
+    void rejectAfter() {
+        for (PluginInvoker each : afterInvokers) {
+            each.rejected.increment();
+        }
+    }
+    
+    /**
+     * Plugin service with its resolved properties and metrics.
+     */
+    static final class PluginInvoker {
+        
+        private final ConfigChangePluginService pluginService;
+        
+        private final Properties properties;
+        
+        private final Timer rtTimer;
+        
+        private final Counter rejected;
+        
+        private PluginInvoker(ConfigChangePluginService pluginService, Properties properties) {
+            this.pluginService = pluginService;
+            this.properties = properties;
+            this.rtTimer = MetricsMonitor.getConfigChangePluginRtTimer(pluginService.getServiceType());
+            this.rejected = MetricsMonitor.getConfigChangePluginRejected(pluginService.getServiceType());
+        }
+        
+        void execute(ConfigChangeRequest configChangeRequest, ConfigChangeResponse configChangeResponse) {
+            configChangeRequest.setArg(ConfigChangeConstants.PLUGIN_PROPERTIES, properties);
+            long start = System.nanoTime();
+            try {
+                pluginService.execute(configChangeRequest, configChangeResponse);
+            } finally {
+                rtTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
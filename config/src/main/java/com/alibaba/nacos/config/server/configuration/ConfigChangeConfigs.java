@@ -45,6 +45,11 @@ public class ConfigChangeConfigs extends Subscriber<ServerConfigChangeEvent> {
     
     private Map<String, Properties> configPluginProperties = new HashMap<>();
     
+    /**
+     * Increased after each refresh, so that users can rebuild what they derived from the properties.
+     */
+    private volatile int version;
+    
     public ConfigChangeConfigs() {
         NotifyCenter.registerSubscriber(this);
         refreshPluginProperties();
@@ -64,6 +69,7 @@ public class ConfigChangeConfigs extends Subscriber<ServerConfigChangeEvent> {
                 }
             }
             configPluginProperties = newProperties;
+            version++;
         } catch (Exception e) {
             LOGGER.warn("[ConfigChangeConfigs]Refresh config plugin properties failed ", e);
         }
@@ -79,6 +85,10 @@ public class ConfigChangeConfigs extends Subscriber<ServerConfigChangeEvent> {
         return configPluginProperties.get(configPluginType);
     }
     
+    public int getVersion() {
+        return version;
+    }
+    
     @Override
     public void onEvent(ServerConfigChangeEvent event) {
         refreshPluginProperties();
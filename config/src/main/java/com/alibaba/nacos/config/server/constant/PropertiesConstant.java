@@ -63,5 +63,7 @@ public class PropertiesConstant {
     
     public static final String DUMP_CHANGE_WORKER_INTERVAL = "dumpChangeWorkerInterval";
     
+    public static final String CONTENT_CACHE_MAX_BYTES = "nacos.config.cache.content.max_bytes";
+    
     
 }
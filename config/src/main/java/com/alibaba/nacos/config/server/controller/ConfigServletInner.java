@@ -28,8 +28,8 @@ import com.alibaba.nacos.config.server.enums.FileTypeEnum;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigCache;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.ConfigContentCache;
 import com.alibaba.nacos.config.server.service.LongPollingService;
-import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
 import com.alibaba.nacos.config.server.service.trace.ConfigTraceService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
@@ -170,7 +170,7 @@ public class ConfigServletInner {
                     md5 = configCacheBeta.getMd5(acceptCharset);
                     lastModified = configCacheBeta.getLastModifiedTs();
                     encryptedDataKey = configCacheBeta.getEncryptedDataKey();
-                    content = ConfigDiskServiceFactory.getInstance().getBetaContent(dataId, group, tenant);
+                    content = ConfigContentCache.getBetaContent(dataId, group, tenant, md5);
                     response.setHeader("isBeta", "true");
                 } else {
                     if (StringUtils.isBlank(tag)) {
@@ -180,8 +180,7 @@ public class ConfigServletInner {
                             md5 = configCacheTag.getMd5(acceptCharset);
                             lastModified = configCacheTag.getLastModifiedTs();
                             encryptedDataKey = configCacheTag.getEncryptedDataKey();
-                            content = ConfigDiskServiceFactory.getInstance()
-                                    .getTagContent(dataId, group, tenant, autoTag);
+                            content = ConfigContentCache.getTagContent(dataId, group, tenant, autoTag, md5);
                             pullEvent = ConfigTraceService.PULL_EVENT_TAG + "-" + autoTag;
                             response.setHeader(com.alibaba.nacos.api.common.Constants.VIPSERVER_TAG,
                                     URLEncoder.encode(autoTag, StandardCharsets.UTF_8.displayName()));
@@ -190,14 +189,14 @@ public class ConfigServletInner {
                             md5 = cacheItem.getConfigCache().getMd5(acceptCharset);
                             lastModified = cacheItem.getConfigCache().getLastModifiedTs();
                             encryptedDataKey = cacheItem.getConfigCache().getEncryptedDataKey();
-                            content = ConfigDiskServiceFactory.getInstance().getContent(dataId, group, tenant);
+                            content = ConfigContentCache.getContent(dataId, group, tenant, md5);
                         }
                     } else {
                         md5 = cacheItem.getTagMd5(tag, acceptCharset);
                         lastModified = cacheItem.getTagLastModified(tag);
                         encryptedDataKey = cacheItem.getTagEncryptedDataKey(tag);
                         
-                        content = ConfigDiskServiceFactory.getInstance().getTagContent(dataId, group, tenant, tag);
+                        content = ConfigContentCache.getTagContent(dataId, group, tenant, tag, md5);
                         pullEvent = ConfigTraceService.PULL_EVENT_TAG + "-" + tag;
                     }
                 }
@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Metrics Monitor.
@@ -60,11 +61,56 @@ public class MetricsMonitor {
     
     private static AtomicInteger dumpTask = new AtomicInteger();
     
+    /**
+     * percent of config ids fetched by the running dump all task.
+     */
+    private static AtomicInteger dumpAllProgress = new AtomicInteger();
+    
+    /**
+     * configs dumped per second by the running dump all task.
+     */
+    private static AtomicInteger dumpAllThroughput = new AtomicInteger();
+    
     /**
      * config fuzzy search count.
      */
     private static AtomicInteger fuzzySearch = new AtomicInteger();
     
+    /**
+     * config content cache hit count.
+     */
+    private static AtomicLong contentCacheHit = new AtomicLong();
+    
+    /**
+     * config content cache miss count.
+     */
+    private static AtomicLong contentCacheMiss = new AtomicLong();
+    
+    /**
+     * config content cache eviction count, caused by the byte budget.
+     */
+    private static AtomicLong contentCacheEviction = new AtomicLong();
+    
+    /**
+     * estimated bytes held by config content cache.
+     */
+    private static AtomicLong contentCacheBytes = new AtomicLong();
+    
+    /**
+     * local data change events waiting to be notified.
+     */
+    private static AtomicLong localDataChangeQueue = new AtomicLong();
+    
+    /**
+     * local data change events dropped because there was no subscriber.
+     */
+    private static AtomicLong localDataChangeDropped = new AtomicLong();
+    
+    /**
+     * local data change events notified by the publishing thread because the queue was full.
+     */
+    private static AtomicLong localDataChangeCallerRuns = new AtomicLong();
+    
     /**
      * version -> client config subscriber count.
      */
@@ -113,11 +159,56 @@ public class MetricsMonitor {
         tags.add(new ImmutableTag("name", "dumpTask"));
         NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, dumpTask);
         
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "dumpAllProgress"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, dumpAllProgress);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "dumpAllThroughput"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, dumpAllThroughput);
+        
         tags = new ArrayList<>();
         tags.add(immutableTag);
         tags.add(new ImmutableTag("name", "fuzzySearch"));
         NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, fuzzySearch);
         
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "contentCacheHit"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, contentCacheHit);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "contentCacheMiss"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, contentCacheMiss);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "contentCacheEviction"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, contentCacheEviction);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "contentCacheBytes"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, contentCacheBytes);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "localDataChangeQueue"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, localDataChangeQueue);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "localDataChangeDropped"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, localDataChangeDropped);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "localDataChangeCallerRuns"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, localDataChangeCallerRuns);
+        
         configSubscriber.put("v1", new AtomicInteger(0));
         configSubscriber.put("v2", new AtomicInteger(0));
         
@@ -158,10 +249,46 @@ public class MetricsMonitor {
         return dumpTask;
     }
     
+    public static AtomicInteger getDumpAllProgressMonitor() {
+        return dumpAllProgress;
+    }
+    
+    public static AtomicInteger getDumpAllThroughputMonitor() {
+        return dumpAllThroughput;
+    }
+    
     public static AtomicInteger getFuzzySearchMonitor() {
         return fuzzySearch;
     }
     
+    public static AtomicLong getContentCacheHitMonitor() {
+        return contentCacheHit;
+    }
+    
+    public static AtomicLong getContentCacheMissMonitor() {
+        return contentCacheMiss;
+    }
+    
+    public static AtomicLong getContentCacheEvictionMonitor() {
+        return contentCacheEviction;
+    }
+    
+    public static AtomicLong getContentCacheBytesMonitor() {
+        return contentCacheBytes;
+    }
+    
+    public static AtomicLong getLocalDataChangeQueueMonitor() {
+        return localDataChangeQueue;
+    }
+    
+    public static AtomicLong getLocalDataChangeDroppedMonitor() {
+        return localDataChangeDropped;
+    }
+    
+    public static AtomicLong getLocalDataChangeCallerRunsMonitor() {
+        return localDataChangeCallerRuns;
+    }
+    
     public static AtomicInteger getConfigSubscriberMonitor(String version) {
         return configSubscriber.get(version);
     }
@@ -194,6 +321,16 @@ public class MetricsMonitor {
         return NacosMeterRegistryCenter.timer(METER_REGISTRY, "nacos_timer", "module", "config", "name", "notifyRt");
     }
     
+    public static Timer getConfigChangePluginRtTimer(String serviceType) {
+        return NacosMeterRegistryCenter.timer(METER_REGISTRY, "nacos_timer", "module", "config", "name",
+                "configChangePluginRt", "plugin", serviceType);
+    }
+    
+    public static Counter getConfigChangePluginRejected(String serviceType) {
+        return NacosMeterRegistryCenter.counter(METER_REGISTRY, "nacos_exception", "module", "config", "name",
+                "configChangePluginRejected", "plugin", serviceType);
+    }
+    
     public static Counter getIllegalArgumentException() {
         return NacosMeterRegistryCenter
                 .counter(METER_REGISTRY, "nacos_exception", "module", "config", "name", "illegalArgument");
@@ -16,6 +16,10 @@
 
 package com.alibaba.nacos.config.server.monitor;
 
+import com.alibaba.nacos.common.notify.BatchEventPublisher;
+import com.alibaba.nacos.common.notify.EventPublisher;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
 import com.alibaba.nacos.config.server.service.notify.AsyncNotifyService;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 
@@ -42,5 +46,13 @@ public class ThreadTaskQueueMonitorTask implements Runnable {
         MEMORY_LOG.info("toClientNotifyTaskSize = {}", notifierClientSize);
         MetricsMonitor.getNotifyTaskMonitor().set(size);
         MetricsMonitor.getNotifyClientTaskMonitor().set(notifierClientSize);
+        EventPublisher publisher = NotifyCenter.getPublisher(LocalDataChangeEvent.class);
+        if (publisher instanceof BatchEventPublisher) {
+            BatchEventPublisher batchPublisher = (BatchEventPublisher) publisher;
+            MEMORY_LOG.info("localDataChangeEventSize = {}", batchPublisher.currentEventSize());
+            MetricsMonitor.getLocalDataChangeQueueMonitor().set(batchPublisher.currentEventSize());
+            MetricsMonitor.getLocalDataChangeDroppedMonitor().set(batchPublisher.getDroppedEventCount());
+            MetricsMonitor.getLocalDataChangeCallerRunsMonitor().set(batchPublisher.getCallerRunsCount());
+        }
     }
 }
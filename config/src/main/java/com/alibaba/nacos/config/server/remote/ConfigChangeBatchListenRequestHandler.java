@@ -77,6 +77,13 @@ public class ConfigChangeBatchListenRequestHandler
             }
         }
         
+        // only changed configs are sent with the digest, compare the whole set after they are listened.
+        String listenDigest = configChangeListenRequest.getListenDigest();
+        if (configChangeListenRequest.isListen() && null != listenDigest) {
+            configChangeBatchListenResponse.setResyncRequired(
+                    !listenDigest.equals(configChangeListenContext.getListenDigest(connectionId)));
+        }
+        
         return configChangeBatchListenResponse;
         
     }
@@ -17,12 +17,12 @@
 package com.alibaba.nacos.config.server.remote;
 
 import com.alibaba.nacos.common.utils.CollectionUtils;
+import com.alibaba.nacos.common.utils.MapDigest;
+import com.alibaba.nacos.common.utils.StringUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,6 +30,10 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * config change listen context.
  *
+ * <p>Both indexes are concurrent maps, every mutation of a group key or connection entry is done atomically inside
+ * {@link ConcurrentHashMap#compute}, which only locks the bin of that key, so listen requests and change notifications
+ * of different keys never contend with each other and readers never take a lock.
+ *
  * @author liuzunfei
  * @version $Id: ConfigChangeListenContext.java, v 0.1 2020年07月20日 1:37 PM liuzunfei Exp $
  */
@@ -39,24 +43,38 @@ public class ConfigChangeListenContext {
     /**
      * groupKey-> connection set.
      */
-    private ConcurrentHashMap<String, HashSet<String>> groupKeyContext = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> groupKeyContext = new ConcurrentHashMap<>();
     
     /**
      * connectionId-> group key set.
      */
-    private ConcurrentHashMap<String, HashMap<String, String>> connectionIdContext = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, String>> connectionIdContext =
+            new ConcurrentHashMap<>();
     
     /**
      * add listen.
      *
      * @param groupKey     groupKey.
+     * @param md5          md5 of the client, null is stored as empty string, concurrent map doesn't accept null.
      * @param connectionId connectionId.
      */
-    public synchronized void addListen(String groupKey, String md5, String connectionId) {
-        // 1.add groupKeyContext
-        groupKeyContext.computeIfAbsent(groupKey, k -> new HashSet<>()).add(connectionId);
-        // 2.add connectionIdContext
-        connectionIdContext.computeIfAbsent(connectionId, k -> new HashMap<>(16)).put(groupKey, md5);
+    public void addListen(String groupKey, String md5, String connectionId) {
+        // 1.add connectionIdContext
+        Map<String, String> listenKeys = connectionIdContext.computeIfAbsent(connectionId,
+                k -> new ConcurrentHashMap<>(16));
+        listenKeys.put(groupKey, null == md5 ? StringUtils.EMPTY : md5);
+        // 2.add groupKeyContext
+        groupKeyContext.compute(groupKey, (key, connectionIds) -> {
+            if (connectionIds == null) {
+                connectionIds = ConcurrentHashMap.newKeySet();
+            }
+            connectionIds.add(connectionId);
+            return connectionIds;
+        });
+        // 3.the connection was cleared concurrently and may have missed this group key, roll it back.
+        if (connectionIdContext.get(connectionId) != listenKeys) {
+            removeConnectionOfGroupKey(groupKey, connectionId);
+        }
     }
     
     /**
@@ -65,81 +83,56 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connection id.
      */
-    public synchronized void removeListen(String groupKey, String connectionId) {
+    public void removeListen(String groupKey, String connectionId) {
         
         //1. remove groupKeyContext
-        Set<String> connectionIds = groupKeyContext.get(groupKey);
-        if (connectionIds != null) {
-            connectionIds.remove(connectionId);
-            if (connectionIds.isEmpty()) {
-                groupKeyContext.remove(groupKey);
-            }
-        }
+        removeConnectionOfGroupKey(groupKey, connectionId);
         
         //2.remove connectionIdContext
-        HashMap<String, String> groupKeys = connectionIdContext.get(connectionId);
+        Map<String, String> groupKeys = connectionIdContext.get(connectionId);
         if (groupKeys != null) {
             groupKeys.remove(groupKey);
         }
     }
     
+    private void removeConnectionOfGroupKey(String groupKey, String connectionId) {
+        groupKeyContext.computeIfPresent(groupKey, (key, connectionIds) -> {
+            connectionIds.remove(connectionId);
+            return connectionIds.isEmpty() ? null : connectionIds;
+        });
+    }
+    
     /**
      * get listeners of the group key.
      *
+     * <p>The returned set is an unmodifiable view instead of a copy, iterating it never blocks and never throws
+     * {@link java.util.ConcurrentModificationException}, but it may reflect listens added or removed after this call.
+     *
      * @param groupKey groupKey.
-     * @return the copy of listeners, may be return null.
+     * @return the view of listeners, may be return null.
      */
-    public synchronized Set<String> getListeners(String groupKey) {
-        
-        HashSet<String> strings = groupKeyContext.get(groupKey);
-        if (CollectionUtils.isNotEmpty(strings)) {
-            Set<String> listenConnections = new HashSet<>();
-            safeCopy(strings, listenConnections);
-            return listenConnections;
+    public Set<String> getListeners(String groupKey) {
+        Set<String> connectionIds = groupKeyContext.get(groupKey);
+        if (CollectionUtils.isNotEmpty(connectionIds)) {
+            return Collections.unmodifiableSet(connectionIds);
         }
         return null;
     }
     
-    /**
-     * copy collections.
-     *
-     * @param src  may be modified concurrently
-     * @param dest dest collection
-     */
-    private void safeCopy(Collection src, Collection dest) {
-        Iterator iterator = src.iterator();
-        while (iterator.hasNext()) {
-            dest.add(iterator.next());
-        }
-    }
-    
     /**
      * remove the context related to the connection id.
      *
      * @param connectionId connectionId.
      */
-    public synchronized void clearContextForConnectionId(final String connectionId) {
-        
-        Map<String, String> listenKeys = getListenKeys(connectionId);
+    public void clearContextForConnectionId(final String connectionId) {
         
+        Map<String, String> listenKeys = connectionIdContext.remove(connectionId);
         if (listenKeys == null) {
-            connectionIdContext.remove(connectionId);
             return;
         }
-        for (Map.Entry<String, String> groupKey : listenKeys.entrySet()) {
-
-            Set<String> connectionIds = groupKeyContext.get(groupKey.getKey());
-            if (CollectionUtils.isNotEmpty(connectionIds)) {
-                connectionIds.remove(connectionId);
-                if (connectionIds.isEmpty()) {
-                    groupKeyContext.remove(groupKey.getKey());
-                }
-            } else {
-                groupKeyContext.remove(groupKey.getKey());
-            }
-
+        for (String groupKey : listenKeys.keySet()) {
+            removeConnectionOfGroupKey(groupKey, connectionId);
         }
-        connectionIdContext.remove(connectionId);
     }
     
     /**
@@ -148,9 +141,9 @@ public class ConfigChangeListenContext {
      * @param connectionId connection id.
      * @return listen group keys of the connection id, key:group key,value:md5
      */
-    public synchronized Map<String, String> getListenKeys(String connectionId) {
-        HashMap<String, String> stringStringHashMap = connectionIdContext.get(connectionId);
-        return stringStringHashMap == null ? null : new HashMap<>(stringStringHashMap);
+    public Map<String, String> getListenKeys(String connectionId) {
+        Map<String, String> listenKeys = connectionIdContext.get(connectionId);
+        return listenKeys == null ? null : new HashMap<>(listenKeys);
     }
     
     /**
@@ -164,6 +157,16 @@ public class ConfigChangeListenContext {
         return groupKeyContexts == null ? null : groupKeyContexts.get(groupKey);
     }
     
+    /**
+     * get digest of listen keys with md5 of the connection id.
+     *
+     * @param connectionId connection id.
+     * @return digest, see {@link MapDigest}.
+     */
+    public String getListenDigest(String connectionId) {
+        return MapDigest.of(connectionIdContext.get(connectionId));
+    }
+    
     /**
      * get connection count.
      *
@@ -25,7 +25,7 @@ import com.alibaba.nacos.auth.annotation.Secured;
 import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
-import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.service.ConfigContentCache;
 import com.alibaba.nacos.config.server.service.trace.ConfigTraceService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
@@ -105,7 +105,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                 if (isBeta) {
                     md5 = cacheItem.getConfigCacheBeta().getMd5(acceptCharset);
                     lastModified = cacheItem.getConfigCacheBeta().getLastModifiedTs();
-                    content = ConfigDiskServiceFactory.getInstance().getBetaContent(dataId, group, tenant);
+                    content = ConfigContentCache.getBetaContent(dataId, group, tenant, md5);
                     pullEvent = ConfigTraceService.PULL_EVENT_BETA;
                     encryptedDataKey = cacheItem.getConfigCacheBeta().getEncryptedDataKey();
                     response.setBeta(true);
@@ -115,8 +115,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                             md5 = cacheItem.getTagMd5(autoTag, acceptCharset);
                             lastModified = cacheItem.getTagLastModified(autoTag);
                             encryptedDataKey = cacheItem.getTagEncryptedDataKey(autoTag);
-                            content = ConfigDiskServiceFactory.getInstance()
-                                    .getTagContent(dataId, group, tenant, autoTag);
+                            content = ConfigContentCache.getTagContent(dataId, group, tenant, autoTag, md5);
                             pullEvent = ConfigTraceService.PULL_EVENT_TAG + "-" + autoTag;
                             response.setTag(URLEncoder.encode(autoTag, ENCODE_UTF8));
                             
@@ -124,14 +123,14 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                             md5 = cacheItem.getConfigCache().getMd5(acceptCharset);
                             lastModified = cacheItem.getConfigCache().getLastModifiedTs();
                             encryptedDataKey = cacheItem.getConfigCache().getEncryptedDataKey();
-                            content = ConfigDiskServiceFactory.getInstance().getContent(dataId, group, tenant);
+                            content = ConfigContentCache.getContent(dataId, group, tenant, md5);
                             pullEvent = ConfigTraceService.PULL_EVENT;
                         }
                     } else {
                         md5 = cacheItem.getTagMd5(tag, acceptCharset);
                         lastModified = cacheItem.getTagLastModified(tag);
                         encryptedDataKey = cacheItem.getTagEncryptedDataKey(tag);
-                        content = ConfigDiskServiceFactory.getInstance().getTagContent(dataId, group, tenant, tag);
+                        content = ConfigContentCache.getTagContent(dataId, group, tenant, tag, md5);
                         response.setTag(tag);
                         pullEvent = ConfigTraceService.PULL_EVENT_TAG + "-" + tag;
                     }
@@ -18,9 +18,10 @@ package com.alibaba.nacos.config.server.remote;
 
 import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
 import com.alibaba.nacos.api.remote.AbstractPushCallBack;
+import com.alibaba.nacos.common.notify.BatchEventPublisher;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
-import com.alibaba.nacos.common.notify.listener.Subscriber;
+import com.alibaba.nacos.common.notify.listener.BatchSubscriber;
 import com.alibaba.nacos.common.utils.CollectionUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.configuration.ConfigCommonConfig;
@@ -39,6 +40,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -50,7 +52,7 @@ import java.util.concurrent.TimeUnit;
  * @version $Id: ConfigChangeNotifier.java, v 0.1 2020年07月20日 3:00 PM liuzunfei Exp $
  */
 @Component(value = "rpcConfigChangeNotifier")
-public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
+public class RpcConfigChangeNotifier extends BatchSubscriber<LocalDataChangeEvent> {
     
     private static final String POINT_CONFIG_PUSH = "CONFIG_PUSH_COUNT";
     
@@ -61,7 +63,7 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
     TpsControlManager tpsControlManager = ControlManagerCenter.getInstance().getTpsControlManager();
     
     public RpcConfigChangeNotifier() {
-        NotifyCenter.registerSubscriber(this);
+        NotifyCenter.registerSubscriber(this, BatchEventPublisher.FACTORY);
     }
     
     @PostConstruct
@@ -119,8 +121,24 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
         Loggers.REMOTE_PUSH.info("push [{}] clients, groupKey=[{}]", notifyClientCount, groupKey);
     }
     
+    /**
+     * Clients only pull the config after notified, so the changes of the same config and tag in one batch are
+     * notified once.
+     *
+     * @param events local data change events in publishing order
+     */
     @Override
-    public void onEvent(LocalDataChangeEvent event) {
+    public void onEvents(List<LocalDataChangeEvent> events) {
+        Set<String> notifiedKeys = events.size() > 1 ? new HashSet<>(events.size()) : null;
+        for (LocalDataChangeEvent event : events) {
+            if (null != notifiedKeys && !notifiedKeys.add(event.groupKey + "+" + event.tag)) {
+                continue;
+            }
+            notifyEvent(event);
+        }
+    }
+    
+    private void notifyEvent(LocalDataChangeEvent event) {
         String groupKey = event.groupKey;
         boolean isBeta = event.isBeta;
         List<String> betaIps = event.betaIps;
@@ -24,7 +24,10 @@ import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigCache;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskEntry;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskService;
 import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
@@ -32,6 +35,7 @@ import com.alibaba.nacos.sys.env.EnvUtil;
 import com.google.common.collect.Lists;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
@@ -99,8 +103,6 @@ public class ConfigCacheService {
                 return true;
             }
             
-            boolean newLastModified = lastModifiedTs > ConfigCacheService.getLastModifiedTs(groupKey);
-            
             if (md5 == null) {
                 md5 = MD5Utils.md5Hex(content, PERSIST_ENCODE);
             }
@@ -116,6 +118,7 @@ public class ConfigCacheService {
                 DUMP_LOG.warn("[dump-ignore] ignore to save to disk cache. md5 consistent,groupKey={}, md5={}",
                         groupKey, md5);
             }
+            ConfigContentCache.putContent(groupKey, md5, content);
             
             //check  md5 and timestamp & update local jvm cache.
             if (md5Changed) {
@@ -123,7 +126,7 @@ public class ConfigCacheService {
                         "[dump] md5 changed, update md5 and timestamp in jvm cache ,groupKey={}, newMd5={},oldMd5={},lastModifiedTs={}",
                         groupKey, md5, localContentMd5, lastModifiedTs);
                 updateMd5(groupKey, md5, lastModifiedTs, encryptedDataKey);
-            } else if (newLastModified) {
+            } else if (lastModifiedTs > ConfigCacheService.getLastModifiedTs(groupKey)) {
                 DUMP_LOG.info(
                         "[dump] md5 consistent ,timestamp changed, update timestamp only in jvm cache ,groupKey={},lastModifiedTs={}",
                         groupKey, lastModifiedTs);
@@ -137,15 +140,7 @@ public class ConfigCacheService {
             return true;
         } catch (IOException ioe) {
             DUMP_LOG.error("[dump-exception] save disk error. " + groupKey + ", " + ioe);
-            if (ioe.getMessage() != null) {
-                String errMsg = ioe.getMessage();
-                if (errMsg.contains(NO_SPACE_CN) || errMsg.contains(NO_SPACE_EN) || errMsg.contains(DISK_QUOTA_CN)
-                        || errMsg.contains(DISK_QUOTA_EN)) {
-                    // Protect from disk full.
-                    FATAL_LOG.error("Local Disk Full,Exit", ioe);
-                    EnvUtil.systemExit();
-                }
-            }
+            exitIfDiskFull(ioe);
             return false;
         } finally {
             releaseWriteLock(groupKey);
@@ -153,6 +148,108 @@ public class ConfigCacheService {
         
     }
     
+    /**
+     * Save a batch of formal configs to disk with one disk write and update md5 values in cache.
+     *
+     * <p>Each config is checked the same way as {@link #dumpWithMd5} under its write lock, the lock is released before
+     * the disk write and taken again to update the cache item, so a batch never blocks readers of the whole batch. A
+     * config dumped with a newer timestamp in the meantime keeps the newer cache item and fails in the batch.
+     *
+     * @param configInfos configs to dump, md5 of each config is computed from content if absent.
+     * @param durable     whether the disk write should survive a crash, see {@link ConfigDiskService#saveBatch}.
+     * @return dump success or not of each config, in the order of configInfos.
+     */
+    public static boolean[] batchDumpWithMd5(List<ConfigInfoWrapper> configInfos, boolean durable) {
+        boolean[] results = new boolean[configInfos.size()];
+        BatchDumpItem[] items = new BatchDumpItem[configInfos.size()];
+        List<ConfigDiskEntry> changedEntries = new ArrayList<>(configInfos.size());
+        for (int i = 0; i < items.length; i++) {
+            ConfigInfoWrapper cf = configInfos.get(i);
+            String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
+            CacheItem ci = makeSure(groupKey, cf.getEncryptedDataKey());
+            ci.setType(cf.getType());
+            if (tryWriteLock(groupKey) < 0) {
+                DUMP_LOG.warn("[dump-error] write lock failed. {}", groupKey);
+                continue;
+            }
+            try {
+                long localLastModifiedTs = ConfigCacheService.getLastModifiedTs(groupKey);
+                if (cf.getLastModified() < localLastModifiedTs) {
+                    DUMP_LOG.warn("[dump-ignore] timestamp is outdated,groupKey={}", groupKey);
+                    results[i] = true;
+                    continue;
+                }
+                BatchDumpItem item = new BatchDumpItem(groupKey, cf);
+                item.md5 = cf.getMd5() == null ? MD5Utils.md5Hex(cf.getContent(), PERSIST_ENCODE) : cf.getMd5();
+                item.md5Changed = !item.md5.equals(ConfigCacheService.getContentMd5(groupKey));
+                items[i] = item;
+                if (item.md5Changed) {
+                    changedEntries.add(
+                            ConfigDiskEntry.formal(cf.getDataId(), cf.getGroup(), cf.getTenant(), cf.getContent()));
+                }
+            } finally {
+                releaseWriteLock(groupKey);
+            }
+        }
+        
+        if (!changedEntries.isEmpty()) {
+            try {
+                ConfigDiskServiceFactory.getInstance().saveBatch(changedEntries, durable);
+            } catch (IOException ioe) {
+                DUMP_LOG.error("[dump-exception] save disk error. batch size=" + changedEntries.size() + ", " + ioe);
+                exitIfDiskFull(ioe);
+                return results;
+            }
+        }
+        
+        for (int i = 0; i < items.length; i++) {
+            BatchDumpItem item = items[i];
+            if (item != null) {
+                results[i] = updateBatchDumpItem(item);
+            }
+        }
+        return results;
+    }
+    
+    private static boolean updateBatchDumpItem(BatchDumpItem item) {
+        if (tryWriteLock(item.groupKey) < 0) {
+            DUMP_LOG.warn("[dump-error] write lock failed. {}", item.groupKey);
+            return false;
+        }
+        try {
+            long lastModifiedTs = item.configInfo.getLastModified();
+            long localLastModifiedTs = ConfigCacheService.getLastModifiedTs(item.groupKey);
+            if (lastModifiedTs < localLastModifiedTs) {
+                DUMP_LOG.warn("[dump-ignore] newer config dumped during batch,groupKey={}", item.groupKey);
+                return false;
+            }
+            ConfigContentCache.putContent(item.groupKey, item.md5, item.configInfo.getContent());
+            String encryptedDataKey = item.configInfo.getEncryptedDataKey();
+            if (item.md5Changed) {
+                DUMP_LOG.info("[dump] md5 changed, update md5 and timestamp in jvm cache ,groupKey={}, newMd5={},"
+                        + "lastModifiedTs={}", item.groupKey, item.md5, lastModifiedTs);
+                updateMd5(item.groupKey, item.md5, lastModifiedTs, encryptedDataKey);
+            } else if (lastModifiedTs > localLastModifiedTs) {
+                updateTimeStamp(item.groupKey, lastModifiedTs, encryptedDataKey);
+            }
+            return true;
+        } finally {
+            releaseWriteLock(item.groupKey);
+        }
+    }
+    
+    private static void exitIfDiskFull(IOException ioe) {
+        if (ioe.getMessage() != null) {
+            String errMsg = ioe.getMessage();
+            if (errMsg.contains(NO_SPACE_CN) || errMsg.contains(NO_SPACE_EN) || errMsg.contains(DISK_QUOTA_CN)
+                    || errMsg.contains(DISK_QUOTA_EN)) {
+                // Protect from disk full.
+                FATAL_LOG.error("Local Disk Full,Exit", ioe);
+                EnvUtil.systemExit();
+            }
+        }
+    }
+    
     /**
      * Save config file and update md5 value in cache.
      *
@@ -217,6 +314,7 @@ public class ConfigCacheService {
                         groupKey, md5, localContentBetaMd5);
                 ConfigDiskServiceFactory.getInstance().saveBetaToDisk(dataId, group, tenant, content);
             }
+            ConfigContentCache.putBetaContent(groupKey, md5, content);
             
             //md5 , ip list  timestamp check  and update local jvm cache.
             boolean ipListChanged = !betaIpList.equals(ConfigCacheService.getBetaIps(groupKey));
@@ -293,6 +391,7 @@ public class ConfigCacheService {
             if (md5Changed) {
                 ConfigDiskServiceFactory.getInstance().saveTagToDisk(dataId, group, tenant, tag, content);
             }
+            ConfigContentCache.putTagContent(groupKey, tag, md5, content);
             
             if (md5Changed) {
                 DUMP_LOG.warn(
@@ -345,6 +444,7 @@ public class ConfigCacheService {
         try {
             DUMP_LOG.info("[dump] remove  local disk cache,groupKey={} ", groupKey);
             ConfigDiskServiceFactory.getInstance().removeConfigInfo(dataId, group, tenant);
+            ConfigContentCache.removeContent(groupKey);
             
             CACHE.remove(groupKey);
             DUMP_LOG.info("[dump] remove  local jvm cache,groupKey={} ", groupKey);
@@ -384,6 +484,7 @@ public class ConfigCacheService {
         try {
             DUMP_LOG.info("[remove-beta-ok] remove beta in local disk cache,groupKey={} ", groupKey);
             ConfigDiskServiceFactory.getInstance().removeConfigInfo4Beta(dataId, group, tenant);
+            ConfigContentCache.removeBetaContent(groupKey);
             NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey, true, CACHE.get(groupKey).getIps4Beta()));
             CACHE.get(groupKey).removeBeta();
             DUMP_LOG.info("[remove-beta-ok] remove beta in local jvm cache,groupKey={} ", groupKey);
@@ -422,6 +523,7 @@ public class ConfigCacheService {
         try {
             DUMP_LOG.info("[remove-tag-ok] remove tag in local disk cache,tag={},groupKey={} ", tag, groupKey);
             ConfigDiskServiceFactory.getInstance().removeConfigInfo4Tag(dataId, group, tenant, tag);
+            ConfigContentCache.removeTagContent(groupKey, tag);
             
             CacheItem ci = CACHE.get(groupKey);
             if (ci.getConfigCacheTags() != null) {
@@ -761,5 +863,20 @@ public class ConfigCacheService {
         
         return lockResult;
     }
+    
+    private static class BatchDumpItem {
+        
+        private final String groupKey;
+        
+        private final ConfigInfoWrapper configInfo;
+        
+        private String md5;
+        
+        private boolean md5Changed;
+        
+        BatchDumpItem(String groupKey, ConfigInfoWrapper configInfo) {
+            this.groupKey = groupKey;
+            this.configInfo = configInfo;
+        }
+    }
 }
-
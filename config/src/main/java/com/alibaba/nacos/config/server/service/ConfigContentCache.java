@@ -0,0 +1,304 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
+
+/**
+ * In-memory content tier in front of the config disk service.
+ *
+ * <p>Entries are kept consistent by {@link ConfigCacheService} dump and remove operations, and are bounded by
+ * {@link PropertyUtil#getContentCacheMaxBytes()}. Each entry records the md5 it was cached for, a read only hits when
+ * that md5 matches the md5 the caller is about to respond with, so the content can never be older than the md5.
+ *
+ * @author Nacos
+ */
+public class ConfigContentCache {
+    
+    private static final int TYPE_FORMAL = 0;
+    
+    private static final int TYPE_BETA = 1;
+    
+    private static final int TYPE_TAG = 2;
+    
+    /**
+     * Rough per entry overhead of key, entry and cache node.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    
+    private static volatile Cache<ContentKey, ContentEntry> cache;
+    
+    private static volatile boolean initialized = false;
+    
+    private static Cache<ContentKey, ContentEntry> getCache() {
+        if (!initialized) {
+            synchronized (ConfigContentCache.class) {
+                if (!initialized) {
+                    cache = buildCache(PropertyUtil.getContentCacheMaxBytes());
+                    initialized = true;
+                }
+            }
+        }
+        return cache;
+    }
+    
+    private static Cache<ContentKey, ContentEntry> buildCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            DEFAULT_LOG.info("[content-cache] config content cache is disabled.");
+            return null;
+        }
+        DEFAULT_LOG.info("[content-cache] config content cache is enabled, max bytes {}.", maxBytes);
+        return CacheBuilder.newBuilder().maximumWeight(maxBytes)
+                .weigher((ContentKey key, ContentEntry entry) -> entry.bytes)
+                .removalListener(notification -> {
+                    ContentEntry entry = notification.getValue();
+                    if (entry != null) {
+                        MetricsMonitor.getContentCacheBytesMonitor().addAndGet(-entry.bytes);
+                    }
+                    if (RemovalCause.SIZE == notification.getCause()) {
+                        MetricsMonitor.getContentCacheEvictionMonitor().incrementAndGet();
+                    }
+                }).build();
+    }
+    
+    /**
+     * Get formal content, from memory if cached for the md5, otherwise from disk.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @param md5    md5 of utf-8 content the caller expects.
+     * @return content, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static String getContent(String dataId, String group, String tenant, String md5) throws IOException {
+        ContentKey key = new ContentKey(TYPE_FORMAL, GroupKey2.getKey(dataId, group, tenant), null);
+        String content = getIfMatch(key, md5);
+        if (content == null) {
+            content = ConfigDiskServiceFactory.getInstance().getContent(dataId, group, tenant);
+            putIfPresent(key, md5, content);
+        }
+        return content;
+    }
+    
+    /**
+     * Get beta content, from memory if cached for the md5, otherwise from disk.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @param md5    md5 of utf-8 beta content the caller expects.
+     * @return beta content, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static String getBetaContent(String dataId, String group, String tenant, String md5) throws IOException {
+        ContentKey key = new ContentKey(TYPE_BETA, GroupKey2.getKey(dataId, group, tenant), null);
+        String content = getIfMatch(key, md5);
+        if (content == null) {
+            content = ConfigDiskServiceFactory.getInstance().getBetaContent(dataId, group, tenant);
+            putIfPresent(key, md5, content);
+        }
+        return content;
+    }
+    
+    /**
+     * Get tag content, from memory if cached for the md5, otherwise from disk.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     * @param tag    tag.
+     * @param md5    md5 of utf-8 tag content the caller expects.
+     * @return tag content, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static String getTagContent(String dataId, String group, String tenant, String tag, String md5)
+            throws IOException {
+        ContentKey key = new ContentKey(TYPE_TAG, GroupKey2.getKey(dataId, group, tenant), tag);
+        String content = getIfMatch(key, md5);
+        if (content == null) {
+            content = ConfigDiskServiceFactory.getInstance().getTagContent(dataId, group, tenant, tag);
+            putIfPresent(key, md5, content);
+        }
+        return content;
+    }
+    
+    static void putContent(String groupKey, String md5, String content) {
+        putIfPresent(new ContentKey(TYPE_FORMAL, groupKey, null), md5, content);
+    }
+    
+    static void putBetaContent(String groupKey, String md5, String content) {
+        putIfPresent(new ContentKey(TYPE_BETA, groupKey, null), md5, content);
+    }
+    
+    static void putTagContent(String groupKey, String tag, String md5, String content) {
+        putIfPresent(new ContentKey(TYPE_TAG, groupKey, tag), md5, content);
+    }
+    
+    static void removeContent(String groupKey) {
+        invalidate(new ContentKey(TYPE_FORMAL, groupKey, null));
+    }
+    
+    static void removeBetaContent(String groupKey) {
+        invalidate(new ContentKey(TYPE_BETA, groupKey, null));
+    }
+    
+    static void removeTagContent(String groupKey, String tag) {
+        invalidate(new ContentKey(TYPE_TAG, groupKey, tag));
+    }
+    
+    /**
+     * Clear all cached formal content, used together with clearing all config files on disk.
+     */
+    public static void clearAll() {
+        clearByType(TYPE_FORMAL);
+    }
+    
+    /**
+     * Clear all cached beta content, used together with clearing all beta config files on disk.
+     */
+    public static void clearAllBeta() {
+        clearByType(TYPE_BETA);
+    }
+    
+    /**
+     * Clear all cached tag content, used together with clearing all tag config files on disk.
+     */
+    public static void clearAllTag() {
+        clearByType(TYPE_TAG);
+    }
+    
+    /**
+     * Drop the current cache, it will be rebuilt with the latest byte budget on next access.
+     */
+    static synchronized void reset() {
+        Cache<ContentKey, ContentEntry> current = cache;
+        if (current != null) {
+            current.invalidateAll();
+        }
+        cache = null;
+        initialized = false;
+    }
+    
+    public static long size() {
+        Cache<ContentKey, ContentEntry> current = getCache();
+        return current == null ? 0 : current.size();
+    }
+    
+    private static String getIfMatch(ContentKey key, String md5) {
+        Cache<ContentKey, ContentEntry> current = getCache();
+        if (current == null) {
+            return null;
+        }
+        ContentEntry entry = current.getIfPresent(key);
+        if (entry != null && StringUtils.equals(entry.md5, md5)) {
+            MetricsMonitor.getContentCacheHitMonitor().incrementAndGet();
+            return entry.content;
+        }
+        MetricsMonitor.getContentCacheMissMonitor().incrementAndGet();
+        return null;
+    }
+    
+    private static void putIfPresent(ContentKey key, String md5, String content) {
+        Cache<ContentKey, ContentEntry> current = getCache();
+        if (current == null || content == null || StringUtils.isBlank(md5)) {
+            return;
+        }
+        ContentEntry entry = new ContentEntry(md5, content);
+        MetricsMonitor.getContentCacheBytesMonitor().addAndGet(entry.bytes);
+        current.put(key, entry);
+    }
+    
+    private static void invalidate(ContentKey key) {
+        Cache<ContentKey, ContentEntry> current = getCache();
+        if (current != null) {
+            current.invalidate(key);
+        }
+    }
+    
+    private static void clearByType(int type) {
+        Cache<ContentKey, ContentEntry> current = getCache();
+        if (current != null) {
+            current.asMap().keySet().removeIf(key -> key.type == type);
+        }
+    }
+    
+    private static class ContentKey {
+        
+        private final int type;
+        
+        private final String groupKey;
+        
+        private final String tag;
+        
+        private final int hash;
+        
+        ContentKey(int type, String groupKey, String tag) {
+            this.type = type;
+            this.groupKey = groupKey;
+            this.tag = tag;
+            this.hash = Objects.hash(type, groupKey, tag);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ContentKey)) {
+                return false;
+            }
+            ContentKey that = (ContentKey) o;
+            return type == that.type && groupKey.equals(that.groupKey) && Objects.equals(tag, that.tag);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+    
+    private static class ContentEntry {
+        
+        private final String md5;
+        
+        private final String content;
+        
+        /**
+         * Estimated with two bytes per char, compact latin1 strings are over-estimated rather than under-estimated.
+         */
+        private final int bytes;
+        
+        ContentEntry(String md5, String content) {
+            this.md5 = md5;
+            this.content = content;
+            this.bytes = (int) Math.min(Integer.MAX_VALUE, 2L * content.length() + ENTRY_OVERHEAD_BYTES);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.alibaba.nacos.config.server.service;
 
 import com.alibaba.nacos.api.remote.RpcScheduledExecutor;
+import com.alibaba.nacos.common.notify.BatchEventPublisher;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
@@ -39,15 +40,14 @@ import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -75,10 +75,8 @@ public class LongPollingService {
         SampleResult sampleResult = new SampleResult();
         Map<String, String> lisentersGroupkeyStatus = new HashMap<>(50);
         
-        for (ClientLongPolling clientLongPolling : allSubs) {
-            if (clientLongPolling.clientMd5Map.containsKey(groupKey)) {
-                lisentersGroupkeyStatus.put(clientLongPolling.ip, clientLongPolling.clientMd5Map.get(groupKey));
-            }
+        for (ClientLongPolling clientLongPolling : getSubscribers(groupKey)) {
+            lisentersGroupkeyStatus.put(clientLongPolling.ip, clientLongPolling.clientMd5Map.get(groupKey));
         }
         sampleResult.setLisentersGroupkeyStatus(lisentersGroupkeyStatus);
         return sampleResult;
@@ -229,14 +227,14 @@ public class LongPollingService {
     
     @SuppressWarnings("PMD.ThreadPoolCreationRule")
     public LongPollingService() {
-        allSubs = new ConcurrentLinkedQueue<>();
+        allSubs = ConcurrentHashMap.newKeySet();
+        groupKeySubs = new ConcurrentHashMap<>();
         
         ConfigExecutor.scheduleLongPolling(new StatTask(), 0L, 10L, TimeUnit.SECONDS);
         
-        // Register LocalDataChangeEvent to NotifyCenter.
-        NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, NotifyCenter.ringBufferSize);
-        
-        // Register A Subscriber to subscribe LocalDataChangeEvent.
+        // Register A Subscriber to subscribe LocalDataChangeEvent, drained in batches for the event is published for
+        // each change. All subscribers of LocalDataChangeEvent register with the same factory, so the publisher is
+        // the batch one whichever registers first.
         NotifyCenter.registerSubscriber(new Subscriber() {
             
             @Override
@@ -252,7 +250,7 @@ public class LongPollingService {
             public Class<? extends Event> subscribeType() {
                 return LocalDataChangeEvent.class;
             }
-        });
+        }, BatchEventPublisher.FACTORY);
         
     }
     
@@ -261,32 +259,78 @@ public class LongPollingService {
     public static final String LONG_POLLING_NO_HANG_UP_HEADER = "Long-Pulling-Timeout-No-Hangup";
     
     /**
-     * ClientLongPolling subscibers.
+     * ClientLongPolling subscibers, a subscriber is held until it is removed from here.
+     */
+    final Set<ClientLongPolling> allSubs;
+    
+    /**
+     * ClientLongPolling subscibers indexed by the groupKeys they listen, so a change only visits interested ones.
+     */
+    final Map<String, Set<ClientLongPolling>> groupKeySubs;
+    
+    /**
+     * Hold a subscriber. It's indexed before added to allSubs, so it's fully indexed whenever it can be removed.
+     *
+     * @param clientSub subscriber
+     */
+    void addSubscriber(ClientLongPolling clientSub) {
+        for (String groupKey : clientSub.clientMd5Map.keySet()) {
+            // add in compute, or the set may be dropped as empty by a concurrent removal before added to.
+            groupKeySubs.compute(groupKey, (key, subs) -> {
+                Set<ClientLongPolling> result = null == subs ? ConcurrentHashMap.newKeySet() : subs;
+                result.add(clientSub);
+                return result;
+            });
+        }
+        allSubs.add(clientSub);
+    }
+    
+    /**
+     * Release a held subscriber, only the caller who gets {@code true} should send response.
+     *
+     * @param clientSub subscriber
+     * @return {@code true} if the subscriber was held and is released by this call
      */
-    final Queue<ClientLongPolling> allSubs;
+    boolean removeSubscriber(ClientLongPolling clientSub) {
+        if (!allSubs.remove(clientSub)) {
+            return false;
+        }
+        for (String groupKey : clientSub.clientMd5Map.keySet()) {
+            groupKeySubs.computeIfPresent(groupKey, (key, subs) -> {
+                subs.remove(clientSub);
+                return subs.isEmpty() ? null : subs;
+            });
+        }
+        return true;
+    }
+    
+    Collection<ClientLongPolling> getSubscribers(String groupKey) {
+        Set<ClientLongPolling> subs = groupKeySubs.get(groupKey);
+        return null == subs ? Collections.emptySet() : subs;
+    }
     
     class DataChangeTask implements Runnable {
         
         @Override
         public void run() {
             try {
-                for (Iterator<ClientLongPolling> iter = allSubs.iterator(); iter.hasNext(); ) {
-                    ClientLongPolling clientSub = iter.next();
-                    if (clientSub.clientMd5Map.containsKey(groupKey)) {
-                        
-                        // If published tag is not in the tag list, then it skipped.
-                        if (StringUtils.isNotBlank(tag) && !tag.equals(clientSub.tag)) {
-                            continue;
-                        }
-                        
-                        getRetainIps().put(clientSub.ip, System.currentTimeMillis());
-                        iter.remove(); // Delete subscribers' relationships.
-                        LogUtil.CLIENT_LOG.info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime),
-                                "in-advance",
-                                RequestUtil.getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
-                                "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
-                        clientSub.sendResponse(Collections.singletonList(groupKey));
+                for (ClientLongPolling clientSub : getSubscribers(groupKey)) {
+                    
+                    // If published tag is not in the tag list, then it skipped.
+                    if (StringUtils.isNotBlank(tag) && !tag.equals(clientSub.tag)) {
+                        continue;
+                    }
+                    
+                    // Delete subscribers' relationships, skip it if it is timeout or notified by another change.
+                    if (!removeSubscriber(clientSub)) {
+                        continue;
                     }
+                    getRetainIps().put(clientSub.ip, System.currentTimeMillis());
+                    LogUtil.CLIENT_LOG.info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime),
+                            "in-advance",
+                            RequestUtil.getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
+                            "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
+                    clientSub.sendResponse(Collections.singletonList(groupKey));
                 }
                 
             } catch (Throwable t) {
@@ -334,7 +378,7 @@ public class LongPollingService {
                     getRetainIps().put(ClientLongPolling.this.ip, System.currentTimeMillis());
                     
                     // Delete subscriber's relations.
-                    boolean removeFlag = allSubs.remove(ClientLongPolling.this);
+                    boolean removeFlag = removeSubscriber(ClientLongPolling.this);
                     
                     if (removeFlag) {
                         
@@ -352,7 +396,7 @@ public class LongPollingService {
                 
             }, timeoutTime, TimeUnit.MILLISECONDS);
             
-            allSubs.add(this);
+            addSubscriber(this);
         }
         
         void sendResponse(List<String> changedGroups) {
@@ -29,6 +29,7 @@ import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.config.server.utils.PropertyUtil;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -109,6 +110,7 @@ public class DumpChangeConfigWorker implements Runnable {
                 LogUtil.DEFAULT_LOG.info("Check changed configs from  time {},lastMaxId={}", startTime, changeCursorId);
                 List<ConfigInfoStateWrapper> changeConfigs = configInfoPersistService.findChangeConfig(startTime,
                         changeCursorId, pageSize);
+                List<ConfigInfoWrapper> changedConfigs = new ArrayList<>(changeConfigs.size());
                 for (ConfigInfoStateWrapper cf : changeConfigs) {
                     final String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
                     //check md5 & localtimestamp update local disk cache.
@@ -122,19 +124,14 @@ public class DumpChangeConfigWorker implements Runnable {
                                 cf.getGroup(), cf.getTenant());
                         LogUtil.DUMP_LOG.info("[dump-change] find change config  {}, {}, md5={}",
                                 new Object[] {groupKey, cf.getLastModified(), cf.getMd5()});
-                        ConfigCacheService.dump(configInfoWrapper.getDataId(), configInfoWrapper.getGroup(),
-                                configInfoWrapper.getTenant(), configInfoWrapper.getContent(),
-                                configInfoWrapper.getLastModified(), configInfoWrapper.getType(),
-                                configInfoWrapper.getEncryptedDataKey());
-                        final String content = configInfoWrapper.getContent();
-                        final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE_GBK);
-                        final String md5Utf8 = MD5Utils.md5Hex(content, Constants.ENCODE_UTF8);
-                        
-                        LogUtil.DEFAULT_LOG.info("[dump-change-ok] {}, {}, length={}, md5={},md5UTF8={}",
-                                new Object[] {groupKey, configInfoWrapper.getLastModified(), content.length(), md5,
-                                        md5Utf8});
+                        if (configInfoWrapper != null) {
+                            configInfoWrapper.setMd5(
+                                    MD5Utils.md5Hex(configInfoWrapper.getContent(), Constants.ENCODE_UTF8));
+                            changedConfigs.add(configInfoWrapper);
+                        }
                     }
                 }
+                dumpChangedConfigs(changedConfigs);
                 if (changeConfigs.size() < pageSize) {
                     break;
                 }
@@ -156,4 +153,27 @@ public class DumpChangeConfigWorker implements Runnable {
             
         }
     }
+    
+    /**
+     * Dump changed configs of a page with one disk write.
+     */
+    private void dumpChangedConfigs(List<ConfigInfoWrapper> changedConfigs) {
+        if (changedConfigs.isEmpty()) {
+            return;
+        }
+        boolean[] results = ConfigCacheService.batchDumpWithMd5(changedConfigs, true);
+        for (int i = 0; i < results.length; i++) {
+            ConfigInfoWrapper configInfoWrapper = changedConfigs.get(i);
+            final String groupKey = GroupKey2.getKey(configInfoWrapper.getDataId(), configInfoWrapper.getGroup(),
+                    configInfoWrapper.getTenant());
+            final String content = configInfoWrapper.getContent();
+            if (!results[i]) {
+                LogUtil.DEFAULT_LOG.error("[dump-change-error] {}, {}", groupKey, configInfoWrapper.getLastModified());
+                continue;
+            }
+            LogUtil.DEFAULT_LOG.info("[dump-change-ok] {}, {}, length={}, md5={},md5UTF8={}",
+                    new Object[] {groupKey, configInfoWrapper.getLastModified(), content.length(),
+                            MD5Utils.md5Hex(content, Constants.ENCODE_GBK), configInfoWrapper.getMd5()});
+        }
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+/**
+ * One formal config content to be saved by {@link ConfigDiskService#saveBatch(java.util.Collection)}.
+ *
+ * @author Nacos
+ */
+public class ConfigDiskEntry {
+    
+    private final String dataId;
+    
+    private final String group;
+    
+    private final String tenant;
+    
+    private final String content;
+    
+    private ConfigDiskEntry(String dataId, String group, String tenant, String content) {
+        this.dataId = dataId;
+        this.group = group;
+        this.tenant = tenant;
+        this.content = content;
+    }
+    
+    public static ConfigDiskEntry formal(String dataId, String group, String tenant, String content) {
+        return new ConfigDiskEntry(dataId, group, tenant, content);
+    }
+    
+    public String getDataId() {
+        return dataId;
+    }
+    
+    public String getGroup() {
+        return group;
+    }
+    
+    public String getTenant() {
+        return tenant;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+}
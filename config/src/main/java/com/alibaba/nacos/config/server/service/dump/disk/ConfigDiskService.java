@@ -17,6 +17,7 @@
 package com.alibaba.nacos.config.server.service.dump.disk;
 
 import java.io.IOException;
+import java.util.Collection;
 
 /**
  * config disk service.
@@ -59,6 +60,22 @@ public interface ConfigDiskService {
      */
     void saveTagToDisk(String dataId, String group, String tenant, String tag, String content) throws IOException;
     
+    /**
+     * Save a batch of formal config contents to disk.
+     *
+     * <p>Implementations may write the batch at once, the default one saves entries one by one.
+     *
+     * @param entries config contents to save.
+     * @param durable whether the batch should survive a crash, a full dump on startup is rebuilt from db after a
+     *                crash, so it may be saved without durability.
+     * @throws IOException io exception.
+     */
+    default void saveBatch(Collection<ConfigDiskEntry> entries, boolean durable) throws IOException {
+        for (ConfigDiskEntry entry : entries) {
+            saveToDisk(entry.getDataId(), entry.getGroup(), entry.getTenant(), entry.getContent());
+        }
+    }
+    
     /**
      * Deletes configuration files on disk.
      *
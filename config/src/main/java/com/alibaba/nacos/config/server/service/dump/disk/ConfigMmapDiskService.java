@@ -0,0 +1,179 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * config memory-mapped segment disk service.
+ *
+ * <p>Contents are appended to large memory-mapped segment files instead of one file per config, which saves inodes
+ * and the open, write and close of each dump. The segment size can be tuned by system property
+ * {@code config_mmap_segment_mb}, segments with less than half live bytes are compacted in background.
+ *
+ * @author Nacos
+ */
+@SuppressWarnings("PMD.ServiceOrDaoClassShouldEndWithImplRule")
+public class ConfigMmapDiskService implements ConfigDiskService {
+    
+    private static final String BASE_DIR = File.separator + "data" + File.separator + "segment-data";
+    
+    private static final String SEGMENT_SIZE_MB_PROPERTY = "config_mmap_segment_mb";
+    
+    private static final int DEFAULT_SEGMENT_SIZE_MB = 64;
+    
+    private static final int MAX_SEGMENT_SIZE_MB = 1024;
+    
+    private static final double COMPACT_LIVE_RATIO = 0.5;
+    
+    private static final long COMPACT_INTERVAL_SECONDS = 60L;
+    
+    private final MappedSegmentStore configStore;
+    
+    private final MappedSegmentStore betaStore;
+    
+    private final MappedSegmentStore tagStore;
+    
+    public ConfigMmapDiskService() {
+        this(new File(EnvUtil.getNacosHome(), BASE_DIR), getSegmentSize());
+        ConfigExecutor.scheduleConfigTask(this::compact, COMPACT_INTERVAL_SECONDS, COMPACT_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+    
+    ConfigMmapDiskService(File baseDir, int segmentSize) {
+        this.configStore = new MappedSegmentStore("config", new File(baseDir, "config-data"), segmentSize);
+        this.betaStore = new MappedSegmentStore("beta", new File(baseDir, "beta-data"), segmentSize);
+        this.tagStore = new MappedSegmentStore("tag", new File(baseDir, "tag-data"), segmentSize);
+    }
+    
+    private static int getSegmentSize() {
+        int segmentSizeMB = Integer.getInteger(SEGMENT_SIZE_MB_PROPERTY, DEFAULT_SEGMENT_SIZE_MB);
+        if (segmentSizeMB <= 0 || segmentSizeMB > MAX_SEGMENT_SIZE_MB) {
+            segmentSizeMB = DEFAULT_SEGMENT_SIZE_MB;
+        }
+        LogUtil.DEFAULT_LOG.info("init config mmap segment size {}M", segmentSizeMB);
+        return segmentSizeMB * 1024 * 1024;
+    }
+    
+    private static String getKey(String dataId, String group, String tenant) {
+        return GroupKey2.getKey(dataId, group, tenant);
+    }
+    
+    /**
+     * The group key and the tag are both encoded, so different pairs never have the same key.
+     */
+    private static String getTagKey(String dataId, String group, String tenant, String tag) {
+        return GroupKey2.getKey(GroupKey2.getKey(dataId, group, tenant), tag);
+    }
+    
+    private static byte[] toBytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static String toString(byte[] bytes) {
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public void saveToDisk(String dataId, String group, String tenant, String content) throws IOException {
+        configStore.put(getKey(dataId, group, tenant), toBytes(content));
+    }
+    
+    @Override
+    public void saveBetaToDisk(String dataId, String group, String tenant, String content) throws IOException {
+        betaStore.put(getKey(dataId, group, tenant), toBytes(content));
+    }
+    
+    @Override
+    public void saveTagToDisk(String dataId, String group, String tenant, String tag, String content)
+            throws IOException {
+        tagStore.put(getTagKey(dataId, group, tenant, tag), toBytes(content));
+    }
+    
+    @Override
+    public void removeConfigInfo(String dataId, String group, String tenant) {
+        configStore.remove(getKey(dataId, group, tenant));
+    }
+    
+    @Override
+    public void removeConfigInfo4Beta(String dataId, String group, String tenant) {
+        betaStore.remove(getKey(dataId, group, tenant));
+    }
+    
+    @Override
+    public void removeConfigInfo4Tag(String dataId, String group, String tenant, String tag) {
+        tagStore.remove(getTagKey(dataId, group, tenant, tag));
+    }
+    
+    @Override
+    public String getContent(String dataId, String group, String tenant) {
+        return toString(configStore.get(getKey(dataId, group, tenant)));
+    }
+    
+    @Override
+    public String getBetaContent(String dataId, String group, String tenant) {
+        return toString(betaStore.get(getKey(dataId, group, tenant)));
+    }
+    
+    @Override
+    public String getTagContent(String dataId, String group, String tenant, String tag) {
+        return toString(tagStore.get(getTagKey(dataId, group, tenant, tag)));
+    }
+    
+    /**
+     * Compact segments of all stores.
+     */
+    void compact() {
+        try {
+            configStore.compact(COMPACT_LIVE_RATIO);
+            betaStore.compact(COMPACT_LIVE_RATIO);
+            tagStore.compact(COMPACT_LIVE_RATIO);
+        } catch (Throwable e) {
+            LogUtil.DEFAULT_LOG.warn("compact config segments failed.", e);
+        }
+    }
+    
+    @Override
+    public void clearAll() {
+        configStore.clear();
+        LogUtil.DEFAULT_LOG.info("clear all config-info success.");
+    }
+    
+    @Override
+    public void clearAllBeta() {
+        betaStore.clear();
+        LogUtil.DEFAULT_LOG.info("clear all config-info-beta success.");
+    }
+    
+    @Override
+    public void clearAllTag() {
+        tagStore.clear();
+        LogUtil.DEFAULT_LOG.info("clear all config-info-tag success.");
+    }
+    
+    MappedSegmentStore getConfigStore() {
+        return configStore;
+    }
+}
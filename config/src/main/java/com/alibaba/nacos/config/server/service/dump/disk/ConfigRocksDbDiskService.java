@@ -19,23 +19,34 @@ package com.alibaba.nacos.config.server.service.dump.disk;
 import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.sys.env.EnvUtil;
+import org.apache.commons.io.FileUtils;
 import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
-import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
-
 /**
  * config rocks db disk service.
  *
+ * <p>Formal, beta and tag configs are kept in column families of one db, each column family has its own options,
+ * the write buffer size of a column family can be tuned by system property
+ * {@code config_rocksdb_[config|beta|tag]_write_buffer_mb}. All data is rebuilt by dump on startup, so batch writes
+ * skip the write ahead log.
+ *
  * @author shiyiyue
  */
 @SuppressWarnings("PMD.ServiceOrDaoClassShouldEndWithImplRule")
@@ -43,17 +54,45 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     
     private static final String ROCKSDB_DATA = File.separator + "rocksdata" + File.separator;
     
-    private static final String BASE_DIR = ROCKSDB_DATA + "config-data";
+    private static final String DB_DIR = ROCKSDB_DATA + "config-store";
+    
+    /**
+     * Dirs of the db per config type layout before column families, removed on startup.
+     */
+    private static final String[] LEGACY_DIRS = new String[] {ROCKSDB_DATA + "config-data", ROCKSDB_DATA + "beta-data",
+            ROCKSDB_DATA + "tag-data", ROCKSDB_DATA + "batch-data"};
+    
+    static final String CONFIG_FAMILY = "config";
     
-    private static final String BETA_DIR = ROCKSDB_DATA + "beta-data";
+    static final String BETA_FAMILY = "beta";
     
-    private static final String TAG_DIR = ROCKSDB_DATA + "tag-data";
+    static final String TAG_FAMILY = "tag";
     
-    private static final String BATCH_DIR = ROCKSDB_DATA + "batch-data";
+    private static final String WRITE_BUFFER_MB_PROPERTY = "config_rocksdb_%s_write_buffer_mb";
     
     private static final long DEFAULT_WRITE_BUFFER_MB = 32;
     
-    Map<String, RocksDB> rocksDbMap = new HashMap<>();
+    /**
+     * Utf-8 bytes never start with 0xFF, so [MIN_KEY, MAX_KEY) covers all keys of a column family.
+     */
+    private static final byte[] MIN_KEY = new byte[0];
+    
+    private static final byte[] MAX_KEY = new byte[] {(byte) 0xFF};
+    
+    /**
+     * A db can only be opened once in a process, so opened dbs are shared by path.
+     */
+    private static final Map<String, ConfigColumnFamilies> OPENED_DBS = new HashMap<>();
+    
+    static {
+        RocksDB.loadLibrary();
+    }
+    
+    private final WriteOptions durableBatchWriteOptions = new WriteOptions();
+    
+    private final WriteOptions batchWriteOptions = new WriteOptions().setDisableWAL(true);
+    
+    private volatile ConfigColumnFamilies columnFamilies;
     
     private void createDirIfNotExist(String dir) {
         File roskDataDir = new File(EnvUtil.getNacosHome(), "rocksdata");
@@ -66,41 +105,43 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         }
     }
     
-    private void deleteDirIfExist(String dir) {
-        File rockskDataDir = new File(EnvUtil.getNacosHome(), "rocksdata");
-        if (!rockskDataDir.exists()) {
-            return;
-        }
-        File baseDir = new File(EnvUtil.getNacosHome(), dir);
-        if (baseDir.exists()) {
-            baseDir.delete();
+    private void deleteLegacyDirs() {
+        for (String dir : LEGACY_DIRS) {
+            File legacyDir = new File(EnvUtil.getNacosHome(), dir);
+            if (legacyDir.exists()) {
+                FileUtils.deleteQuietly(legacyDir);
+                LogUtil.DEFAULT_LOG.info("delete legacy rocksdb dir {}.", legacyDir);
+            }
         }
     }
     
     public ConfigRocksDbDiskService() {
-        createDirIfNotExist(BASE_DIR);
-        createDirIfNotExist(BETA_DIR);
-        createDirIfNotExist(TAG_DIR);
-        createDirIfNotExist(BATCH_DIR);
-    }
-    
-    private byte[] getKeyByte(String dataId, String group, String tenant, String tag) throws IOException {
-        String[] keys = new String[] {dataId, group, tenant, tag};
-        StringBuilder stringBuilder = new StringBuilder();
-        for (String key : keys) {
-            if (StringUtils.isBlank(key)) {
-                key = "";
-            }
-            urlEncode(key, stringBuilder);
-            stringBuilder.append("+");
-        }
-        return stringBuilder.toString().getBytes(ENCODE_UTF8);
+        deleteLegacyDirs();
+        createDirIfNotExist(DB_DIR);
+    }
+    
+    private byte[] getKeyByte(String dataId, String group, String tenant, String tag) {
+        StringBuilder stringBuilder = new StringBuilder(
+                length(dataId) + length(group) + length(tenant) + length(tag) + 8);
+        urlEncode(dataId, stringBuilder);
+        urlEncode(group, stringBuilder);
+        urlEncode(tenant, stringBuilder);
+        urlEncode(tag, stringBuilder);
+        return stringBuilder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static int length(String str) {
+        return str == null ? 0 : str.length();
     }
     
     /**
-     * + -> %2B % -> %25.
+     * + -> %2B % -> %25, and append the separator +.
      */
     private static void urlEncode(String str, StringBuilder sb) {
+        if (StringUtils.isBlank(str)) {
+            sb.append('+');
+            return;
+        }
         for (int idx = 0; idx < str.length(); ++idx) {
             char c = str.charAt(idx);
             if ('+' == c) {
@@ -111,15 +152,18 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
                 sb.append(c);
             }
         }
+        sb.append('+');
     }
     
     /**
      * save config to disk.
      */
-    public void saveToDiskInner(String type, String dataId, String group, String tenant, String tag, String content)
-            throws IOException {
+    public void saveToDiskInner(String family, String dataId, String group, String tenant, String tag,
+            String content) throws IOException {
         try {
-            initAndGetDB(type).put(getKeyByte(dataId, group, tenant, tag), content.getBytes(ENCODE_UTF8));
+            ConfigColumnFamilies current = getColumnFamilies();
+            current.db.put(current.get(family), getKeyByte(dataId, group, tenant, tag),
+                    content.getBytes(StandardCharsets.UTF_8));
         } catch (RocksDBException e) {
             throw new IOException(e);
         }
@@ -128,23 +172,23 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     /**
      * save config to disk.
      */
-    public void saveToDiskInner(String type, String dataId, String group, String tenant, String content)
+    public void saveToDiskInner(String family, String dataId, String group, String tenant, String content)
             throws IOException {
-        saveToDiskInner(type, dataId, group, tenant, null, content);
+        saveToDiskInner(family, dataId, group, tenant, null, content);
     }
     
     /**
      * Save configuration information to disk.
      */
     public void saveToDisk(String dataId, String group, String tenant, String content) throws IOException {
-        saveToDiskInner(BASE_DIR, dataId, group, tenant, content);
+        saveToDiskInner(CONFIG_FAMILY, dataId, group, tenant, content);
     }
     
     /**
      * Save beta information to disk.
      */
     public void saveBetaToDisk(String dataId, String group, String tenant, String content) throws IOException {
-        saveToDiskInner(BETA_DIR, dataId, group, tenant, content);
+        saveToDiskInner(BETA_FAMILY, dataId, group, tenant, content);
         
     }
     
@@ -153,90 +197,120 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
      */
     public void saveTagToDisk(String dataId, String group, String tenant, String tag, String content)
             throws IOException {
-        saveToDiskInner(TAG_DIR, dataId, group, tenant, tag, content);
+        saveToDiskInner(TAG_FAMILY, dataId, group, tenant, tag, content);
         
     }
     
+    /**
+     * Save a batch of formal configs with one write batch, without write ahead log if not durable.
+     */
+    @Override
+    public void saveBatch(Collection<ConfigDiskEntry> entries, boolean durable) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (WriteBatch writeBatch = new WriteBatch()) {
+            ConfigColumnFamilies current = getColumnFamilies();
+            for (ConfigDiskEntry entry : entries) {
+                byte[] key = getKeyByte(entry.getDataId(), entry.getGroup(), entry.getTenant(), null);
+                writeBatch.put(current.config, key, entry.getContent().getBytes(StandardCharsets.UTF_8));
+            }
+            current.db.write(durable ? durableBatchWriteOptions : batchWriteOptions, writeBatch);
+        } catch (RocksDBException e) {
+            throw new IOException(e);
+        }
+    }
+    
     /**
      * Deletes configuration files on disk.
      */
     public void removeConfigInfo(String dataId, String group, String tenant) {
-        removeContentInner(BASE_DIR, dataId, group, tenant, null);
+        removeContentInner(CONFIG_FAMILY, dataId, group, tenant, null);
     }
     
     /**
      * Deletes beta configuration files on disk.
      */
     public void removeConfigInfo4Beta(String dataId, String group, String tenant) {
-        removeContentInner(BETA_DIR, dataId, group, tenant, null);
+        removeContentInner(BETA_FAMILY, dataId, group, tenant, null);
     }
     
     /**
      * Deletes tag configuration files on disk.
      */
     public void removeConfigInfo4Tag(String dataId, String group, String tenant, String tag) {
-        removeContentInner(TAG_DIR, dataId, group, tenant, tag);
+        removeContentInner(TAG_FAMILY, dataId, group, tenant, tag);
         
     }
     
-    private String byte2String(byte[] bytes) throws IOException {
+    private String byte2String(byte[] bytes) {
         if (bytes == null) {
             return null;
         }
-        return new String(bytes, ENCODE_UTF8);
+        return new String(bytes, StandardCharsets.UTF_8);
     }
     
-    RocksDB initAndGetDB(String dir) throws RocksDBException {
-        if (rocksDbMap.containsKey(dir)) {
-            return rocksDbMap.get(dir);
-        } else {
+    ConfigColumnFamilies getColumnFamilies() throws RocksDBException {
+        ConfigColumnFamilies current = columnFamilies;
+        if (current == null) {
             synchronized (this) {
-                if (rocksDbMap.containsKey(dir)) {
-                    return rocksDbMap.get(dir);
+                current = columnFamilies;
+                if (current == null) {
+                    current = openColumnFamilies(EnvUtil.getNacosHome() + DB_DIR);
+                    columnFamilies = current;
                 }
-                createDirIfEmpty(EnvUtil.getNacosHome() + dir);
-                rocksDbMap.put(dir, RocksDB.open(createOptions(dir), EnvUtil.getNacosHome() + dir));
-                return rocksDbMap.get(dir);
             }
-            
         }
+        return current;
     }
     
-    private void createDirIfEmpty(String filePath) {
-        File file = new File(filePath);
-        if (!file.exists()) {
-            file.mkdirs();
+    private static ConfigColumnFamilies openColumnFamilies(String path) throws RocksDBException {
+        synchronized (OPENED_DBS) {
+            ConfigColumnFamilies opened = OPENED_DBS.get(path);
+            if (opened != null) {
+                return opened;
+            }
+            createDirIfEmpty(path);
+            List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+            descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY));
+            descriptors.add(new ColumnFamilyDescriptor(CONFIG_FAMILY.getBytes(StandardCharsets.UTF_8),
+                    createColumnFamilyOptions(CONFIG_FAMILY)));
+            descriptors.add(new ColumnFamilyDescriptor(BETA_FAMILY.getBytes(StandardCharsets.UTF_8),
+                    createColumnFamilyOptions(BETA_FAMILY)));
+            descriptors.add(new ColumnFamilyDescriptor(TAG_FAMILY.getBytes(StandardCharsets.UTF_8),
+                    createColumnFamilyOptions(TAG_FAMILY)));
+            List<ColumnFamilyHandle> handles = new ArrayList<>(descriptors.size());
+            RocksDB db = RocksDB.open(createDbOptions(), path, descriptors, handles);
+            opened = new ConfigColumnFamilies(db, handles.get(1), handles.get(2), handles.get(3));
+            OPENED_DBS.put(path, opened);
+            return opened;
         }
     }
     
-    private String getContentInner(String type, String dataId, String group, String tenant) throws IOException {
-        byte[] bytes = null;
-        try {
-            bytes = initAndGetDB(type).get(getKeyByte(dataId, group, tenant, null));
-            String string = byte2String(bytes);
-            return string;
-        } catch (RocksDBException e) {
-            throw new IOException(e);
+    private static void createDirIfEmpty(String filePath) {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            file.mkdirs();
         }
     }
     
-    private String getTagContentInner(String type, String dataId, String group, String tenant, String tag)
+    private String getContentInner(String family, String dataId, String group, String tenant, String tag)
             throws IOException {
-        byte[] bytes = null;
         try {
-            bytes = initAndGetDB(type).get(getKeyByte(dataId, group, tenant, tag));
-            return byte2String(bytes);
+            ConfigColumnFamilies current = getColumnFamilies();
+            return byte2String(current.db.get(current.get(family), getKeyByte(dataId, group, tenant, tag)));
         } catch (RocksDBException e) {
             throw new IOException(e);
         }
     }
     
-    private void removeContentInner(String type, String dataId, String group, String tenant, String tag) {
+    private void removeContentInner(String family, String dataId, String group, String tenant, String tag) {
         try {
-            initAndGetDB(type).delete(getKeyByte(dataId, group, tenant, tag));
+            ConfigColumnFamilies current = getColumnFamilies();
+            current.db.delete(current.get(family), getKeyByte(dataId, group, tenant, tag));
         } catch (Exception e) {
-            LogUtil.DEFAULT_LOG.warn("Remove dir=[{}] config fail,dataId={},group={},tenant={},error={}", type, dataId,
-                    group, tenant, e.getCause());
+            LogUtil.DEFAULT_LOG.warn("Remove family=[{}] config fail,dataId={},group={},tenant={},error={}", family,
+                    dataId, group, tenant, e.getCause());
         }
     }
     
@@ -244,48 +318,58 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
      * Returns the path of cache file in server.
      */
     public String getBetaContent(String dataId, String group, String tenant) throws IOException {
-        return getContentInner(BETA_DIR, dataId, group, tenant);
+        return getContentInner(BETA_FAMILY, dataId, group, tenant, null);
     }
     
     /**
      * Returns the path of the tag cache file in server.
      */
     public String getTagContent(String dataId, String group, String tenant, String tag) throws IOException {
-        return getTagContentInner(TAG_DIR, dataId, group, tenant, tag);
+        return getContentInner(TAG_FAMILY, dataId, group, tenant, tag);
     }
     
     public String getContent(String dataId, String group, String tenant) throws IOException {
-        return getContentInner(BASE_DIR, dataId, group, tenant);
+        return getContentInner(CONFIG_FAMILY, dataId, group, tenant, null);
     }
     
-    Options createOptions(String dir) {
+    static DBOptions createDbOptions() {
         DBOptions dbOptions = new DBOptions();
         dbOptions.setMaxBackgroundJobs(Runtime.getRuntime().availableProcessors());
-        Options options = new Options(dbOptions, createColumnFamilyOptions(dir));
-        options.setCreateIfMissing(true);
-        return options;
+        dbOptions.setCreateIfMissing(true);
+        dbOptions.setCreateMissingColumnFamilies(true);
+        return dbOptions;
     }
     
-    ColumnFamilyOptions createColumnFamilyOptions(String dir) {
+    static ColumnFamilyOptions createColumnFamilyOptions(String family) {
         ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions();
         BlockBasedTableConfig tableFormatConfig = new BlockBasedTableConfig();
         columnFamilyOptions.setTableFormatConfig(tableFormatConfig);
         //set more write buffer size to formal config-data, reduce flush to sst file frequency.
-        columnFamilyOptions.setWriteBufferSize(getSuitFormalCacheSizeMB(dir) * 1024 * 1024);
+        columnFamilyOptions.setWriteBufferSize(getWriteBufferSizeMB(family) * 1024 * 1024);
         //once a stt file is flushed, compact it immediately to avoid too many sst file which will result in read latency.
         columnFamilyOptions.setLevel0FileNumCompactionTrigger(1);
         return columnFamilyOptions;
     }
     
+    private static long getWriteBufferSizeMB(String family) {
+        Long configured = Long.getLong(String.format(WRITE_BUFFER_MB_PROPERTY, family));
+        if (configured != null && configured > 0) {
+            LogUtil.DEFAULT_LOG.info("init rocksdb write buffer size {}M for column family {} by system property",
+                    configured, family);
+            return configured;
+        }
+        return getSuitFormalCacheSizeMB(family);
+    }
+    
     /**
      * get suit formal buffer size.
      *
      * @return
      */
     @SuppressWarnings("PMD.UndefineMagicConstantRule")
-    private long getSuitFormalCacheSizeMB(String dir) {
+    private static long getSuitFormalCacheSizeMB(String family) {
         
-        boolean formal = BASE_DIR.equals(dir);
+        boolean formal = CONFIG_FAMILY.equals(family);
         long maxHeapSizeMB = Runtime.getRuntime().maxMemory() / 1024 / 1024;
         
         if (formal) {
@@ -298,63 +382,78 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
             } else {
                 formalWriteBufferSizeMB = 256;
             }
-            LogUtil.DEFAULT_LOG.info("init formal rocksdb write buffer size {}M for dir {}, maxHeapSize={}M",
-                    formalWriteBufferSizeMB, dir, maxHeapSizeMB);
+            LogUtil.DEFAULT_LOG.info("init formal rocksdb write buffer size {}M for column family {}, maxHeapSize={}M",
+                    formalWriteBufferSizeMB, family, maxHeapSizeMB);
             return formalWriteBufferSizeMB;
         } else {
-            LogUtil.DEFAULT_LOG.info("init default rocksdb write buffer size {}M for dir {}, maxHeapSize={}M",
-                    DEFAULT_WRITE_BUFFER_MB, dir, maxHeapSizeMB);
+            LogUtil.DEFAULT_LOG.info("init default rocksdb write buffer size {}M for column family {}, maxHeapSize={}M",
+                    DEFAULT_WRITE_BUFFER_MB, family, maxHeapSizeMB);
             return DEFAULT_WRITE_BUFFER_MB;
         }
         
     }
     
     /**
-     * Clear all config file.
+     * Delete all keys of the column family with a range tombstone and compact the range to reclaim the disk.
      */
-    public void clearAll() {
+    private void clearColumnFamily(String family) {
         try {
-            if (rocksDbMap.containsKey(BASE_DIR)) {
-                rocksDbMap.get(BASE_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + BASE_DIR, new Options());
-            }
-            deleteDirIfExist(BASE_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info success.");
+            ConfigColumnFamilies current = getColumnFamilies();
+            ColumnFamilyHandle handle = current.get(family);
+            current.db.deleteRange(handle, MIN_KEY, MAX_KEY);
+            current.db.compactRange(handle);
+            LogUtil.DEFAULT_LOG.info("clear all {} config-info success.", family);
         } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info failed.", e);
+            LogUtil.DEFAULT_LOG.warn("clear all " + family + " config-info failed.", e);
         }
     }
     
+    /**
+     * Clear all config file.
+     */
+    public void clearAll() {
+        clearColumnFamily(CONFIG_FAMILY);
+    }
+    
     /**
      * Clear all beta config file.
      */
     public void clearAllBeta() {
-        try {
-            if (rocksDbMap.containsKey(BETA_DIR)) {
-                rocksDbMap.get(BETA_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + BETA_DIR, new Options());
-            }
-            deleteDirIfExist(BETA_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info-beta success.");
-        } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info-beta failed.", e);
-        }
+        clearColumnFamily(BETA_FAMILY);
     }
     
     /**
      * Clear all tag config file.
      */
     public void clearAllTag() {
+        clearColumnFamily(TAG_FAMILY);
+    }
+    
+    /**
+     * The db and the column family handles of formal, beta and tag configs.
+     */
+    static class ConfigColumnFamilies {
         
-        try {
-            if (rocksDbMap.containsKey(TAG_DIR)) {
-                rocksDbMap.get(TAG_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + TAG_DIR, new Options());
+        private final RocksDB db;
+        
+        private final ColumnFamilyHandle config;
+        
+        private final ColumnFamilyHandle beta;
+        
+        private final ColumnFamilyHandle tag;
+        
+        ConfigColumnFamilies(RocksDB db, ColumnFamilyHandle config, ColumnFamilyHandle beta, ColumnFamilyHandle tag) {
+            this.db = db;
+            this.config = config;
+            this.beta = beta;
+            this.tag = tag;
+        }
+        
+        ColumnFamilyHandle get(String family) {
+            if (BETA_FAMILY.equals(family)) {
+                return beta;
             }
-            deleteDirIfExist(TAG_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info-tag success.");
-        } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info-tag failed.", e);
+            return TAG_FAMILY.equals(family) ? tag : config;
         }
     }
     
@@ -0,0 +1,377 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append only store of contents in memory-mapped segment files, with an in-memory offset index.
+ *
+ * <p>Writes are serialized and append to the active segment, a write never touches bytes a reader may see. Reads are
+ * lock free, a reader pins the segment while copying the content out of it. A dropped segment is unmapped and its file
+ * deleted as soon as no reader pins it, so neither the file nor the address space outlives the segment.
+ *
+ * <p>The index is not persisted, the store is emptied when it is created and rebuilt by dump on startup.
+ *
+ * @author Nacos
+ */
+class MappedSegmentStore {
+    
+    private static final String SEGMENT_SUFFIX = ".seg";
+    
+    private final String name;
+    
+    private final File dir;
+    
+    private final int segmentSize;
+    
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    
+    /**
+     * Guarded by this.
+     */
+    private final List<Segment> segments = new ArrayList<>();
+    
+    /**
+     * Guarded by this.
+     */
+    private Segment activeSegment;
+    
+    /**
+     * Guarded by this.
+     */
+    private int nextSegmentId;
+    
+    MappedSegmentStore(String name, File dir, int segmentSize) {
+        this.name = name;
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        FileUtils.deleteQuietly(dir);
+        dir.mkdirs();
+    }
+    
+    /**
+     * Append content and point the key to it.
+     *
+     * @param key     key.
+     * @param content content bytes.
+     * @throws IOException if a new segment can not be mapped.
+     */
+    synchronized void put(String key, byte[] content) throws IOException {
+        Location location = append(ByteBuffer.wrap(content));
+        release(index.put(key, location));
+    }
+    
+    /**
+     * Remove the key, the bytes are reclaimed by compaction.
+     *
+     * @param key key.
+     */
+    synchronized void remove(String key) {
+        release(index.remove(key));
+    }
+    
+    /**
+     * Get a copy of the content.
+     *
+     * @param key key.
+     * @return content bytes, null if not exist.
+     */
+    byte[] get(String key) {
+        while (true) {
+            Location location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            if (location.segment.pin()) {
+                try {
+                    return location.copy();
+                } finally {
+                    location.segment.unpin();
+                }
+            }
+            // the segment was dropped after the lookup, the key has been moved or removed before dropping.
+        }
+    }
+    
+    /**
+     * Remove all contents and segment files.
+     */
+    synchronized void clear() {
+        index.clear();
+        for (Segment segment : segments) {
+            segment.drop();
+        }
+        segments.clear();
+        activeSegment = null;
+    }
+    
+    /**
+     * Move live contents out of sealed segments with less live bytes than the ratio, and drop those segments.
+     *
+     * <p>The store is only locked to pick the segments and to move each content, so writes are not blocked by the scan
+     * of the index.
+     *
+     * @param liveRatio live bytes ratio under which a segment is compacted.
+     * @return count of dropped segments.
+     * @throws IOException if a new segment can not be mapped.
+     */
+    int compact(double liveRatio) throws IOException {
+        Set<Segment> victims = new HashSet<>();
+        synchronized (this) {
+            for (Segment segment : segments) {
+                if (segment != activeSegment && segment.liveBytes < segment.writePosition * liveRatio) {
+                    victims.add(segment);
+                }
+            }
+        }
+        if (victims.isEmpty()) {
+            return 0;
+        }
+        // sealed segments never get new contents, a key only points to a victim if it was there before the scan.
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            if (victims.contains(entry.getValue().segment)) {
+                move(entry.getKey(), entry.getValue());
+            }
+        }
+        int dropped = 0;
+        synchronized (this) {
+            for (Segment segment : victims) {
+                // segments might be dropped by clear concurrently.
+                if (segments.remove(segment)) {
+                    segment.drop();
+                    dropped++;
+                }
+            }
+            LogUtil.DEFAULT_LOG.info("[segment-store] compact {} segments of {}, {} segments left.", dropped, name,
+                    segments.size());
+        }
+        return dropped;
+    }
+    
+    private synchronized void move(String key, Location location) throws IOException {
+        if (index.get(key) == location) {
+            index.put(key, append(location.slice()));
+        }
+    }
+    
+    int size() {
+        return index.size();
+    }
+    
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+    
+    private Location append(ByteBuffer content) throws IOException {
+        int length = content.remaining();
+        if (activeSegment == null || activeSegment.remaining() < length) {
+            activeSegment = newSegment(Math.max(segmentSize, length));
+            segments.add(activeSegment);
+        }
+        return activeSegment.append(content, length);
+    }
+    
+    private void release(Location location) {
+        if (location != null) {
+            location.segment.liveBytes -= location.length;
+        }
+    }
+    
+    private Segment newSegment(int size) throws IOException {
+        File file = new File(dir, name + "-" + nextSegmentId++ + SEGMENT_SUFFIX);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+                FileChannel channel = randomAccessFile.getChannel()) {
+            // the mapping stays valid after the channel is closed.
+            return new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+    
+    private static class Segment {
+        
+        private static final int CLOSED = -1;
+        
+        private final File file;
+        
+        private final MappedByteBuffer buffer;
+        
+        /**
+         * Count of readers pinning the segment, or {@link #CLOSED} after the segment is unmapped.
+         */
+        private final AtomicInteger pins = new AtomicInteger();
+        
+        private volatile boolean dropped;
+        
+        /**
+         * Guarded by the store.
+         */
+        private int writePosition;
+        
+        /**
+         * Guarded by the store.
+         */
+        private long liveBytes;
+        
+        Segment(File file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+        
+        int remaining() {
+            return buffer.capacity() - writePosition;
+        }
+        
+        Location append(ByteBuffer content, int length) {
+            ByteBuffer target = buffer.duplicate();
+            target.position(writePosition);
+            target.put(content);
+            Location location = new Location(this, writePosition, length);
+            writePosition += length;
+            liveBytes += length;
+            return location;
+        }
+        
+        boolean pin() {
+            int current;
+            do {
+                current = pins.get();
+                if (current == CLOSED) {
+                    return false;
+                }
+            } while (!pins.compareAndSet(current, current + 1));
+            return true;
+        }
+        
+        void unpin() {
+            if (pins.decrementAndGet() == 0 && dropped) {
+                close();
+            }
+        }
+        
+        /**
+         * Drop the segment, it is closed now or by the last reader pinning it.
+         */
+        void drop() {
+            dropped = true;
+            close();
+        }
+        
+        private void close() {
+            if (!pins.compareAndSet(0, CLOSED)) {
+                return;
+            }
+            Unmapper.unmap(buffer);
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+    
+    private static class Location {
+        
+        private final Segment segment;
+        
+        private final int offset;
+        
+        private final int length;
+        
+        Location(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+        
+        ByteBuffer slice() {
+            ByteBuffer slice = segment.buffer.duplicate();
+            slice.position(offset);
+            slice.limit(offset + length);
+            return slice;
+        }
+        
+        byte[] copy() {
+            byte[] bytes = new byte[length];
+            slice().get(bytes);
+            return bytes;
+        }
+    }
+    
+    /**
+     * Unmap mapped buffers explicitly, by {@code Unsafe#invokeCleaner} since java 9 and by the cleaner of the buffer
+     * on java 8. If neither is accessible, the buffer is unmapped when it is collected.
+     */
+    private static final class Unmapper {
+        
+        private static final Object UNSAFE;
+        
+        private static final Method INVOKE_CLEANER;
+        
+        static {
+            Object unsafe = null;
+            Method invokeCleaner = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                unsafe = theUnsafe.get(null);
+            } catch (Throwable ignore) {
+                // java 8, use the cleaner of the buffer.
+                invokeCleaner = null;
+            }
+            UNSAFE = unsafe;
+            INVOKE_CLEANER = invokeCleaner;
+        }
+        
+        private Unmapper() {
+        }
+        
+        static void unmap(MappedByteBuffer buffer) {
+            try {
+                if (INVOKE_CLEANER != null) {
+                    INVOKE_CLEANER.invoke(UNSAFE, buffer);
+                    return;
+                }
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            } catch (Throwable e) {
+                LogUtil.DEFAULT_LOG.warn("[segment-store] unmap segment failed, it is unmapped after gc. {}",
+                        e.toString());
+            }
+        }
+    }
+}
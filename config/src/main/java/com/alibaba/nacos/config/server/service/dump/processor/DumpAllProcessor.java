@@ -20,6 +20,7 @@ import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
 import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
 import com.alibaba.nacos.config.server.service.AggrWhitelist;
 import com.alibaba.nacos.config.server.service.ClientIpWhiteList;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
@@ -31,10 +32,15 @@ import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.persistence.model.Page;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
 import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
@@ -42,11 +48,18 @@ import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
 /**
  * Dump all processor.
  *
+ * <p>The dump is a pipeline: the calling thread prefetches pages from db, each page is split into chunks which are
+ * hashed by the worker threads in parallel, and the changed configs of a chunk are saved to disk in one batch. The
+ * number of chunks in flight is bounded by a semaphore, so the db reader is blocked instead of running dump work itself
+ * when workers fall behind, and the end of the dump is observed through a phaser instead of polling the executor queue.
+ *
  * @author Nacos
  * @date 2020/7/5 12:19 PM
  */
 public class DumpAllProcessor implements NacosTaskProcessor {
     
+    private static final long PROGRESS_LOG_INTERVAL_SECONDS = 5L;
+    
     public DumpAllProcessor(ConfigInfoPersistService configInfoPersistService) {
         this.configInfoPersistService = configInfoPersistService;
     }
@@ -61,34 +74,84 @@ public class DumpAllProcessor implements NacosTaskProcessor {
         
         long currentMaxId = configInfoPersistService.findConfigMaxId();
         long lastMaxId = 0;
-        ThreadPoolExecutor executorService = null;
-        if (dumpAllTask.isStartUp()) {
-            executorService = new ThreadPoolExecutor(Runtime.getRuntime().availableProcessors(),
-                    Runtime.getRuntime().availableProcessors(), 60L, TimeUnit.SECONDS,
-                    new LinkedBlockingQueue<>(PropertyUtil.getAllDumpPageSize() * 2),
-                    r -> new Thread(r, "dump all executor"), new ThreadPoolExecutor.CallerRunsPolicy());
-        } else {
-            executorService = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
-                    r -> new Thread(r, "dump all executor"), new ThreadPoolExecutor.CallerRunsPolicy());
-        }
+        int workerCount = dumpAllTask.isStartUp() ? Runtime.getRuntime().availableProcessors() : 1;
+        ThreadPoolExecutor executorService = new ThreadPoolExecutor(workerCount, workerCount, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> new Thread(r, "dump all executor"));
+        // at most two pages are held in memory, one being dumped and one being prefetched.
+        int chunkSize = Math.max(1, PropertyUtil.getAllDumpPageSize() / workerCount);
+        Semaphore inFlightChunks = new Semaphore(workerCount * 2);
+        Phaser unfinishedChunks = new Phaser(1);
+        DumpAllProgress progress = new DumpAllProgress(currentMaxId);
         
         DEFAULT_LOG.info("start dump all config-info...");
         
-        while (lastMaxId < currentMaxId) {
-            
-            long start = System.currentTimeMillis();
-            
-            Page<ConfigInfoWrapper> page = configInfoPersistService.findAllConfigInfoFragment(lastMaxId,
-                    PropertyUtil.getAllDumpPageSize(), dumpAllTask.isStartUp());
-            long dbTimeStamp = System.currentTimeMillis();
-            if (page == null || page.getPageItems() == null || page.getPageItems().isEmpty()) {
-                break;
+        try {
+            while (lastMaxId < currentMaxId) {
+                
+                final long start = System.currentTimeMillis();
+                
+                Page<ConfigInfoWrapper> page = configInfoPersistService.findAllConfigInfoFragment(lastMaxId,
+                        PropertyUtil.getAllDumpPageSize(), dumpAllTask.isStartUp());
+                final long dbTimeStamp = System.currentTimeMillis();
+                if (page == null || page.getPageItems() == null || page.getPageItems().isEmpty()) {
+                    break;
+                }
+                
+                List<ConfigInfoWrapper> pageItems = page.getPageItems();
+                for (ConfigInfoWrapper cf : pageItems) {
+                    lastMaxId = Math.max(cf.getId(), lastMaxId);
+                }
+                for (int from = 0; from < pageItems.size(); from += chunkSize) {
+                    List<ConfigInfoWrapper> chunk = pageItems.subList(from,
+                            Math.min(from + chunkSize, pageItems.size()));
+                    inFlightChunks.acquire();
+                    unfinishedChunks.register();
+                    executorService.execute(() -> {
+                        try {
+                            dumpChunk(chunk, dumpAllTask.isStartUp(), progress);
+                        } finally {
+                            unfinishedChunks.arriveAndDeregister();
+                            inFlightChunks.release();
+                        }
+                    });
+                }
+                progress.updateFetchedMaxId(lastMaxId);
+                
+                long submitStamp = System.currentTimeMillis();
+                DEFAULT_LOG.info("[all-dump] submit all task for {} / {}, dbTime={},submitTime={}", lastMaxId,
+                        currentMaxId, (dbTimeStamp - start), (submitStamp - dbTimeStamp));
             }
             
-            for (ConfigInfoWrapper cf : page.getPageItems()) {
-                lastMaxId = Math.max(cf.getId(), lastMaxId);
+            //wait all task are finished and then shutdown executor.
+            int phase = unfinishedChunks.arrive();
+            while (true) {
+                try {
+                    unfinishedChunks.awaitAdvanceInterruptibly(phase, PROGRESS_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    DEFAULT_LOG.info("[all-dump] wait {} dump chunks to be finished, {}",
+                            unfinishedChunks.getUnarrivedParties(), progress);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            DEFAULT_LOG.error("[all-dump] wait  dump tasks to be finished error, {}", progress, e);
+            // chunks might be unfinished, the full dump is not completed.
+            return false;
+        } finally {
+            executorService.shutdown();
+        }
+        DEFAULT_LOG.info("success to  dump all config-info, {}", progress);
+        return true;
+    }
+    
+    private void dumpChunk(List<ConfigInfoWrapper> chunk, boolean isStartUp, DumpAllProgress progress) {
+        List<ConfigInfoWrapper> changedConfigs = new ArrayList<>(chunk.size());
+        for (ConfigInfoWrapper each : chunk) {
+            ConfigInfoWrapper cf = each;
+            try {
                 //if not start up, page query will not return content, check md5 and lastModified first ,if changed ,get single content info to dump.
-                if (!dumpAllTask.isStartUp()) {
+                if (!isStartUp) {
                     final String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
                     boolean newLastModified = cf.getLastModified() > ConfigCacheService.getLastModifiedTs(groupKey);
                     //check md5 & update local disk cache.
@@ -99,67 +162,117 @@ public class DumpAllProcessor implements NacosTaskProcessor {
                                 cf.getLastModified(), cf.getMd5());
                         cf = configInfoPersistService.findConfigInfo(cf.getDataId(), cf.getGroup(), cf.getTenant());
                     } else {
+                        progress.skipped();
                         continue;
                     }
                 }
                 
                 if (cf == null) {
+                    progress.skipped();
                     continue;
                 }
-                if (cf.getDataId().equals(AggrWhitelist.AGGRIDS_METADATA)) {
-                    AggrWhitelist.load(cf.getContent());
-                }
-                
-                if (cf.getDataId().equals(ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA)) {
-                    ClientIpWhiteList.load(cf.getContent());
-                }
-                
-                if (cf.getDataId().equals(SwitchService.SWITCH_META_DATA_ID)) {
-                    SwitchService.load(cf.getContent());
-                }
-                
-                final String content = cf.getContent();
-                final String dataId = cf.getDataId();
-                final String group = cf.getGroup();
-                final String tenant = cf.getTenant();
-                final long lastModified = cf.getLastModified();
-                final String type = cf.getType();
-                final String encryptedDataKey = cf.getEncryptedDataKey();
-                
-                executorService.execute(() -> {
-                    final String md5Utf8 = MD5Utils.md5Hex(content, ENCODE_UTF8);
-                    boolean result = ConfigCacheService.dumpWithMd5(dataId, group, tenant, content, md5Utf8,
-                            lastModified, type, encryptedDataKey);
-                    if (result) {
-                        LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={},md5UTF8={}",
-                                GroupKey2.getKey(dataId, group), lastModified, content.length(), md5Utf8);
-                    } else {
-                        LogUtil.DUMP_LOG.info("[dump-all-error] {}", GroupKey2.getKey(dataId, group));
-                    }
-                    
-                });
-                
+                loadMetadata(cf);
+                cf.setMd5(MD5Utils.md5Hex(cf.getContent(), ENCODE_UTF8));
+                changedConfigs.add(cf);
+            } catch (RuntimeException e) {
+                progress.failed();
+                LogUtil.DUMP_LOG.error("[dump-all-error] {}", GroupKey2.getKey(each.getDataId(), each.getGroup()), e);
             }
-            
-            long diskStamp = System.currentTimeMillis();
-            DEFAULT_LOG.info("[all-dump] submit all task for {} / {}, dbTime={},diskTime={}", lastMaxId, currentMaxId,
-                    (dbTimeStamp - start), (diskStamp - dbTimeStamp));
+        }
+        if (changedConfigs.isEmpty()) {
+            return;
         }
         
-        //wait all task are finished and then shutdown executor.
+        //save the changed configs of the chunk to disk in one batch, a crash on startup dumps all again.
+        boolean[] results;
         try {
-            int unfinishedTaskCount = 0;
-            while ((unfinishedTaskCount = executorService.getQueue().size() + executorService.getActiveCount()) > 0) {
-                DEFAULT_LOG.info("[all-dump] wait {} dump tasks to be finished", unfinishedTaskCount);
-                Thread.sleep(1000L);
+            results = ConfigCacheService.batchDumpWithMd5(changedConfigs, !isStartUp);
+        } catch (RuntimeException e) {
+            progress.failed(changedConfigs.size());
+            LogUtil.DUMP_LOG.error("[dump-all-error] batch size={}", changedConfigs.size(), e);
+            return;
+        }
+        for (int i = 0; i < results.length; i++) {
+            ConfigInfoWrapper cf = changedConfigs.get(i);
+            String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup());
+            if (results[i]) {
+                progress.dumped();
+                LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={},md5UTF8={}", groupKey, cf.getLastModified(),
+                        cf.getContent().length(), cf.getMd5());
+            } else {
+                progress.failed();
+                LogUtil.DUMP_LOG.info("[dump-all-error] {}", groupKey);
             }
-            executorService.shutdown();
-            
-        } catch (Exception e) {
-            DEFAULT_LOG.error("[all-dump] wait  dump tasks to be finished error", e);
         }
-        DEFAULT_LOG.info("success to  dump all config-info。");
-        return true;
+    }
+    
+    private void loadMetadata(ConfigInfoWrapper cf) {
+        if (cf.getDataId().equals(AggrWhitelist.AGGRIDS_METADATA)) {
+            AggrWhitelist.load(cf.getContent());
+        }
+        
+        if (cf.getDataId().equals(ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA)) {
+            ClientIpWhiteList.load(cf.getContent());
+        }
+        
+        if (cf.getDataId().equals(SwitchService.SWITCH_META_DATA_ID)) {
+            SwitchService.load(cf.getContent());
+        }
+    }
+    
+    /**
+     * Progress of one dump all run, also published to {@link MetricsMonitor}.
+     */
+    static class DumpAllProgress {
+        
+        private final long startTime = System.currentTimeMillis();
+        
+        private final long maxId;
+        
+        private final AtomicLong dumpedCount = new AtomicLong();
+        
+        private final AtomicLong skippedCount = new AtomicLong();
+        
+        private final AtomicLong failedCount = new AtomicLong();
+        
+        private volatile long fetchedMaxId;
+        
+        DumpAllProgress(long maxId) {
+            this.maxId = maxId;
+            MetricsMonitor.getDumpAllProgressMonitor().set(0);
+            MetricsMonitor.getDumpAllThroughputMonitor().set(0);
+        }
+        
+        void updateFetchedMaxId(long fetchedMaxId) {
+            this.fetchedMaxId = fetchedMaxId;
+            MetricsMonitor.getDumpAllProgressMonitor()
+                    .set(maxId <= 0 ? 100 : (int) Math.min(100, fetchedMaxId * 100 / maxId));
+        }
+        
+        void dumped() {
+            long dumped = dumpedCount.incrementAndGet();
+            long elapsedSeconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+            MetricsMonitor.getDumpAllThroughputMonitor().set((int) (dumped / elapsedSeconds));
+        }
+        
+        void skipped() {
+            skippedCount.incrementAndGet();
+        }
+        
+        void failed() {
+            failedCount.incrementAndGet();
+        }
+        
+        void failed(long count) {
+            failedCount.addAndGet(count);
+        }
+        
+        @Override
+        public String toString() {
+            return "fetchedMaxId=" + fetchedMaxId + "/" + maxId + ", dumped=" + dumpedCount.get() + ", skipped="
+                    + skippedCount.get() + ", failed=" + failedCount.get() + ", costTime=" + (
+                    System.currentTimeMillis() - startTime) + "ms";
+        }
     }
     
     final ConfigInfoPersistService configInfoPersistService;
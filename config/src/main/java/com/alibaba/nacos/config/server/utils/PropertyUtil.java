@@ -106,6 +106,11 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
      */
     private static long dumpChangeWorkerInterval = 30 * 1000L;
     
+    /**
+     * Byte budget of the in-memory config content cache, default 64 MB, 0 or negative to disable.
+     */
+    private static long contentCacheMaxBytes = 64 * 1024 * 1024L;
+    
     public static boolean isDumpChangeOn() {
         return dumpChangeOn;
     }
@@ -122,6 +127,14 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         PropertyUtil.dumpChangeWorkerInterval = dumpChangeWorkerInterval;
     }
     
+    public static long getContentCacheMaxBytes() {
+        return contentCacheMaxBytes;
+    }
+    
+    public static void setContentCacheMaxBytes(long contentCacheMaxBytes) {
+        PropertyUtil.contentCacheMaxBytes = contentCacheMaxBytes;
+    }
+    
     public static int getNotifyConnectTimeout() {
         return notifyConnectTimeout;
     }
@@ -278,6 +291,7 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
             setDumpChangeOn(getBoolean(PropertiesConstant.DUMP_CHANGE_ON, dumpChangeOn));
             setDumpChangeWorkerInterval(
                     getLong(PropertiesConstant.DUMP_CHANGE_WORKER_INTERVAL, dumpChangeWorkerInterval));
+            setContentCacheMaxBytes(getLong(PropertiesConstant.CONTENT_CACHE_MAX_BYTES, contentCacheMaxBytes));
         } catch (Exception e) {
             LOGGER.error("read application.properties failed", e);
             throw e;
@@ -50,6 +50,8 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.Arrays;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -107,10 +109,8 @@ public class ConfigChangeAspectTest {
         Mockito.when(proceedingJoinPoint.proceed(any())).thenReturn("mock success return");
         Object o = configChangeAspect.importConfigAround(proceedingJoinPoint, request, srcUser, namespace, policy,
                 file);
-        Thread.sleep(20L);
-        
-        // expect service executed.
-        Mockito.verify(configChangePluginService, Mockito.times(1))
+        // expect service executed by the after plugin executor.
+        Mockito.verify(configChangePluginService, Mockito.timeout(3000L).times(1))
                 .execute(any(ConfigChangeRequest.class), any(ConfigChangeResponse.class));
         //expect join point processed success.
         Assert.assertEquals("mock success return", o);
@@ -130,10 +130,8 @@ public class ConfigChangeAspectTest {
         Mockito.when(proceedingJoinPoint.proceed(any())).thenReturn("mock success return");
         Object o = configChangeAspect.publishOrUpdateConfigAround(proceedingJoinPoint, request, response, dataId, group,
                 tenant, "c1", null, null, srcUser, null, null, null, null, null);
-        Thread.sleep(20L);
-        
-        // expect service executed.
-        Mockito.verify(configChangePluginService, Mockito.times(1))
+        // expect service executed by the after plugin executor.
+        Mockito.verify(configChangePluginService, Mockito.timeout(3000L).times(1))
                 .execute(any(ConfigChangeRequest.class), any(ConfigChangeResponse.class));
         //expect join point processed success.
         Assert.assertEquals("mock success return", o);
@@ -152,10 +150,8 @@ public class ConfigChangeAspectTest {
         Mockito.when(proceedingJoinPoint.proceed(any())).thenReturn("mock success return");
         Object o = configChangeAspect.removeConfigByIdAround(proceedingJoinPoint, request, response, dataId, group,
                 tenant);
-        Thread.sleep(20L);
-        
-        // expect service executed.
-        Mockito.verify(configChangePluginService, Mockito.times(1))
+        // expect service executed by the after plugin executor.
+        Mockito.verify(configChangePluginService, Mockito.timeout(3000L).times(1))
                 .execute(any(ConfigChangeRequest.class), any(ConfigChangeResponse.class));
         //expect join point processed success.
         Assert.assertEquals("mock success return", o);
@@ -169,9 +165,8 @@ public class ConfigChangeAspectTest {
         
         Mockito.when(proceedingJoinPoint.proceed(any())).thenReturn("mock success return");
         Object o = configChangeAspect.removeConfigByIdsAround(proceedingJoinPoint, request, Arrays.asList(1L, 2L));
-        Thread.sleep(20L);
-        // expect service executed.
-        Mockito.verify(configChangePluginService, Mockito.times(1))
+        // expect service executed by the after plugin executor.
+        Mockito.verify(configChangePluginService, Mockito.timeout(3000L).times(1))
                 .execute(any(ConfigChangeRequest.class), any(ConfigChangeResponse.class));
         //expect join point processed success.
         Assert.assertEquals("mock success return", o);
@@ -193,6 +188,30 @@ public class ConfigChangeAspectTest {
         Assert.assertEquals(configPublishResponse, o);
     }
     
+    @Test
+    public void testAfterPluginsExecutedConcurrently() throws Throwable {
+        Mockito.when(configChangePluginService.executeType()).thenReturn(ConfigChangeExecuteTypes.EXECUTE_AFTER_TYPE);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(configChangePluginService).execute(any(ConfigChangeRequest.class), any(ConfigChangeResponse.class));
+        ProceedingJoinPoint proceedingJoinPoint = Mockito.mock(ProceedingJoinPoint.class);
+        ConfigPublishResponse configPublishResponse = ConfigPublishResponse.buildSuccessResponse();
+        Mockito.when(proceedingJoinPoint.proceed(any())).thenReturn(configPublishResponse);
+        try {
+            RequestMeta requestMeta = new RequestMeta();
+            configChangeAspect.publishConfigAroundRpc(proceedingJoinPoint, new ConfigPublishRequest(), requestMeta);
+            configChangeAspect.publishConfigAroundRpc(proceedingJoinPoint, new ConfigPublishRequest(), requestMeta);
+            // a slow after plugin service doesn't block the after plugin services of other requests.
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+    
     @Test
     public void testPublishConfigAroundRpcException() throws Throwable {
         Mockito.when(configChangePluginService.executeType()).thenReturn(ConfigChangeExecuteTypes.EXECUTE_BEFORE_TYPE);
@@ -243,6 +262,32 @@ public class ConfigChangeAspectTest {
         Assert.assertTrue(((ConfigRemoveResponse) o).getMessage().contains("config change join point fail"));
     }
     
+    @Test
+    public void testPipelineRebuiltAfterPropertiesChanged() throws Throwable {
+        Mockito.when(configChangePluginService.executeType()).thenReturn(ConfigChangeExecuteTypes.EXECUTE_BEFORE_TYPE);
+        ProceedingJoinPoint proceedingJoinPoint = Mockito.mock(ProceedingJoinPoint.class);
+        ConfigPublishRequest request = new ConfigPublishRequest();
+        RequestMeta requestMeta = new RequestMeta();
+        ConfigPublishResponse configPublishResponse = ConfigPublishResponse.buildSuccessResponse();
+        Mockito.when(proceedingJoinPoint.proceed(any())).thenReturn(configPublishResponse);
+        Mockito.when(proceedingJoinPoint.proceed()).thenReturn(configPublishResponse);
+        configChangeAspect.publishConfigAroundRpc(proceedingJoinPoint, request, requestMeta);
+        configChangeAspect.publishConfigAroundRpc(proceedingJoinPoint, request, requestMeta);
+        Mockito.verify(configChangePluginService, Mockito.times(2))
+                .execute(any(ConfigChangeRequest.class), any(ConfigChangeResponse.class));
+        
+        Properties properties = new Properties();
+        properties.put("mockedConfigChangeService.enabled", "false");
+        propertiesStatic.when(() -> PropertiesUtil.getPropertiesWithPrefix(any(),
+                eq(ConfigChangeConstants.NACOS_CORE_CONFIG_PLUGIN_PREFIX))).thenReturn(properties);
+        configChangeConfigs.onEvent(ServerConfigChangeEvent.newEvent());
+        Object o = configChangeAspect.publishConfigAroundRpc(proceedingJoinPoint, request, requestMeta);
+        // disabled plugin service is removed from the pipeline.
+        Mockito.verify(configChangePluginService, Mockito.times(2))
+                .execute(any(ConfigChangeRequest.class), any(ConfigChangeResponse.class));
+        Assert.assertEquals(configPublishResponse, o);
+    }
+    
     @Test
     public void testDisEnablePluginService() throws Throwable {
         Properties properties = new Properties();
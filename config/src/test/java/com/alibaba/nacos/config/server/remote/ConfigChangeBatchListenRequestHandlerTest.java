@@ -20,6 +20,7 @@ import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
 import com.alibaba.nacos.api.config.remote.response.ConfigChangeBatchListenResponse;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.common.utils.MapDigest;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.core.utils.StringPool;
@@ -87,5 +88,35 @@ public class ConfigChangeBatchListenRequestHandlerTest extends TestCase {
             configCacheServiceMockedStatic.close();
         }
     }
+    
+    @Test
+    public void testHandleWithListenDigest() throws NacosException {
+        MockedStatic<ConfigCacheService> configCacheServiceMockedStatic = Mockito.mockStatic(ConfigCacheService.class);
+        configCacheServiceMockedStatic.when(
+                () -> ConfigCacheService.isUptodate(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(true);
+        requestMeta.setConnectionId("connectionId");
+        String groupKey = GroupKey2.getKey("dataId", "group", "tenant");
+        try {
+            ConfigBatchListenRequest changedRequest = new ConfigBatchListenRequest();
+            changedRequest.addConfigListenContext("group", "dataId", "tenant", "md5");
+            changedRequest.setListenDigest(new MapDigest().add(groupKey, "md5").toString());
+            assertFalse(configQueryRequestHandler.handle(changedRequest, requestMeta).isResyncRequired());
+            
+            // nothing changed, only digest is sent.
+            ConfigBatchListenRequest digestRequest = new ConfigBatchListenRequest();
+            digestRequest.setListenDigest(new MapDigest().add(groupKey, "md5").toString());
+            assertFalse(configQueryRequestHandler.handle(digestRequest, requestMeta).isResyncRequired());
+            
+            digestRequest.setListenDigest(new MapDigest().add(groupKey, "otherMd5").toString());
+            assertTrue(configQueryRequestHandler.handle(digestRequest, requestMeta).isResyncRequired());
+            
+            // request without digest never asks for resync.
+            digestRequest.setListenDigest(null);
+            assertFalse(configQueryRequestHandler.handle(digestRequest, requestMeta).isResyncRequired());
+        } finally {
+            configCacheServiceMockedStatic.close();
+        }
+    }
 
-}
\ No newline at end of file
+}
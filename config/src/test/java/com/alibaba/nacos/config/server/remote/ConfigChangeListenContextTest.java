@@ -24,6 +24,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ConfigChangeListenContextTest {
@@ -81,4 +85,61 @@ public class ConfigChangeListenContextTest {
         Assert.assertEquals("md5", listenKeyMd5);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testAddListenWithNullMd5() {
+        configChangeListenContext.addListen("groupKey", null, "connectionId");
+        Assert.assertEquals(1, configChangeListenContext.getListeners("groupKey").size());
+        Assert.assertEquals("", configChangeListenContext.getListenKeyMd5("connectionId", "groupKey"));
+        Assert.assertNotNull(configChangeListenContext.getListenDigest("connectionId"));
+    }
+
+    @Test
+    public void testGetListenersIsViewAndNotModifiable() {
+        configChangeListenContext.addListen("groupKey", "md5", "connectionId");
+        Set<String> listeners = configChangeListenContext.getListeners("groupKey");
+        configChangeListenContext.addListen("groupKey", "md5", "connectionId2");
+        Assert.assertEquals(2, listeners.size());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> listeners.add("connectionId3"));
+    }
+
+    @Test
+    public void testConcurrentListenAndClear() throws InterruptedException {
+        int connectionCount = 16;
+        int groupKeyCount = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(connectionCount);
+        for (int i = 0; i < connectionCount; i++) {
+            final String connectionId = "connection" + i;
+            executorService.execute(() -> {
+                for (int j = 0; j < groupKeyCount; j++) {
+                    configChangeListenContext.addListen("groupKey" + j, "md5", connectionId);
+                    if (j % 2 == 0) {
+                        configChangeListenContext.removeListen("groupKey" + j, connectionId);
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(connectionCount, configChangeListenContext.getConnectionCount());
+        Assert.assertNull(configChangeListenContext.getListeners("groupKey0"));
+        Assert.assertEquals(connectionCount, configChangeListenContext.getListeners("groupKey1").size());
+        Assert.assertEquals(groupKeyCount / 2, configChangeListenContext.getListenKeys("connection0").size());
+
+        CountDownLatch clearLatch = new CountDownLatch(connectionCount);
+        for (int i = 0; i < connectionCount; i++) {
+            final String connectionId = "connection" + i;
+            executorService.execute(() -> {
+                configChangeListenContext.clearContextForConnectionId(connectionId);
+                clearLatch.countDown();
+            });
+        }
+        Assert.assertTrue(clearLatch.await(10, TimeUnit.SECONDS));
+        executorService.shutdown();
+        Assert.assertEquals(0, configChangeListenContext.getConnectionCount());
+        for (int j = 0; j < groupKeyCount; j++) {
+            Assert.assertNull(configChangeListenContext.getListeners("groupKey" + j));
+        }
+    }
+
+}
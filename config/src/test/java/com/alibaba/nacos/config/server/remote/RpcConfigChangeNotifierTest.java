@@ -17,6 +17,8 @@
 package com.alibaba.nacos.config.server.remote;
 
 import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
+import com.alibaba.nacos.common.notify.BatchEventPublisher;
+import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
@@ -30,6 +32,7 @@ import com.alibaba.nacos.plugin.control.tps.request.TpsCheckRequest;
 import com.alibaba.nacos.plugin.control.tps.response.TpsCheckResponse;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -40,6 +43,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -140,6 +145,20 @@ public class RpcConfigChangeNotifierTest {
         
     }
     
+    @Test
+    public void testOnEventsNotifyConfigOncePerBatch() {
+        final String groupKey = GroupKey2.getKey("dataId", "group", "tenant");
+        final String otherGroupKey = GroupKey2.getKey("otherDataId", "group", "tenant");
+        Mockito.when(configChangeListenContext.getListeners(any())).thenReturn(Collections.emptySet());
+        
+        rpcConfigChangeNotifier.onEvents(
+                Arrays.asList(new LocalDataChangeEvent(groupKey), new LocalDataChangeEvent(otherGroupKey),
+                        new LocalDataChangeEvent(groupKey), new LocalDataChangeEvent(groupKey, "tag")));
+        Mockito.verify(configChangeListenContext, times(2)).getListeners(eq(groupKey));
+        Mockito.verify(configChangeListenContext, times(1)).getListeners(eq(otherGroupKey));
+        Assert.assertTrue(NotifyCenter.getPublisher(LocalDataChangeEvent.class) instanceof BatchEventPublisher);
+    }
+    
     @Test
     public void testRpcCallBack() {
         MockedStatic<ConfigExecutor> configExecutorMockedStatic = Mockito.mockStatic(ConfigExecutor.class);
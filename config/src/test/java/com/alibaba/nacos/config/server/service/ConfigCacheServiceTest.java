@@ -19,6 +19,7 @@ package com.alibaba.nacos.config.server.service;
 import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigCache;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskService;
 import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
@@ -148,6 +149,41 @@ public class ConfigCacheServiceTest {
         
     }
     
+    @Test
+    public void testBatchDumpNotLockedDuringDiskWrite() throws Exception {
+        ConfigInfoWrapper unchanged = newConfigInfoWrapper("dataIdBatchDump1", "content1", 1000L);
+        ConfigInfoWrapper overtaken = newConfigInfoWrapper("dataIdBatchDump2", "content2", 1000L);
+        String unchangedGroupKey = GroupKey2.getKey(unchanged.getDataId(), unchanged.getGroup(), unchanged.getTenant());
+        final String overtakenGroupKey = GroupKey2.getKey(overtaken.getDataId(), overtaken.getGroup(), overtaken.getTenant());
+        Mockito.doAnswer(invocation -> {
+            // readers are not blocked by the batch, and a newer config may be dumped meanwhile.
+            Assert.assertTrue(ConfigCacheService.tryReadLock(unchangedGroupKey) > 0);
+            ConfigCacheService.releaseReadLock(unchangedGroupKey);
+            Assert.assertTrue(ConfigCacheService.dump(overtaken.getDataId(), overtaken.getGroup(),
+                    overtaken.getTenant(), "newer", 2000L, "text", ""));
+            return null;
+        }).when(configDiskService).saveBatch(Mockito.anyCollection(), eq(true));
+        
+        boolean[] results = ConfigCacheService.batchDumpWithMd5(Arrays.asList(unchanged, overtaken), true);
+        Assert.assertTrue(results[0]);
+        Assert.assertFalse(results[1]);
+        Assert.assertEquals(MD5Utils.md5Hex("content1", "UTF-8"), ConfigCacheService.getContentMd5(unchangedGroupKey));
+        Assert.assertEquals(MD5Utils.md5Hex("newer", "UTF-8"), ConfigCacheService.getContentMd5(overtakenGroupKey));
+        Assert.assertEquals(2000L, ConfigCacheService.getLastModifiedTs(overtakenGroupKey));
+        Mockito.verify(configDiskService, times(1)).saveBatch(Mockito.anyCollection(), eq(true));
+    }
+    
+    private ConfigInfoWrapper newConfigInfoWrapper(String dataId, String content, long lastModified) {
+        ConfigInfoWrapper configInfoWrapper = new ConfigInfoWrapper();
+        configInfoWrapper.setDataId(dataId);
+        configInfoWrapper.setGroup("group");
+        configInfoWrapper.setTenant("tenant");
+        configInfoWrapper.setContent(content);
+        configInfoWrapper.setType("text");
+        configInfoWrapper.setLastModified(lastModified);
+        return configInfoWrapper;
+    }
+    
     @Test
     public void testDumpBeta() throws Exception {
         String dataId = "dataIdtestDumpBetaNewCache123";
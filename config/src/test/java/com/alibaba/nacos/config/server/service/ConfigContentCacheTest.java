@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskService;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigContentCacheTest {
+    
+    MockedStatic<ConfigDiskServiceFactory> configDiskServiceFactoryMockedStatic;
+    
+    MockedStatic<PropertyUtil> propertyUtilMockedStatic;
+    
+    @Mock
+    ConfigDiskService configDiskService;
+    
+    String dataId = "dataIdContentCache";
+    
+    String group = "groupContentCache";
+    
+    String tenant = "tenantContentCache";
+    
+    String groupKey = GroupKey2.getKey(dataId, group, tenant);
+    
+    @Before
+    public void before() {
+        configDiskServiceFactoryMockedStatic = Mockito.mockStatic(ConfigDiskServiceFactory.class);
+        configDiskServiceFactoryMockedStatic.when(ConfigDiskServiceFactory::getInstance).thenReturn(configDiskService);
+        propertyUtilMockedStatic = Mockito.mockStatic(PropertyUtil.class);
+        propertyUtilMockedStatic.when(PropertyUtil::getContentCacheMaxBytes).thenReturn(1024 * 1024L);
+        ConfigContentCache.reset();
+    }
+    
+    @After
+    public void after() {
+        ConfigContentCache.reset();
+        configDiskServiceFactoryMockedStatic.close();
+        propertyUtilMockedStatic.close();
+    }
+    
+    @Test
+    public void testGetContentAfterDump() throws Exception {
+        ConfigContentCache.putContent(groupKey, "md5", "content");
+        long hit = MetricsMonitor.getContentCacheHitMonitor().get();
+        Assert.assertEquals("content", ConfigContentCache.getContent(dataId, group, tenant, "md5"));
+        Assert.assertEquals(hit + 1, MetricsMonitor.getContentCacheHitMonitor().get());
+        verify(configDiskService, never()).getContent(anyString(), anyString(), anyString());
+    }
+    
+    @Test
+    public void testGetContentLoadFromDiskOnce() throws Exception {
+        when(configDiskService.getContent(dataId, group, tenant)).thenReturn("content");
+        Assert.assertEquals("content", ConfigContentCache.getContent(dataId, group, tenant, "md5"));
+        Assert.assertEquals("content", ConfigContentCache.getContent(dataId, group, tenant, "md5"));
+        verify(configDiskService, times(1)).getContent(dataId, group, tenant);
+    }
+    
+    @Test
+    public void testGetContentMd5Mismatch() throws Exception {
+        ConfigContentCache.putContent(groupKey, "oldMd5", "oldContent");
+        when(configDiskService.getContent(dataId, group, tenant)).thenReturn("newContent");
+        Assert.assertEquals("newContent", ConfigContentCache.getContent(dataId, group, tenant, "newMd5"));
+        Assert.assertEquals("newContent", ConfigContentCache.getContent(dataId, group, tenant, "newMd5"));
+        verify(configDiskService, times(1)).getContent(dataId, group, tenant);
+    }
+    
+    @Test
+    public void testBetaAndTagIsolated() throws Exception {
+        ConfigContentCache.putContent(groupKey, "md5", "formal");
+        ConfigContentCache.putBetaContent(groupKey, "md5", "beta");
+        ConfigContentCache.putTagContent(groupKey, "tag1", "md5", "tag");
+        Assert.assertEquals("formal", ConfigContentCache.getContent(dataId, group, tenant, "md5"));
+        Assert.assertEquals("beta", ConfigContentCache.getBetaContent(dataId, group, tenant, "md5"));
+        Assert.assertEquals("tag", ConfigContentCache.getTagContent(dataId, group, tenant, "tag1", "md5"));
+        
+        ConfigContentCache.removeBetaContent(groupKey);
+        ConfigContentCache.clearAllTag();
+        Assert.assertNull(ConfigContentCache.getBetaContent(dataId, group, tenant, "md5"));
+        Assert.assertNull(ConfigContentCache.getTagContent(dataId, group, tenant, "tag1", "md5"));
+        Assert.assertEquals("formal", ConfigContentCache.getContent(dataId, group, tenant, "md5"));
+    }
+    
+    @Test
+    public void testRemoveContent() throws Exception {
+        ConfigContentCache.putContent(groupKey, "md5", "content");
+        ConfigContentCache.removeContent(groupKey);
+        Assert.assertNull(ConfigContentCache.getContent(dataId, group, tenant, "md5"));
+        verify(configDiskService, times(1)).getContent(dataId, group, tenant);
+    }
+    
+    @Test
+    public void testEvictByByteBudget() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 64 * 1024; i++) {
+            content.append('a');
+        }
+        for (int i = 0; i < 64; i++) {
+            ConfigContentCache.putContent(groupKey + i, "md5", content.toString());
+        }
+        Assert.assertTrue(ConfigContentCache.size() < 64);
+    }
+    
+    @Test
+    public void testDisabled() throws Exception {
+        propertyUtilMockedStatic.when(PropertyUtil::getContentCacheMaxBytes).thenReturn(0L);
+        ConfigContentCache.reset();
+        ConfigContentCache.putContent(groupKey, "md5", "content");
+        Assert.assertEquals(0, ConfigContentCache.size());
+        when(configDiskService.getContent(dataId, group, tenant)).thenReturn("content");
+        Assert.assertEquals("content", ConfigContentCache.getContent(dataId, group, tenant, "md5"));
+        verify(configDiskService, times(1)).getContent(dataId, group, tenant);
+    }
+}
@@ -256,6 +256,8 @@ public class LongPollingServiceTest {
         //expect print not equals group
         Mockito.verify(printWriter, times(1)).println(eq(responseString));
         Mockito.verify(asyncContext, times(1)).complete();
+        Assert.assertTrue(longPollingService.allSubs.isEmpty());
+        Assert.assertTrue(longPollingService.groupKeySubs.isEmpty());
         
     }
     
@@ -292,10 +294,14 @@ public class LongPollingServiceTest {
         HttpServletResponse httpServletResponse = Mockito.mock(HttpServletResponse.class);
         longPollingService.addLongPollingClient(httpServletRequest, httpServletResponse, clientMd5Map, 3);
         
+        Assert.assertEquals(1, longPollingService.getSubscribers(groupKeyChanged).size());
+        
         //wait time out condition arrived.
         Thread.sleep(1200L);
         //expect print not equals group
         Mockito.verify(asyncContext, times(1)).complete();
+        Assert.assertTrue(longPollingService.getSubscribers(groupKeyChanged).isEmpty());
+        Assert.assertTrue(longPollingService.groupKeySubs.isEmpty());
         
     }
 }
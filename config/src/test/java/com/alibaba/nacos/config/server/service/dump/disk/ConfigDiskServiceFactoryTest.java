@@ -52,6 +52,13 @@ public class ConfigDiskServiceFactoryTest {
         Assert.assertTrue(instance instanceof ConfigRocksDbDiskService);
     }
     
+    @Test
+    public void getMmapDiskInstance() {
+        System.setProperty("config_disk_type", "mmap");
+        ConfigDiskService instance = ConfigDiskServiceFactory.getInstance();
+        Assert.assertTrue(instance instanceof ConfigMmapDiskService);
+    }
+    
     @Test
     public void getDefaultRawDiskInstance() {
         System.setProperty("config_disk_type", "123");
@@ -0,0 +1,168 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ConfigMmapDiskServiceTest {
+    
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    
+    ConfigMmapDiskService diskService;
+    
+    File baseDir;
+    
+    @Before
+    public void setUp() throws IOException {
+        baseDir = temporaryFolder.newFolder("segment-data");
+        diskService = new ConfigMmapDiskService(baseDir, 1024);
+    }
+    
+    @After
+    public void after() {
+        diskService.clearAll();
+        diskService.clearAllBeta();
+        diskService.clearAllTag();
+    }
+    
+    @Test
+    public void testSaveAndGet() throws IOException {
+        diskService.saveToDisk("dataId", "group", "tenant", "formal你好");
+        diskService.saveBetaToDisk("dataId", "group", "tenant", "beta");
+        diskService.saveTagToDisk("dataId", "group", "tenant", "tag1", "tag");
+        Assert.assertEquals("formal你好", diskService.getContent("dataId", "group", "tenant"));
+        Assert.assertEquals("beta", diskService.getBetaContent("dataId", "group", "tenant"));
+        Assert.assertEquals("tag", diskService.getTagContent("dataId", "group", "tenant", "tag1"));
+        Assert.assertNull(diskService.getTagContent("dataId", "group", "tenant", "tag2"));
+        Assert.assertNull(diskService.getContent("dataId", "group", ""));
+    }
+    
+    @Test
+    public void testOverwriteAndRemove() throws IOException {
+        diskService.saveToDisk("dataId", "group", "", "content1");
+        diskService.saveToDisk("dataId", "group", "", "content2");
+        Assert.assertEquals("content2", diskService.getContent("dataId", "group", ""));
+        diskService.removeConfigInfo("dataId", "group", "");
+        Assert.assertNull(diskService.getContent("dataId", "group", ""));
+        
+        diskService.saveTagToDisk("dataId", "group", "", "tag", "tag");
+        diskService.removeConfigInfo4Tag("dataId", "group", "", "tag");
+        Assert.assertNull(diskService.getTagContent("dataId", "group", "", "tag"));
+    }
+    
+    @Test
+    public void testContentLargerThanSegment() throws IOException {
+        char[] chars = new char[4096];
+        Arrays.fill(chars, 'a');
+        String content = new String(chars);
+        diskService.saveToDisk("dataId", "group", "", content);
+        Assert.assertEquals(content, diskService.getContent("dataId", "group", ""));
+    }
+    
+    @Test
+    public void testCompact() throws IOException {
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 10; i++) {
+                diskService.saveToDisk("dataId" + i, "group", "", "content-" + round + "-" + i);
+            }
+        }
+        MappedSegmentStore store = diskService.getConfigStore();
+        int segmentCount = store.segmentCount();
+        Assert.assertTrue(segmentCount > 1);
+        Assert.assertEquals(segmentCount, configSegmentFileCount());
+        
+        diskService.compact();
+        Assert.assertTrue(store.segmentCount() < segmentCount);
+        Assert.assertEquals(10, store.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("content-9-" + i, diskService.getContent("dataId" + i, "group", ""));
+        }
+        // dropped segments are unmapped and their files deleted.
+        Assert.assertEquals(store.segmentCount(), configSegmentFileCount());
+    }
+    
+    @Test
+    public void testClearAllDeletesSegmentFiles() throws IOException {
+        diskService.saveToDisk("dataId", "group", "", "formal");
+        Assert.assertEquals(1, configSegmentFileCount());
+        diskService.clearAll();
+        Assert.assertEquals(0, configSegmentFileCount());
+    }
+    
+    @Test
+    public void testReadWhileCompactAndClear() throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                try {
+                    String content = diskService.getContent("dataId0", "group", "");
+                    if (content != null && !content.startsWith("content-")) {
+                        error.set(new AssertionError(content));
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            }
+        });
+        reader.start();
+        try {
+            for (int round = 0; round < 200; round++) {
+                for (int i = 0; i < 10; i++) {
+                    diskService.saveToDisk("dataId" + i, "group", "", "content-" + round + "-" + i);
+                }
+                diskService.compact();
+                if (round % 50 == 0) {
+                    diskService.clearAll();
+                }
+            }
+        } finally {
+            running.set(false);
+            reader.join();
+        }
+        Assert.assertNull(error.get());
+        Assert.assertEquals(diskService.getConfigStore().segmentCount(), configSegmentFileCount());
+    }
+    
+    private int configSegmentFileCount() {
+        String[] files = new File(baseDir, "config-data").list();
+        return files == null ? 0 : files.length;
+    }
+    
+    @Test
+    public void testClearAllOnlyClearsOwnStore() throws IOException {
+        diskService.saveToDisk("dataId", "group", "", "formal");
+        diskService.saveBetaToDisk("dataId", "group", "", "beta");
+        diskService.clearAll();
+        Assert.assertNull(diskService.getContent("dataId", "group", ""));
+        Assert.assertEquals("beta", diskService.getBetaContent("dataId", "group", ""));
+        diskService.saveToDisk("dataId", "group", "", "formal2");
+        Assert.assertEquals("formal2", diskService.getContent("dataId", "group", ""));
+    }
+}
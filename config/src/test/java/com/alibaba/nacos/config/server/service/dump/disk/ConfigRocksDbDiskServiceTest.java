@@ -0,0 +1,92 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ConfigRocksDbDiskServiceTest {
+    
+    MockedStatic<EnvUtil> envUtilMockedStatic;
+    
+    ConfigRocksDbDiskService diskService;
+    
+    @Before
+    public void setUp() {
+        envUtilMockedStatic = Mockito.mockStatic(EnvUtil.class);
+        envUtilMockedStatic.when(EnvUtil::getNacosHome).thenReturn(System.getProperty("user.home"));
+        diskService = new ConfigRocksDbDiskService();
+    }
+    
+    @After
+    public void after() {
+        diskService.clearAll();
+        diskService.clearAllBeta();
+        diskService.clearAllTag();
+        envUtilMockedStatic.close();
+    }
+    
+    @Test
+    public void testSaveBatchToConfigColumnFamily() throws IOException {
+        diskService.saveBatch(Arrays.asList(ConfigDiskEntry.formal("dataId", "group", "tenant", "formal"),
+                ConfigDiskEntry.formal("dataId2", "group", "tenant", "formal2")), true);
+        Assert.assertEquals("formal", diskService.getContent("dataId", "group", "tenant"));
+        Assert.assertEquals("formal2", diskService.getContent("dataId2", "group", "tenant"));
+        Assert.assertNull(diskService.getBetaContent("dataId", "group", "tenant"));
+        Assert.assertNull(diskService.getTagContent("dataId", "group", "tenant", "tag1"));
+    }
+    
+    @Test
+    public void testKeyEncode() throws IOException {
+        diskService.saveToDisk("a+b", "c", "", "content1");
+        diskService.saveToDisk("a", "b+c", "", "content2");
+        diskService.saveToDisk("a%2Bb", "c", null, "content3");
+        Assert.assertEquals("content1", diskService.getContent("a+b", "c", null));
+        Assert.assertEquals("content2", diskService.getContent("a", "b+c", ""));
+        Assert.assertEquals("content3", diskService.getContent("a%2Bb", "c", ""));
+    }
+    
+    @Test
+    public void testClearAllOnlyClearsOwnColumnFamily() throws IOException {
+        List<ConfigDiskEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(ConfigDiskEntry.formal("dataId" + i, "group", "", "content你好" + i));
+        }
+        diskService.saveBatch(entries, false);
+        diskService.saveBetaToDisk("dataId0", "group", "", "beta");
+        Assert.assertEquals("content你好99", diskService.getContent("dataId99", "group", ""));
+        
+        diskService.clearAll();
+        for (int i = 0; i < 100; i++) {
+            Assert.assertNull(diskService.getContent("dataId" + i, "group", ""));
+        }
+        Assert.assertEquals("beta", diskService.getBetaContent("dataId0", "group", ""));
+        
+        diskService.saveToDisk("dataId0", "group", "", "new");
+        Assert.assertEquals("new", diskService.getContent("dataId0", "group", ""));
+    }
+}
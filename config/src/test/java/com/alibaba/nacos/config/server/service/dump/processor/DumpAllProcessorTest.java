@@ -45,6 +45,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.beans.BeanUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -81,6 +82,8 @@ public class DumpAllProcessorTest extends TestCase {
     
     @Before
     public void init() throws Exception {
+        // static mocks only work on the calling thread, dump workers resolve the same nacos home through the real one.
+        EnvUtil.setNacosHomePath(System.getProperty("user.home"));
         dynamicDataSourceMockedStatic = Mockito.mockStatic(DynamicDataSource.class);
         envUtilMockedStatic = Mockito.mockStatic(EnvUtil.class);
         dumpAllProcessor = new DumpAllProcessor(configInfoPersistService);
@@ -103,6 +106,7 @@ public class DumpAllProcessorTest extends TestCase {
     public void after() throws Exception {
         dynamicDataSourceMockedStatic.close();
         envUtilMockedStatic.close();
+        EnvUtil.setNacosHomePath(null);
     }
     
     private static int newConfigCount = 1;
@@ -187,6 +191,25 @@ public class DumpAllProcessorTest extends TestCase {
         Assert.assertEquals(configInfoWrapper2.getContent(), contentFromDisk2);
     }
     
+    @Test
+    public void testDumpAllInterrupted() throws Exception {
+        Page<ConfigInfoWrapper> page = new Page<>();
+        page.setTotalCount(1);
+        page.setPageItems(Arrays.asList(createNewConfig(1)));
+        Mockito.when(configInfoPersistService.findConfigMaxId()).thenReturn(1L);
+        Mockito.when(configInfoPersistService.findAllConfigInfoFragment(0, PropertyUtil.getAllDumpPageSize(), true))
+                .thenReturn(page);
+        
+        Thread.currentThread().interrupt();
+        try {
+            // a full dump interrupted before its chunks finished is not reported as success.
+            Assert.assertFalse(dumpAllProcessor.process(new DumpAllTask(true)));
+            Assert.assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+    
     /**
      * test dump all for all check task.
      *
@@ -269,5 +292,67 @@ public class DumpAllProcessorTest extends TestCase {
                         configInfoWrapper2.getTenant());
         Assert.assertEquals(configInfoWrapperSingle2.getContent(), contentFromDisk2);
     }
-
+    
+    /**
+     * test dump all for all check task, a config failed to be queried does not fail other configs of the chunk.
+     */
+    @Test
+    public void testDumpAllWithFailedConfig() throws Exception {
+        ConfigInfoWrapper failedConfig = createNewConfig(1);
+        ConfigInfoWrapper configInfoWrapper = createNewConfig(2);
+        failedConfig.setLastModified(System.currentTimeMillis());
+        configInfoWrapper.setLastModified(System.currentTimeMillis());
+        Page<ConfigInfoWrapper> page = new Page<>();
+        page.setPageItems(Arrays.asList(failedConfig, configInfoWrapper));
+        Mockito.when(configInfoPersistService.findConfigMaxId()).thenReturn(2L);
+        Mockito.when(configInfoPersistService.findAllConfigInfoFragment(0, PropertyUtil.getAllDumpPageSize(), false))
+                .thenReturn(page);
+        Mockito.when(configInfoPersistService.findConfigInfo(failedConfig.getDataId(), failedConfig.getGroup(),
+                failedConfig.getTenant())).thenThrow(new IllegalStateException("mock query error"));
+        Mockito.when(configInfoPersistService.findConfigInfo(configInfoWrapper.getDataId(),
+                configInfoWrapper.getGroup(), configInfoWrapper.getTenant())).thenReturn(configInfoWrapper);
+        
+        Assert.assertTrue(dumpAllProcessor.process(new DumpAllTask(false)));
+        
+        Assert.assertNull(ConfigCacheService.getContentCache(
+                GroupKey2.getKey(failedConfig.getDataId(), failedConfig.getGroup(), failedConfig.getTenant())));
+        CacheItem cacheItem = ConfigCacheService.getContentCache(GroupKey2.getKey(configInfoWrapper.getDataId(),
+                configInfoWrapper.getGroup(), configInfoWrapper.getTenant()));
+        Assert.assertEquals(MD5Utils.md5Hex(configInfoWrapper.getContent(), "UTF-8"),
+                cacheItem.getConfigCache().getMd5Utf8());
+    }
+    
+    /**
+     * test dump all pages on start up, every page is split into chunks dumped by several workers.
+     */
+    @Test
+    public void testDumpAllMultiPagesOnStartUp() throws Exception {
+        int pageSize = PropertyUtil.getAllDumpPageSize();
+        int pageCount = 3;
+        List<ConfigInfoWrapper> allConfigs = new ArrayList<>();
+        for (int i = 0; i < pageCount; i++) {
+            List<ConfigInfoWrapper> items = new ArrayList<>();
+            for (int j = 1; j <= pageSize; j++) {
+                ConfigInfoWrapper configInfoWrapper = createNewConfig(i * pageSize + j);
+                configInfoWrapper.setLastModified(System.currentTimeMillis());
+                items.add(configInfoWrapper);
+            }
+            allConfigs.addAll(items);
+            Page<ConfigInfoWrapper> page = new Page<>();
+            page.setPageItems(items);
+            Mockito.when(configInfoPersistService.findAllConfigInfoFragment((long) i * pageSize, pageSize, true))
+                    .thenReturn(page);
+        }
+        Mockito.when(configInfoPersistService.findConfigMaxId()).thenReturn((long) pageCount * pageSize);
+        
+        Assert.assertTrue(dumpAllProcessor.process(new DumpAllTask(true)));
+        
+        for (ConfigInfoWrapper each : allConfigs) {
+            CacheItem cacheItem = ConfigCacheService.getContentCache(
+                    GroupKey2.getKey(each.getDataId(), each.getGroup(), each.getTenant()));
+            Assert.assertNotNull(cacheItem);
+            Assert.assertEquals(MD5Utils.md5Hex(each.getContent(), "UTF-8"), cacheItem.getConfigCache().getMd5Utf8());
+        }
+    }
+    
 }
@@ -194,6 +194,27 @@ public class DistroProtocol {
         return dataProcessor.processVerifyData(distroData, sourceAddress);
     }
     
+    /**
+     * Receive digest of verify data, find processor to compare it with local data.
+     *
+     * @param distroData    digest of verify data
+     * @param sourceAddress source server address
+     * @return differences between the digest and local data, {@code null} if the digest can't be processed
+     */
+    public DistroData onVerifyDigest(DistroData distroData, String sourceAddress) {
+        if (Loggers.DISTRO.isDebugEnabled()) {
+            Loggers.DISTRO.debug("[DISTRO] Receive verify digest type: {}, key: {}", distroData.getType(),
+                    distroData.getDistroKey());
+        }
+        String resourceType = distroData.getDistroKey().getResourceType();
+        DistroDataProcessor dataProcessor = distroComponentHolder.findDataProcessor(resourceType);
+        if (null == dataProcessor) {
+            Loggers.DISTRO.warn("[DISTRO] Can't find verify data process for received digest {}", resourceType);
+            return null;
+        }
+        return dataProcessor.processVerifyDigest(distroData, sourceAddress);
+    }
+    
     /**
      * Query data of input distro key.
      *
@@ -49,6 +49,17 @@ public interface DistroDataProcessor {
      */
     boolean processVerifyData(DistroData distroData, String sourceAddress);
     
+    /**
+     * Process received digest of verify data, the digest is compared with local data instead of verifying each data.
+     *
+     * @param distroData    digest of verify data
+     * @param sourceAddress source server address
+     * @return differences between the digest and local data, {@code null} if digest is not supported
+     */
+    default DistroData processVerifyDigest(DistroData distroData, String sourceAddress) {
+        return null;
+    }
+    
     /**
      * Process snapshot data.
      *
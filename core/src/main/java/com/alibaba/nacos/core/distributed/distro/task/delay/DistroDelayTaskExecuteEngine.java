@@ -17,7 +17,7 @@
 package com.alibaba.nacos.core.distributed.distro.task.delay;
 
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
-import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosShardedDelayTaskExecuteEngine;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.utils.Loggers;
 
@@ -26,7 +26,7 @@ import com.alibaba.nacos.core.utils.Loggers;
  *
  * @author xiweng.yy
  */
-public class DistroDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
+public class DistroDelayTaskExecuteEngine extends NacosShardedDelayTaskExecuteEngine {
     
     public DistroDelayTaskExecuteEngine() {
         super(DistroDelayTaskExecuteEngine.class.getName(), Loggers.DISTRO);
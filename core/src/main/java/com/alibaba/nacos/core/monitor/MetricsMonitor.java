@@ -49,6 +49,12 @@ public final class MetricsMonitor {
     private static final Timer RAFT_APPLY_READ_TIMER;
     
     private static AtomicInteger longConnection = new AtomicInteger();
+    
+    private static AtomicInteger longConnectionInFlightRequest = new AtomicInteger();
+    
+    private static AtomicInteger longConnectionPushQueue = new AtomicInteger();
+    
+    private static AtomicLong longConnectionCoalescedPush = new AtomicLong();
 
     private static GrpcServerExecutorMetric sdkServerExecutorMetric = new GrpcServerExecutorMetric("grpcSdkServer");
 
@@ -82,6 +88,21 @@ public final class MetricsMonitor {
         tags.add(immutableTag);
         tags.add(new ImmutableTag("name", "longConnection"));
         NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, longConnection);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "longConnectionInFlightRequest"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, longConnectionInFlightRequest);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "longConnectionPushQueue"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, longConnectionPushQueue);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "longConnectionCoalescedPush"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, longConnectionCoalescedPush);
 
         tags = new ArrayList<>();
         tags.add(immutableTag);
@@ -135,6 +156,18 @@ public final class MetricsMonitor {
         return longConnection;
     }
     
+    public static AtomicInteger getLongConnectionInFlightRequestMonitor() {
+        return longConnectionInFlightRequest;
+    }
+    
+    public static AtomicInteger getLongConnectionPushQueueMonitor() {
+        return longConnectionPushQueue;
+    }
+    
+    public static AtomicLong getLongConnectionCoalescedPushMonitor() {
+        return longConnectionCoalescedPush;
+    }
+    
     public static void raftReadIndexFailed() {
         RAFT_READ_INDEX_FAILED.record(1);
     }
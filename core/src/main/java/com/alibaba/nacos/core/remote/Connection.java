@@ -16,7 +16,13 @@
 
 package com.alibaba.nacos.core.remote;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.RequestCallBack;
 import com.alibaba.nacos.api.remote.Requester;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.common.remote.PayloadBodyCodec;
+import com.alibaba.nacos.common.remote.SharedRequestBody;
 
 import java.util.Map;
 
@@ -29,6 +35,11 @@ import java.util.Map;
 @SuppressWarnings("PMD.AbstractClassShouldStartWithAbstractNamingRule")
 public abstract class Connection implements Requester {
     
+    /**
+     * Sdk clients and cluster clients declare the ability by the same name.
+     */
+    private static final String COMPACT_PAYLOAD_ABILITY = AbilityKey.SDK_CLIENT_SUPPORT_COMPACT_PAYLOAD.getName();
+    
     private boolean traced = false;
     
     private Map<String, Boolean> abilityTable;
@@ -63,6 +74,20 @@ public abstract class Connection implements Requester {
         return this.abilityTable;
     }
     
+    /**
+     * Codec of payload body sent by this connection, the compact codec is used only if the client declares the
+     * ability to parse it.
+     *
+     * @return payload body codec
+     */
+    public PayloadBodyCodec getPayloadBodyCodec() {
+        Map<String, Boolean> abilities = abilityTable;
+        if (null != abilities && Boolean.TRUE.equals(abilities.get(COMPACT_PAYLOAD_ABILITY))) {
+            return PayloadBodyCodec.COMPACT;
+        }
+        return PayloadBodyCodec.JSON;
+    }
+    
     /**
      * check is connected.
      *
@@ -70,6 +95,39 @@ public abstract class Connection implements Requester {
      */
     public abstract boolean isConnected();
     
+    /**
+     * Send request asynchronously with a body serialized once and shared with the same request to other connections.
+     * Connections which can't send a shared body serialize the request as usual.
+     *
+     * @param request         request, the request id is set by connection.
+     * @param body            body serialized from an equivalent request.
+     * @param requestCallBack callback of the response.
+     * @throws NacosException exception throw.
+     */
+    public void asyncRequest(Request request, SharedRequestBody body, RequestCallBack requestCallBack)
+            throws NacosException {
+        asyncRequest(request, requestCallBack);
+    }
+    
+    /**
+     * Count of requests sent to this connection and waiting for response, 0 if the connection doesn't track them.
+     *
+     * @return in flight request count
+     */
+    public int getInFlightRequestCount() {
+        return 0;
+    }
+    
+    /**
+     * Count of pushes queued on this connection and waiting for the stream to be ready, 0 if the connection doesn't
+     * queue pushes.
+     *
+     * @return queued push count
+     */
+    public int getPushQueueSize() {
+        return 0;
+    }
+    
     /**
      * Update last Active Time to now.
      */
@@ -58,8 +58,30 @@ public class ConnectionManager {
     
     private static final Logger LOGGER = com.alibaba.nacos.plugin.control.Loggers.CONNECTION;
     
+    private static final int REGISTER_LOCK_STRIPES = 256;
+    
+    private static final String UNKNOWN_MODULE = "unknown";
+    
     private Map<String, AtomicInteger> connectionForClientIp = new ConcurrentHashMap<>(16);
     
+    /**
+     * Connection count of each label value, keyed by label key and then label value, maintained on register and
+     * unregister so that counting by label needn't scan all connections.
+     */
+    private final Map<String, Map<String, AtomicInteger>> connectionForLabels = new ConcurrentHashMap<>(16);
+    
+    /**
+     * Register and unregister of the same connection id are serialized by the stripe of the id, so that the counters
+     * and the connected/disconnected events keep consistent without a global lock.
+     */
+    private final Object[] registerLocks = new Object[REGISTER_LOCK_STRIPES];
+    
+    /**
+     * The limits of connection count are checked against the counts of all connections, so checking the limits and
+     * counting a new connection are serialized by one lock, which isn't held while notifying listeners.
+     */
+    private final Object limitLock = new Object();
+    
     Map<String, Connection> connections = new ConcurrentHashMap<>();
     
     private RuntimeConnectionEjector runtimeConnectionEjector;
@@ -68,6 +90,14 @@ public class ConnectionManager {
     
     public ConnectionManager(ClientConnectionEventListenerRegistry clientConnectionEventListenerRegistry) {
         this.clientConnectionEventListenerRegistry = clientConnectionEventListenerRegistry;
+        for (int i = 0; i < registerLocks.length; i++) {
+            registerLocks[i] = new Object();
+        }
+    }
+    
+    private Object getRegisterLock(String connectionId) {
+        int hash = connectionId.hashCode();
+        return registerLocks[(hash ^ (hash >>> 16)) & (registerLocks.length - 1)];
     }
     
     /**
@@ -99,23 +129,28 @@ public class ConnectionManager {
      * @param connectionId connectionId
      * @param connection   connection
      */
-    public synchronized boolean register(String connectionId, Connection connection) {
+    public boolean register(String connectionId, Connection connection) {
         
         if (connection.isConnected()) {
             String clientIp = connection.getMetaInfo().clientIp;
-            if (connections.containsKey(connectionId)) {
-                return true;
-            }
-            if (checkLimit(connection)) {
-                return false;
-            }
-            if (traced(clientIp)) {
-                connection.setTraced(true);
+            synchronized (getRegisterLock(connectionId)) {
+                if (connections.containsKey(connectionId)) {
+                    return true;
+                }
+                synchronized (limitLock) {
+                    if (checkLimit(connection)) {
+                        return false;
+                    }
+                    if (traced(clientIp)) {
+                        connection.setTraced(true);
+                    }
+                    connections.put(connectionId, connection);
+                    increaseCount(connectionForClientIp, clientIp);
+                    updateLabelCounts(connection.getMetaInfo().labels, true);
+                }
+                
+                clientConnectionEventListenerRegistry.notifyClientConnected(connection);
             }
-            connections.put(connectionId, connection);
-            connectionForClientIp.computeIfAbsent(clientIp, k -> new AtomicInteger(0)).getAndIncrement();
-            
-            clientConnectionEventListenerRegistry.notifyClientConnected(connection);
             
             LOGGER.info("new connection registered successfully, connectionId = {},connection={} ", connectionId,
                     connection);
@@ -126,6 +161,36 @@ public class ConnectionManager {
         
     }
     
+    private void updateLabelCounts(Map<String, String> labels, boolean increase) {
+        if (null == labels) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : labels.entrySet()) {
+            if (null == entry.getKey() || null == entry.getValue()) {
+                continue;
+            }
+            Map<String, AtomicInteger> counts = connectionForLabels
+                    .computeIfAbsent(entry.getKey(), k -> new ConcurrentHashMap<>(4));
+            if (increase) {
+                increaseCount(counts, entry.getValue());
+            } else {
+                decreaseCount(counts, entry.getValue());
+            }
+        }
+    }
+    
+    private static void increaseCount(Map<String, AtomicInteger> counts, String key) {
+        counts.compute(key, (k, count) -> {
+            AtomicInteger result = null == count ? new AtomicInteger(0) : count;
+            result.incrementAndGet();
+            return result;
+        });
+    }
+    
+    private static void decreaseCount(Map<String, AtomicInteger> counts, String key) {
+        counts.computeIfPresent(key, (k, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+    
     private boolean checkLimit(Connection connection) {
         if (connection.getMetaInfo().isClusterSource()) {
             return false;
@@ -144,20 +209,16 @@ public class ConnectionManager {
      *
      * @param connectionId connectionId.
      */
-    public synchronized void unregister(String connectionId) {
-        Connection remove = this.connections.remove(connectionId);
-        if (remove != null) {
-            String clientIp = remove.getMetaInfo().clientIp;
-            AtomicInteger atomicInteger = connectionForClientIp.get(clientIp);
-            if (atomicInteger != null) {
-                int count = atomicInteger.decrementAndGet();
-                if (count <= 0) {
-                    connectionForClientIp.remove(clientIp);
-                }
+    public void unregister(String connectionId) {
+        synchronized (getRegisterLock(connectionId)) {
+            Connection remove = this.connections.remove(connectionId);
+            if (remove != null) {
+                decreaseCount(connectionForClientIp, remove.getMetaInfo().clientIp);
+                updateLabelCounts(remove.getMetaInfo().labels, false);
+                remove.close();
+                LOGGER.info("[{}]Connection unregistered successfully. ", connectionId);
+                clientConnectionEventListenerRegistry.notifyClientDisConnected(remove);
             }
-            remove.close();
-            LOGGER.info("[{}]Connection unregistered successfully. ", connectionId);
-            clientConnectionEventListenerRegistry.notifyClientDisConnected(remove);
         }
     }
     
@@ -249,21 +310,44 @@ public class ConnectionManager {
         RpcScheduledExecutor.COMMON_SERVER_EXECUTOR.scheduleWithFixedDelay(() -> {
             runtimeConnectionEjector.doEject();
             MetricsMonitor.getLongConnectionMonitor().set(connections.size());
+            MetricsMonitor.getLongConnectionInFlightRequestMonitor().set(currentInFlightRequestCount());
+            MetricsMonitor.getLongConnectionPushQueueMonitor().set(currentPushQueueSize());
         }, 1000L, 3000L, TimeUnit.MILLISECONDS);
 
         Boolean enabled = EnvUtil.getProperty("nacos.metric.grpc.server.connection.enabled", Boolean.class, true);
         if (enabled) {
             RpcScheduledExecutor.COMMON_SERVER_EXECUTOR.scheduleWithFixedDelay(() -> {
-                Map<String, Integer> count = new HashMap<>(16);
-                connections.forEach((id, connection) -> {
-                    String module = connection.getLabels().getOrDefault(RemoteConstants.LABEL_MODULE, "unknown");
-                    count.put(module, count.getOrDefault(module, 0) + 1);
-                });
-                MetricsMonitor.refreshModuleConnectionCount(count);
+                MetricsMonitor.refreshModuleConnectionCount(currentModuleClientsCount());
             }, 1L, EnvUtil.getProperty("nacos.metric.grpc.server.connection.interval", Long.class, 15L), TimeUnit.SECONDS);
         }
     }
     
+    /**
+     * get count of requests sent to all connections and waiting for response.
+     *
+     * @return in flight request count
+     */
+    public int currentInFlightRequestCount() {
+        int count = 0;
+        for (Connection each : connections.values()) {
+            count += each.getInFlightRequestCount();
+        }
+        return count;
+    }
+    
+    /**
+     * get count of pushes queued on all connections.
+     *
+     * @return queued push count
+     */
+    public int currentPushQueueSize() {
+        int count = 0;
+        for (Connection each : connections.values()) {
+            count += each.getPushQueueSize();
+        }
+        return count;
+    }
+    
     public void loadCount(int loadClient, String redirectAddress) {
         runtimeConnectionEjector.setLoadClient(loadClient);
         runtimeConnectionEjector.setRedirectAddress(redirectAddress);
@@ -318,6 +402,15 @@ public class ConnectionManager {
      * @return count with the specific filter labels.
      */
     public int currentClientsCount(Map<String, String> filterLabels) {
+        if (filterLabels.isEmpty()) {
+            return connections.size();
+        }
+        if (filterLabels.size() == 1) {
+            Map.Entry<String, String> filter = filterLabels.entrySet().iterator().next();
+            Map<String, AtomicInteger> counts = connectionForLabels.get(filter.getKey());
+            AtomicInteger count = null == counts ? null : counts.get(filter.getValue());
+            return null == count ? 0 : count.get();
+        }
         int count = 0;
         for (Connection connection : connections.values()) {
             Map<String, String> labels = connection.getMetaInfo().labels;
@@ -346,6 +439,29 @@ public class ConnectionManager {
         return currentClientsCount(filter);
     }
     
+    /**
+     * get client count of each module, clients without module label are counted as `unknown`.
+     *
+     * @return client count of each module.
+     */
+    public Map<String, Integer> currentModuleClientsCount() {
+        Map<String, Integer> result = new HashMap<>(16);
+        int labeledCount = 0;
+        Map<String, AtomicInteger> counts = connectionForLabels.get(RemoteConstants.LABEL_MODULE);
+        if (null != counts) {
+            for (Map.Entry<String, AtomicInteger> entry : counts.entrySet()) {
+                int count = entry.getValue().get();
+                result.put(entry.getKey(), count);
+                labeledCount += count;
+            }
+        }
+        int unknownCount = connections.size() - labeledCount;
+        if (unknownCount > 0) {
+            result.put(UNKNOWN_MODULE, unknownCount);
+        }
+        return result;
+    }
+    
     public Map<String, Connection> currentClients() {
         return connections;
     }
@@ -18,9 +18,13 @@
 
 package com.alibaba.nacos.core.remote;
 
+import com.alibaba.nacos.core.remote.core.ClusterLoadBalancer;
 import com.alibaba.nacos.plugin.control.connection.ConnectionMetricsCollector;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * long connection metrics collector.
  *
@@ -40,11 +44,24 @@ public class LongConnectionMetricsCollector implements ConnectionMetricsCollecto
     
     @Override
     public int getCountForIp(String ip) {
-        ConnectionManager connectionManager = ApplicationUtils.getBean(ConnectionManager.class);
-        if (connectionManager.getConnectionForClientIp().containsKey(ip)) {
-            return connectionManager.getConnectionForClientIp().get(ip).intValue();
-        } else {
-            return 0;
-        }
+        AtomicInteger count = ApplicationUtils.getBean(ConnectionManager.class).getConnectionForClientIp().get(ip);
+        return null == count ? 0 : count.get();
+    }
+    
+    @Override
+    public int getCountForLabel(String labelKey, String labelValue) {
+        return ApplicationUtils.getBean(ConnectionManager.class)
+                .currentClientsCount(Collections.singletonMap(labelKey, labelValue));
+    }
+    
+    @Override
+    public int getClusterCountForIp(String ip) {
+        return getCountForIp(ip) + ApplicationUtils.getBean(ClusterLoadBalancer.class).getRemoteCountForIp(ip);
+    }
+    
+    @Override
+    public int getClusterCountForLabel(String labelKey, String labelValue) {
+        return getCountForLabel(labelKey, labelValue) + ApplicationUtils.getBean(ClusterLoadBalancer.class)
+                .getRemoteCountForLabel(labelKey, labelValue);
     }
-}
\ No newline at end of file
+}
@@ -21,6 +21,7 @@ import com.alibaba.nacos.api.remote.AbstractRequestCallBack;
 import com.alibaba.nacos.api.remote.request.ServerRequest;
 import com.alibaba.nacos.api.remote.PushCallBack;
 import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.common.remote.SharedRequestBody;
 import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
 import com.alibaba.nacos.core.utils.Loggers;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,10 +50,24 @@ public class RpcPushService {
      */
     public void pushWithCallback(String connectionId, ServerRequest request, PushCallBack requestCallBack,
             Executor executor) {
+        pushWithCallback(connectionId, request, null, requestCallBack, executor);
+    }
+    
+    /**
+     * push response with no ack, the body of request is serialized once and shared with other connections.
+     *
+     * @param connectionId    connectionId.
+     * @param request         request.
+     * @param body            body shared by the same request to other connections, null to serialize the request.
+     * @param requestCallBack requestCallBack.
+     * @param executor        executor of callback.
+     */
+    public void pushWithCallback(String connectionId, ServerRequest request, SharedRequestBody body,
+            PushCallBack requestCallBack, Executor executor) {
         Connection connection = connectionManager.getConnection(connectionId);
         if (connection != null) {
             try {
-                connection.asyncRequest(request, new AbstractRequestCallBack(requestCallBack.getTimeout()) {
+                AbstractRequestCallBack callBack = new AbstractRequestCallBack(requestCallBack.getTimeout()) {
                     
                     @Override
                     public Executor getExecutor() {
@@ -72,7 +87,12 @@ public class RpcPushService {
                     public void onException(Throwable e) {
                         requestCallBack.onFail(e);
                     }
-                });
+                };
+                if (null == body) {
+                    connection.asyncRequest(request, callBack);
+                } else {
+                    connection.asyncRequest(request, body, callBack);
+                }
             } catch (ConnectionAlreadyClosedException e) {
                 connectionManager.unregister(connectionId);
                 requestCallBack.onSuccess();
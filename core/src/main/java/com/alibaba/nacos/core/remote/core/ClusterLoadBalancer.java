@@ -0,0 +1,295 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.core;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.RpcScheduledExecutor;
+import com.alibaba.nacos.api.remote.request.ServerLoaderInfoRequest;
+import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.api.remote.response.ServerLoaderInfoResponse;
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.core.cluster.Member;
+import com.alibaba.nacos.core.cluster.MemberUtil;
+import com.alibaba.nacos.core.cluster.ServerMemberManager;
+import com.alibaba.nacos.core.cluster.remote.ClusterRpcClientProxy;
+import com.alibaba.nacos.core.remote.ConnectionManager;
+import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.core.utils.RemoteUtils;
+import com.alibaba.nacos.plugin.control.ControlManagerCenter;
+import com.alibaba.nacos.plugin.control.connection.rule.ConnectionControlRule;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Share connection loads of members through cluster rpc.
+ *
+ * <p>The loads of other members are used to limit connections of client ips and labels in the whole cluster, and to
+ * redirect surplus sdk connections of current member to the least loaded member, so that connections even out after
+ * a member recovers from failure. The loads of other members are refreshed periodically, so the limits are
+ * approximate.
+ *
+ * @author Nacos
+ */
+@Component
+public class ClusterLoadBalancer {
+    
+    /**
+     * Whether redirect surplus sdk connections to the least loaded member automatically.
+     */
+    static final String BALANCE_ENABLED = "nacos.remote.server.connection.balance.enabled";
+    
+    private static final String SDK_CONNECTION_COUNT_METRIC = "sdkConCount";
+    
+    private static final long REFRESH_INTERVAL_MILLIS = 5000L;
+    
+    private static final long LOADER_EXPIRED_MILLIS = 3 * REFRESH_INTERVAL_MILLIS;
+    
+    private static final long REBALANCE_COOL_DOWN_MILLIS = 30000L;
+    
+    private static final long REQUEST_TIMEOUT_MILLIS = 1000L;
+    
+    private final ConnectionManager connectionManager;
+    
+    private final ServerMemberManager serverMemberManager;
+    
+    private final ClusterRpcClientProxy clusterRpcClientProxy;
+    
+    /**
+     * member address -> latest loader of the member.
+     */
+    private final Map<String, MemberLoader> memberLoaders = new ConcurrentHashMap<>(8);
+    
+    private volatile long lastRebalanceTime;
+    
+    public ClusterLoadBalancer(ConnectionManager connectionManager, ServerMemberManager serverMemberManager,
+            ClusterRpcClientProxy clusterRpcClientProxy) {
+        this.connectionManager = connectionManager;
+        this.serverMemberManager = serverMemberManager;
+        this.clusterRpcClientProxy = clusterRpcClientProxy;
+    }
+    
+    /**
+     * Start task to refresh loaders of members and rebalance connections.
+     */
+    @PostConstruct
+    public void start() {
+        RpcScheduledExecutor.COMMON_SERVER_EXECUTOR.scheduleWithFixedDelay(() -> {
+            try {
+                refreshMemberLoaders();
+                rebalance();
+            } catch (Throwable e) {
+                Loggers.REMOTE.error("Refresh cluster connection loaders failed.", e);
+            }
+        }, REFRESH_INTERVAL_MILLIS, REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Fill the connection counts of current member which other members need to limit connections in cluster.
+     *
+     * @param response server loader info response
+     */
+    public void fillConnectionCounts(ServerLoaderInfoResponse response) {
+        ConnectionControlRule rule = ControlManagerCenter.getInstance().getConnectionControlManager()
+                .getConnectionLimitRule();
+        if (null == rule) {
+            return;
+        }
+        if (rule.getCountLimitPerClientIp() >= 0) {
+            // an ip over the limit in cluster has at least limit/memberCount connections on some member, ips with fewer
+            // connections are not shared to keep the response small.
+            int memberCount = Math.max(1, serverMemberManager.allMembers().size());
+            int minCount = Math.max(1, rule.getCountLimitPerClientIp() / memberCount);
+            Map<String, Integer> clientIpCounts = new HashMap<>(16);
+            for (Map.Entry<String, AtomicInteger> entry : connectionManager.getConnectionForClientIp().entrySet()) {
+                int count = entry.getValue().get();
+                if (count >= minCount) {
+                    clientIpCounts.put(entry.getKey(), count);
+                }
+            }
+            response.setClientIpCounts(clientIpCounts);
+        }
+        if (null != rule.getCountLimitPerLabel() && !rule.getCountLimitPerLabel().isEmpty()) {
+            Map<String, Map<String, Integer>> labelCounts = new HashMap<>(rule.getCountLimitPerLabel().size());
+            for (Map.Entry<String, Map<String, Integer>> entry : rule.getCountLimitPerLabel().entrySet()) {
+                Map<String, Integer> valueCounts = new HashMap<>(entry.getValue().size());
+                for (String labelValue : entry.getValue().keySet()) {
+                    valueCounts.put(labelValue,
+                            connectionManager.currentClientsCount(Collections.singletonMap(entry.getKey(), labelValue)));
+                }
+                labelCounts.put(entry.getKey(), valueCounts);
+            }
+            response.setLabelCounts(labelCounts);
+        }
+    }
+    
+    /**
+     * Get connection count of client ip on other members.
+     *
+     * @param clientIp client ip
+     * @return connection count
+     */
+    public int getRemoteCountForIp(String clientIp) {
+        long now = System.currentTimeMillis();
+        int result = 0;
+        for (MemberLoader each : memberLoaders.values()) {
+            if (!each.isExpired(now)) {
+                result += each.clientIpCounts.getOrDefault(clientIp, 0);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Get connection count of label on other members.
+     *
+     * @param labelKey   label key
+     * @param labelValue label value
+     * @return connection count
+     */
+    public int getRemoteCountForLabel(String labelKey, String labelValue) {
+        long now = System.currentTimeMillis();
+        int result = 0;
+        for (MemberLoader each : memberLoaders.values()) {
+            Map<String, Integer> valueCounts = each.labelCounts.get(labelKey);
+            if (!each.isExpired(now) && null != valueCounts) {
+                result += valueCounts.getOrDefault(labelValue, 0);
+            }
+        }
+        return result;
+    }
+    
+    void refreshMemberLoaders() {
+        List<Member> members = serverMemberManager.allMembersWithoutSelf();
+        memberLoaders.keySet().removeIf(address -> null == serverMemberManager.find(address));
+        for (Member member : members) {
+            if (!MemberUtil.isSupportedLongCon(member)) {
+                continue;
+            }
+            try {
+                clusterRpcClientProxy.asyncRequest(member, new ServerLoaderInfoRequest(), new RequestCallBack() {
+                    @Override
+                    public Executor getExecutor() {
+                        return null;
+                    }
+                    
+                    @Override
+                    public long getTimeout() {
+                        return REQUEST_TIMEOUT_MILLIS;
+                    }
+                    
+                    @Override
+                    public void onResponse(Response response) {
+                        if (response instanceof ServerLoaderInfoResponse) {
+                            memberLoaders.put(member.getAddress(),
+                                    new MemberLoader(member.getAddress(), (ServerLoaderInfoResponse) response));
+                        }
+                    }
+                    
+                    @Override
+                    public void onException(Throwable e) {
+                        Loggers.REMOTE.warn("Get loader of member {} failed, {}", member.getAddress(), e.getMessage());
+                    }
+                });
+            } catch (NacosException e) {
+                Loggers.REMOTE.warn("Get loader of member {} failed, {}", member.getAddress(), e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Redirect surplus sdk connections of current member to the least loaded member.
+     */
+    void rebalance() {
+        if (!EnvUtil.getProperty(BALANCE_ENABLED, Boolean.class, false)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastRebalanceTime < REBALANCE_COOL_DOWN_MILLIS) {
+            return;
+        }
+        Collection<Member> members = serverMemberManager.allMembersWithoutSelf();
+        if (members.isEmpty()) {
+            return;
+        }
+        int selfCount = connectionManager.currentSdkClientCount();
+        int total = selfCount;
+        MemberLoader leastLoader = null;
+        for (Member member : members) {
+            MemberLoader loader = memberLoaders.get(member.getAddress());
+            if (null == loader || loader.isExpired(now)) {
+                // the average is unknown without loaders of all members.
+                return;
+            }
+            total += loader.sdkCount;
+            if (null == leastLoader || loader.sdkCount < leastLoader.sdkCount) {
+                leastLoader = loader;
+            }
+        }
+        int avg = total / (members.size() + 1);
+        int overLimitCount = (int) (avg * (1 + RemoteUtils.LOADER_FACTOR));
+        int lowLimitCount = (int) (avg * (1 - RemoteUtils.LOADER_FACTOR));
+        if (selfCount <= overLimitCount || leastLoader.sdkCount >= lowLimitCount) {
+            return;
+        }
+        // redirect at most a factor of sdk connections each time, same as ServerReloaderRequestHandler.
+        int reloadCount = (int) Math.max(overLimitCount, selfCount * (1 - RemoteUtils.LOADER_FACTOR));
+        // the reload count of connection manager includes connections from cluster.
+        int clusterCount = connectionManager.currentClientsCount() - selfCount;
+        Loggers.REMOTE.info("Rebalance sdk connections, sdkCount={}, avg={}, reloadCount={}, redirectServer={}",
+                selfCount, avg, reloadCount, leastLoader.address);
+        connectionManager.loadCount(reloadCount + clusterCount, leastLoader.address);
+        lastRebalanceTime = now;
+    }
+    
+    private static class MemberLoader {
+        
+        private final String address;
+        
+        private final int sdkCount;
+        
+        private final Map<String, Integer> clientIpCounts;
+        
+        private final Map<String, Map<String, Integer>> labelCounts;
+        
+        private final long timestamp = System.currentTimeMillis();
+        
+        private MemberLoader(String address, ServerLoaderInfoResponse response) {
+            this.address = address;
+            String sdkCount = response.getMetricsValue(SDK_CONNECTION_COUNT_METRIC);
+            this.sdkCount = StringUtils.isBlank(sdkCount) ? 0 : Integer.parseInt(sdkCount);
+            this.clientIpCounts = null == response.getClientIpCounts() ? Collections.emptyMap()
+                    : response.getClientIpCounts();
+            this.labelCounts = null == response.getLabelCounts() ? Collections.emptyMap() : response.getLabelCounts();
+        }
+        
+        private boolean isExpired(long now) {
+            return now - timestamp > LOADER_EXPIRED_MILLIS;
+        }
+    }
+}
@@ -42,6 +42,9 @@ public class ServerLoaderInfoRequestHandler extends RequestHandler<ServerLoaderI
     @Autowired
     private ConnectionManager connectionManager;
     
+    @Autowired
+    private ClusterLoadBalancer clusterLoadBalancer;
+    
     @Override
     public ServerLoaderInfoResponse handle(ServerLoaderInfoRequest request, RequestMeta meta) throws NacosException {
         ServerLoaderInfoResponse serverLoaderInfoResponse = new ServerLoaderInfoResponse();
@@ -52,6 +55,7 @@ public class ServerLoaderInfoRequestHandler extends RequestHandler<ServerLoaderI
                 .putMetricsValue("sdkConCount", String.valueOf(connectionManager.currentClientsCount(filter)));
         serverLoaderInfoResponse.putMetricsValue("load", String.valueOf(EnvUtil.getLoad()));
         serverLoaderInfoResponse.putMetricsValue("cpu", String.valueOf(EnvUtil.getCpu()));
+        clusterLoadBalancer.fillConnectionCounts(serverLoaderInfoResponse);
         
         return serverLoaderInfoResponse;
     }
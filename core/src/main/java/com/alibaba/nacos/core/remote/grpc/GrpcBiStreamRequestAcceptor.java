@@ -26,10 +26,11 @@ import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.common.ability.discover.NacosAbilityManagerHolder;
 import com.alibaba.nacos.common.remote.ConnectionType;
 import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
-import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
 import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
@@ -116,6 +117,8 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
                     metaInfo.setTenant(setUpRequest.getTenant());
                     GrpcConnection connection = new GrpcConnection(metaInfo, responseObserver,
                             GrpcServerConstants.CONTEXT_KEY_CHANNEL.get());
+                    connection.setPushQueueMaxBytes(getPushQueueMaxBytes());
+                    GrpcConnection.setPushQueueTotalMaxBytes(getPushQueueTotalMaxBytes());
                     // null if supported
                     if (setUpRequest.getAbilityTable() != null) {
                         // map to table
@@ -159,7 +162,13 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
                         Loggers.REMOTE_DIGEST
                                 .warn("[{}]Receive response of server request  ,response={}", connectionId, response);
                     }
-                    RpcAckCallbackSynchronizer.ackNotify(connectionId, response);
+                    Connection connection = connectionManager.getConnection(connectionId);
+                    if (connection instanceof GrpcConnection) {
+                        ((GrpcConnection) connection).ackNotify(response);
+                    } else {
+                        Loggers.REMOTE_DIGEST.warn("Ack receive on a outdated connection ,connection id={},requestId={} ",
+                                connectionId, response.getRequestId());
+                    }
                     connectionManager.refreshActiveTime(connectionId);
                 } else {
                     Loggers.REMOTE_DIGEST
@@ -211,7 +220,27 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
             }
         };
         
+        if (responseObserver instanceof ServerCallStreamObserver) {
+            // write the pushes queued when the stream is not ready.
+            final String connectionId = GrpcServerConstants.CONTEXT_KEY_CONN_ID.get();
+            ((ServerCallStreamObserver<Payload>) responseObserver).setOnReadyHandler(() -> {
+                Connection connection = connectionManager.getConnection(connectionId);
+                if (connection instanceof GrpcConnection) {
+                    ((GrpcConnection) connection).onReady();
+                }
+            });
+        }
         return streamObserver;
     }
     
+    private long getPushQueueMaxBytes() {
+        return EnvUtil.getProperty(GrpcServerConstants.GrpcConfig.PUSH_QUEUE_MAX_BYTES_PROPERTY, Long.class,
+                GrpcServerConstants.GrpcConfig.DEFAULT_PUSH_QUEUE_MAX_BYTES);
+    }
+    
+    private long getPushQueueTotalMaxBytes() {
+        return EnvUtil.getProperty(GrpcServerConstants.GrpcConfig.PUSH_QUEUE_TOTAL_MAX_BYTES_PROPERTY, Long.class,
+                GrpcServerConstants.GrpcConfig.DEFAULT_PUSH_QUEUE_TOTAL_MAX_BYTES);
+    }
+    
 }
@@ -16,20 +16,29 @@
 
 package com.alibaba.nacos.core.remote.grpc;
 
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
 import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.remote.DefaultRequestFuture;
 import com.alibaba.nacos.api.remote.RequestCallBack;
 import com.alibaba.nacos.api.remote.RequestFuture;
+import com.alibaba.nacos.api.remote.RpcScheduledExecutor;
+import com.alibaba.nacos.api.remote.request.ClientDetectionRequest;
+import com.alibaba.nacos.api.remote.request.ConnectResetRequest;
 import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.api.remote.request.SetupAckRequest;
 import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.common.executor.HashedTimingWheel;
+import com.alibaba.nacos.common.remote.SharedRequestBody;
 import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
 import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
 import com.alibaba.nacos.common.remote.exception.ConnectionBusyException;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
-import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
 import com.alibaba.nacos.core.utils.Loggers;
 import com.alibaba.nacos.plugin.control.ControlManagerCenter;
 import com.alibaba.nacos.plugin.control.tps.TpsControlManager;
@@ -39,8 +48,18 @@ import io.grpc.netty.shaded.io.netty.channel.Channel;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * grpc connection.
@@ -50,6 +69,56 @@ import java.util.concurrent.Future;
  */
 public class GrpcConnection extends Connection {
     
+    private static final long ACK_TIMEOUT_TICK_MILLIS = 50L;
+    
+    private static final int ACK_TIMEOUT_TICKS = 512;
+    
+    /**
+     * Timeout of the push requested by {@link #requestFuture(Request)}, whose ack is released after it.
+     */
+    private static final long FUTURE_ACK_TIMEOUT_MILLIS = 3000L;
+    
+    /**
+     * Serialized size of the queued pushes of all connections.
+     */
+    private static final AtomicLong PUSH_QUEUE_TOTAL_BYTES = new AtomicLong();
+    
+    private static volatile long pushQueueTotalMaxBytes =
+            GrpcServerConstants.GrpcConfig.DEFAULT_PUSH_QUEUE_TOTAL_MAX_BYTES;
+    
+    /**
+     * Timeouts of pushes with callback of all connections, shared to avoid scheduling a future for each push.
+     */
+    private static final HashedTimingWheel ACK_TIMEOUT_WHEEL = new HashedTimingWheel(
+            RpcScheduledExecutor.TIMEOUT_SCHEDULER, ACK_TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS, ACK_TIMEOUT_TICKS);
+    
+    /**
+     * Pushes waiting for ack of this connection, keyed by the push ack id.
+     */
+    private final Map<Long, DefaultRequestFuture> pendingAcks = new ConcurrentHashMap<>(16);
+    
+    /**
+     * Ack ids of queued pushes replaced by the newer push of same key, keyed by the ack id of the newer push. They are
+     * acked together with the newer push.
+     */
+    private final Map<Long, List<Long>> supersededAcks = new ConcurrentHashMap<>(16);
+    
+    /**
+     * Pushes waiting for the stream to be ready, keyed by the coalesce key of the push, guarded by itself.
+     */
+    private final Map<Object, QueuedRequest> pushQueue = new LinkedHashMap<>();
+    
+    /**
+     * Serialized size of the pushes in {@link #pushQueue}, guarded by {@link #pushQueue}.
+     */
+    private long pushQueueBytes;
+    
+    private long pushQueueMaxBytes = GrpcServerConstants.GrpcConfig.DEFAULT_PUSH_QUEUE_MAX_BYTES;
+    
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    
+    private final AtomicLong coalescedPushCount = new AtomicLong();
+    
     private StreamObserver streamObserver;
     
     private Channel channel;
@@ -62,31 +131,46 @@ public class GrpcConnection extends Connection {
         this.channel = channel;
     }
     
+    public void setPushQueueMaxBytes(long pushQueueMaxBytes) {
+        this.pushQueueMaxBytes = pushQueueMaxBytes;
+    }
+    
+    public static void setPushQueueTotalMaxBytes(long pushQueueTotalMaxBytes) {
+        GrpcConnection.pushQueueTotalMaxBytes = pushQueueTotalMaxBytes;
+    }
+    
+    /**
+     * get serialized size of the queued pushes of all connections.
+     *
+     * @return queued bytes
+     */
+    public static long getPushQueueTotalBytes() {
+        return PUSH_QUEUE_TOTAL_BYTES.get();
+    }
+    
     /**
      * send request without ack.
      *
+     * <p>The request is written directly instead of queued behind the pushes, see {@link #isControlRequest(Request)}.
+     *
      * @param request request data.
      * @throws NacosException NacosException
      */
     public void sendRequestNoAck(Request request) throws NacosException {
-        sendQueueBlockCheck();
+        writeOnEventLoop(request, null);
+    }
+    
+    private void sendPush(Request request, SharedRequestBody body) throws NacosException {
+        if (!isControlRequest(request) && enqueueIfNotReady(request, body)) {
+            return;
+        }
+        writeOnEventLoop(request, body);
+    }
+    
+    private void writeOnEventLoop(Request request, SharedRequestBody body) {
         Future<Boolean> executeFuture = this.channel.eventLoop().submit(() -> {
-            //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
-            synchronized (streamObserver) {
-                try {
-                    Payload payload = GrpcUtils.convert(request);
-                    traceIfNecessary(payload);
-                    streamObserver.onNext(payload);
-                    return true;
-                } catch (Throwable e) {
-                    if (e instanceof StatusRuntimeException) {
-                        throw new ConnectionAlreadyClosedException(e);
-                    } else if (e instanceof IllegalStateException) {
-                        throw new ConnectionAlreadyClosedException(e);
-                    }
-                    throw new NacosRuntimeException(NacosException.SERVER_ERROR, e);
-                }
-            }
+            writeRequest(request, body);
+            return true;
         });
         try {
             executeFuture.get();
@@ -99,30 +183,210 @@ public class GrpcConnection extends Connection {
         }
     }
     
-    private void sendQueueBlockCheck() {
-        if (streamObserver instanceof ServerCallStreamObserver) {
-            // if bytes on queue is greater than  32k ,isReady will return false.
-            // queue type: grpc write queue,flowed controller queue etc.
-            // this 32k threshold is fixed with static final.
-            // see io.grpc.internal.AbstractStream.TransportState.DEFAULT_ONREADY_THRESHOLD
-            boolean ready = ((ServerCallStreamObserver<?>) streamObserver).isReady();
-            if (!ready) {
-                if (tpsControlManager == null) {
-                    synchronized (GrpcConnection.class.getClass()) {
-                        if (tpsControlManager == null) {
-                            tpsControlManager = ControlManagerCenter.getInstance().getTpsControlManager();
-                            tpsControlManager.registerTpsPoint("SERVER_PUSH_BLOCK");
-                        }
-                    }
+    private void writeRequest(Request request, SharedRequestBody body) {
+        Payload payload;
+        try {
+            payload = convert(request, body);
+        } catch (Throwable e) {
+            throw new NacosRuntimeException(NacosException.SERVER_ERROR, e);
+        }
+        writePayload(payload);
+    }
+    
+    private Payload convert(Request request, SharedRequestBody body) {
+        return null == body ? GrpcUtils.convert(request, getPayloadBodyCodec())
+                : GrpcUtils.convert(request, body, getPayloadBodyCodec());
+    }
+    
+    private void writePayload(Payload payload) {
+        //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
+        synchronized (streamObserver) {
+            try {
+                traceIfNecessary(payload);
+                streamObserver.onNext(payload);
+            } catch (Throwable e) {
+                if (e instanceof StatusRuntimeException) {
+                    throw new ConnectionAlreadyClosedException(e);
+                } else if (e instanceof IllegalStateException) {
+                    throw new ConnectionAlreadyClosedException(e);
                 }
-                TpsCheckRequest tpsCheckRequest = new TpsCheckRequest("SERVER_PUSH_BLOCK",
-                        this.getMetaInfo().getConnectionId(), this.getMetaInfo().getClientIp());
-                //record block only.
-                tpsControlManager.check(tpsCheckRequest);
-                getMetaInfo().recordPushQueueBlockTimes();
-                throw new ConnectionBusyException("too much bytes on sending queue of this stream.");
-            } else {
+                throw new NacosRuntimeException(NacosException.SERVER_ERROR, e);
+            }
+        }
+    }
+    
+    /**
+     * Queue the request if the stream is not ready or there are requests queued before, an unsent request of the same
+     * key is replaced by the newer one. The request is serialized when queued, so that the queue is bounded by the
+     * bytes it holds rather than by the count of requests.
+     *
+     * @return true if queued, false if the request should be written directly
+     */
+    private boolean enqueueIfNotReady(Request request, SharedRequestBody body) {
+        if (!(streamObserver instanceof ServerCallStreamObserver)) {
+            return false;
+        }
+        // if bytes on queue is greater than  32k ,isReady will return false.
+        // queue type: grpc write queue,flowed controller queue etc.
+        // this 32k threshold is fixed with static final.
+        // see io.grpc.internal.AbstractStream.TransportState.DEFAULT_ONREADY_THRESHOLD
+        ServerCallStreamObserver<?> observer = (ServerCallStreamObserver<?>) streamObserver;
+        synchronized (pushQueue) {
+            if (pushQueue.isEmpty() && observer.isReady()) {
                 getMetaInfo().clearPushQueueBlockTimes();
+                return false;
+            }
+            recordPushBlock();
+            Payload payload;
+            try {
+                payload = convert(request, body);
+            } catch (Throwable e) {
+                throw new NacosRuntimeException(NacosException.SERVER_ERROR, e);
+            }
+            Object key = getCoalesceKey(request);
+            QueuedRequest previous = null == key ? null : pushQueue.get(key);
+            long queuedBytes = null == previous ? pushQueueBytes : pushQueueBytes - previous.size;
+            // a single request larger than the limit is still accepted by an empty queue.
+            if (queuedBytes > 0 && queuedBytes + payload.getSerializedSize() > pushQueueMaxBytes) {
+                throw new ConnectionBusyException("too much requests on sending queue of this stream.");
+            }
+            long delta = queuedBytes + payload.getSerializedSize() - pushQueueBytes;
+            if (!reserveTotalBytes(delta)) {
+                throw new ConnectionBusyException("too much requests on sending queues of all streams.");
+            }
+            if (null != previous) {
+                supersedeAck(previous.request, request);
+                coalescedPushCount.incrementAndGet();
+                MetricsMonitor.getLongConnectionCoalescedPushMonitor().incrementAndGet();
+            }
+            QueuedRequest queuedRequest = new QueuedRequest(request, payload);
+            pushQueue.put(null == key ? new Object() : key, queuedRequest);
+            pushQueueBytes += delta;
+        }
+        // the stream may turn ready before queued, drain here in case of no more onReady.
+        if (observer.isReady()) {
+            scheduleDrain();
+        }
+        return true;
+    }
+    
+    /**
+     * Control requests are small and written directly instead of queued behind the pushes, so that they are neither
+     * delayed by a slow client nor dropped with the queue when the connection is closed.
+     */
+    private static boolean isControlRequest(Request request) {
+        return request instanceof ConnectResetRequest || request instanceof ClientDetectionRequest
+                || request instanceof SetupAckRequest;
+    }
+    
+    /**
+     * Reserve bytes of the queued pushes of all connections, a request is still accepted if nothing queued.
+     */
+    private static boolean reserveTotalBytes(long delta) {
+        if (delta <= 0) {
+            PUSH_QUEUE_TOTAL_BYTES.addAndGet(delta);
+            return true;
+        }
+        while (true) {
+            long current = PUSH_QUEUE_TOTAL_BYTES.get();
+            if (current > 0 && current + delta > pushQueueTotalMaxBytes) {
+                return false;
+            }
+            if (PUSH_QUEUE_TOTAL_BYTES.compareAndSet(current, current + delta)) {
+                return true;
+            }
+        }
+    }
+    
+    private void releasePushQueueBytes(long size) {
+        pushQueueBytes -= size;
+        PUSH_QUEUE_TOTAL_BYTES.addAndGet(-size);
+    }
+    
+    private static Object getCoalesceKey(Request request) {
+        if (request instanceof NotifySubscriberRequest) {
+            ServiceInfo serviceInfo = ((NotifySubscriberRequest) request).getServiceInfo();
+            return null == serviceInfo ? null : NotifySubscriberRequest.class.getSimpleName() + serviceInfo.getKey();
+        }
+        if (request instanceof ConfigChangeNotifyRequest) {
+            ConfigChangeNotifyRequest notifyRequest = (ConfigChangeNotifyRequest) request;
+            return ConfigChangeNotifyRequest.class.getSimpleName() + notifyRequest.getDataId() + "+"
+                    + notifyRequest.getGroup() + "+" + notifyRequest.getTenant();
+        }
+        return null;
+    }
+    
+    private void supersedeAck(Request previous, Request request) {
+        Long previousAckId = parseAckId(previous.getRequestId());
+        Long ackId = parseAckId(request.getRequestId());
+        if (null == previousAckId || null == ackId) {
+            return;
+        }
+        List<Long> superseded = new ArrayList<>();
+        superseded.add(previousAckId);
+        List<Long> previousSuperseded = supersededAcks.remove(previousAckId);
+        if (null != previousSuperseded) {
+            superseded.addAll(previousSuperseded);
+        }
+        supersededAcks.put(ackId, superseded);
+    }
+    
+    private void recordPushBlock() {
+        if (tpsControlManager == null) {
+            synchronized (GrpcConnection.class.getClass()) {
+                if (tpsControlManager == null) {
+                    tpsControlManager = ControlManagerCenter.getInstance().getTpsControlManager();
+                    tpsControlManager.registerTpsPoint("SERVER_PUSH_BLOCK");
+                }
+            }
+        }
+        TpsCheckRequest tpsCheckRequest = new TpsCheckRequest("SERVER_PUSH_BLOCK",
+                this.getMetaInfo().getConnectionId(), this.getMetaInfo().getClientIp());
+        //record block only.
+        tpsControlManager.check(tpsCheckRequest);
+        getMetaInfo().recordPushQueueBlockTimes();
+    }
+    
+    /**
+     * Called when the stream turns ready, write the queued requests.
+     */
+    public void onReady() {
+        synchronized (pushQueue) {
+            if (pushQueue.isEmpty()) {
+                return;
+            }
+        }
+        scheduleDrain();
+    }
+    
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            channel.eventLoop().execute(this::drainPushQueue);
+        }
+    }
+    
+    private void drainPushQueue() {
+        drainScheduled.set(false);
+        ServerCallStreamObserver<?> observer = (ServerCallStreamObserver<?>) streamObserver;
+        while (true) {
+            QueuedRequest queuedRequest;
+            synchronized (pushQueue) {
+                if (pushQueue.isEmpty() || !observer.isReady()) {
+                    return;
+                }
+                Iterator<QueuedRequest> iterator = pushQueue.values().iterator();
+                queuedRequest = iterator.next();
+                iterator.remove();
+                releasePushQueueBytes(queuedRequest.size);
+            }
+            if (!isAckPending(queuedRequest.request.getRequestId())) {
+                // timed out while queued.
+                continue;
+            }
+            try {
+                writePayload(queuedRequest.payload);
+            } catch (Exception e) {
+                failAck(queuedRequest.request.getRequestId(), e);
             }
         }
     }
@@ -141,38 +405,186 @@ public class GrpcConnection extends Connection {
         }
     }
     
-    private DefaultRequestFuture sendRequestInner(Request request, RequestCallBack callBack) throws NacosException {
-        final String requestId = String.valueOf(PushAckIdGenerator.getNextId());
+    /**
+     * Send the request waiting for ack.
+     *
+     * @param ackTimeoutMillis timeout to release the ack, not released by timeout if not positive
+     */
+    private DefaultRequestFuture sendRequestInner(Request request, SharedRequestBody body, RequestCallBack callBack,
+            long ackTimeoutMillis) throws NacosException {
+        final long ackId = PushAckIdGenerator.getNextId();
+        final String requestId = String.valueOf(ackId);
         request.setRequestId(requestId);
         
-        DefaultRequestFuture defaultPushFuture = new DefaultRequestFuture(getMetaInfo().getConnectionId(), requestId,
-                callBack, () -> RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), requestId));
-        
-        RpcAckCallbackSynchronizer.syncCallback(getMetaInfo().getConnectionId(), requestId, defaultPushFuture);
-        sendRequestNoAck(request);
+        PushAckFuture defaultPushFuture = new PushAckFuture(getMetaInfo().getConnectionId(), requestId, callBack,
+                () -> onAckTimeout(requestId));
+        if (null != pendingAcks.putIfAbsent(ackId, defaultPushFuture)) {
+            throw new NacosException(NacosException.INVALID_PARAM, "request id conflict");
+        }
+        if (ackTimeoutMillis > 0) {
+            // release the timed out push before the callback, so the callback sees it is no longer in flight.
+            defaultPushFuture.setAckTimeout(ACK_TIMEOUT_WHEEL.newTimeout(() -> {
+                onAckTimeout(requestId);
+                defaultPushFuture.onTimeout();
+            }, ackTimeoutMillis, TimeUnit.MILLISECONDS));
+        }
+        sendPush(request, body);
         return defaultPushFuture;
     }
     
+    /**
+     * notify ack of the request sent to this connection.
+     *
+     * @param response response of client
+     */
+    public void ackNotify(Response response) {
+        Long ackId = parseAckId(response.getRequestId());
+        DefaultRequestFuture currentCallback = null == ackId ? null : pendingAcks.remove(ackId);
+        if (currentCallback == null) {
+            Loggers.REMOTE_DIGEST.warn("Ack receive on a outdated request ,connection id={},requestId={} ",
+                    getMetaInfo().getConnectionId(), response.getRequestId());
+            return;
+        }
+        List<Long> superseded = supersededAcks.remove(ackId);
+        if (null != superseded) {
+            for (Long each : superseded) {
+                DefaultRequestFuture supersededCallback = pendingAcks.remove(each);
+                if (null != supersededCallback) {
+                    completeAck(supersededCallback, response);
+                }
+            }
+        }
+        completeAck(currentCallback, response);
+    }
+    
+    private void completeAck(DefaultRequestFuture callback, Response response) {
+        if (response.isSuccess()) {
+            callback.setResponse(response);
+        } else {
+            callback.setFailResult(new NacosException(response.getErrorCode(), response.getMessage()));
+        }
+    }
+    
+    private void failAck(String requestId, Exception exception) {
+        Long ackId = parseAckId(requestId);
+        if (null == ackId) {
+            return;
+        }
+        List<Long> ackIds = new ArrayList<>();
+        ackIds.add(ackId);
+        List<Long> superseded = supersededAcks.remove(ackId);
+        if (null != superseded) {
+            ackIds.addAll(superseded);
+        }
+        for (Long each : ackIds) {
+            DefaultRequestFuture callback = pendingAcks.remove(each);
+            if (null != callback) {
+                callback.setFailResult(exception);
+            }
+        }
+    }
+    
+    private void onAckTimeout(String requestId) {
+        removeQueuedRequest(requestId);
+        removePendingAck(requestId);
+    }
+    
+    /**
+     * Remove the queued request whose ack is timed out, as the result of it is no longer waited.
+     */
+    private void removeQueuedRequest(String requestId) {
+        synchronized (pushQueue) {
+            if (pushQueue.isEmpty()) {
+                return;
+            }
+            Iterator<QueuedRequest> iterator = pushQueue.values().iterator();
+            while (iterator.hasNext()) {
+                QueuedRequest each = iterator.next();
+                if (requestId.equals(each.request.getRequestId())) {
+                    iterator.remove();
+                    releasePushQueueBytes(each.size);
+                    return;
+                }
+            }
+        }
+    }
+    
+    private boolean isAckPending(String requestId) {
+        Long ackId = parseAckId(requestId);
+        return null != ackId && pendingAcks.containsKey(ackId);
+    }
+    
+    private void removePendingAck(String requestId) {
+        Long ackId = parseAckId(requestId);
+        if (null != ackId) {
+            pendingAcks.remove(ackId);
+            supersededAcks.remove(ackId);
+        }
+    }
+    
+    private static Long parseAckId(String requestId) {
+        try {
+            return null == requestId ? null : Long.parseLong(requestId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    @Override
+    public int getInFlightRequestCount() {
+        return pendingAcks.size();
+    }
+    
+    @Override
+    public int getPushQueueSize() {
+        synchronized (pushQueue) {
+            return pushQueue.size();
+        }
+    }
+    
+    /**
+     * get count of queued requests replaced by newer requests of the same key.
+     *
+     * @return coalesced request count
+     */
+    public long getCoalescedPushCount() {
+        return coalescedPushCount.get();
+    }
+    
     @Override
     public Response request(Request request, long timeoutMills) throws NacosException {
-        DefaultRequestFuture pushFuture = sendRequestInner(request, null);
+        // released by the timeout of waiting.
+        DefaultRequestFuture pushFuture = sendRequestInner(request, null, null, 0L);
+        Response response;
         try {
-            return pushFuture.get(timeoutMills);
+            response = pushFuture.get(timeoutMills);
         } catch (Exception e) {
             throw new NacosException(NacosException.SERVER_ERROR, e);
         } finally {
-            RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), pushFuture.getRequestId());
+            removePendingAck(pushFuture.getRequestId());
+        }
+        if (null == response) {
+            // the request is failed to write after queued.
+            throw new NacosException(NacosException.SERVER_ERROR,
+                    "request failed to send, connectionId=" + getMetaInfo().getConnectionId());
         }
+        return response;
     }
     
     @Override
     public RequestFuture requestFuture(Request request) throws NacosException {
-        return sendRequestInner(request, null);
+        return sendRequestInner(request, null, null, FUTURE_ACK_TIMEOUT_MILLIS);
     }
     
     @Override
     public void asyncRequest(Request request, RequestCallBack requestCallBack) throws NacosException {
-        sendRequestInner(request, requestCallBack);
+        sendRequestInner(request, null, requestCallBack, requestCallBack.getTimeout());
+    }
+    
+    @Override
+    public void asyncRequest(Request request, SharedRequestBody body, RequestCallBack requestCallBack)
+            throws NacosException {
+        sendRequestInner(request, body, requestCallBack, requestCallBack.getTimeout());
     }
     
     @Override
@@ -192,6 +604,13 @@ public class GrpcConnection extends Connection {
                 Loggers.REMOTE_DIGEST.warn("[{}] connection  close bi stream exception  : {}", connectionId, e);
             }
             channel.close();
+            // requests with callback are still failed by their timeouts.
+            synchronized (pushQueue) {
+                pushQueue.clear();
+                releasePushQueueBytes(pushQueueBytes);
+            }
+            pendingAcks.clear();
+            supersededAcks.clear();
             
         } catch (Exception e) {
             Loggers.REMOTE_DIGEST.warn("[{}] connection  close exception  : {}", connectionId, e);
@@ -211,4 +630,68 @@ public class GrpcConnection extends Connection {
     public boolean isConnected() {
         return channel != null && channel.isOpen() && channel.isActive();
     }
+    
+    /**
+     * Future of a request waiting for ack, whose timeout is removed from the timing wheel once the future is done.
+     */
+    private static class PushAckFuture extends DefaultRequestFuture {
+        
+        private volatile HashedTimingWheel.Timeout ackTimeout;
+        
+        private PushAckFuture(String connectionId, String requestId, RequestCallBack requestCallBack,
+                TimeoutInnerTrigger timeoutInnerTrigger) {
+            super(connectionId, requestId, requestCallBack, timeoutInnerTrigger, false);
+        }
+        
+        private void setAckTimeout(HashedTimingWheel.Timeout ackTimeout) {
+            this.ackTimeout = ackTimeout;
+            // the ack may arrive before the timeout is set.
+            if (isDone()) {
+                ackTimeout.cancel();
+            }
+        }
+        
+        @Override
+        public void onTimeout() {
+            if (null != getRequestCallBack()) {
+                super.onTimeout();
+            } else if (!isDone()) {
+                setFailResult(new TimeoutException("request timeout, requestId=" + getRequestId()));
+            }
+        }
+        
+        @Override
+        public void setResponse(Response response) {
+            cancelAckTimeout();
+            super.setResponse(response);
+        }
+        
+        @Override
+        public void setFailResult(Exception e) {
+            cancelAckTimeout();
+            super.setFailResult(e);
+        }
+        
+        private void cancelAckTimeout() {
+            HashedTimingWheel.Timeout timeout = ackTimeout;
+            if (null != timeout) {
+                timeout.cancel();
+            }
+        }
+    }
+    
+    private static class QueuedRequest {
+        
+        private final Request request;
+        
+        private final Payload payload;
+        
+        private final int size;
+        
+        private QueuedRequest(Request request, Payload payload) {
+            this.request = request;
+            this.payload = payload;
+            this.size = payload.getSerializedSize();
+        }
+    }
 }
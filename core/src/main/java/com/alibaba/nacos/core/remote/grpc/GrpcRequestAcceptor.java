@@ -187,7 +187,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
             requestMeta.setAbilityTable(connection.getAbilityTable());
             connectionManager.refreshActiveTime(requestMeta.getConnectionId());
             Response response = requestHandler.handleRequest(request, requestMeta);
-            Payload payloadResponse = GrpcUtils.convert(response);
+            Payload payloadResponse = GrpcUtils.convert(response, connection.getPayloadBodyCodec());
             traceIfNecessary(payloadResponse, false);
             if (response.getErrorCode() == NacosException.OVER_THRESHOLD) {
                 RpcScheduledExecutor.CONTROL_SCHEDULER.schedule(() -> {
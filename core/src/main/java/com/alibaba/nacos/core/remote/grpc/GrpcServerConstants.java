@@ -91,8 +91,17 @@ final class GrpcServerConstants {
         static final String CLUSTER_PERMIT_KEEP_ALIVE_TIME =
                 NACOS_REMOTE_SERVER_GRPC_CLUSTER_PREFIX + "permit-keep-alive-time";
         
+        static final String PUSH_QUEUE_MAX_BYTES_PROPERTY = NACOS_REMOTE_SERVER_GRPC_PREFIX + "push-queue-max-bytes";
+        
+        static final String PUSH_QUEUE_TOTAL_MAX_BYTES_PROPERTY =
+                NACOS_REMOTE_SERVER_GRPC_PREFIX + "push-queue-total-max-bytes";
+        
         static final int DEFAULT_GRPC_MAX_INBOUND_MSG_SIZE = 10 * 1024 * 1024;
         
+        static final long DEFAULT_PUSH_QUEUE_MAX_BYTES = 64 * 1024;
+        
+        static final long DEFAULT_PUSH_QUEUE_TOTAL_MAX_BYTES = 256 * 1024 * 1024;
+        
         static final long DEFAULT_GRPC_KEEP_ALIVE_TIME = TimeUnit.NANOSECONDS.toMillis(GrpcUtil.DEFAULT_SERVER_KEEPALIVE_TIME_NANOS);
         
         static final long DEFAULT_GRPC_KEEP_ALIVE_TIMEOUT = TimeUnit.NANOSECONDS.toMillis(GrpcUtil.DEFAULT_SERVER_KEEPALIVE_TIMEOUT_NANOS);
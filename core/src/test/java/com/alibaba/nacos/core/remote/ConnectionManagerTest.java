@@ -20,7 +20,11 @@ package com.alibaba.nacos.core.remote;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.RemoteConstants;
 import com.alibaba.nacos.core.remote.grpc.GrpcConnection;
+import com.alibaba.nacos.plugin.control.ControlManagerCenter;
 import com.alibaba.nacos.plugin.control.configs.ControlConfigs;
+import com.alibaba.nacos.plugin.control.connection.ConnectionControlManager;
+import com.alibaba.nacos.plugin.control.connection.request.ConnectionCheckRequest;
+import com.alibaba.nacos.plugin.control.connection.response.ConnectionCheckResponse;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import io.grpc.netty.shaded.io.netty.channel.Channel;
 import org.junit.After;
@@ -36,11 +40,17 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@link ConnectionManager} unit test.
@@ -140,6 +150,24 @@ public class ConnectionManagerTest {
         Assert.assertEquals(1, connectionManager.getCurrentConnectionCount());
     }
     
+    @Test
+    public void testCurrentInFlightRequestCount() {
+        Assert.assertEquals(0, connectionManager.currentInFlightRequestCount());
+        GrpcConnection busyConnection = Mockito.mock(GrpcConnection.class);
+        Mockito.when(busyConnection.isConnected()).thenReturn(true);
+        Mockito.when(busyConnection.getMetaInfo()).thenReturn(
+                new ConnectionMeta("busy", clientIp, clientIp, 8848, 9848, "GRPC", "2.2.0", null, new HashMap<>()));
+        Mockito.when(busyConnection.getInFlightRequestCount()).thenReturn(3);
+        Mockito.when(busyConnection.getPushQueueSize()).thenReturn(2);
+        connectionManager.register("busy", busyConnection);
+        try {
+            Assert.assertEquals(3, connectionManager.currentInFlightRequestCount());
+            Assert.assertEquals(2, connectionManager.currentPushQueueSize());
+        } finally {
+            connectionManager.unregister("busy");
+        }
+    }
+    
     @Test
     public void testRefreshActiveTime() {
         try {
@@ -168,5 +196,61 @@ public class ConnectionManagerTest {
         Assert.assertEquals(1, connectionManager.currentSdkClientCount());
     }
     
+    @Test
+    public void testCountsAfterUnregister() {
+        Assert.assertEquals(1, connectionManager.getConnectionForClientIp().get(clientIp).get());
+        Assert.assertEquals(1, connectionManager.currentModuleClientsCount().get("unknown").intValue());
+        connectionManager.unregister(connectId);
+        Assert.assertFalse(connectionManager.getConnectionForClientIp().containsKey(clientIp));
+        Assert.assertEquals(0, connectionManager.currentSdkClientCount());
+        Assert.assertTrue(connectionManager.currentModuleClientsCount().isEmpty());
+    }
+    
+    @Test
+    public void testConcurrentRegisterFromSameIpRespectLimit() throws InterruptedException {
+        final String limitedIp = "2.2.2.2";
+        final int ipLimit = 2;
+        final int threads = 8;
+        ConnectionControlManager connectionControlManager = Mockito.mock(ConnectionControlManager.class);
+        Mockito.doAnswer(invocation -> {
+            AtomicInteger count = connectionManager.getConnectionForClientIp().get(limitedIp);
+            // widen the window between checking the count and registering the connection.
+            Thread.sleep(10L);
+            ConnectionCheckResponse response = new ConnectionCheckResponse();
+            response.setSuccess(null == count || count.get() < ipLimit);
+            return response;
+        }).when(connectionControlManager).check(Mockito.any(ConnectionCheckRequest.class));
+        // static mocks are visible to the current thread only, replace the manager of the shared center instead.
+        ControlManagerCenter controlManagerCenter = ControlManagerCenter.getInstance();
+        ConnectionControlManager original = controlManagerCenter.getConnectionControlManager();
+        ReflectionTestUtils.setField(controlManagerCenter, "connectionControlManager", connectionControlManager);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch latch = new CountDownLatch(threads);
+            AtomicInteger registered = new AtomicInteger();
+            for (int i = 0; i < threads; i++) {
+                final String id = "limited-" + i;
+                executorService.execute(() -> {
+                    Map<String, String> labels = new HashMap<>();
+                    labels.put(RemoteConstants.LABEL_SOURCE, RemoteConstants.LABEL_SOURCE_SDK);
+                    ConnectionMeta meta = new ConnectionMeta(id, limitedIp, limitedIp, 8848, 9848, "GRPC", "2.2.0",
+                            null, labels);
+                    if (connectionManager.register(id, new GrpcConnection(meta, null, channel))) {
+                        registered.incrementAndGet();
+                    }
+                    latch.countDown();
+                });
+            }
+            Assert.assertTrue(latch.await(10L, TimeUnit.SECONDS));
+            Assert.assertEquals(ipLimit, registered.get());
+            Assert.assertEquals(ipLimit, connectionManager.getConnectionForClientIp().get(limitedIp).get());
+        } finally {
+            ReflectionTestUtils.setField(controlManagerCenter, "connectionControlManager", original);
+            executorService.shutdownNow();
+            for (int i = 0; i < threads; i++) {
+                connectionManager.unregister("limited-" + i);
+            }
+        }
+    }
+    
 }
-
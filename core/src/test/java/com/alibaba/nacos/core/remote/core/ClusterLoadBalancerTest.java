@@ -0,0 +1,160 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.core;
+
+import com.alibaba.nacos.api.ability.ServerAbilities;
+import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.response.ServerLoaderInfoResponse;
+import com.alibaba.nacos.core.cluster.Member;
+import com.alibaba.nacos.core.cluster.ServerMemberManager;
+import com.alibaba.nacos.core.cluster.remote.ClusterRpcClientProxy;
+import com.alibaba.nacos.core.remote.ConnectionManager;
+import com.alibaba.nacos.plugin.control.ControlManagerCenter;
+import com.alibaba.nacos.plugin.control.connection.ConnectionControlManager;
+import com.alibaba.nacos.plugin.control.connection.rule.ConnectionControlRule;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClusterLoadBalancerTest {
+    
+    private static final String MEMBER_ADDRESS = "1.1.1.2:8848";
+    
+    @Mock
+    private ConnectionManager connectionManager;
+    
+    @Mock
+    private ServerMemberManager serverMemberManager;
+    
+    @Mock
+    private ClusterRpcClientProxy clusterRpcClientProxy;
+    
+    private ClusterLoadBalancer clusterLoadBalancer;
+    
+    private MockEnvironment environment;
+    
+    @Before
+    public void setUp() throws Exception {
+        environment = new MockEnvironment();
+        EnvUtil.setEnvironment(environment);
+        Member member = Member.builder().ip("1.1.1.2").port(8848).build();
+        member.setAbilities(new ServerAbilities());
+        member.setGrpcReportEnabled(true);
+        Mockito.when(serverMemberManager.allMembersWithoutSelf()).thenReturn(Collections.singletonList(member));
+        Mockito.lenient().when(serverMemberManager.find(MEMBER_ADDRESS)).thenReturn(member);
+        clusterLoadBalancer = new ClusterLoadBalancer(connectionManager, serverMemberManager, clusterRpcClientProxy);
+    }
+    
+    @After
+    public void tearDown() {
+        EnvUtil.setEnvironment(null);
+    }
+    
+    @Test
+    public void testGetRemoteCount() throws Exception {
+        mockMemberLoader(0);
+        clusterLoadBalancer.refreshMemberLoaders();
+        Assert.assertEquals(3, clusterLoadBalancer.getRemoteCountForIp("1.1.1.1"));
+        Assert.assertEquals(0, clusterLoadBalancer.getRemoteCountForIp("1.1.1.3"));
+        Assert.assertEquals(2, clusterLoadBalancer.getRemoteCountForLabel("app", "test"));
+        Assert.assertEquals(0, clusterLoadBalancer.getRemoteCountForLabel("app", "other"));
+    }
+    
+    @Test
+    public void testRebalance() throws Exception {
+        environment.setProperty(ClusterLoadBalancer.BALANCE_ENABLED, "true");
+        mockMemberLoader(0);
+        Mockito.when(connectionManager.currentSdkClientCount()).thenReturn(100);
+        Mockito.when(connectionManager.currentClientsCount()).thenReturn(102);
+        clusterLoadBalancer.refreshMemberLoaders();
+        clusterLoadBalancer.rebalance();
+        // at most 10% of sdk connections are redirected, connections from cluster are kept.
+        Mockito.verify(connectionManager).loadCount(92, MEMBER_ADDRESS);
+        
+        // cool down after rebalance.
+        clusterLoadBalancer.rebalance();
+        Mockito.verify(connectionManager).loadCount(Mockito.anyInt(), Mockito.anyString());
+    }
+    
+    @Test
+    public void testRebalanceWhenBalanced() throws Exception {
+        environment.setProperty(ClusterLoadBalancer.BALANCE_ENABLED, "true");
+        mockMemberLoader(95);
+        Mockito.when(connectionManager.currentSdkClientCount()).thenReturn(100);
+        clusterLoadBalancer.refreshMemberLoaders();
+        clusterLoadBalancer.rebalance();
+        Mockito.verify(connectionManager, Mockito.never()).loadCount(Mockito.anyInt(), Mockito.anyString());
+    }
+    
+    @Test
+    public void testRebalanceDisabled() {
+        clusterLoadBalancer.rebalance();
+        Mockito.verify(connectionManager, Mockito.never()).currentSdkClientCount();
+        Mockito.verify(connectionManager, Mockito.never()).loadCount(Mockito.anyInt(), Mockito.anyString());
+    }
+    
+    @Test
+    public void testFillConnectionCounts() {
+        ConnectionControlRule rule = new ConnectionControlRule();
+        rule.setCountLimitPerClientIp(4);
+        rule.setCountLimitPerLabel(Collections.singletonMap("app", Collections.singletonMap("test", 10)));
+        ConnectionControlManager connectionControlManager = Mockito.mock(ConnectionControlManager.class);
+        Mockito.when(connectionControlManager.getConnectionLimitRule()).thenReturn(rule);
+        ControlManagerCenter controlManagerCenter = Mockito.mock(ControlManagerCenter.class);
+        Mockito.when(controlManagerCenter.getConnectionControlManager()).thenReturn(connectionControlManager);
+        Mockito.when(serverMemberManager.allMembers()).thenReturn(Collections.nCopies(2, Mockito.mock(Member.class)));
+        Map<String, AtomicInteger> connectionForClientIp = new HashMap<>(4);
+        connectionForClientIp.put("1.1.1.1", new AtomicInteger(2));
+        connectionForClientIp.put("1.1.1.3", new AtomicInteger(1));
+        Mockito.when(connectionManager.getConnectionForClientIp()).thenReturn(connectionForClientIp);
+        Mockito.when(connectionManager.currentClientsCount(Collections.singletonMap("app", "test"))).thenReturn(5);
+        
+        ServerLoaderInfoResponse response = new ServerLoaderInfoResponse();
+        try (MockedStatic<ControlManagerCenter> mockedStatic = Mockito.mockStatic(ControlManagerCenter.class)) {
+            mockedStatic.when(ControlManagerCenter::getInstance).thenReturn(controlManagerCenter);
+            clusterLoadBalancer.fillConnectionCounts(response);
+        }
+        // ip with fewer connections than limit / member count is not shared.
+        Assert.assertEquals(Collections.singletonMap("1.1.1.1", 2), response.getClientIpCounts());
+        Assert.assertEquals(5, response.getLabelCounts().get("app").get("test").intValue());
+    }
+    
+    private void mockMemberLoader(int sdkCount) throws Exception {
+        ServerLoaderInfoResponse response = new ServerLoaderInfoResponse();
+        response.putMetricsValue("sdkConCount", String.valueOf(sdkCount));
+        response.setClientIpCounts(Collections.singletonMap("1.1.1.1", 3));
+        response.setLabelCounts(Collections.singletonMap("app", Collections.singletonMap("test", 2)));
+        Mockito.doAnswer(invocation -> {
+            invocation.getArgument(2, RequestCallBack.class).onResponse(response);
+            return null;
+        }).when(clusterRpcClientProxy).asyncRequest(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+}
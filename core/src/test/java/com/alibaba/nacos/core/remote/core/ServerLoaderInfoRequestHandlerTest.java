@@ -45,6 +45,9 @@ public class ServerLoaderInfoRequestHandlerTest {
     @Mock
     private ConnectionManager connectionManager;
     
+    @Mock
+    private ClusterLoadBalancer clusterLoadBalancer;
+    
     @Test
     public void testHandle() {
         Mockito.when(connectionManager.currentClientsCount()).thenReturn(1);
@@ -16,14 +16,19 @@
 
 package com.alibaba.nacos.core.remote.grpc;
 
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
+import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
-import com.alibaba.nacos.api.remote.DefaultRequestFuture;
+import com.alibaba.nacos.api.remote.AbstractRequestCallBack;
+import com.alibaba.nacos.api.remote.RequestFuture;
+import com.alibaba.nacos.api.remote.request.ConnectResetRequest;
+import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
 import com.alibaba.nacos.common.remote.exception.ConnectionBusyException;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
-import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
 import com.alibaba.nacos.plugin.control.ControlManagerCenter;
 import com.alibaba.nacos.plugin.control.tps.TpsControlManager;
 import com.alibaba.nacos.plugin.control.tps.response.TpsCheckResponse;
@@ -44,7 +49,11 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.io.IOException;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 @RunWith(MockitoJUnitRunner.class)
 public class GrpcConnectionTest {
@@ -67,6 +76,8 @@ public class GrpcConnectionTest {
     
     @After
     public void setDown() throws IOException {
+        // release the queued pushes of this connection from the bytes of all connections.
+        connection.close();
         if (controlManagerCenterMockedStatic != null) {
             controlManagerCenterMockedStatic.close();
         }
@@ -135,37 +146,23 @@ public class GrpcConnectionTest {
         Mockito.doReturn(new DefaultEventLoop()).when(channel).eventLoop();
         Mockito.doReturn(true).when(streamObserver).isReady();
         Assert.assertTrue(connection.isConnected());
+        NotifySubscriberRequest request = new NotifySubscriberRequest();
         try {
-            new Thread(new Runnable() {
-                @Override
-                public void run() {
-                    long start = System.currentTimeMillis();
-                    while ((System.currentTimeMillis() - start < 3000L)) {
-                        Map<String, DefaultRequestFuture> stringDefaultRequestFutureMap = RpcAckCallbackSynchronizer.initContextIfNecessary(
-                                connection.getMetaInfo().getConnectionId());
-                        if (!stringDefaultRequestFutureMap.entrySet().iterator().hasNext()) {
-                            try {
-                                Thread.sleep(100L);
-                                continue;
-                            } catch (InterruptedException e) {
-                                throw new RuntimeException(e);
-                            }
-                        }
-                        Map.Entry<String, DefaultRequestFuture> next = stringDefaultRequestFutureMap.entrySet()
-                                .iterator().next();
-                        NotifySubscriberResponse notifySubscriberResponse = new NotifySubscriberResponse();
-                        notifySubscriberResponse.setRequestId(next.getValue().getRequestId());
-                        try {
-                            RpcAckCallbackSynchronizer.ackNotify(connection.getMetaInfo().getConnectionId(),
-                                    notifySubscriberResponse);
-                        } catch (Exception e) {
-                            //ignore
-                        }
+            new Thread(() -> {
+                long start = System.currentTimeMillis();
+                while (System.currentTimeMillis() - start < 3000L && connection.getInFlightRequestCount() == 0) {
+                    try {
+                        Thread.sleep(100L);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
                     }
                 }
+                NotifySubscriberResponse notifySubscriberResponse = new NotifySubscriberResponse();
+                notifySubscriberResponse.setRequestId(request.getRequestId());
+                connection.ackNotify(notifySubscriberResponse);
             }).start();
-            connection.request(new NotifySubscriberRequest(), 3000L);
-            Assert.assertTrue(true);
+            connection.request(request, 3000L);
+            Assert.assertEquals(0, connection.getInFlightRequestCount());
         } catch (Throwable e) {
             e.printStackTrace();
             Assert.assertFalse(true);
@@ -173,19 +170,55 @@ public class GrpcConnectionTest {
     }
     
     @Test
-    public void testBusy() {
+    public void testAsyncRequestTimeout() throws Exception {
+        Mockito.doReturn(new DefaultEventLoop()).when(channel).eventLoop();
+        Mockito.doReturn(true).when(streamObserver).isReady();
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        connection.asyncRequest(new NotifySubscriberRequest(), new AbstractRequestCallBack(100L) {
+            @Override
+            public Executor getExecutor() {
+                return null;
+            }
+            
+            @Override
+            public void onResponse(Response response) {
+                latch.countDown();
+            }
+            
+            @Override
+            public void onException(Throwable e) {
+                exception.set(e);
+                latch.countDown();
+            }
+        });
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(exception.get() instanceof TimeoutException);
+        Assert.assertEquals(0, connection.getInFlightRequestCount());
+    }
+    
+    @Test
+    public void testAckOutdatedRequest() {
+        NotifySubscriberResponse notifySubscriberResponse = new NotifySubscriberResponse();
+        notifySubscriberResponse.setRequestId("outdated");
+        connection.ackNotify(notifySubscriberResponse);
+        Assert.assertEquals(0, connection.getInFlightRequestCount());
+    }
+    
+    @Test
+    public void testBusy() throws NacosException {
         controlManagerCenterMockedStatic = Mockito.mockStatic(ControlManagerCenter.class);
         Mockito.when(ControlManagerCenter.getInstance()).thenReturn(controlManagerCenter);
-        Mockito.when(ControlManagerCenter.getInstance().getTpsControlManager()).thenReturn(tpsControlManager);
-        Mockito.when(tpsControlManager.check(Mockito.any())).thenReturn(new TpsCheckResponse(true, 200, ""));
+        // tps control manager is cached by connections, so the stubbings may be unused.
+        Mockito.lenient().when(ControlManagerCenter.getInstance().getTpsControlManager())
+                .thenReturn(tpsControlManager);
+        Mockito.lenient().when(tpsControlManager.check(Mockito.any()))
+                .thenReturn(new TpsCheckResponse(true, 200, ""));
         Mockito.doReturn(false).when(streamObserver).isReady();
+        connection.setPushQueueMaxBytes(1);
         
-        try {
-            connection.request(new NotifySubscriberRequest(), 3000L);
-            Assert.assertTrue(false);
-        } catch (Exception e) {
-            Assert.assertTrue(e instanceof ConnectionBusyException);
-        }
+        connection.asyncRequest(ConfigChangeNotifyRequest.build("dataId1", "group", ""), newIgnoredCallBack(10000L));
+        Assert.assertEquals(1, connection.getPushQueueSize());
         
         try {
             Thread.sleep(3001);
@@ -193,7 +226,7 @@ public class GrpcConnectionTest {
             throw new RuntimeException(e);
         }
         try {
-            connection.request(new NotifySubscriberRequest(), 3000L);
+            connection.requestFuture(ConfigChangeNotifyRequest.build("dataId2", "group", ""));
             Assert.assertTrue(false);
         } catch (Exception e) {
             Assert.assertTrue(e instanceof ConnectionBusyException);
@@ -203,6 +236,165 @@ public class GrpcConnectionTest {
         
     }
     
+    @Test
+    public void testPushQueueTotalBytesBounded() throws Exception {
+        controlManagerCenterMockedStatic = Mockito.mockStatic(ControlManagerCenter.class);
+        Mockito.when(ControlManagerCenter.getInstance()).thenReturn(controlManagerCenter);
+        // tps control manager is cached by connections, so the stubbings may be unused.
+        Mockito.lenient().when(ControlManagerCenter.getInstance().getTpsControlManager())
+                .thenReturn(tpsControlManager);
+        Mockito.lenient().when(tpsControlManager.check(Mockito.any()))
+                .thenReturn(new TpsCheckResponse(true, 200, ""));
+        Mockito.doReturn(false).when(streamObserver).isReady();
+        ConnectionMeta otherMeta = new ConnectionMeta("otherConnectId" + System.currentTimeMillis(), "1.1.1.2",
+                "1.1.1.2", 8888, 9848, "GRPC", "", "", new HashMap<>());
+        GrpcConnection otherConnection = new GrpcConnection(otherMeta, streamObserver, channel);
+        GrpcConnection.setPushQueueTotalMaxBytes(1);
+        try {
+            connection.requestFuture(ConfigChangeNotifyRequest.build("dataId1", "group", ""));
+            Assert.assertEquals(1, connection.getPushQueueSize());
+            Assert.assertTrue(GrpcConnection.getPushQueueTotalBytes() > 0);
+            try {
+                otherConnection.requestFuture(ConfigChangeNotifyRequest.build("dataId2", "group", ""));
+                Assert.fail();
+            } catch (ConnectionBusyException e) {
+                Assert.assertEquals(0, otherConnection.getPushQueueSize());
+            }
+            connection.close();
+            Assert.assertEquals(0, GrpcConnection.getPushQueueTotalBytes());
+            otherConnection.requestFuture(ConfigChangeNotifyRequest.build("dataId2", "group", ""));
+            Assert.assertEquals(1, otherConnection.getPushQueueSize());
+        } finally {
+            otherConnection.close();
+            GrpcConnection.setPushQueueTotalMaxBytes(GrpcServerConstants.GrpcConfig.DEFAULT_PUSH_QUEUE_TOTAL_MAX_BYTES);
+        }
+    }
+    
+    @Test
+    public void testRequestFutureReleasedOnTimeout() throws Exception {
+        Mockito.doReturn(new DefaultEventLoop()).when(channel).eventLoop();
+        Mockito.doReturn(true).when(streamObserver).isReady();
+        RequestFuture future = connection.requestFuture(new NotifySubscriberRequest());
+        Assert.assertEquals(1, connection.getInFlightRequestCount());
+        Assert.assertNull(future.get(5000L));
+        Assert.assertTrue(future.isDone());
+        Assert.assertEquals(0, connection.getInFlightRequestCount());
+    }
+    
+    @Test
+    public void testCoalesceQueuedPush() throws Exception {
+        controlManagerCenterMockedStatic = Mockito.mockStatic(ControlManagerCenter.class);
+        Mockito.when(ControlManagerCenter.getInstance()).thenReturn(controlManagerCenter);
+        // tps control manager is cached by connections, so the stubbings may be unused.
+        Mockito.lenient().when(ControlManagerCenter.getInstance().getTpsControlManager())
+                .thenReturn(tpsControlManager);
+        Mockito.lenient().when(tpsControlManager.check(Mockito.any()))
+                .thenReturn(new TpsCheckResponse(true, 200, ""));
+        Mockito.doReturn(new DefaultEventLoop()).when(channel).eventLoop();
+        Mockito.doReturn(false).when(streamObserver).isReady();
+        
+        ServiceInfo serviceInfo = new ServiceInfo("group@@service");
+        final RequestFuture older = connection.requestFuture(
+                NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo));
+        NotifySubscriberRequest request = NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo);
+        final RequestFuture newer = connection.requestFuture(request);
+        Assert.assertEquals(1, connection.getPushQueueSize());
+        Assert.assertEquals(1, connection.getCoalescedPushCount());
+        Assert.assertEquals(2, connection.getInFlightRequestCount());
+        
+        Mockito.doReturn(true).when(streamObserver).isReady();
+        connection.onReady();
+        Mockito.verify(streamObserver, Mockito.timeout(3000L).times(1)).onNext(Mockito.any());
+        Assert.assertEquals(0, connection.getPushQueueSize());
+        
+        NotifySubscriberResponse response = new NotifySubscriberResponse();
+        response.setRequestId(request.getRequestId());
+        connection.ackNotify(response);
+        Assert.assertTrue(older.isDone());
+        Assert.assertTrue(newer.isDone());
+        Assert.assertEquals(0, connection.getInFlightRequestCount());
+    }
+    
+    @Test
+    public void testCoalescedPushNotCountedInQueueBytes() throws Exception {
+        controlManagerCenterMockedStatic = Mockito.mockStatic(ControlManagerCenter.class);
+        Mockito.when(ControlManagerCenter.getInstance()).thenReturn(controlManagerCenter);
+        // tps control manager is cached by connections, so the stubbings may be unused.
+        Mockito.lenient().when(ControlManagerCenter.getInstance().getTpsControlManager())
+                .thenReturn(tpsControlManager);
+        Mockito.lenient().when(tpsControlManager.check(Mockito.any()))
+                .thenReturn(new TpsCheckResponse(true, 200, ""));
+        Mockito.doReturn(false).when(streamObserver).isReady();
+        connection.setPushQueueMaxBytes(1);
+        
+        connection.requestFuture(ConfigChangeNotifyRequest.build("dataId1", "group", ""));
+        connection.requestFuture(ConfigChangeNotifyRequest.build("dataId1", "group", ""));
+        Assert.assertEquals(1, connection.getPushQueueSize());
+        Assert.assertEquals(1, connection.getCoalescedPushCount());
+    }
+    
+    @Test
+    public void testTimedOutPushRemovedFromQueue() throws Exception {
+        controlManagerCenterMockedStatic = Mockito.mockStatic(ControlManagerCenter.class);
+        Mockito.when(ControlManagerCenter.getInstance()).thenReturn(controlManagerCenter);
+        // tps control manager is cached by connections, so the stubbings may be unused.
+        Mockito.lenient().when(ControlManagerCenter.getInstance().getTpsControlManager())
+                .thenReturn(tpsControlManager);
+        Mockito.lenient().when(tpsControlManager.check(Mockito.any()))
+                .thenReturn(new TpsCheckResponse(true, 200, ""));
+        Mockito.doReturn(false).when(streamObserver).isReady();
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        connection.asyncRequest(ConfigChangeNotifyRequest.build("dataId1", "group", ""),
+                new AbstractRequestCallBack(100L) {
+                    @Override
+                    public Executor getExecutor() {
+                        return null;
+                    }
+                    
+                    @Override
+                    public void onResponse(Response response) {
+                        latch.countDown();
+                    }
+                    
+                    @Override
+                    public void onException(Throwable e) {
+                        exception.set(e);
+                        latch.countDown();
+                    }
+                });
+        Assert.assertEquals(1, connection.getPushQueueSize());
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(exception.get() instanceof TimeoutException);
+        Assert.assertEquals(0, connection.getPushQueueSize());
+        Assert.assertEquals(0, connection.getInFlightRequestCount());
+    }
+    
+    @Test
+    public void testControlRequestNotQueued() throws Exception {
+        Mockito.doReturn(new DefaultEventLoop()).when(channel).eventLoop();
+        connection.requestFuture(new ConnectResetRequest());
+        Mockito.verify(streamObserver, Mockito.times(1)).onNext(Mockito.any());
+        Assert.assertEquals(0, connection.getPushQueueSize());
+    }
+    
+    private static AbstractRequestCallBack newIgnoredCallBack(long timeout) {
+        return new AbstractRequestCallBack(timeout) {
+            @Override
+            public Executor getExecutor() {
+                return null;
+            }
+            
+            @Override
+            public void onResponse(Response response) {
+            }
+            
+            @Override
+            public void onException(Throwable e) {
+            }
+        };
+    }
+    
     @Test
     public void testClose() {
         
@@ -67,7 +67,7 @@ public class DistroClientComponentRegistry {
     public void doRegister() {
         DistroClientDataProcessor dataProcessor = new DistroClientDataProcessor(clientManager, distroProtocol);
         DistroTransportAgent transportAgent = new DistroClientTransportAgent(clusterRpcClientProxy,
-                serverMemberManager);
+                serverMemberManager, dataProcessor);
         DistroClientTaskFailedHandler taskFailedHandler = new DistroClientTaskFailedHandler(taskEngineHolder);
         componentHolder.registerDataStorage(DistroClientDataProcessor.TYPE, dataProcessor);
         componentHolder.registerDataProcessor(dataProcessor);
@@ -20,6 +20,10 @@ import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
 import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.cluster.Member;
+import com.alibaba.nacos.core.cluster.MemberChangeListener;
+import com.alibaba.nacos.core.cluster.MemberUtil;
+import com.alibaba.nacos.core.cluster.MembersChangeEvent;
 import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
 import com.alibaba.nacos.core.distributed.distro.component.DistroDataProcessor;
 import com.alibaba.nacos.core.distributed.distro.component.DistroDataStorage;
@@ -45,10 +49,17 @@ import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.apache.commons.collections.CollectionUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Distro processor for v2.
@@ -59,16 +70,34 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
     
     public static final String TYPE = "Nacos:Naming:v2:ClientData";
     
+    public static final String VERIFY_DIGEST_KEY = "Nacos:Naming:v2:VerifyDigest";
+    
+    public static final String VERIFY_BUCKETS_KEY = "Nacos:Naming:v2:VerifyBuckets";
+    
+    static final int VERIFY_BUCKET_COUNT = 1024;
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private static final long BYTE_MASK = 0xFFL;
+    
     private final ClientManager clientManager;
     
     private final DistroProtocol distroProtocol;
     
+    /**
+     * Client ids verified by each source server, the digest from source server is compared with these clients.
+     */
+    private final Map<String, Set<String>> verifiedClients = new ConcurrentHashMap<>();
+    
     private volatile boolean isFinishInitial;
     
     public DistroClientDataProcessor(ClientManager clientManager, DistroProtocol distroProtocol) {
         this.clientManager = clientManager;
         this.distroProtocol = distroProtocol;
         NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
+        NotifyCenter.registerSubscriber(new VerifiedClientsCleaner());
     }
     
     @Override
@@ -234,6 +263,125 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         return false;
     }
     
+    @Override
+    public DistroData processVerifyDigest(DistroData distroData, String sourceAddress) {
+        Serializer serializer = ApplicationUtils.getBean(Serializer.class);
+        String resourceKey = distroData.getDistroKey().getResourceKey();
+        if (VERIFY_DIGEST_KEY.equals(resourceKey)) {
+            DistroClientVerifyDigest digest = serializer
+                    .deserialize(distroData.getContent(), DistroClientVerifyDigest.class);
+            if (null == digest.getDigests() || VERIFY_BUCKET_COUNT != digest.getDigests().length) {
+                Loggers.DISTRO.warn("[DISTRO] Unsupported verify digest from {}", digest.getSourceServer());
+                return null;
+            }
+            List<Integer> mismatchedBuckets = verifyDigest(digest);
+            return new DistroData(distroData.getDistroKey(), serializer.serialize(mismatchedBuckets));
+        }
+        if (VERIFY_BUCKETS_KEY.equals(resourceKey)) {
+            DistroClientVerifyBuckets buckets = serializer
+                    .deserialize(distroData.getContent(), DistroClientVerifyBuckets.class);
+            List<String> failedClients = verifyBuckets(buckets);
+            return new DistroData(distroData.getDistroKey(), serializer.serialize(failedClients));
+        }
+        return null;
+    }
+    
+    /**
+     * Compare digest with the clients verified by source server before, and renew clients in matched buckets.
+     *
+     * @param digest digest of source server
+     * @return mismatched buckets
+     */
+    private List<Integer> verifyDigest(DistroClientVerifyDigest digest) {
+        Set<String> clientIds = getVerifiedClients(digest.getSourceServer());
+        long[] localDigests = new long[VERIFY_BUCKET_COUNT];
+        List<Client> localClients = new ArrayList<>(clientIds.size());
+        Iterator<String> iterator = clientIds.iterator();
+        while (iterator.hasNext()) {
+            Client client = clientManager.getClient(iterator.next());
+            if (null == client) {
+                iterator.remove();
+                continue;
+            }
+            localClients.add(client);
+            localDigests[bucketOf(client.getClientId())] ^= hashOf(client.getClientId(), client.getRevision());
+        }
+        long[] remoteDigests = digest.getDigests();
+        List<Integer> result = new LinkedList<>();
+        for (int i = 0; i < VERIFY_BUCKET_COUNT; i++) {
+            if (localDigests[i] != remoteDigests[i]) {
+                result.add(i);
+            }
+        }
+        for (Client each : localClients) {
+            int bucket = bucketOf(each.getClientId());
+            if (localDigests[bucket] == remoteDigests[bucket]) {
+                clientManager.verifyClient(new DistroClientVerifyInfo(each.getClientId(), each.getRevision()));
+            }
+        }
+        if (!result.isEmpty()) {
+            Loggers.DISTRO.info("[DISTRO] {} buckets mismatched with verify digest from {}", result.size(),
+                    digest.getSourceServer());
+        }
+        return result;
+    }
+    
+    /**
+     * Verify each client in the mismatched buckets, clients of these buckets verified before are replaced.
+     *
+     * @param verifyBuckets clients of mismatched buckets in source server
+     * @return failed client ids
+     */
+    private List<String> verifyBuckets(DistroClientVerifyBuckets verifyBuckets) {
+        Set<String> clientIds = getVerifiedClients(verifyBuckets.getSourceServer());
+        Set<Integer> buckets = verifyBuckets.getBuckets().keySet();
+        clientIds.removeIf(each -> buckets.contains(bucketOf(each)));
+        List<String> result = new LinkedList<>();
+        for (List<DistroClientVerifyInfo> bucket : verifyBuckets.getBuckets().values()) {
+            for (DistroClientVerifyInfo each : bucket) {
+                if (clientManager.verifyClient(each)) {
+                    clientIds.add(each.getClientId());
+                } else {
+                    Loggers.DISTRO.info("client {} is invalid, get new client from {}", each.getClientId(),
+                            verifyBuckets.getSourceServer());
+                    result.add(each.getClientId());
+                }
+            }
+        }
+        return result;
+    }
+    
+    private Set<String> getVerifiedClients(String sourceServer) {
+        return verifiedClients.computeIfAbsent(sourceServer, key -> ConcurrentHashMap.newKeySet());
+    }
+    
+    /**
+     * Remove the verified clients of source servers which are not members any more.
+     *
+     * @param members current members of cluster
+     */
+    void removeVerifiedClientsOfLeftMembers(Collection<Member> members) {
+        Set<String> addresses = new HashSet<>(MemberUtil.simpleMembers(members));
+        verifiedClients.keySet().removeIf(each -> {
+            if (addresses.contains(each)) {
+                return false;
+            }
+            Loggers.DISTRO.info("[DISTRO] Remove verified clients of left server {}", each);
+            return true;
+        });
+    }
+    
+    /**
+     * Whether the verify data is the digest or clients of mismatched buckets.
+     *
+     * @param distroKey key of verify data
+     * @return true if the verify data should be processed by {@link #processVerifyDigest(DistroData, String)}
+     */
+    public static boolean isVerifyDigest(DistroKey distroKey) {
+        return TYPE.equals(distroKey.getResourceType()) && (VERIFY_DIGEST_KEY.equals(distroKey.getResourceKey())
+                || VERIFY_BUCKETS_KEY.equals(distroKey.getResourceKey()));
+    }
+    
     @Override
     public boolean processSnapshot(DistroData distroData) {
         ClientSyncDatumSnapshot snapshot = ApplicationUtils.getBean(Serializer.class)
@@ -270,27 +418,102 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         return new DistroData(new DistroKey(DataOperation.SNAPSHOT.name(), TYPE), data);
     }
     
+    /**
+     * Get digest of responsible clients as verify data, the verify data is the same size whatever the count of clients.
+     *
+     * @return digest of responsible clients
+     */
     @Override
     public List<DistroData> getVerifyData() {
-        List<DistroData> result = null;
+        long[] digests = new long[VERIFY_BUCKET_COUNT];
+        for (Client each : getResponsibleClients()) {
+            digests[bucketOf(each.getClientId())] ^= hashOf(each.getClientId(), each.getRevision());
+        }
+        DistroClientVerifyDigest digest = new DistroClientVerifyDigest(EnvUtil.getLocalAddress(), digests);
+        return Collections.singletonList(buildVerifyData(VERIFY_DIGEST_KEY, digest));
+    }
+    
+    /**
+     * Get verify data of responsible clients in the mismatched buckets.
+     *
+     * @param buckets mismatched buckets
+     * @return verify data of clients in buckets, empty buckets are included to clean the verified clients
+     */
+    public DistroData getVerifyData(Collection<Integer> buckets) {
+        Map<Integer, List<DistroClientVerifyInfo>> result = new HashMap<>(buckets.size());
+        for (Integer each : buckets) {
+            result.put(each, new LinkedList<>());
+        }
+        for (Client each : getResponsibleClients()) {
+            List<DistroClientVerifyInfo> bucket = result.get(bucketOf(each.getClientId()));
+            if (null != bucket) {
+                bucket.add(new DistroClientVerifyInfo(each.getClientId(), each.getRevision()));
+            }
+        }
+        return buildVerifyData(VERIFY_BUCKETS_KEY, new DistroClientVerifyBuckets(EnvUtil.getLocalAddress(), result));
+    }
+    
+    /**
+     * Get verify data for each responsible client, used to verify with servers which don't support digest.
+     *
+     * @return verify data for each responsible client
+     */
+    public List<DistroData> getClientVerifyData() {
+        List<DistroData> result = new LinkedList<>();
+        for (Client each : getResponsibleClients()) {
+            DistroClientVerifyInfo verifyData = new DistroClientVerifyInfo(each.getClientId(), each.getRevision());
+            result.add(buildVerifyData(each.getClientId(), verifyData));
+        }
+        return result;
+    }
+    
+    private List<Client> getResponsibleClients() {
+        List<Client> result = new LinkedList<>();
         for (String each : clientManager.allClientId()) {
             Client client = clientManager.getClient(each);
             if (null == client || !client.isEphemeral()) {
                 continue;
             }
             if (clientManager.isResponsibleClient(client)) {
-                DistroClientVerifyInfo verifyData = new DistroClientVerifyInfo(client.getClientId(),
-                        client.getRevision());
-                DistroKey distroKey = new DistroKey(client.getClientId(), TYPE);
-                DistroData data = new DistroData(distroKey,
-                        ApplicationUtils.getBean(Serializer.class).serialize(verifyData));
-                data.setType(DataOperation.VERIFY);
-                if (result == null) {
-                    result = new LinkedList<>();
-                }
-                result.add(data);
+                result.add(client);
             }
         }
         return result;
     }
+    
+    private DistroData buildVerifyData(String resourceKey, Object verifyData) {
+        DistroData data = new DistroData(new DistroKey(resourceKey, TYPE),
+                ApplicationUtils.getBean(Serializer.class).serialize(verifyData));
+        data.setType(DataOperation.VERIFY);
+        return data;
+    }
+    
+    private static int bucketOf(String clientId) {
+        int hash = clientId.hashCode();
+        return (hash ^ (hash >>> Short.SIZE)) & (VERIFY_BUCKET_COUNT - 1);
+    }
+    
+    /**
+     * 64-bit FNV-1a hash of client id and revision, the hash code of string is too short to be xor-ed as digest.
+     */
+    private static long hashOf(String clientId, long revision) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < clientId.length(); i++) {
+            hash ^= clientId.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (revision >>> (i * Byte.SIZE)) & BYTE_MASK;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+    
+    private class VerifiedClientsCleaner extends MemberChangeListener {
+        
+        @Override
+        public void onEvent(MembersChangeEvent event) {
+            removeVerifiedClientsOfLeftMembers(event.getMembers());
+        }
+    }
 }
@@ -34,11 +34,14 @@ import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.distributed.distro.exception.DistroException;
 import com.alibaba.nacos.naming.cluster.remote.request.DistroDataRequest;
 import com.alibaba.nacos.naming.cluster.remote.response.DistroDataResponse;
+import com.alibaba.nacos.naming.cluster.transport.Serializer;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.monitor.NamingTpsMonitor;
+import com.alibaba.nacos.sys.utils.ApplicationUtils;
 
+import java.util.Arrays;
 import java.util.concurrent.Executor;
 
 /**
@@ -52,10 +55,13 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
     
     private final ServerMemberManager memberManager;
     
+    private final DistroClientDataProcessor dataProcessor;
+    
     public DistroClientTransportAgent(ClusterRpcClientProxy clusterRpcClientProxy,
-            ServerMemberManager serverMemberManager) {
+            ServerMemberManager serverMemberManager, DistroClientDataProcessor dataProcessor) {
         this.clusterRpcClientProxy = clusterRpcClientProxy;
         this.memberManager = serverMemberManager;
+        this.dataProcessor = dataProcessor;
     }
     
     @Override
@@ -147,8 +153,10 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
             return;
         }
         try {
-            DistroVerifyCallbackWrapper wrapper = new DistroVerifyCallbackWrapper(targetServer,
-                    verifyData.getDistroKey().getResourceKey(), callback, member);
+            RequestCallBack<Response> wrapper = DistroClientDataProcessor.isVerifyDigest(verifyData.getDistroKey())
+                    ? new DistroVerifyDigestCallbackWrapper(targetServer, verifyData.getDistroKey(), callback, member)
+                    : new DistroVerifyCallbackWrapper(targetServer, verifyData.getDistroKey().getResourceKey(),
+                            callback, member);
             clusterRpcClientProxy.asyncRequest(member, request, wrapper);
         } catch (NacosException nacosException) {
             callback.onFailed(nacosException);
@@ -302,4 +310,90 @@ public class DistroClientTransportAgent implements DistroTransportAgent {
             distroCallback.onFailed(e);
         }
     }
+    
+    /**
+     * Callback of verify digest and clients of mismatched buckets.
+     *
+     * <p>For digest, clients of mismatched buckets are sent to verify next. If target server doesn't support digest,
+     * verify data of each client is sent instead. For clients of mismatched buckets, failed clients are synced.
+     */
+    private class DistroVerifyDigestCallbackWrapper implements RequestCallBack<Response> {
+        
+        private final String targetServer;
+        
+        private final DistroKey distroKey;
+        
+        private final DistroCallback distroCallback;
+        
+        private final Member member;
+        
+        private DistroVerifyDigestCallbackWrapper(String targetServer, DistroKey distroKey,
+                DistroCallback distroCallback, Member member) {
+            this.targetServer = targetServer;
+            this.distroKey = distroKey;
+            this.distroCallback = distroCallback;
+            this.member = member;
+        }
+        
+        @Override
+        public Executor getExecutor() {
+            return GlobalExecutor.getCallbackExecutor();
+        }
+        
+        @Override
+        public long getTimeout() {
+            return DistroConfig.getInstance().getVerifyTimeoutMillis();
+        }
+        
+        @Override
+        public void onResponse(Response response) {
+            if (!checkResponse(response) || null == ((DistroDataResponse) response).getDistroData()) {
+                onUnsupported();
+                return;
+            }
+            byte[] content = ((DistroDataResponse) response).getDistroData().getContent();
+            Serializer serializer = ApplicationUtils.getBean(Serializer.class);
+            if (DistroClientDataProcessor.VERIFY_DIGEST_KEY.equals(distroKey.getResourceKey())) {
+                Integer[] mismatchedBuckets = serializer.deserialize(content, Integer[].class);
+                if (0 == mismatchedBuckets.length) {
+                    NamingTpsMonitor.distroVerifySuccess(member.getAddress(), member.getIp());
+                    distroCallback.onSuccess();
+                    return;
+                }
+                syncVerifyData(dataProcessor.getVerifyData(Arrays.asList(mismatchedBuckets)), targetServer,
+                        distroCallback);
+                return;
+            }
+            String[] failedClients = serializer.deserialize(content, String[].class);
+            for (String each : failedClients) {
+                Loggers.DISTRO.info("Target {} verify client {} failed, sync new client", targetServer, each);
+                NotifyCenter.publishEvent(new ClientEvent.ClientVerifyFailedEvent(each, targetServer));
+            }
+            if (0 == failedClients.length) {
+                NamingTpsMonitor.distroVerifySuccess(member.getAddress(), member.getIp());
+                distroCallback.onSuccess();
+            } else {
+                NamingTpsMonitor.distroVerifyFail(member.getAddress(), member.getIp());
+                distroCallback.onFailed(null);
+            }
+        }
+        
+        private void onUnsupported() {
+            if (!DistroClientDataProcessor.VERIFY_DIGEST_KEY.equals(distroKey.getResourceKey())) {
+                NamingTpsMonitor.distroVerifyFail(member.getAddress(), member.getIp());
+                distroCallback.onFailed(null);
+                return;
+            }
+            // target server of old version can't process digest, verify each client instead.
+            Loggers.DISTRO.info("Target {} verify digest failed, verify each client instead", targetServer);
+            for (DistroData each : dataProcessor.getClientVerifyData()) {
+                syncVerifyData(each, targetServer, distroCallback);
+            }
+        }
+        
+        @Override
+        public void onException(Throwable e) {
+            distroCallback.onFailed(e);
+        }
+    }
 }
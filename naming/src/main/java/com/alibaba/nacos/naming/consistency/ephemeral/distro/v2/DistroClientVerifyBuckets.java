@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verify information of all clients in the buckets whose digest mismatched, keyed by bucket.
+ *
+ * @author Nacos
+ */
+public class DistroClientVerifyBuckets implements Serializable {
+    
+    private static final long serialVersionUID = 6716413595186218315L;
+    
+    private String sourceServer;
+    
+    private Map<Integer, List<DistroClientVerifyInfo>> buckets;
+    
+    public DistroClientVerifyBuckets() {
+    }
+    
+    public DistroClientVerifyBuckets(String sourceServer, Map<Integer, List<DistroClientVerifyInfo>> buckets) {
+        this.sourceServer = sourceServer;
+        this.buckets = buckets;
+    }
+    
+    public String getSourceServer() {
+        return sourceServer;
+    }
+    
+    public void setSourceServer(String sourceServer) {
+        this.sourceServer = sourceServer;
+    }
+    
+    public Map<Integer, List<DistroClientVerifyInfo>> getBuckets() {
+        return buckets;
+    }
+    
+    public void setBuckets(Map<Integer, List<DistroClientVerifyInfo>> buckets) {
+        this.buckets = buckets;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
+
+import java.io.Serializable;
+
+/**
+ * Digest of clients responsible by source server, clients are hashed into buckets by client id.
+ *
+ * <p>Each bucket digest is the xor of hashes of client id and revision of clients in the bucket, so the digest of the
+ * same clients is the same whatever the order of clients.
+ *
+ * @author Nacos
+ */
+public class DistroClientVerifyDigest implements Serializable {
+    
+    private static final long serialVersionUID = -3265780926519637025L;
+    
+    private String sourceServer;
+    
+    private long[] digests;
+    
+    public DistroClientVerifyDigest() {
+    }
+    
+    public DistroClientVerifyDigest(String sourceServer, long[] digests) {
+        this.sourceServer = sourceServer;
+        this.digests = digests;
+    }
+    
+    public String getSourceServer() {
+        return sourceServer;
+    }
+    
+    public void setSourceServer(String sourceServer) {
+        this.sourceServer = sourceServer;
+    }
+    
+    public long[] getDigests() {
+        return digests;
+    }
+    
+    public void setDigests(long[] digests) {
+        this.digests = digests;
+    }
+}
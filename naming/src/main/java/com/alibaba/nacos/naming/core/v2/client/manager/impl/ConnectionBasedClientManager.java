@@ -31,6 +31,7 @@ import com.alibaba.nacos.naming.core.v2.client.impl.ConnectionBasedClient;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.misc.ClientConfig;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.misc.Loggers;
 import org.springframework.stereotype.Component;
@@ -50,12 +51,6 @@ public class ConnectionBasedClientManager extends ClientConnectionEventListener
     
     private final ConcurrentMap<String, ConnectionBasedClient> clients = new ConcurrentHashMap<>();
     
-    public ConnectionBasedClientManager() {
-        GlobalExecutor
-                .scheduleExpiredClientCleaner(new ExpiredClientCleaner(this), 0, Constants.DEFAULT_HEART_BEAT_INTERVAL,
-                        TimeUnit.MILLISECONDS);
-    }
-    
     @Override
     public void clientConnected(Connection connect) {
         if (!RemoteConstants.LABEL_MODULE_NAMING.equals(connect.getMetaInfo().getLabel(RemoteConstants.LABEL_MODULE))) {
@@ -78,7 +73,12 @@ public class ConnectionBasedClientManager extends ClientConnectionEventListener
     public boolean clientConnected(final Client client) {
         clients.computeIfAbsent(client.getClientId(), s -> {
             Loggers.SRV_LOG.info("Client connection {} connect", client.getClientId());
-            return (ConnectionBasedClient) client;
+            ConnectionBasedClient connectionBasedClient = (ConnectionBasedClient) client;
+            // native clients are removed by connection events, only synced clients expire.
+            if (!connectionBasedClient.isNative()) {
+                new ExpiredClientCleaner(this, connectionBasedClient).schedule(System.currentTimeMillis());
+            }
+            return connectionBasedClient;
         });
         return true;
     }
@@ -145,23 +145,52 @@ public class ConnectionBasedClientManager extends ClientConnectionEventListener
         return false;
     }
     
+    /**
+     * Expiry check of one synced client, timed by the naming timing wheel.
+     *
+     * <p>The timeout is armed at the time the client expires if not renewed. Renewing only refreshes the last renew
+     * time of client, when the timeout fires earlier than the refreshed deadline, it is re-armed lazily.
+     */
     private static class ExpiredClientCleaner implements Runnable {
         
         private final ConnectionBasedClientManager clientManager;
         
-        public ExpiredClientCleaner(ConnectionBasedClientManager clientManager) {
+        private final ConnectionBasedClient client;
+        
+        public ExpiredClientCleaner(ConnectionBasedClientManager clientManager, ConnectionBasedClient client) {
             this.clientManager = clientManager;
+            this.client = client;
+        }
+        
+        private void schedule(long currentTime) {
+            long delay = client.getLastRenewTime() + ClientConfig.getInstance().getClientExpiredTime() - currentTime;
+            if (delay <= 0) {
+                delay = Constants.DEFAULT_HEART_BEAT_INTERVAL;
+            }
+            GlobalExecutor.newNamingTimeout(this, delay, TimeUnit.MILLISECONDS);
+        }
+        
+        private boolean isRemoved() {
+            return client != clientManager.getClient(client.getClientId());
         }
         
         @Override
         public void run() {
+            if (isRemoved()) {
+                return;
+            }
             long currentTime = System.currentTimeMillis();
-            for (String each : clientManager.allClientId()) {
-                ConnectionBasedClient client = (ConnectionBasedClient) clientManager.getClient(each);
-                if (null != client && client.isExpire(currentTime)) {
-                    clientManager.clientDisconnected(each);
-                }
+            if (!client.isExpire(currentTime)) {
+                schedule(currentTime);
+                return;
             }
+            GlobalExecutor.executeExpiredClientCleaner(() -> {
+                if (!isRemoved() && client.isExpire(System.currentTimeMillis())) {
+                    clientManager.clientDisconnected(client.getClientId());
+                } else if (!isRemoved()) {
+                    schedule(System.currentTimeMillis());
+                }
+            });
         }
     }
 }
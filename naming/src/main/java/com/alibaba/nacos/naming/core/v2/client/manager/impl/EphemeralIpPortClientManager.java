@@ -58,10 +58,11 @@ public class EphemeralIpPortClientManager implements ClientManager {
     
     private final ClientFactory<IpPortBasedClient> clientFactory;
     
+    private final SwitchDomain switchDomain;
+    
     public EphemeralIpPortClientManager(DistroMapper distroMapper, SwitchDomain switchDomain) {
         this.distroMapper = distroMapper;
-        GlobalExecutor.scheduleExpiredClientCleaner(new ExpiredClientCleaner(this, switchDomain), 0,
-                Constants.DEFAULT_HEART_BEAT_INTERVAL, TimeUnit.MILLISECONDS);
+        this.switchDomain = switchDomain;
         clientFactory = ClientFactoryHolder.getInstance().findClientFactory(ClientConstants.EPHEMERAL_IP_PORT);
     }
     
@@ -76,6 +77,7 @@ public class EphemeralIpPortClientManager implements ClientManager {
             Loggers.SRV_LOG.info("Client connection {} connect", client.getClientId());
             IpPortBasedClient ipPortBasedClient = (IpPortBasedClient) client;
             ipPortBasedClient.init();
+            new ExpiredClientCleaner(this, switchDomain, ipPortBasedClient).schedule(System.currentTimeMillis());
             return ipPortBasedClient;
         });
         return true;
@@ -141,40 +143,81 @@ public class EphemeralIpPortClientManager implements ClientManager {
         return false;
     }
     
+    /**
+     * Expiry check of one client, timed by the naming timing wheel.
+     *
+     * <p>The timeout is armed at the earliest time the client may expire. Beats only refresh the last updated time of
+     * client, when the timeout fires earlier than the refreshed deadline, it is re-armed lazily without any check.
+     */
     private static class ExpiredClientCleaner implements Runnable {
         
         private final EphemeralIpPortClientManager clientManager;
         
         private final SwitchDomain switchDomain;
         
-        public ExpiredClientCleaner(EphemeralIpPortClientManager clientManager, SwitchDomain switchDomain) {
+        private final IpPortBasedClient client;
+        
+        public ExpiredClientCleaner(EphemeralIpPortClientManager clientManager, SwitchDomain switchDomain,
+                IpPortBasedClient client) {
             this.clientManager = clientManager;
             this.switchDomain = switchDomain;
+            this.client = client;
+        }
+        
+        private void schedule(long currentTime) {
+            long delay = getEarliestExpireTime() - currentTime;
+            if (delay <= 0) {
+                delay = Constants.DEFAULT_HEART_BEAT_INTERVAL;
+            }
+            GlobalExecutor.newNamingTimeout(this, delay, TimeUnit.MILLISECONDS);
+        }
+        
+        private long getEarliestExpireTime() {
+            return client.getLastUpdatedTime() + Math.min(Constants.DEFAULT_IP_DELETE_TIMEOUT,
+                    ClientConfig.getInstance().getClientExpiredTime());
+        }
+        
+        private boolean isRemoved() {
+            return client != clientManager.getClient(client.getClientId());
         }
         
         @Override
         public void run() {
+            if (isRemoved()) {
+                return;
+            }
+            long currentTime = System.currentTimeMillis();
+            if (getEarliestExpireTime() > currentTime) {
+                schedule(currentTime);
+                return;
+            }
+            GlobalExecutor.executeExpiredClientCleaner(this::checkExpire);
+        }
+        
+        private void checkExpire() {
+            if (isRemoved()) {
+                return;
+            }
             long currentTime = System.currentTimeMillis();
-            for (String each : clientManager.allClientId()) {
-                IpPortBasedClient client = (IpPortBasedClient) clientManager.getClient(each);
-                if (null != client && isExpireClient(currentTime, client)) {
-                    clientManager.clientDisconnected(each);
-                }
+            if (isExpireClient(currentTime)) {
+                clientManager.clientDisconnected(client.getClientId());
+            } else {
+                schedule(currentTime);
             }
         }
         
-        private boolean isExpireClient(long currentTime, IpPortBasedClient client) {
+        private boolean isExpireClient(long currentTime) {
             long noUpdatedTime = currentTime - client.getLastUpdatedTime();
             return client.isEphemeral() && (
-                    isExpirePublishedClient(noUpdatedTime, client) && isExpireSubscriberClient(noUpdatedTime, client)
+                    isExpirePublishedClient(noUpdatedTime) && isExpireSubscriberClient(noUpdatedTime)
                             || noUpdatedTime > ClientConfig.getInstance().getClientExpiredTime());
         }
         
-        private boolean isExpirePublishedClient(long noUpdatedTime, IpPortBasedClient client) {
+        private boolean isExpirePublishedClient(long noUpdatedTime) {
             return client.getAllPublishedService().isEmpty() && noUpdatedTime > Constants.DEFAULT_IP_DELETE_TIMEOUT;
         }
         
-        private boolean isExpireSubscriberClient(long noUpdatedTime, IpPortBasedClient client) {
+        private boolean isExpireSubscriberClient(long noUpdatedTime) {
             return client.getAllSubscribeService().isEmpty() || noUpdatedTime > switchDomain.getDefaultPushCacheMillis();
         }
     }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.index;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of the service info of a service.
+ *
+ * <p>The service info and its hosts are shared by all readers of the snapshot and must not be modified, a reader
+ * which needs to change an instance copies it first. The revision only grows when the instances of the service changed.
+ *
+ * @author Nacos
+ */
+public class ServiceInfoSnapshot {
+    
+    private final long revision;
+    
+    private final ServiceInfo serviceInfo;
+    
+    private final List<Instance> hosts;
+    
+    private final Map<String, ClientInstances> clientInstances;
+    
+    public ServiceInfoSnapshot(long revision, ServiceInfo serviceInfo) {
+        this(revision, serviceInfo, serviceInfo.getHosts(), Collections.emptyMap());
+    }
+    
+    ServiceInfoSnapshot(long revision, ServiceInfo serviceInfo, List<Instance> hosts,
+            Map<String, ClientInstances> clientInstances) {
+        this.revision = revision;
+        this.serviceInfo = serviceInfo;
+        this.hosts = hosts;
+        this.clientInstances = clientInstances;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public ServiceInfo getServiceInfo() {
+        return serviceInfo;
+    }
+    
+    /**
+     * Hosts of the service info without copy, {@link ServiceInfo#getHosts()} returns a copy.
+     */
+    List<Instance> getHosts() {
+        return hosts;
+    }
+    
+    Map<String, ClientInstances> getClientInstances() {
+        return clientInstances;
+    }
+    
+    /**
+     * Instances parsed from the instance publish info of one client, reused until the publish info, the health status
+     * or the instance metadata of any instance changes.
+     */
+    static class ClientInstances {
+        
+        private final InstancePublishInfo publishInfo;
+        
+        private final boolean[] healthy;
+        
+        private final InstanceMetadata[] metadata;
+        
+        private final List<Instance> instances;
+        
+        private final int[] hashes;
+        
+        ClientInstances(InstancePublishInfo publishInfo, boolean[] healthy, InstanceMetadata[] metadata,
+                List<Instance> instances) {
+            this.publishInfo = publishInfo;
+            this.healthy = healthy;
+            this.metadata = metadata;
+            this.instances = instances;
+            this.hashes = new int[instances.size()];
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = instances.get(i).hashCode();
+            }
+        }
+        
+        InstancePublishInfo getPublishInfo() {
+            return publishInfo;
+        }
+        
+        boolean isHealthy(int index) {
+            return healthy[index];
+        }
+        
+        InstanceMetadata getMetadata(int index) {
+            return metadata[index];
+        }
+        
+        List<Instance> getInstances() {
+            return instances;
+        }
+        
+        /**
+         * {@link Instance#hashCode()} is computed from {@link Instance#toString()}, so it is computed once per parse.
+         */
+        int getHash(int index) {
+            return hashes[index];
+        }
+    }
+}
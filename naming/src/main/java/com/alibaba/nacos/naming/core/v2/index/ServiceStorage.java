@@ -32,9 +32,11 @@ import com.alibaba.nacos.naming.utils.InstanceUtil;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -43,6 +45,9 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * Service storage.
  *
+ * <p>The service info of a service is kept as a {@link ServiceInfoSnapshot}. Rebuilding a snapshot only parses the
+ * instances of clients whose published instances changed since the previous snapshot, the others are reused.
+ *
  * @author xiweng.yy
  */
 @Component
@@ -56,7 +61,7 @@ public class ServiceStorage {
     
     private final NamingMetadataManager metadataManager;
     
-    private final ConcurrentMap<Service, ServiceInfo> serviceDataIndexes;
+    private final ConcurrentMap<Service, ServiceInfoSnapshot> serviceDataIndexes;
     
     private final ConcurrentMap<Service, Set<String>> serviceClusterIndex;
     
@@ -75,18 +80,28 @@ public class ServiceStorage {
     }
     
     public ServiceInfo getData(Service service) {
-        return serviceDataIndexes.containsKey(service) ? serviceDataIndexes.get(service) : getPushData(service);
+        ServiceInfoSnapshot snapshot = serviceDataIndexes.get(service);
+        return null != snapshot ? snapshot.getServiceInfo() : getPushData(service);
     }
     
     public ServiceInfo getPushData(Service service) {
-        ServiceInfo result = emptyServiceInfo(service);
+        return getPushSnapshot(service).getServiceInfo();
+    }
+    
+    /**
+     * Build the latest snapshot of service for push.
+     *
+     * <p>Snapshots of one service are built one by one, so an older build never replaces a newer one.
+     *
+     * @param service service
+     * @return latest snapshot of service
+     */
+    public ServiceInfoSnapshot getPushSnapshot(Service service) {
         if (!ServiceManager.getInstance().containSingleton(service)) {
-            return result;
+            return new ServiceInfoSnapshot(0L, emptyServiceInfo(service));
         }
         Service singleton = ServiceManager.getInstance().getSingleton(service);
-        result.setHosts(getAllInstancesFromIndex(singleton));
-        serviceDataIndexes.put(singleton, result);
-        return result;
+        return serviceDataIndexes.compute(singleton, this::buildSnapshot);
     }
     
     public void removeData(Service service) {
@@ -103,45 +118,105 @@ public class ServiceStorage {
         return result;
     }
     
-    private List<Instance> getAllInstancesFromIndex(Service service) {
-        Set<Instance> result = new HashSet<>();
-        Set<String> clusters = new HashSet<>();
+    /**
+     * Build a new snapshot with fresh last refresh time, the hosts of previous snapshot are reused if no instance
+     * changed.
+     */
+    private ServiceInfoSnapshot buildSnapshot(Service service, ServiceInfoSnapshot previous) {
+        Map<String, ServiceInfoSnapshot.ClientInstances> previousInstances =
+                null == previous ? Collections.emptyMap() : previous.getClientInstances();
+        Map<String, ServiceInfoSnapshot.ClientInstances> currentInstances = new HashMap<>(
+                Math.max(16, previousInstances.size() * 4 / 3 + 1));
+        boolean changed = null == previous;
         for (String each : serviceIndexesManager.getAllClientsRegisteredService(service)) {
             Optional<InstancePublishInfo> instancePublishInfo = getInstanceInfo(each, service);
-            if (instancePublishInfo.isPresent()) {
-                InstancePublishInfo publishInfo = instancePublishInfo.get();
-                //If it is a BatchInstancePublishInfo type, it will be processed manually and added to the instance list
-                if (publishInfo instanceof BatchInstancePublishInfo) {
-                    BatchInstancePublishInfo batchInstancePublishInfo = (BatchInstancePublishInfo) publishInfo;
-                    List<Instance> batchInstance = parseBatchInstance(service, batchInstancePublishInfo, clusters);
-                    result.addAll(batchInstance);
-                } else {
-                    Instance instance = parseInstance(service, instancePublishInfo.get());
-                    result.add(instance);
-                    clusters.add(instance.getClusterName());
+            if (!instancePublishInfo.isPresent()) {
+                continue;
+            }
+            ServiceInfoSnapshot.ClientInstances cached = previousInstances.get(each);
+            if (null != cached && isUpToDate(service, cached, instancePublishInfo.get())) {
+                currentInstances.put(each, cached);
+            } else {
+                currentInstances.put(each, parseClientInstances(service, instancePublishInfo.get()));
+                changed = true;
+            }
+        }
+        // every current client is reused from previous snapshot, so equal size means the same clients.
+        changed |= currentInstances.size() != previousInstances.size();
+        ServiceInfo result = emptyServiceInfo(service);
+        if (changed) {
+            List<Instance> hosts = getAllInstances(service, currentInstances);
+            result.setHosts(hosts);
+            return new ServiceInfoSnapshot(null == previous ? 1L : previous.getRevision() + 1, result, hosts,
+                    currentInstances);
+        }
+        result.setHosts(previous.getHosts());
+        return new ServiceInfoSnapshot(previous.getRevision(), result, previous.getHosts(), currentInstances);
+    }
+    
+    private List<Instance> getAllInstances(Service service,
+            Map<String, ServiceInfoSnapshot.ClientInstances> clientInstances) {
+        Map<Integer, List<Instance>> hashIndex = new HashMap<>(clientInstances.size() * 4 / 3 + 1);
+        List<Instance> result = new ArrayList<>(clientInstances.size());
+        Set<String> clusters = new HashSet<>();
+        for (ServiceInfoSnapshot.ClientInstances each : clientInstances.values()) {
+            List<Instance> instances = each.getInstances();
+            for (int i = 0; i < instances.size(); i++) {
+                Instance instance = instances.get(i);
+                // instances published by different clients may be the same, keep one of them.
+                List<Instance> sameHash = hashIndex.computeIfAbsent(each.getHash(i), key -> new ArrayList<>(1));
+                if (sameHash.contains(instance)) {
+                    continue;
                 }
+                sameHash.add(instance);
+                result.add(instance);
+                clusters.add(instance.getClusterName());
             }
         }
         // cache clusters of this service
         serviceClusterIndex.put(service, clusters);
-        return new LinkedList<>(result);
+        return result;
     }
     
-    /**
-     * Parse batch instance.
-     * @param service service
-     * @param batchInstancePublishInfo batchInstancePublishInfo
-     * @return batch instance list
-     */
-    private List<Instance> parseBatchInstance(Service service, BatchInstancePublishInfo batchInstancePublishInfo, Set<String> clusters) {
-        List<Instance> resultInstanceList = new ArrayList<>();
-        List<InstancePublishInfo> instancePublishInfos = batchInstancePublishInfo.getInstancePublishInfos();
-        for (InstancePublishInfo instancePublishInfo : instancePublishInfos) {
-            Instance instance = parseInstance(service, instancePublishInfo);
-            resultInstanceList.add(instance);
-            clusters.add(instance.getClusterName());
+    private boolean isUpToDate(Service service, ServiceInfoSnapshot.ClientInstances cached,
+            InstancePublishInfo instancePublishInfo) {
+        if (cached.getPublishInfo() != instancePublishInfo) {
+            return false;
         }
-        return resultInstanceList;
+        List<InstancePublishInfo> publishInfos = flatPublishInfo(instancePublishInfo);
+        if (publishInfos.size() != cached.getInstances().size()) {
+            return false;
+        }
+        for (int i = 0; i < publishInfos.size(); i++) {
+            InstancePublishInfo each = publishInfos.get(i);
+            if (cached.isHealthy(i) != each.isHealthy() || cached.getMetadata(i) != getInstanceMetadata(service, each)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private ServiceInfoSnapshot.ClientInstances parseClientInstances(Service service,
+            InstancePublishInfo instancePublishInfo) {
+        //If it is a BatchInstancePublishInfo type, every instance of it will be parsed
+        List<InstancePublishInfo> publishInfos = flatPublishInfo(instancePublishInfo);
+        boolean[] healthy = new boolean[publishInfos.size()];
+        InstanceMetadata[] metadata = new InstanceMetadata[publishInfos.size()];
+        List<Instance> instances = new ArrayList<>(publishInfos.size());
+        for (int i = 0; i < publishInfos.size(); i++) {
+            InstancePublishInfo each = publishInfos.get(i);
+            healthy[i] = each.isHealthy();
+            metadata[i] = getInstanceMetadata(service, each);
+            instances.add(parseInstance(service, each, metadata[i]));
+        }
+        return new ServiceInfoSnapshot.ClientInstances(instancePublishInfo, healthy, metadata, instances);
+    }
+    
+    private List<InstancePublishInfo> flatPublishInfo(InstancePublishInfo instancePublishInfo) {
+        if (instancePublishInfo instanceof BatchInstancePublishInfo) {
+            return ((BatchInstancePublishInfo) instancePublishInfo).getInstancePublishInfos();
+        }
+        return Collections.singletonList(instancePublishInfo);
     }
     
     private Optional<InstancePublishInfo> getInstanceInfo(String clientId, Service service) {
@@ -152,11 +227,15 @@ public class ServiceStorage {
         return Optional.ofNullable(client.getInstancePublishInfo(service));
     }
     
-    private Instance parseInstance(Service service, InstancePublishInfo instanceInfo) {
+    private InstanceMetadata getInstanceMetadata(Service service, InstancePublishInfo instanceInfo) {
+        return metadataManager.getInstanceMetadata(service, instanceInfo.getMetadataId()).orElse(null);
+    }
+    
+    private Instance parseInstance(Service service, InstancePublishInfo instanceInfo, InstanceMetadata metadata) {
         Instance result = InstanceUtil.parseToApiInstance(service, instanceInfo);
-        Optional<InstanceMetadata> metadata = metadataManager
-                .getInstanceMetadata(service, instanceInfo.getMetadataId());
-        metadata.ifPresent(instanceMetadata -> InstanceUtil.updateInstanceMetadata(result, instanceMetadata));
+        if (null != metadata) {
+            InstanceUtil.updateInstanceMetadata(result, metadata);
+        }
         return result;
     }
 }
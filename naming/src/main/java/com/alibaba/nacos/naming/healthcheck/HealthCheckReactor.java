@@ -16,11 +16,11 @@
 
 package com.alibaba.nacos.naming.healthcheck;
 
+import com.alibaba.nacos.common.executor.HashedTimingWheel;
 import com.alibaba.nacos.naming.healthcheck.heartbeat.BeatCheckTask;
 import com.alibaba.nacos.naming.healthcheck.interceptor.HealthCheckTaskInterceptWrapper;
 import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
-import com.alibaba.nacos.naming.misc.Loggers;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,7 +35,9 @@ import java.util.concurrent.TimeUnit;
 @SuppressWarnings("PMD.ThreadPoolCreationRule")
 public class HealthCheckReactor {
     
-    private static Map<String, ScheduledFuture> futureMap = new ConcurrentHashMap<>();
+    private static final long BEAT_CHECK_INTERVAL = 5000L;
+    
+    private static Map<String, BeatCheckTimer> futureMap = new ConcurrentHashMap<>();
     
     /**
      * Schedule health check task for v2.
@@ -51,14 +53,15 @@ public class HealthCheckReactor {
     /**
      * Schedule client beat check task with a delay.
      *
+     * <p>The beat check tasks of all clients are timed by the naming timing wheel and run in naming health executor.
+     *
      * @param task client beat check task
      */
     public static void scheduleCheck(BeatCheckTask task) {
         Runnable wrapperTask =
                 task instanceof NacosHealthCheckTask ? new HealthCheckTaskInterceptWrapper((NacosHealthCheckTask) task)
                         : task;
-        futureMap.computeIfAbsent(task.taskKey(),
-                k -> GlobalExecutor.scheduleNamingHealth(wrapperTask, 5000, 5000, TimeUnit.MILLISECONDS));
+        futureMap.computeIfAbsent(task.taskKey(), k -> new BeatCheckTimer(wrapperTask).schedule());
     }
     
     /**
@@ -67,16 +70,11 @@ public class HealthCheckReactor {
      * @param task client beat check task
      */
     public static void cancelCheck(BeatCheckTask task) {
-        ScheduledFuture scheduledFuture = futureMap.get(task.taskKey());
-        if (scheduledFuture == null) {
+        BeatCheckTimer timer = futureMap.remove(task.taskKey());
+        if (timer == null) {
             return;
         }
-        try {
-            scheduledFuture.cancel(true);
-            futureMap.remove(task.taskKey());
-        } catch (Exception e) {
-            Loggers.EVT_LOG.error("[CANCEL-CHECK] cancel failed!", e);
-        }
+        timer.cancel();
     }
     
     /**
@@ -88,4 +86,49 @@ public class HealthCheckReactor {
     public static ScheduledFuture<?> scheduleNow(Runnable task) {
         return GlobalExecutor.scheduleNamingHealth(task, 0, TimeUnit.MILLISECONDS);
     }
+    
+    /**
+     * Fixed delay timer of a beat check task, it re-arms itself in the timing wheel after each run until cancelled.
+     */
+    private static class BeatCheckTimer implements Runnable {
+        
+        private final Runnable task;
+        
+        private volatile HashedTimingWheel.Timeout timeout;
+        
+        private volatile boolean cancelled;
+        
+        private BeatCheckTimer(Runnable task) {
+            this.task = task;
+        }
+        
+        private BeatCheckTimer schedule() {
+            timeout = GlobalExecutor.newNamingTimeout(this, BEAT_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+            return this;
+        }
+        
+        private void cancel() {
+            cancelled = true;
+            HashedTimingWheel.Timeout current = timeout;
+            if (null != current) {
+                current.cancel();
+            }
+        }
+        
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            GlobalExecutor.executeNamingHealth(() -> {
+                try {
+                    task.run();
+                } finally {
+                    if (!cancelled) {
+                        schedule();
+                    }
+                }
+            });
+        }
+    }
 }
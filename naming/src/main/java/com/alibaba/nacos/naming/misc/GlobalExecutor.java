@@ -17,6 +17,7 @@
 package com.alibaba.nacos.naming.misc;
 
 import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.HashedTimingWheel;
 import com.alibaba.nacos.common.executor.NameThreadFactory;
 import com.alibaba.nacos.core.utils.ClassUtils;
 import com.alibaba.nacos.naming.NamingApp;
@@ -41,6 +42,10 @@ public class GlobalExecutor {
     
     private static final long SERVER_STATUS_UPDATE_PERIOD = TimeUnit.SECONDS.toMillis(5);
     
+    private static final long NAMING_TIMING_WHEEL_TICK_MILLIS = 100L;
+    
+    private static final int NAMING_TIMING_WHEEL_TICKS = 512;
+    
     public static final int DEFAULT_THREAD_COUNT = EnvUtil.getAvailableProcessors(0.5);
     
     private static final ScheduledExecutorService NAMING_TIMER_EXECUTOR = ExecutorFactory.Managed
@@ -87,6 +92,13 @@ public class GlobalExecutor {
             .newScheduledExecutorService(ClassUtils.getCanonicalName(NamingApp.class),
                             1, new NameThreadFactory("com.alibaba.nacos.naming.health-check-pool"));
     
+    private static final ScheduledExecutorService NAMING_TIMING_WHEEL_EXECUTOR = ExecutorFactory.Managed
+            .newSingleScheduledExecutorService(ClassUtils.getCanonicalName(NamingApp.class),
+                    new NameThreadFactory("com.alibaba.nacos.naming.timing-wheel"));
+    
+    private static final HashedTimingWheel NAMING_TIMING_WHEEL = new HashedTimingWheel(NAMING_TIMING_WHEEL_EXECUTOR,
+            NAMING_TIMING_WHEEL_TICK_MILLIS, TimeUnit.MILLISECONDS, NAMING_TIMING_WHEEL_TICKS);
+    
     public static void registerServerStatusUpdater(Runnable runnable) {
         NAMING_TIMER_EXECUTOR.scheduleAtFixedRate(runnable, 0, SERVER_STATUS_UPDATE_PERIOD, TimeUnit.MILLISECONDS);
     }
@@ -121,6 +133,23 @@ public class GlobalExecutor {
         return NAMING_HEALTH_EXECUTOR.scheduleWithFixedDelay(command, initialDelay, delay, unit);
     }
     
+    public static void executeNamingHealth(Runnable command) {
+        NAMING_HEALTH_EXECUTOR.execute(command);
+    }
+    
+    /**
+     * Run the task once after the delay in the naming timing wheel, the task is run in the tick thread and should be
+     * quick.
+     *
+     * @param task  task
+     * @param delay delay
+     * @param unit  unit of delay
+     * @return timeout which can be cancelled
+     */
+    public static HashedTimingWheel.Timeout newNamingTimeout(Runnable task, long delay, TimeUnit unit) {
+        return NAMING_TIMING_WHEEL.newTimeout(task, delay, unit);
+    }
+    
     public static void scheduleRetransmitter(Runnable runnable, long delay, TimeUnit unit) {
         RETRANSMITTER_EXECUTOR.schedule(runnable, delay, unit);
     }
@@ -141,6 +170,10 @@ public class GlobalExecutor {
         EXPIRED_CLIENT_CLEANER_EXECUTOR.scheduleWithFixedDelay(runnable, initialDelay, delay, unit);
     }
     
+    public static void executeExpiredClientCleaner(Runnable runnable) {
+        EXPIRED_CLIENT_CLEANER_EXECUTOR.execute(runnable);
+    }
+    
     public static ExecutorService getCallbackExecutor() {
         return PUSH_CALLBACK_EXECUTOR;
     }
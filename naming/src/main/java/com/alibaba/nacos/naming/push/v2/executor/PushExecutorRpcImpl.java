@@ -18,17 +18,27 @@ package com.alibaba.nacos.naming.push.v2.executor;
 
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.common.remote.SharedRequestBody;
 import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
+import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
 import com.alibaba.nacos.naming.push.v2.task.NamingPushCallback;
+import com.alibaba.nacos.naming.selector.NoneSelector;
 import com.alibaba.nacos.naming.utils.ServiceUtil;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 /**
  * Push execute service for rpc.
  *
+ * <p>Subscribers of the same cluster see the same service info unless the service has a selector, which selects
+ * instances by subscriber ip. The service info of such a group of subscribers is selected and serialized once per push
+ * task, every connection of the group sends the shared body with its own request id.
+ *
  * @author xiweng.yy
  */
 @Component
@@ -40,19 +50,42 @@ public class PushExecutorRpcImpl implements PushExecutor {
         this.pushService = pushService;
     }
     
+    private static final String PUSH_VIEW_KEY_PREFIX = "rpc@@";
+    
     @Override
     public void doPush(String clientId, Subscriber subscriber, PushDataWrapper data) {
         pushService.pushWithoutAck(clientId,
-                NotifySubscriberRequest.buildNotifySubscriberRequest(getServiceInfo(data, subscriber)));
+                NotifySubscriberRequest.buildNotifySubscriberRequest(getPushView(data, subscriber).getServiceInfo()));
     }
     
     @Override
     public void doPushWithCallback(String clientId, Subscriber subscriber, PushDataWrapper data,
             NamingPushCallback callBack) {
-        ServiceInfo actualServiceInfo = getServiceInfo(data, subscriber);
+        PushView pushView = getPushView(data, subscriber);
+        ServiceInfo actualServiceInfo = pushView.getServiceInfo();
         callBack.setActualServiceInfo(actualServiceInfo);
         pushService.pushWithCallback(clientId, NotifySubscriberRequest.buildNotifySubscriberRequest(actualServiceInfo),
-                callBack, GlobalExecutor.getCallbackExecutor());
+                pushView.getBody(), callBack, GlobalExecutor.getCallbackExecutor());
+    }
+    
+    private PushView getPushView(PushDataWrapper data, Subscriber subscriber) {
+        String key = buildPushViewKey(data.getServiceMetadata(), subscriber);
+        Optional<PushView> result = data.getProcessedPushData(key);
+        if (result.isPresent()) {
+            return result.get();
+        }
+        PushView pushView = new PushView(getServiceInfo(data, subscriber));
+        data.addProcessedPushData(key, pushView);
+        return pushView;
+    }
+    
+    private String buildPushViewKey(ServiceMetadata serviceMetadata, Subscriber subscriber) {
+        StringBuilder result = new StringBuilder(PUSH_VIEW_KEY_PREFIX).append(subscriber.getCluster());
+        if (null != serviceMetadata && null != serviceMetadata.getSelector()
+                && !(serviceMetadata.getSelector() instanceof NoneSelector)) {
+            result.append("@@").append(subscriber.getIp());
+        }
+        return result.toString();
     }
     
     private ServiceInfo getServiceInfo(PushDataWrapper data, Subscriber subscriber) {
@@ -60,4 +93,40 @@ public class PushExecutorRpcImpl implements PushExecutor {
                 .selectInstancesWithHealthyProtection(data.getOriginalData(), data.getServiceMetadata(), false, true,
                         subscriber);
     }
+    
+    /**
+     * Service info selected for a group of subscribers and its body serialized on first push with callback.
+     */
+    private static class PushView {
+        
+        private final ServiceInfo serviceInfo;
+        
+        private SharedRequestBody body;
+        
+        private boolean bodyBuilt;
+        
+        private PushView(ServiceInfo serviceInfo) {
+            this.serviceInfo = serviceInfo;
+        }
+        
+        private ServiceInfo getServiceInfo() {
+            return serviceInfo;
+        }
+        
+        /**
+         * Push data is processed by a single push task thread, so the body is built without lock.
+         */
+        private SharedRequestBody getBody() {
+            if (!bodyBuilt) {
+                bodyBuilt = true;
+                try {
+                    body = SharedRequestBody.of(NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo));
+                } catch (Exception e) {
+                    Loggers.PUSH.warn("Build shared push body for {} failed, serialize per push.",
+                            serviceInfo.getKey(), e);
+                }
+            }
+            return body;
+        }
+    }
 }
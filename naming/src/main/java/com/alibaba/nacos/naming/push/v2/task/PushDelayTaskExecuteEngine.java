@@ -18,7 +18,7 @@ package com.alibaba.nacos.naming.push.v2.task;
 
 import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
-import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosShardedDelayTaskExecuteEngine;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
@@ -34,7 +34,7 @@ import com.alibaba.nacos.naming.push.v2.executor.PushExecutor;
  *
  * @author xiweng.yy
  */
-public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
+public class PushDelayTaskExecuteEngine extends NacosShardedDelayTaskExecuteEngine {
     
     private final ClientManager clientManager;
     
@@ -82,11 +82,8 @@ public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
     }
     
     @Override
-    protected void processTasks() {
-        if (!switchDomain.isPushEnabled()) {
-            return;
-        }
-        super.processTasks();
+    protected boolean shouldProcessTasks() {
+        return switchDomain.isPushEnabled();
     }
     
     private static class PushDelayTaskProcessor implements NacosTaskProcessor {
@@ -22,6 +22,7 @@ import com.alibaba.nacos.common.task.AbstractExecuteTask;
 import com.alibaba.nacos.common.trace.event.naming.PushServiceTraceEvent;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
+import com.alibaba.nacos.naming.core.v2.index.ServiceInfoSnapshot;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.Loggers;
@@ -79,9 +80,9 @@ public class PushExecuteTask extends AbstractExecuteTask {
     }
     
     private PushDataWrapper generatePushData() {
-        ServiceInfo serviceInfo = delayTaskEngine.getServiceStorage().getPushData(service);
+        ServiceInfoSnapshot snapshot = delayTaskEngine.getServiceStorage().getPushSnapshot(service);
         ServiceMetadata serviceMetadata = delayTaskEngine.getMetadataManager().getServiceMetadata(service).orElse(null);
-        return new PushDataWrapper(serviceMetadata, serviceInfo);
+        return new PushDataWrapper(serviceMetadata, snapshot.getServiceInfo());
     }
     
     private Collection<String> getTargetClientIds() {
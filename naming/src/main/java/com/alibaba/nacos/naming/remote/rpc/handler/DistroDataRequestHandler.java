@@ -71,6 +71,14 @@ public class DistroDataRequestHandler extends RequestHandler<DistroDataRequest,
     
     private DistroDataResponse handleVerify(DistroData distroData, RequestMeta meta) {
         DistroDataResponse result = new DistroDataResponse();
+        if (null != distroData && DistroClientDataProcessor.isVerifyDigest(distroData.getDistroKey())) {
+            DistroData differences = distroProtocol.onVerifyDigest(distroData, meta.getClientIp());
+            if (null == differences) {
+                result.setErrorInfo(ResponseCode.FAIL.getCode(), "[DISTRO-FAILED] distro digest verify failed");
+            }
+            result.setDistroData(differences);
+            return result;
+        }
         if (!distroProtocol.onVerify(distroData, meta.getClientIp())) {
             result.setErrorInfo(ResponseCode.FAIL.getCode(), "[DISTRO-FAILED] distro data verify failed");
         }
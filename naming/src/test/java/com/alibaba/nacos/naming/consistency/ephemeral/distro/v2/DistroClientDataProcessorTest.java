@@ -18,9 +18,11 @@ package com.alibaba.nacos.naming.consistency.ephemeral.distro.v2;
 
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.consistency.DataOperation;
+import com.alibaba.nacos.core.cluster.Member;
 import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
+import com.alibaba.nacos.naming.cluster.transport.JacksonSerializer;
 import com.alibaba.nacos.naming.cluster.transport.Serializer;
 import com.alibaba.nacos.naming.constants.ClientConstants;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
@@ -45,6 +47,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -52,6 +55,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -59,6 +63,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -95,6 +100,7 @@ public class DistroClientDataProcessorTest {
     public void setUp() throws Exception {
         distroClientDataProcessor = new DistroClientDataProcessor(clientManager, distroProtocol);
         EnvUtil.setIsStandalone(false);
+        EnvUtil.setLocalAddress("1.1.1.1:8848");
         client = new ConnectionBasedClient(CLIENT_ID, true, 0L);
         when(clientManager.getClient(CLIENT_ID)).thenReturn(client);
         when(clientManager.isResponsibleClient(client)).thenReturn(true);
@@ -382,7 +388,75 @@ public class DistroClientDataProcessorTest {
         List<DistroData> list = distroClientDataProcessor.getVerifyData();
         assertEquals(1, list.size());
         assertEquals(DataOperation.VERIFY, list.iterator().next().getType());
-        assertEquals(CLIENT_ID, list.iterator().next().getDistroKey().getResourceKey());
+        assertEquals(DistroClientDataProcessor.VERIFY_DIGEST_KEY, list.iterator().next().getDistroKey().getResourceKey());
         assertEquals(DistroClientDataProcessor.TYPE, list.iterator().next().getDistroKey().getResourceType());
+        assertTrue(DistroClientDataProcessor.isVerifyDigest(list.iterator().next().getDistroKey()));
+        
+        list = distroClientDataProcessor.getClientVerifyData();
+        assertEquals(1, list.size());
+        assertEquals(CLIENT_ID, list.iterator().next().getDistroKey().getResourceKey());
+        assertFalse(DistroClientDataProcessor.isVerifyDigest(list.iterator().next().getDistroKey()));
+    }
+    
+    @Test
+    public void testProcessVerifyDigest() {
+        Serializer jacksonSerializer = new JacksonSerializer();
+        when(applicationContext.getBean(Serializer.class)).thenReturn(jacksonSerializer);
+        when(clientManager.allClientId()).thenReturn(Collections.singletonList(CLIENT_ID));
+        when(clientManager.verifyClient(any())).thenReturn(true);
+        client.setRevision(10L);
+        DistroData digest = distroClientDataProcessor.getVerifyData().get(0);
+        
+        // no client verified before, the bucket of client is mismatched.
+        DistroData differences = distroClientDataProcessor.processVerifyDigest(digest, MOCK_TARGET_SERVER);
+        Integer[] mismatchedBuckets = jacksonSerializer.deserialize(differences.getContent(), Integer[].class);
+        assertEquals(1, mismatchedBuckets.length);
+        verify(clientManager, never()).verifyClient(any());
+        
+        DistroData buckets = distroClientDataProcessor.getVerifyData(Arrays.asList(mismatchedBuckets));
+        differences = distroClientDataProcessor.processVerifyDigest(buckets, MOCK_TARGET_SERVER);
+        assertEquals(0, jacksonSerializer.deserialize(differences.getContent(), String[].class).length);
+        verify(clientManager).verifyClient(any());
+        
+        // the client is renewed by matched digest.
+        differences = distroClientDataProcessor.processVerifyDigest(digest, MOCK_TARGET_SERVER);
+        assertEquals(0, jacksonSerializer.deserialize(differences.getContent(), Integer[].class).length);
+        verify(clientManager, times(2)).verifyClient(any());
+        
+        // revision changed, the bucket is mismatched again.
+        client.setRevision(11L);
+        differences = distroClientDataProcessor.processVerifyDigest(digest, MOCK_TARGET_SERVER);
+        assertEquals(1, jacksonSerializer.deserialize(differences.getContent(), Integer[].class).length);
+    }
+    
+    @Test
+    public void testRemoveVerifiedClientsOfLeftMembers() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+        Serializer jacksonSerializer = new JacksonSerializer();
+        when(applicationContext.getBean(Serializer.class)).thenReturn(jacksonSerializer);
+        when(clientManager.allClientId()).thenReturn(Collections.singletonList(CLIENT_ID));
+        when(clientManager.verifyClient(any())).thenReturn(true);
+        DistroData digest = distroClientDataProcessor.getVerifyData().get(0);
+        DistroData differences = distroClientDataProcessor.processVerifyDigest(digest, MOCK_TARGET_SERVER);
+        Integer[] mismatchedBuckets = jacksonSerializer.deserialize(differences.getContent(), Integer[].class);
+        distroClientDataProcessor.processVerifyDigest(distroClientDataProcessor.getVerifyData(
+                Arrays.asList(mismatchedBuckets)), MOCK_TARGET_SERVER);
+        
+        // the source server is still a member, verified clients are kept.
+        distroClientDataProcessor.removeVerifiedClientsOfLeftMembers(
+                Collections.singletonList(Member.builder().ip("1.1.1.1").port(8848).build()));
+        differences = distroClientDataProcessor.processVerifyDigest(digest, MOCK_TARGET_SERVER);
+        assertEquals(0, jacksonSerializer.deserialize(differences.getContent(), Integer[].class).length);
+        
+        // the source server left, the bucket of client is mismatched.
+        distroClientDataProcessor.removeVerifiedClientsOfLeftMembers(
+                Collections.singletonList(Member.builder().ip("2.2.2.2").port(8848).build()));
+        differences = distroClientDataProcessor.processVerifyDigest(digest, MOCK_TARGET_SERVER);
+        assertEquals(1, jacksonSerializer.deserialize(differences.getContent(), Integer[].class).length);
+    }
+    
+    @Test
+    public void testProcessVerifyDigestWithUnknownKey() {
+        assertNull(distroClientDataProcessor.processVerifyDigest(distroData, MOCK_TARGET_SERVER));
     }
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.RequestCallBack;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.remote.response.ResponseCode;
+import com.alibaba.nacos.consistency.DataOperation;
 import com.alibaba.nacos.core.cluster.Member;
 import com.alibaba.nacos.core.cluster.NodeState;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
@@ -28,7 +29,10 @@ import com.alibaba.nacos.core.distributed.distro.component.DistroCallback;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.distributed.distro.exception.DistroException;
+import com.alibaba.nacos.naming.cluster.remote.request.DistroDataRequest;
 import com.alibaba.nacos.naming.cluster.remote.response.DistroDataResponse;
+import com.alibaba.nacos.naming.cluster.transport.JacksonSerializer;
+import com.alibaba.nacos.naming.cluster.transport.Serializer;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.junit.After;
@@ -41,6 +45,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.mock.env.MockEnvironment;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -48,6 +54,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -66,6 +73,9 @@ public class DistroClientTransportAgentTest {
     @Mock
     DistroCallback distroCallback;
     
+    @Mock
+    DistroClientDataProcessor dataProcessor;
+    
     @InjectMocks
     DistroClientTransportAgent transportAgent;
     
@@ -381,6 +391,61 @@ public class DistroClientTransportAgentTest {
         verify(distroCallback).onSuccess();
     }
     
+    @Test
+    public void testSyncVerifyDigestWithCallbackMismatched() throws NacosException {
+        Serializer serializer = new JacksonSerializer();
+        when(context.getBean(Serializer.class)).thenReturn(serializer);
+        when(memberManager.hasMember(member.getAddress())).thenReturn(true);
+        member.setState(NodeState.UP);
+        when(clusterRpcClientProxy.isRunning(member)).thenReturn(true);
+        DistroData digest = mockVerifyData(DistroClientDataProcessor.VERIFY_DIGEST_KEY);
+        DistroData buckets = mockVerifyData(DistroClientDataProcessor.VERIFY_BUCKETS_KEY);
+        when(dataProcessor.getVerifyData(Collections.singletonList(3))).thenReturn(buckets);
+        doAnswer(invocationOnMock -> {
+            DistroDataRequest request = invocationOnMock.getArgument(1);
+            DistroKey distroKey = request.getDistroData().getDistroKey();
+            Object differences = DistroClientDataProcessor.VERIFY_DIGEST_KEY.equals(distroKey.getResourceKey())
+                    ? Collections.singletonList(3) : Collections.singletonList("clientId");
+            DistroDataResponse response = new DistroDataResponse();
+            response.setDistroData(new DistroData(distroKey, serializer.serialize(differences)));
+            RequestCallBack<Response> callback = invocationOnMock.getArgument(2);
+            callback.onResponse(response);
+            return null;
+        }).when(clusterRpcClientProxy).asyncRequest(eq(member), any(), any());
+        transportAgent.syncVerifyData(digest, member.getAddress(), distroCallback);
+        verify(clusterRpcClientProxy, times(2)).asyncRequest(eq(member), any(), any());
+        verify(distroCallback).onFailed(null);
+    }
+    
+    @Test
+    public void testSyncVerifyDigestWithCallbackUnsupported() throws NacosException {
+        when(memberManager.hasMember(member.getAddress())).thenReturn(true);
+        member.setState(NodeState.UP);
+        when(clusterRpcClientProxy.isRunning(member)).thenReturn(true);
+        DistroData clientVerifyData = mockVerifyData("clientId");
+        when(dataProcessor.getClientVerifyData()).thenReturn(Collections.singletonList(clientVerifyData));
+        doAnswer(invocationOnMock -> {
+            DistroDataRequest request = invocationOnMock.getArgument(1);
+            DistroDataResponse response = new DistroDataResponse();
+            if (clientVerifyData != request.getDistroData()) {
+                response.setErrorInfo(ResponseCode.FAIL.getCode(), "TEST");
+            }
+            RequestCallBack<Response> callback = invocationOnMock.getArgument(2);
+            callback.onResponse(response);
+            return null;
+        }).when(clusterRpcClientProxy).asyncRequest(eq(member), any(), any());
+        transportAgent.syncVerifyData(mockVerifyData(DistroClientDataProcessor.VERIFY_DIGEST_KEY),
+                member.getAddress(), distroCallback);
+        verify(clusterRpcClientProxy, times(2)).asyncRequest(eq(member), any(), any());
+        verify(distroCallback).onSuccess();
+    }
+    
+    private DistroData mockVerifyData(String resourceKey) {
+        DistroData result = new DistroData(new DistroKey(resourceKey, DistroClientDataProcessor.TYPE), new byte[0]);
+        result.setType(DataOperation.VERIFY);
+        return result;
+    }
+    
     @Test(expected = DistroException.class)
     public void testGetDataForMemberNonExist() {
         transportAgent.getData(new DistroKey(), member.getAddress());
@@ -18,7 +18,10 @@ package com.alibaba.nacos.naming.core.v2.index;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
@@ -34,9 +37,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
@@ -81,9 +84,9 @@ public class ServiceStorageTest {
         
         Field serviceDataIndexes = ServiceStorage.class.getDeclaredField("serviceDataIndexes");
         serviceDataIndexes.setAccessible(true);
-        ConcurrentMap<Service, ServiceInfo> infoConcurrentMap = (ConcurrentMap<Service, ServiceInfo>) serviceDataIndexes
+        ConcurrentMap<Service, ServiceInfoSnapshot> infoConcurrentMap = (ConcurrentMap<Service, ServiceInfoSnapshot>) serviceDataIndexes
                 .get(serviceStorage);
-        infoConcurrentMap.put(SERVICE, serviceInfo);
+        infoConcurrentMap.put(SERVICE, new ServiceInfoSnapshot(1L, serviceInfo));
     }
     
     @Test
@@ -122,7 +125,7 @@ public class ServiceStorageTest {
         
         Field serviceDataIndexes = ServiceStorage.class.getDeclaredField("serviceDataIndexes");
         serviceDataIndexes.setAccessible(true);
-        ConcurrentMap<Service, ServiceInfo> infoConcurrentMap = (ConcurrentMap<Service, ServiceInfo>) serviceDataIndexes
+        ConcurrentMap<Service, ServiceInfoSnapshot> infoConcurrentMap = (ConcurrentMap<Service, ServiceInfoSnapshot>) serviceDataIndexes
                 .get(serviceStorage);
         
         Assert.assertEquals(serviceSetConcurrentMap.size(), 0);
@@ -130,15 +133,55 @@ public class ServiceStorageTest {
     }
     
     @Test
-    public void testGetAllInstancesFromIndex()
-            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        Class<ServiceStorage> serviceStorageClass = ServiceStorage.class;
-        Method getAllInstancesFromIndex = serviceStorageClass
-                .getDeclaredMethod("getAllInstancesFromIndex", Service.class);
-        getAllInstancesFromIndex.setAccessible(true);
-        List<Instance> list = (List<Instance>) getAllInstancesFromIndex.invoke(serviceStorage, SERVICE);
-        
-        Assert.assertNotNull(list);
+    public void testGetPushSnapshotReuseUnchangedInstances() {
+        Service service = Service.newService("namespaceId", "groupName", "snapshotService");
+        ServiceManager.getInstance().getSingleton(service);
+        try {
+            InstancePublishInfo publishInfo1 = new InstancePublishInfo("1.1.1.1", 8848);
+            InstancePublishInfo publishInfo2 = new InstancePublishInfo("1.1.1.2", 8848);
+            publishInfo1.setHealthy(true);
+            publishInfo2.setHealthy(true);
+            Client client1 = Mockito.mock(Client.class);
+            Client client2 = Mockito.mock(Client.class);
+            Mockito.when(client1.getInstancePublishInfo(service)).thenReturn(publishInfo1);
+            Mockito.when(client2.getInstancePublishInfo(service)).thenReturn(publishInfo2);
+            Mockito.when(clientManagerDelegate.getClient("client1")).thenReturn(client1);
+            Mockito.when(clientManagerDelegate.getClient("client2")).thenReturn(client2);
+            Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(service))
+                    .thenReturn(Collections.singletonList("client1"));
+            
+            ServiceInfoSnapshot first = serviceStorage.getPushSnapshot(service);
+            Assert.assertEquals(1L, first.getRevision());
+            Assert.assertEquals(1, first.getServiceInfo().getHosts().size());
+            
+            ServiceInfoSnapshot unchanged = serviceStorage.getPushSnapshot(service);
+            Assert.assertEquals(1L, unchanged.getRevision());
+            Assert.assertSame(first.getHosts(), unchanged.getHosts());
+            Assert.assertSame(first.getHosts().get(0), unchanged.getServiceInfo().getHosts().get(0));
+            Assert.assertSame(unchanged.getServiceInfo(), serviceStorage.getData(service));
+            
+            publishInfo1.setHealthy(false);
+            ServiceInfoSnapshot healthChanged = serviceStorage.getPushSnapshot(service);
+            Assert.assertEquals(2L, healthChanged.getRevision());
+            Assert.assertFalse(healthChanged.getServiceInfo().getHosts().get(0).isHealthy());
+            
+            Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(service))
+                    .thenReturn(Arrays.asList("client1", "client2"));
+            ServiceInfoSnapshot clientAdded = serviceStorage.getPushSnapshot(service);
+            Assert.assertEquals(3L, clientAdded.getRevision());
+            Assert.assertEquals(2, clientAdded.getServiceInfo().getHosts().size());
+            Assert.assertSame(healthChanged.getServiceInfo().getHosts().get(0),
+                    clientAdded.getServiceInfo().getHosts().stream().filter(each -> "1.1.1.1".equals(each.getIp()))
+                            .findFirst().orElse(null));
+            
+            Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(service))
+                    .thenReturn(Collections.singletonList("client2"));
+            ServiceInfoSnapshot clientRemoved = serviceStorage.getPushSnapshot(service);
+            Assert.assertEquals(4L, clientRemoved.getRevision());
+            Assert.assertEquals("1.1.1.2", clientRemoved.getServiceInfo().getHosts().get(0).getIp());
+        } finally {
+            ServiceManager.getInstance().removeSingleton(service);
+        }
     }
     
     @Test
@@ -156,11 +199,10 @@ public class ServiceStorageTest {
     public void testParseInstance() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         Class<ServiceStorage> serviceStorageClass = ServiceStorage.class;
         Method parseInstance = serviceStorageClass
-                .getDeclaredMethod("parseInstance", Service.class, InstancePublishInfo.class);
+                .getDeclaredMethod("parseInstance", Service.class, InstancePublishInfo.class, InstanceMetadata.class);
         parseInstance.setAccessible(true);
-        Instance instance = (Instance) parseInstance.invoke(serviceStorage, SERVICE, instancePublishInfo);
+        Instance instance = (Instance) parseInstance.invoke(serviceStorage, SERVICE, instancePublishInfo, null);
         
-        Mockito.verify(namingMetadataManager).getInstanceMetadata(SERVICE, instancePublishInfo.getMetadataId());
         Assert.assertNotNull(instance);
     }
     
@@ -20,6 +20,9 @@ import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.common.remote.PayloadBodyCodec;
+import com.alibaba.nacos.common.remote.SharedRequestBody;
+import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.core.remote.RpcPushService;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
@@ -32,6 +35,7 @@ import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -45,7 +49,9 @@ import java.util.UUID;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -83,8 +89,8 @@ public class PushExecutorRpcImplTest {
         pushExecutor = new PushExecutorRpcImpl(pushService);
         EnvUtil.setEnvironment(new MockEnvironment());
         doAnswer(new CallbackAnswer()).when(pushService)
-                .pushWithCallback(eq(rpcClientId), any(NotifySubscriberRequest.class), eq(pushCallBack),
-                        eq(GlobalExecutor.getCallbackExecutor()));
+                .pushWithCallback(eq(rpcClientId), any(NotifySubscriberRequest.class), any(SharedRequestBody.class),
+                        eq(pushCallBack), eq(GlobalExecutor.getCallbackExecutor()));
         ApplicationUtils.injectContext(context);
         when(context.getBean(SelectorManager.class)).thenReturn(selectorManager);
         when(selectorManager.select(any(), any(), any()))
@@ -103,13 +109,30 @@ public class PushExecutorRpcImplTest {
         verify(pushCallBack).onSuccess();
     }
     
+    @Test
+    public void testDoPushWithCallbackShareBodyInSameCluster() {
+        NamingPushCallback otherCallBack = mock(NamingPushCallback.class);
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, pushData, pushCallBack);
+        pushExecutor.doPushWithCallback("otherClientId", subscriber, pushData, otherCallBack);
+        ArgumentCaptor<SharedRequestBody> bodyCaptor = ArgumentCaptor.forClass(SharedRequestBody.class);
+        verify(pushService).pushWithCallback(eq("otherClientId"), any(NotifySubscriberRequest.class),
+                bodyCaptor.capture(), eq(otherCallBack), eq(GlobalExecutor.getCallbackExecutor()));
+        verify(pushService).pushWithCallback(eq(rpcClientId), any(NotifySubscriberRequest.class),
+                same(bodyCaptor.getValue()), eq(pushCallBack), eq(GlobalExecutor.getCallbackExecutor()));
+        verify(selectorManager).select(any(), any(), any());
+        NotifySubscriberRequest actual = JacksonUtils
+                .toObj(bodyCaptor.getValue().getEncoding(PayloadBodyCodec.JSON).toBytes("1"), NotifySubscriberRequest.class);
+        assertEquals("1", actual.getRequestId());
+        assertEquals(pushData.getOriginalData().getKey(), actual.getServiceInfo().getKey());
+    }
+    
     private class CallbackAnswer implements Answer<Void> {
         
         @Override
         public Void answer(InvocationOnMock invocationOnMock) throws Throwable {
             NotifySubscriberRequest pushRequest = invocationOnMock.getArgument(1);
             assertEquals(pushData.getOriginalData().toString(), pushRequest.getServiceInfo().toString());
-            PushCallBack callBack = invocationOnMock.getArgument(2);
+            PushCallBack callBack = invocationOnMock.getArgument(3);
             callBack.onSuccess();
             return null;
         }
@@ -20,6 +20,7 @@ import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
+import com.alibaba.nacos.naming.core.v2.index.ServiceInfoSnapshot;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
@@ -77,7 +78,7 @@ public class PushDelayTaskExecuteEngineTest {
     
     @Before
     public void setUp() throws Exception {
-        when(serviceStorage.getPushData(service)).thenReturn(new ServiceInfo("G@@S"));
+        when(serviceStorage.getPushSnapshot(service)).thenReturn(new ServiceInfoSnapshot(1L, new ServiceInfo("G@@S")));
         when(indexesManager.getAllClientsSubscribeService(service)).thenReturn(Collections.singletonList(clientId));
         when(clientManager.getClient(clientId)).thenReturn(client);
         when(client.getSubscriber(service)).thenReturn(subscriber);
@@ -22,8 +22,10 @@ import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.api.remote.response.ResponseCode;
 import com.alibaba.nacos.core.distributed.distro.DistroProtocol;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
+import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.naming.cluster.remote.request.DistroDataRequest;
 import com.alibaba.nacos.naming.cluster.remote.response.DistroDataResponse;
+import com.alibaba.nacos.naming.consistency.ephemeral.distro.v2.DistroClientDataProcessor;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -83,4 +85,22 @@ public class DistroDataRequestHandlerTest {
         DistroDataResponse response4 = distroDataRequestHandler.handle(distroDataRequest, requestMeta);
         Assert.assertNull(response4.getDistroData());
     }
+    
+    @Test
+    public void testHandleVerifyDigest() throws NacosException {
+        DistroData digest = new DistroData(
+                new DistroKey(DistroClientDataProcessor.VERIFY_DIGEST_KEY, DistroClientDataProcessor.TYPE),
+                new byte[0]);
+        DistroDataRequest distroDataRequest = new DistroDataRequest(digest, VERIFY);
+        RequestMeta requestMeta = new RequestMeta();
+        DistroDataResponse response = distroDataRequestHandler.handle(distroDataRequest, requestMeta);
+        Assert.assertEquals(ResponseCode.FAIL.getCode(), response.getErrorCode());
+        
+        DistroData differences = new DistroData();
+        Mockito.when(distroProtocol.onVerifyDigest(digest, requestMeta.getClientIp())).thenReturn(differences);
+        response = distroDataRequestHandler.handle(distroDataRequest, requestMeta);
+        Assert.assertTrue(response.isSuccess());
+        Assert.assertEquals(differences, response.getDistroData());
+        Mockito.verify(distroProtocol, Mockito.never()).onVerify(Mockito.any(), Mockito.any());
+    }
 }
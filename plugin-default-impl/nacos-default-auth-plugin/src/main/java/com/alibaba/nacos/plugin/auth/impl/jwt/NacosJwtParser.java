@@ -35,8 +35,12 @@ public class NacosJwtParser {
     
     private final NacosSignatureAlgorithm signatureAlgorithm;
     
+    private static final int MAX_VERIFIED_TOKENS = 10000;
+    
     private final Key key;
     
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(MAX_VERIFIED_TOKENS);
+    
     public NacosJwtParser(String base64edKey) {
         byte[] decode = Base64Decode.decode(base64edKey);
         int bitLength = decode.length << 3;
@@ -67,11 +71,33 @@ public class NacosJwtParser {
         return new JwtBuilder();
     }
     
+    /**
+     * Parse user from token, the token verified before is got from cache without verifying signature again.
+     *
+     * @param token token
+     * @return user of token
+     * @throws AccessException if token is invalid or expired
+     */
     public NacosUser parse(String token) throws AccessException {
-        return NacosSignatureAlgorithm.verify(token, key);
+        long nowSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        VerifiedTokenCache.VerifiedToken verifiedToken = verifiedTokenCache.get(token, nowSeconds);
+        if (null == verifiedToken) {
+            NacosJwtPayload payload = NacosSignatureAlgorithm.parsePayload(token, key);
+            if (payload.getExp() < nowSeconds) {
+                throw new AccessException("token expired!");
+            }
+            verifiedToken = verifiedTokenCache.put(token, payload.getSub(), payload.getExp(), nowSeconds);
+        }
+        // user is mutable, so a new one is returned for each parse.
+        return new NacosUser(verifiedToken.getUserName(), token);
     }
     
     public long getExpireTimeInSeconds(String token) throws AccessException {
+        long nowSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        VerifiedTokenCache.VerifiedToken verifiedToken = verifiedTokenCache.get(token, nowSeconds);
+        if (null != verifiedToken) {
+            return verifiedToken.getExpireSeconds();
+        }
         return NacosSignatureAlgorithm.getExpiredTimeInSeconds(token, key);
     }
     
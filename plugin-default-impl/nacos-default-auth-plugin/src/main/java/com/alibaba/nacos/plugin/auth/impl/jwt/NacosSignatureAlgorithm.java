@@ -41,6 +41,8 @@ public final class NacosSignatureAlgorithm {
     
     private static final String JWT_SEPERATOR = ".";
     
+    private static final byte JWT_SEPERATOR_BYTE = '.';
+    
     private static final int HEADER_POSITION = 0;
     
     private static final int PAYLOAD_POSITION = 1;
@@ -76,6 +78,11 @@ public final class NacosSignatureAlgorithm {
     
     private final String header;
     
+    /**
+     * Initialized mac of the last used key, never used directly but cloned for each signing or verifying.
+     */
+    private volatile KeyedMac prototype;
+    
     static {
         MAP.put(HS256_JWT_HEADER, HS256);
         MAP.put(HS384_JWT_HEADER, HS384);
@@ -91,24 +98,11 @@ public final class NacosSignatureAlgorithm {
      * @throws AccessException access exception
      */
     public static NacosUser verify(String jwt, Key key) throws AccessException {
-        if (StringUtils.isBlank(jwt)) {
-            throw new AccessException("user not found!");
-        }
-        String[] split = jwt.split("\\.");
-        if (split.length != JWT_PARTS) {
-            throw new AccessException("token invalid!");
-        }
-        String header = split[HEADER_POSITION];
-        String payload = split[PAYLOAD_POSITION];
-        String signature = split[SIGNATURE_POSITION];
-        
-        NacosSignatureAlgorithm signatureAlgorithm = MAP.get(header);
-        if (signatureAlgorithm == null) {
-            throw new AccessException("unsupported signature algorithm");
+        NacosJwtPayload nacosJwtPayload = parsePayload(jwt, key);
+        if (nacosJwtPayload.getExp() >= TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())) {
+            return new NacosUser(nacosJwtPayload.getSub(), jwt);
         }
-        NacosUser user = signatureAlgorithm.verify(header, payload, signature, key);
-        user.setToken(jwt);
-        return user;
+        throw new AccessException("token expired!");
     }
     
     /**
@@ -122,12 +116,7 @@ public final class NacosSignatureAlgorithm {
      * @throws AccessException access exception
      */
     public NacosUser verify(String header, String payload, String signature, Key key) throws AccessException {
-        Mac macInstance = getMacInstance(key);
-        byte[] bytes = macInstance.doFinal((header + JWT_SEPERATOR + payload).getBytes(StandardCharsets.US_ASCII));
-        if (!URL_BASE64_ENCODER.encodeToString(bytes).equals(signature)) {
-            throw new AccessException("Invalid signature");
-        }
-        NacosJwtPayload nacosJwtPayload = JacksonUtils.toObj(URL_BASE64_DECODER.decode(payload), NacosJwtPayload.class);
+        NacosJwtPayload nacosJwtPayload = parsePayload(header, payload, signature, key);
         if (nacosJwtPayload.getExp() >= TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())) {
             return new NacosUser(nacosJwtPayload.getSub());
         }
@@ -144,6 +133,33 @@ public final class NacosSignatureAlgorithm {
      * @throws AccessException access exception
      */
     public static long getExpiredTimeInSeconds(String jwt, Key key) throws AccessException {
+        return parsePayload(jwt, key).getExp();
+    }
+    
+    /**
+     * get jwt expire time in seconds.
+     *
+     * @param header    header of jwt
+     * @param payload   payload of jwt
+     * @param signature signature of jwt
+     * @param key       for signature
+     * @return expire time in seconds
+     * @throws AccessException access exception
+     */
+    public long getExpireTimeInSeconds(String header, String payload, String signature, Key key)
+            throws AccessException {
+        return parsePayload(header, payload, signature, key).getExp();
+    }
+    
+    /**
+     * Verify signature of jwt and parse the payload, the payload might be expired.
+     *
+     * @param jwt complete jwt string
+     * @param key for signature
+     * @return payload of jwt
+     * @throws AccessException if jwt is invalid
+     */
+    public static NacosJwtPayload parsePayload(String jwt, Key key) throws AccessException {
         if (StringUtils.isBlank(jwt)) {
             throw new AccessException("user not found!");
         }
@@ -159,28 +175,19 @@ public final class NacosSignatureAlgorithm {
         if (signatureAlgorithm == null) {
             throw new AccessException("unsupported signature algorithm");
         }
-        return signatureAlgorithm.getExpireTimeInSeconds(header, payload, signature, key);
+        return signatureAlgorithm.parsePayload(header, payload, signature, key);
     }
     
-    /**
-     * get jwt expire time in seconds.
-     *
-     * @param header    header of jwt
-     * @param payload   payload of jwt
-     * @param signature signature of jwt
-     * @param key       for signature
-     * @return expire time in seconds
-     * @throws AccessException access exception
-     */
-    public long getExpireTimeInSeconds(String header, String payload, String signature, Key key)
+    private NacosJwtPayload parsePayload(String header, String payload, String signature, Key key)
             throws AccessException {
         Mac macInstance = getMacInstance(key);
-        byte[] bytes = macInstance.doFinal((header + JWT_SEPERATOR + payload).getBytes(StandardCharsets.US_ASCII));
+        macInstance.update(header.getBytes(StandardCharsets.US_ASCII));
+        macInstance.update(JWT_SEPERATOR_BYTE);
+        byte[] bytes = macInstance.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
         if (!URL_BASE64_ENCODER.encodeToString(bytes).equals(signature)) {
             throw new AccessException("Invalid signature");
         }
-        NacosJwtPayload nacosJwtPayload = JacksonUtils.toObj(URL_BASE64_DECODER.decode(payload), NacosJwtPayload.class);
-        return nacosJwtPayload.getExp();
+        return JacksonUtils.toObj(URL_BASE64_DECODER.decode(payload), NacosJwtPayload.class);
     }
     
     private NacosSignatureAlgorithm(String alg, String jcaName, String header) {
@@ -198,7 +205,27 @@ public final class NacosSignatureAlgorithm {
         return jwtWithoutSign + JWT_SEPERATOR + signature;
     }
     
+    /**
+     * Get mac instance for one signing or verifying, cloned from the prototype of the key to skip the provider lookup
+     * and key initialization.
+     */
     private Mac getMacInstance(Key key) {
+        KeyedMac keyedMac = prototype;
+        if (null != keyedMac && keyedMac.key == key) {
+            try {
+                return (Mac) keyedMac.mac.clone();
+            } catch (CloneNotSupportedException ignored) {
+                // the provider doesn't support clone, initialize a new one.
+            }
+        }
+        Mac instance = newMacInstance(key);
+        if (null == keyedMac || keyedMac.key != key) {
+            prototype = new KeyedMac(key, newMacInstance(key));
+        }
+        return instance;
+    }
+    
+    private Mac newMacInstance(Key key) {
         try {
             Mac instance = Mac.getInstance(jcaName);
             instance.init(key);
@@ -219,4 +246,16 @@ public final class NacosSignatureAlgorithm {
     public String getHeader() {
         return header;
     }
+    
+    private static final class KeyedMac {
+        
+        private final Key key;
+        
+        private final Mac mac;
+        
+        private KeyedMac(Key key, Mac mac) {
+            this.key = key;
+            this.mac = mac;
+        }
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.plugin.auth.impl.jwt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of tokens whose signature has been verified.
+ *
+ * <p>Expired tokens are evicted first, when the cache is still full, the tokens which expire soonest are evicted.
+ *
+ * @author Nacos
+ */
+public class VerifiedTokenCache {
+    
+    private final int maximumSize;
+    
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    
+    private final ConcurrentSkipListMap<VerifiedToken, Boolean> expiryOrder = new ConcurrentSkipListMap<>();
+    
+    private final AtomicLong sequence = new AtomicLong();
+    
+    public VerifiedTokenCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+    
+    /**
+     * Get verified token which is not expired.
+     *
+     * @param token      token
+     * @param nowSeconds current time in seconds
+     * @return verified token, {@code null} if not cached or expired
+     */
+    public VerifiedToken get(String token, long nowSeconds) {
+        VerifiedToken result = tokens.get(token);
+        if (null == result) {
+            return null;
+        }
+        if (result.isExpired(nowSeconds)) {
+            remove(result);
+            return null;
+        }
+        return result;
+    }
+    
+    /**
+     * Put verified token, expired tokens and the tokens expire soonest are evicted if the cache is full.
+     *
+     * @param token         token
+     * @param userName      user name in payload of token
+     * @param expireSeconds expire time of token in seconds
+     * @param nowSeconds    current time in seconds
+     * @return verified token
+     */
+    public VerifiedToken put(String token, String userName, long expireSeconds, long nowSeconds) {
+        VerifiedToken verifiedToken = new VerifiedToken(token, userName, expireSeconds, sequence.getAndIncrement());
+        VerifiedToken previous = tokens.putIfAbsent(token, verifiedToken);
+        if (null != previous) {
+            return previous;
+        }
+        expiryOrder.put(verifiedToken, Boolean.TRUE);
+        Map.Entry<VerifiedToken, Boolean> first = expiryOrder.firstEntry();
+        while (null != first && (first.getKey().isExpired(nowSeconds) || tokens.size() > maximumSize)) {
+            remove(first.getKey());
+            first = expiryOrder.firstEntry();
+        }
+        return verifiedToken;
+    }
+    
+    private void remove(VerifiedToken verifiedToken) {
+        expiryOrder.remove(verifiedToken);
+        tokens.remove(verifiedToken.getToken(), verifiedToken);
+    }
+    
+    public int size() {
+        return tokens.size();
+    }
+    
+    /**
+     * Token whose signature has been verified.
+     */
+    public static final class VerifiedToken implements Comparable<VerifiedToken> {
+        
+        private final String token;
+        
+        private final String userName;
+        
+        private final long expireSeconds;
+        
+        private final long sequence;
+        
+        private VerifiedToken(String token, String userName, long expireSeconds, long sequence) {
+            this.token = token;
+            this.userName = userName;
+            this.expireSeconds = expireSeconds;
+            this.sequence = sequence;
+        }
+        
+        public String getToken() {
+            return token;
+        }
+        
+        public String getUserName() {
+            return userName;
+        }
+        
+        public long getExpireSeconds() {
+            return expireSeconds;
+        }
+        
+        private boolean isExpired(long nowSeconds) {
+            return expireSeconds < nowSeconds;
+        }
+        
+        @Override
+        public int compareTo(VerifiedToken o) {
+            int result = Long.compare(expireSeconds, o.expireSeconds);
+            return 0 != result ? result : Long.compare(sequence, o.sequence);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Long.hashCode(sequence);
+        }
+    }
+}
@@ -33,17 +33,21 @@ import com.alibaba.nacos.plugin.auth.impl.persistence.RoleInfo;
 import com.alibaba.nacos.plugin.auth.impl.persistence.RolePersistService;
 import com.alibaba.nacos.plugin.auth.impl.users.NacosUser;
 import com.alibaba.nacos.plugin.auth.impl.users.NacosUserDetailsServiceImpl;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.alibaba.nacos.api.common.Constants.DEFAULT_NAMESPACE_ID;
 
@@ -58,6 +62,14 @@ public class NacosRoleServiceImpl {
     
     private static final int DEFAULT_PAGE_NO = 1;
     
+    private static final int MAX_CACHED_DECISIONS = 10000;
+    
+    private static final String WILDCARD = "*";
+    
+    private static final String REGEX_META_CHARACTERS = "\\.[]{}()*+?^$|";
+    
+    private static final String DECISION_KEY_SPLITTER = "\n";
+    
     @Autowired
     private AuthConfigs authConfigs;
     
@@ -76,6 +88,13 @@ public class NacosRoleServiceImpl {
     
     private volatile Map<String, List<PermissionInfo>> permissionInfoMap = new ConcurrentHashMap<>();
     
+    private volatile Map<String, List<PermissionMatcher>> permissionMatcherMap = new ConcurrentHashMap<>();
+    
+    /**
+     * Decisions of permission matching of user, replaced by a new one after roles and permissions reloaded or changed.
+     */
+    private volatile Cache<String, Boolean> decisionCache = buildDecisionCache();
+    
     @Scheduled(initialDelay = 5000, fixedDelay = 15000)
     private void reload() {
         try {
@@ -95,15 +114,20 @@ public class NacosRoleServiceImpl {
             }
             
             Map<String, List<PermissionInfo>> tmpPermissionInfoMap = new ConcurrentHashMap<>(16);
+            Map<String, List<PermissionMatcher>> tmpPermissionMatcherMap = new ConcurrentHashMap<>(16);
             for (String role : tmpRoleSet) {
                 Page<PermissionInfo> permissionInfoPage = permissionPersistService.getPermissions(role, DEFAULT_PAGE_NO,
                         Integer.MAX_VALUE);
                 tmpPermissionInfoMap.put(role, permissionInfoPage.getPageItems());
+                tmpPermissionMatcherMap.put(role, compilePermissions(permissionInfoPage.getPageItems()));
             }
             
             roleSet = tmpRoleSet;
             roleInfoMap = tmpRoleInfoMap;
             permissionInfoMap = tmpPermissionInfoMap;
+            permissionMatcherMap = tmpPermissionMatcherMap;
+            // replaced after the maps, decisions made with the old maps are only put into the old cache.
+            decisionCache = buildDecisionCache();
         } catch (Exception e) {
             Loggers.AUTH.warn("[LOAD-ROLES] load failed", e);
         }
@@ -144,16 +168,25 @@ public class NacosRoleServiceImpl {
         }
         
         // For other roles, use a pattern match to decide if pass or not.
+        String resource = joinResource(permission.getResource());
+        if (!authConfigs.isCachingEnabled()) {
+            return matchPermissions(roleInfoList, resource, permission.getAction());
+        }
+        String decisionKey = nacosUser.getUserName() + DECISION_KEY_SPLITTER + resource + DECISION_KEY_SPLITTER
+                + permission.getAction();
+        Cache<String, Boolean> decisions = decisionCache;
+        Boolean result = decisions.getIfPresent(decisionKey);
+        if (null == result) {
+            result = matchPermissions(roleInfoList, resource, permission.getAction());
+            decisions.put(decisionKey, result);
+        }
+        return Boolean.TRUE.equals(result);
+    }
+    
+    private boolean matchPermissions(List<RoleInfo> roleInfoList, String resource, String action) {
         for (RoleInfo roleInfo : roleInfoList) {
-            List<PermissionInfo> permissionInfoList = getPermissions(roleInfo.getRole());
-            if (CollectionUtils.isEmpty(permissionInfoList)) {
-                continue;
-            }
-            for (PermissionInfo permissionInfo : permissionInfoList) {
-                String permissionResource = permissionInfo.getResource().replaceAll("\\*", ".*");
-                String permissionAction = permissionInfo.getAction();
-                if (permissionAction.contains(permission.getAction()) && Pattern.matches(permissionResource,
-                        joinResource(permission.getResource()))) {
+            for (PermissionMatcher each : getPermissionMatchers(roleInfo.getRole())) {
+                if (each.matches(resource, action)) {
                     return true;
                 }
             }
@@ -161,6 +194,53 @@ public class NacosRoleServiceImpl {
         return false;
     }
     
+    private List<PermissionMatcher> getPermissionMatchers(String role) {
+        List<PermissionMatcher> result = permissionMatcherMap.get(role);
+        if (!authConfigs.isCachingEnabled() || result == null) {
+            List<PermissionInfo> permissionInfoList = getPermissions(role);
+            if (CollectionUtils.isEmpty(permissionInfoList)) {
+                return Collections.emptyList();
+            }
+            result = compilePermissions(permissionInfoList);
+            if (authConfigs.isCachingEnabled()) {
+                permissionMatcherMap.put(role, result);
+            }
+        }
+        return result;
+    }
+    
+    private static List<PermissionMatcher> compilePermissions(List<PermissionInfo> permissionInfoList) {
+        if (CollectionUtils.isEmpty(permissionInfoList)) {
+            return Collections.emptyList();
+        }
+        List<PermissionMatcher> result = new ArrayList<>(permissionInfoList.size());
+        for (PermissionInfo each : permissionInfoList) {
+            result.add(new PermissionMatcher(each));
+        }
+        return Collections.unmodifiableList(result);
+    }
+    
+    private static Cache<String, Boolean> buildDecisionCache() {
+        return CacheBuilder.newBuilder().maximumSize(MAX_CACHED_DECISIONS).build();
+    }
+    
+    /**
+     * Drop the cached roles of the user and the decisions, so that the change is visible before the next reload.
+     */
+    private void invalidateUserRoles(String username) {
+        roleInfoMap.remove(username);
+        decisionCache = buildDecisionCache();
+    }
+    
+    /**
+     * Drop the cached permissions of the role and the decisions, so that the change is visible before the next reload.
+     */
+    private void invalidateRolePermissions(String role) {
+        permissionInfoMap.remove(role);
+        permissionMatcherMap.remove(role);
+        decisionCache = buildDecisionCache();
+    }
+    
     public List<RoleInfo> getRoles(String username) {
         List<RoleInfo> roleInfoList = roleInfoMap.get(username);
         if (!authConfigs.isCachingEnabled() || roleInfoList == null) {
@@ -229,6 +309,7 @@ public class NacosRoleServiceImpl {
         }
         rolePersistService.addRole(role, username);
         roleSet.add(role);
+        invalidateUserRoles(username);
     }
     
     /**
@@ -247,6 +328,7 @@ public class NacosRoleServiceImpl {
         rolePersistService.addRole(AuthConstants.GLOBAL_ADMIN_ROLE, username);
         roleSet.add(AuthConstants.GLOBAL_ADMIN_ROLE);
         authConfigs.setHasGlobalAdminRole(true);
+        invalidateUserRoles(username);
     }
     
     /**
@@ -257,6 +339,7 @@ public class NacosRoleServiceImpl {
      */
     public void deleteRole(String role, String userName) {
         rolePersistService.deleteRole(role, userName);
+        invalidateUserRoles(userName);
     }
     
     /**
@@ -267,6 +350,8 @@ public class NacosRoleServiceImpl {
     public void deleteRole(String role) {
         rolePersistService.deleteRole(role);
         roleSet.remove(role);
+        roleInfoMap.values().removeIf(roles -> roles.stream().anyMatch(each -> role.equals(each.getRole())));
+        invalidateRolePermissions(role);
     }
     
     public Page<PermissionInfo> getPermissionsFromDatabase(String role, int pageNo, int pageSize) {
@@ -289,10 +374,12 @@ public class NacosRoleServiceImpl {
             throw new IllegalArgumentException("role " + role + " not found!");
         }
         permissionPersistService.addPermission(role, resource, action);
+        invalidateRolePermissions(role);
     }
     
     public void deletePermission(String role, String resource, String action) {
         permissionPersistService.deletePermission(role, resource, action);
+        invalidateRolePermissions(role);
     }
     
     public List<String> findRolesLikeRoleName(String role) {
@@ -363,4 +450,58 @@ public class NacosRoleServiceImpl {
         return hasGlobalAdminRole;
     }
     
+    /**
+     * Permission compiled once when loaded.
+     *
+     * <p>The resource of permission is a regex whose {@code *} means any characters. Resource without any regex meta
+     * character is matched by equals, otherwise by the precompiled pattern.
+     */
+    private static final class PermissionMatcher {
+        
+        private final String action;
+        
+        private final String literal;
+        
+        private final Pattern pattern;
+        
+        private PermissionMatcher(PermissionInfo permissionInfo) {
+            String resource = permissionInfo.getResource();
+            this.action = permissionInfo.getAction();
+            if (hasRegexMetaCharacter(resource)) {
+                this.literal = null;
+                this.pattern = compile(resource, permissionInfo.getRole());
+            } else {
+                this.literal = resource;
+                this.pattern = null;
+            }
+        }
+        
+        private static boolean hasRegexMetaCharacter(String resource) {
+            for (int i = 0; i < resource.length(); i++) {
+                if (REGEX_META_CHARACTERS.indexOf(resource.charAt(i)) >= 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private static Pattern compile(String resource, String role) {
+            try {
+                return Pattern.compile(resource.replace(WILDCARD, ".*"));
+            } catch (PatternSyntaxException e) {
+                Loggers.AUTH.warn("[LOAD-ROLES] illegal resource {} of role {}, ignored", resource, role);
+                return null;
+            }
+        }
+        
+        private boolean matches(String resource, String targetAction) {
+            if (!action.contains(targetAction)) {
+                return false;
+            }
+            if (null != literal) {
+                return literal.equals(resource);
+            }
+            return null != pattern && pattern.matcher(resource).matches();
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.plugin.auth.impl.token.impl;
 
+import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.plugin.auth.exception.AccessException;
 import com.alibaba.nacos.plugin.auth.impl.token.TokenManager;
 import com.alibaba.nacos.plugin.auth.impl.users.NacosUser;
@@ -39,7 +40,7 @@ import java.util.concurrent.TimeUnit;
 public class CachedJwtTokenManager implements TokenManager {
     
     /**
-     * key: token string, value: token entity.
+     * key: token string, value: token entity. cache token created by self.
      */
     private volatile Map<String, TokenEntity> tokenMap = new ConcurrentHashMap<>(1024);
     
@@ -123,35 +124,17 @@ public class CachedJwtTokenManager implements TokenManager {
         if (!tokenMap.containsKey(token)) {
             // jwtTokenManager.validateToken(token) will throw runtime exception if token invalid
             jwtTokenManager.validateToken(token);
-            // if token valid
-            Authentication authentication = jwtTokenManager.getAuthentication(token);
-            String username = authentication.getName();
-            if (username == null || username.isEmpty()) {
-                return;
-            }
-            long expiredTime = TimeUnit.SECONDS.toMillis(jwtTokenManager.getExpiredTimeInSeconds(token));
-            if (expiredTime <= System.currentTimeMillis()) {
-                return;
-            }
-            NacosUser user = jwtTokenManager.parseToken(token);
-            tokenMap.putIfAbsent(token, new TokenEntity(token, username, expiredTime, authentication, user));
         }
     }
     
     @Override
     public NacosUser parseToken(String token) throws AccessException {
         if (!tokenMap.containsKey(token)) {
-            Authentication authentication = jwtTokenManager.getAuthentication(token);
-            String username = authentication.getName();
-            if (username == null || username.isEmpty()) {
+            // tokens not created by self are cached by jwt parser once verified, no need to cache here.
+            NacosUser user = jwtTokenManager.parseToken(token);
+            if (StringUtils.isEmpty(user.getUserName())) {
                 throw new AccessException("invalid token, username is empty");
             }
-            long expiredTime = TimeUnit.SECONDS.toMillis(jwtTokenManager.getExpiredTimeInSeconds(token));
-            if (expiredTime <= System.currentTimeMillis()) {
-                throw new AccessException("expired token");
-            }
-            NacosUser user = jwtTokenManager.parseToken(token);
-            tokenMap.putIfAbsent(token, new TokenEntity(token, username, expiredTime, authentication, user));
             return user;
         }
         return tokenMap.get(token).getNacosUser();
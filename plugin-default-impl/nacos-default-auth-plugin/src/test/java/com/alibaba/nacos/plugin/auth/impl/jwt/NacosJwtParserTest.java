@@ -17,15 +17,20 @@
 package com.alibaba.nacos.plugin.auth.impl.jwt;
 
 import com.alibaba.nacos.plugin.auth.exception.AccessException;
+import com.alibaba.nacos.plugin.auth.impl.users.NacosUser;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -90,6 +95,62 @@ public class NacosJwtParserTest {
         assertTrue(expiredTimeSeconds * 1000 - System.currentTimeMillis() > 0);
     }
     
+    @Test
+    public void testParseVerifiedToken() throws AccessException {
+        NacosJwtParser parser = new NacosJwtParser(encode("SecretKey01234567890123456789012"));
+        String token = parser.jwtBuilder().setUserName("nacos").setExpiredTime(100L).compact();
+        NacosUser user = parser.parse(token);
+        assertEquals("nacos", user.getUserName());
+        assertEquals(token, user.getToken());
+        NacosUser cached = parser.parse(token);
+        assertEquals("nacos", cached.getUserName());
+        assertNotSame(user, cached);
+        assertEquals(parser.getExpireTimeInSeconds(token),
+                new NacosJwtParser(encode("SecretKey01234567890123456789012")).getExpireTimeInSeconds(token));
+    }
+    
+    @Test(expected = AccessException.class)
+    public void testParseTokenWithOtherKey() throws AccessException {
+        NacosJwtParser parser = new NacosJwtParser(encode("SecretKey01234567890123456789012"));
+        String token = parser.jwtBuilder().setUserName("nacos").setExpiredTime(100L).compact();
+        parser.parse(token);
+        new NacosJwtParser(encode("SecretKey01234567890123456789013")).parse(token);
+    }
+    
+    @Test(expected = AccessException.class)
+    public void testParseExpiredToken() throws AccessException {
+        NacosJwtParser parser = new NacosJwtParser(encode("SecretKey01234567890123456789012"));
+        String token = parser.jwtBuilder().setUserName("nacos").setExpiredTime(-100L).compact();
+        parser.parse(token);
+    }
+    
+    @Test
+    public void testConcurrentSignAndParse() throws InterruptedException {
+        NacosJwtParser parser = new NacosJwtParser(encode("SecretKey01234567890123456789012"));
+        int threadCount = 8;
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            final String userName = "nacos" + i;
+            new Thread(() -> {
+                try {
+                    for (int j = 0; j < 200; j++) {
+                        String token = parser.jwtBuilder().setUserName(userName).setExpiredTime(100L).compact();
+                        if (!userName.equals(parser.parse(token).getUserName())) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(0, failed.get());
+    }
+    
     private String encode(String key) {
         return Base64.getEncoder().encodeToString(key.getBytes(StandardCharsets.UTF_8));
     }
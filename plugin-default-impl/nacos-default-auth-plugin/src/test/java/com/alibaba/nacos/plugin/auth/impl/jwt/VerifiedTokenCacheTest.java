@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.plugin.auth.impl.jwt;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class VerifiedTokenCacheTest {
+    
+    @Test
+    public void testGetExpiredToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("token", "nacos", 100L, 50L);
+        assertEquals("nacos", cache.get("token", 100L).getUserName());
+        assertNull(cache.get("token", 101L));
+        assertEquals(0, cache.size());
+    }
+    
+    @Test
+    public void testPutExistedToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        VerifiedTokenCache.VerifiedToken first = cache.put("token", "nacos", 100L, 50L);
+        assertSame(first, cache.put("token", "nacos", 100L, 50L));
+        assertEquals(1, cache.size());
+    }
+    
+    @Test
+    public void testEvictByExpireTime() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("expired", "nacos", 10L, 5L);
+        cache.put("later", "nacos", 300L, 5L);
+        cache.put("sooner", "nacos", 200L, 50L);
+        // the expired token is evicted even the cache is not full.
+        assertEquals(2, cache.size());
+        assertNull(cache.get("expired", 5L));
+        
+        cache.put("latest", "nacos", 400L, 50L);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("sooner", 50L));
+        assertNotNull(cache.get("later", 50L));
+        assertNotNull(cache.get("latest", 50L));
+    }
+}
@@ -33,10 +33,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -114,6 +116,58 @@ public class NacosRoleServiceImplTest {
         Assert.assertTrue(res2);
     }
     
+    @Test
+    public void hasPermissionWithCompiledPermissions() throws Exception {
+        RoleInfo roleInfo = new RoleInfo();
+        roleInfo.setRole("role");
+        roleInfo.setUsername("nacos");
+        Page<RoleInfo> rolePage = new Page<>();
+        rolePage.setPageItems(Collections.singletonList(roleInfo));
+        Mockito.when(rolePersistService.getRolesByUserNameAndRoleName(Mockito.anyString(), Mockito.anyString(),
+                Mockito.anyInt(), Mockito.anyInt())).thenReturn(rolePage);
+        Page<PermissionInfo> permissionPage = new Page<>();
+        permissionPage.setPageItems(Arrays.asList(mockPermission("ns:group:naming/*", "r"),
+                mockPermission("ns:group:config/dataId", "rw")));
+        Mockito.when(permissionPersistService.getPermissions("role", 1, Integer.MAX_VALUE))
+                .thenReturn(permissionPage);
+        Mockito.when(authConfigs.isCachingEnabled()).thenReturn(true);
+        reload();
+        
+        NacosUser nacosUser = new NacosUser();
+        nacosUser.setUserName("nacos");
+        Assert.assertTrue(nacosRoleService.hasPermission(nacosUser, mockPermission("service", "naming", "r")));
+        Assert.assertFalse(nacosRoleService.hasPermission(nacosUser, mockPermission("service", "naming", "w")));
+        Assert.assertTrue(nacosRoleService.hasPermission(nacosUser, mockPermission("dataId", "config", "w")));
+        Assert.assertFalse(nacosRoleService.hasPermission(nacosUser, mockPermission("dataId2", "config", "w")));
+        
+        // decisions are invalidated after reload.
+        permissionPage.setPageItems(Collections.singletonList(mockPermission("ns:group:config/*", "rw")));
+        reload();
+        Assert.assertFalse(nacosRoleService.hasPermission(nacosUser, mockPermission("service", "naming", "r")));
+        Assert.assertTrue(nacosRoleService.hasPermission(nacosUser, mockPermission("dataId2", "config", "w")));
+        
+        // decisions are invalidated after permission changed.
+        permissionPage.setPageItems(Collections.singletonList(mockPermission("ns:group:naming/*", "r")));
+        nacosRoleService.deletePermission("role", "ns:group:config/*", "rw");
+        Assert.assertTrue(nacosRoleService.hasPermission(nacosUser, mockPermission("service", "naming", "r")));
+        Assert.assertFalse(nacosRoleService.hasPermission(nacosUser, mockPermission("dataId2", "config", "w")));
+    }
+    
+    private PermissionInfo mockPermission(String resource, String action) {
+        PermissionInfo result = new PermissionInfo();
+        result.setRole("role");
+        result.setResource(resource);
+        result.setAction(action);
+        return result;
+    }
+    
+    private Permission mockPermission(String name, String type, String action) {
+        Permission result = new Permission();
+        result.setAction(action);
+        result.setResource(new Resource("ns", "group", name, type, null));
+        return result;
+    }
+    
     @Test
     public void getRoles() {
         List<RoleInfo> nacos = nacosRoleService.getRoles("role-admin");
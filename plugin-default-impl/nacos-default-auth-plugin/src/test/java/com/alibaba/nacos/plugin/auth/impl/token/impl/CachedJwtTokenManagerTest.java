@@ -56,7 +56,6 @@ public class CachedJwtTokenManagerTest {
         injectObject("jwtTokenManager", jwtTokenManager);
         when(jwtTokenManager.getTokenValidityInSeconds()).thenReturn(100L);
         when(jwtTokenManager.getTokenTtlInSeconds(anyString())).thenReturn(100L);
-        when(jwtTokenManager.getExpiredTimeInSeconds(anyString())).thenReturn(System.currentTimeMillis());
         when(jwtTokenManager.getAuthentication(anyString())).thenReturn(authentication);
         when(jwtTokenManager.parseToken(anyString())).thenReturn(user);
         when(jwtTokenManager.createToken(anyString())).thenReturn("token");
@@ -85,6 +84,7 @@ public class CachedJwtTokenManagerTest {
     
     @Test
     public void testParseToken() throws AccessException {
+        when(user.getUserName()).thenReturn("nacos");
         Assert.assertNotNull(cachedJwtTokenManager.parseToken("token"));
     }
     
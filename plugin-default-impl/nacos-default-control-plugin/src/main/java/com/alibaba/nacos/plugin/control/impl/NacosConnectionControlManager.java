@@ -17,6 +17,7 @@
 package com.alibaba.nacos.plugin.control.impl;
 
 import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.plugin.control.Loggers;
 import com.alibaba.nacos.plugin.control.connection.ConnectionControlManager;
 import com.alibaba.nacos.plugin.control.connection.ConnectionMetricsCollector;
@@ -57,20 +58,58 @@ public class NacosConnectionControlManager extends ConnectionControlManager {
         ConnectionCheckResponse connectionCheckResponse = new ConnectionCheckResponse();
         connectionCheckResponse.setSuccess(true);
         connectionCheckResponse.setCode(ConnectionCheckCode.PASS_BY_TOTAL);
-        int totalCountLimit = connectionControlRule.getCountLimit();
+        ConnectionControlRule rule = connectionControlRule;
+        int totalCountLimit = rule.getCountLimit();
         // If totalCountLimit less than 0, no limit is applied.
-        if (totalCountLimit < 0) {
-            return connectionCheckResponse;
+        if (totalCountLimit >= 0) {
+            // Get total connection from metrics
+            Map<String, Integer> metricsTotalCount = metricsCollectorList.stream().collect(
+                    Collectors.toMap(ConnectionMetricsCollector::getName, ConnectionMetricsCollector::getTotalCount));
+            int totalCount = metricsTotalCount.values().stream().mapToInt(Integer::intValue).sum();
+            if (totalCount >= totalCountLimit) {
+                return deny(connectionCheckResponse, ConnectionCheckCode.DENY_BY_TOTAL_OVER,
+                        "total connection over limit " + totalCountLimit);
+            }
         }
-        
-        // Get total connection from metrics
-        Map<String, Integer> metricsTotalCount = metricsCollectorList.stream().collect(
-                Collectors.toMap(ConnectionMetricsCollector::getName, ConnectionMetricsCollector::getTotalCount));
-        int totalCount = metricsTotalCount.values().stream().mapToInt(Integer::intValue).sum();
-        if (totalCount >= totalCountLimit) {
-            connectionCheckResponse.setSuccess(false);
-            connectionCheckResponse.setCode(ConnectionCheckCode.DENY_BY_TOTAL_OVER);
+        String clientIp = connectionCheckRequest.getClientIp();
+        int ipCountLimit = rule.getCountLimitPerClientIp();
+        if (ipCountLimit >= 0 && StringUtils.isNotBlank(clientIp)) {
+            int ipCount = 0;
+            for (ConnectionMetricsCollector each : metricsCollectorList) {
+                ipCount += each.getClusterCountForIp(clientIp);
+            }
+            if (ipCount >= ipCountLimit) {
+                return deny(connectionCheckResponse, ConnectionCheckCode.DENY_BY_IP_OVER,
+                        "connection of client ip " + clientIp + " over limit " + ipCountLimit);
+            }
         }
+        Map<String, String> labels = connectionCheckRequest.getLabels();
+        if (null != labels && null != rule.getCountLimitPerLabel() && !rule.getCountLimitPerLabel().isEmpty()) {
+            for (Map.Entry<String, Map<String, Integer>> entry : rule.getCountLimitPerLabel().entrySet()) {
+                String labelValue = labels.get(entry.getKey());
+                Integer labelCountLimit = null == labelValue ? null : entry.getValue().get(labelValue);
+                if (null == labelCountLimit || labelCountLimit < 0) {
+                    continue;
+                }
+                int labelCount = 0;
+                for (ConnectionMetricsCollector each : metricsCollectorList) {
+                    labelCount += each.getClusterCountForLabel(entry.getKey(), labelValue);
+                }
+                if (labelCount >= labelCountLimit) {
+                    return deny(connectionCheckResponse, ConnectionCheckCode.DENY_BY_LABEL_OVER,
+                            "connection of label " + entry.getKey() + "=" + labelValue + " over limit "
+                                    + labelCountLimit);
+                }
+            }
+        }
+        return connectionCheckResponse;
+    }
+    
+    private ConnectionCheckResponse deny(ConnectionCheckResponse connectionCheckResponse, int code,
+            String message) {
+        connectionCheckResponse.setSuccess(false);
+        connectionCheckResponse.setCode(code);
+        connectionCheckResponse.setMessage(message);
         return connectionCheckResponse;
     }
     
@@ -0,0 +1,199 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.plugin.control.impl;
+
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.plugin.control.Loggers;
+import com.alibaba.nacos.plugin.control.tps.barrier.DefaultNacosTpsBarrier;
+import com.alibaba.nacos.plugin.control.tps.request.BarrierCheckRequest;
+import com.alibaba.nacos.plugin.control.tps.request.TpsCheckRequest;
+import com.alibaba.nacos.plugin.control.tps.response.TpsCheckResponse;
+import com.alibaba.nacos.plugin.control.tps.response.TpsResultCode;
+import com.alibaba.nacos.plugin.control.tps.rule.RuleDetail;
+import com.alibaba.nacos.plugin.control.tps.rule.TpsControlRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nacos tps barrier, limits the point and each value of the monitor keys such as client ip by sliding windows.
+ *
+ * @author Nacos
+ */
+public class NacosTpsBarrier extends DefaultNacosTpsBarrier {
+    
+    /**
+     * Values of monitor keys beyond the limit are not counted, to protect memory from too many client ips.
+     */
+    static final int MAX_MONITOR_KEY_BARRIERS = 65536;
+    
+    private static final String MONITOR_KEY_SPLITTER = "|";
+    
+    private volatile MonitorKeyBarriers monitorKeyBarriers = new MonitorKeyBarriers(Collections.emptyMap());
+    
+    public NacosTpsBarrier(String pointName) {
+        super(pointName);
+        this.ruleBarrierCreator = SlidingWindowBarrierCreator.getInstance();
+        this.pointBarrier = ruleBarrierCreator.createRuleBarrier(pointName, pointName, TimeUnit.SECONDS);
+    }
+    
+    @Override
+    public TpsCheckResponse applyTps(TpsCheckRequest tpsCheckRequest) {
+        TpsCheckResponse response = super.applyTps(tpsCheckRequest);
+        MonitorKeyBarriers current = monitorKeyBarriers;
+        if (!response.isSuccess() || current.rules.isEmpty()) {
+            return response;
+        }
+        TpsCheckResponse monitorKeyResponse = current.applyTps(tpsCheckRequest);
+        if (null == monitorKeyResponse) {
+            return response;
+        }
+        // denied requests are not counted by the point either, the point barrier is created as sliding window.
+        ((SlidingWindowRuleBarrier) pointBarrier).rollbackTps(tpsCheckRequest.getTimestamp(),
+                tpsCheckRequest.getCount());
+        return monitorKeyResponse;
+    }
+    
+    @Override
+    public synchronized void applyRule(TpsControlRule newControlRule) {
+        super.applyRule(newControlRule);
+        Map<String, RuleDetail> newRules = null == newControlRule || null == newControlRule.getMonitorKeyRule()
+                ? Collections.emptyMap() : new HashMap<>(newControlRule.getMonitorKeyRule());
+        Loggers.CONTROL.info("Update monitor key control rule, pointName=[{}], monitorKeyRule={}", getPointName(),
+                newRules);
+        MonitorKeyBarriers old = monitorKeyBarriers;
+        MonitorKeyBarriers updated = new MonitorKeyBarriers(newRules);
+        // counters of the monitor keys whose rule is not changed are kept, others are dropped with the old rules.
+        old.barriers.forEach((key, barrier) -> {
+            String monitorKey = key.substring(0, key.indexOf(MONITOR_KEY_SPLITTER));
+            if (isSameRule(old.rules.get(monitorKey), newRules.get(monitorKey))) {
+                updated.barriers.put(key, barrier);
+            }
+        });
+        monitorKeyBarriers = updated;
+    }
+    
+    private static boolean isSameRule(RuleDetail oldRule, RuleDetail newRule) {
+        if (null == oldRule || null == newRule) {
+            return false;
+        }
+        return oldRule.getMaxCount() == newRule.getMaxCount() && oldRule.getPeriod() == newRule.getPeriod()
+                && Objects.equals(oldRule.getMonitorType(), newRule.getMonitorType());
+    }
+    
+    /**
+     * Remove barriers of monitor key values which are not counted within the period, such as disconnected clients.
+     *
+     * @param timestamp timestamp milliseconds
+     */
+    public void clearIdleMonitorKeyBarriers(long timestamp) {
+        monitorKeyBarriers.barriers.values().removeIf(each -> each.isIdle(timestamp));
+    }
+    
+    int getMonitorKeyBarrierCount() {
+        return monitorKeyBarriers.barriers.size();
+    }
+    
+    private class MonitorKeyBarriers {
+        
+        private final Map<String, RuleDetail> rules;
+        
+        /**
+         * monitor key + splitter + monitor value -> barrier.
+         */
+        private final Map<String, SlidingWindowRuleBarrier> barriers = new ConcurrentHashMap<>(16);
+        
+        private MonitorKeyBarriers(Map<String, RuleDetail> rules) {
+            this.rules = rules;
+        }
+        
+        /**
+         * Apply tps to the barriers of each monitor key, the counts of passed barriers are rolled back if denied.
+         *
+         * @param tpsCheckRequest tps check request
+         * @return denied response, or null if passed
+         */
+        private TpsCheckResponse applyTps(TpsCheckRequest tpsCheckRequest) {
+            BarrierCheckRequest barrierCheckRequest = null;
+            List<SlidingWindowRuleBarrier> passed = null;
+            for (Map.Entry<String, RuleDetail> entry : rules.entrySet()) {
+                String monitorValue = getMonitorValue(entry.getKey(), tpsCheckRequest);
+                if (StringUtils.isEmpty(monitorValue)) {
+                    continue;
+                }
+                SlidingWindowRuleBarrier barrier = getBarrier(entry.getKey() + MONITOR_KEY_SPLITTER + monitorValue,
+                        entry.getValue());
+                if (null == barrier) {
+                    continue;
+                }
+                if (null == barrierCheckRequest) {
+                    barrierCheckRequest = new BarrierCheckRequest();
+                    barrierCheckRequest.setPointName(getPointName());
+                    barrierCheckRequest.setCount(tpsCheckRequest.getCount());
+                    barrierCheckRequest.setTimestamp(tpsCheckRequest.getTimestamp());
+                }
+                TpsCheckResponse response = barrier.applyTps(barrierCheckRequest);
+                if (!response.isSuccess()) {
+                    if (null != passed) {
+                        for (SlidingWindowRuleBarrier each : passed) {
+                            each.rollbackTps(tpsCheckRequest.getTimestamp(), tpsCheckRequest.getCount());
+                        }
+                    }
+                    response.setCode(TpsResultCode.DENY_BY_MONITOR_KEY);
+                    response.setMessage(response.getMessage() + ", monitor key: " + entry.getKey());
+                    return response;
+                }
+                if (rules.size() > 1) {
+                    if (null == passed) {
+                        passed = new ArrayList<>(rules.size());
+                    }
+                    passed.add(barrier);
+                }
+            }
+            return null;
+        }
+        
+        private SlidingWindowRuleBarrier getBarrier(String key, RuleDetail ruleDetail) {
+            SlidingWindowRuleBarrier barrier = barriers.get(key);
+            if (null != barrier || barriers.size() >= MAX_MONITOR_KEY_BARRIERS) {
+                return barrier;
+            }
+            return barriers.computeIfAbsent(key, k -> {
+                SlidingWindowRuleBarrier newBarrier = new SlidingWindowRuleBarrier(getPointName(), k,
+                        ruleDetail.getPeriod());
+                newBarrier.applyRuleDetail(ruleDetail);
+                return newBarrier;
+            });
+        }
+        
+        private String getMonitorValue(String monitorKey, TpsCheckRequest tpsCheckRequest) {
+            if (TpsControlRule.MONITOR_KEY_CLIENT_IP.equals(monitorKey)) {
+                return tpsCheckRequest.getClientIp();
+            }
+            if (TpsControlRule.MONITOR_KEY_CONNECTION_ID.equals(monitorKey)) {
+                return tpsCheckRequest.getConnectionId();
+            }
+            return null;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import com.alibaba.nacos.plugin.control.Loggers;
 import com.alibaba.nacos.plugin.control.tps.TpsControlManager;
 import com.alibaba.nacos.plugin.control.tps.TpsMetrics;
 import com.alibaba.nacos.plugin.control.tps.barrier.TpsBarrier;
+import com.alibaba.nacos.plugin.control.tps.barrier.creator.TpsBarrierCreator;
 import com.alibaba.nacos.plugin.control.tps.request.TpsCheckRequest;
 import com.alibaba.nacos.plugin.control.tps.response.TpsCheckResponse;
 import com.alibaba.nacos.plugin.control.tps.response.TpsResultCode;
@@ -41,6 +42,8 @@ import java.util.concurrent.TimeUnit;
  */
 public class NacosTpsControlManager extends TpsControlManager {
     
+    private static final long MONITOR_KEY_CLEAN_INTERVAL_MILLIS = 5000L;
+    
     /**
      * point name -> tps barrier.
      */
@@ -66,6 +69,26 @@ public class NacosTpsControlManager extends TpsControlManager {
     protected void startTpsReport() {
         executorService
                 .scheduleWithFixedDelay(new NacosTpsControlManager.TpsMetricsReporter(), 0, 900, TimeUnit.MILLISECONDS);
+        executorService.scheduleWithFixedDelay(this::clearIdleMonitorKeyBarriers, MONITOR_KEY_CLEAN_INTERVAL_MILLIS,
+                MONITOR_KEY_CLEAN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    protected TpsBarrierCreator buildTpsBarrierCreator() {
+        return new NacosTpsBarrierCreator();
+    }
+    
+    private void clearIdleMonitorKeyBarriers() {
+        try {
+            long now = System.currentTimeMillis();
+            for (TpsBarrier each : points.values()) {
+                if (each instanceof NacosTpsBarrier) {
+                    ((NacosTpsBarrier) each).clearIdleMonitorKeyBarriers(now);
+                }
+            }
+        } catch (Throwable throwable) {
+            Loggers.TPS.error("Clear idle monitor key barriers error", throwable);
+        }
     }
     
     /**
@@ -116,10 +139,10 @@ public class NacosTpsControlManager extends TpsControlManager {
      * @return check current tps is allowed.
      */
     public TpsCheckResponse check(TpsCheckRequest tpsRequest) {
-        
-        if (points.containsKey(tpsRequest.getPointName())) {
+        TpsBarrier tpsBarrier = points.get(tpsRequest.getPointName());
+        if (null != tpsBarrier) {
             try {
-                return points.get(tpsRequest.getPointName()).applyTps(tpsRequest);
+                return tpsBarrier.applyTps(tpsRequest);
             } catch (Throwable throwable) {
                 Loggers.TPS.warn("[{}]apply tps error,error={}", tpsRequest.getPointName(), throwable);
             }
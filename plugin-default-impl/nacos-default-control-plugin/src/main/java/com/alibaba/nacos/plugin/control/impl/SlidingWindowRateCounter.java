@@ -0,0 +1,124 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.plugin.control.impl;
+
+import com.alibaba.nacos.plugin.control.tps.barrier.RateCounter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free sliding window rate counter.
+ *
+ * <p>The period is split into {@link #SLOT_COUNT} slots, the count of a timestamp is the sum of the slots within one
+ * period ending at the slot of the timestamp. Expired slots are replaced by cas, so counting never blocks. Each slot is
+ * a {@link LongAdder}, so that concurrent requests of a hot point are striped instead of contending on one cas.
+ *
+ * @author Nacos
+ */
+public class SlidingWindowRateCounter extends RateCounter {
+    
+    static final int SLOT_COUNT = 10;
+    
+    private final long slotMillis;
+    
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(SLOT_COUNT);
+    
+    public SlidingWindowRateCounter(String name, TimeUnit period) {
+        super(name, period);
+        this.slotMillis = Math.max(1L, period.toMillis(1) / SLOT_COUNT);
+    }
+    
+    @Override
+    public long add(long timestamp, long count) {
+        currentSlot(timestamp).add(count);
+        return getCount(timestamp);
+    }
+    
+    @Override
+    public boolean tryAdd(long timestamp, long countDelta, long upperLimit) {
+        long slotIndex = timestamp / slotMillis;
+        Slot current = currentSlot(timestamp);
+        // the count is added before summed, so the last of concurrent requests always sees the others.
+        current.add(countDelta);
+        long total = current.sum() + sumOtherSlots(slotIndex, current);
+        if (total <= upperLimit) {
+            return true;
+        }
+        // denied requests are not counted, otherwise a client keeps being denied while it retries.
+        current.add(-countDelta);
+        return false;
+    }
+    
+    /**
+     * Remove the count added at the timestamp, for the request denied by another barrier after passing this one.
+     *
+     * @param timestamp timestamp of the added count
+     * @param count     count to remove
+     */
+    public void rollback(long timestamp, long count) {
+        long slotIndex = timestamp / slotMillis;
+        Slot slot = slots.get((int) (slotIndex % SLOT_COUNT));
+        // a newer slot is the one reused by the stale timestamp, the slot is never replaced within a period.
+        if (null != slot && slot.index >= slotIndex) {
+            slot.add(-count);
+        }
+    }
+    
+    @Override
+    public long getCount(long timestamp) {
+        return sumOtherSlots(timestamp / slotMillis, null);
+    }
+    
+    private long sumOtherSlots(long slotIndex, Slot excluded) {
+        long sum = 0L;
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            Slot slot = slots.get(i);
+            if (null != slot && slot != excluded && slot.index > slotIndex - SLOT_COUNT && slot.index <= slotIndex) {
+                sum += slot.sum();
+            }
+        }
+        return sum;
+    }
+    
+    private Slot currentSlot(long timestamp) {
+        long slotIndex = timestamp / slotMillis;
+        int position = (int) (slotIndex % SLOT_COUNT);
+        Slot slot = slots.get(position);
+        // a slot newer than the timestamp is reused, the timestamp of a request might be a little stale.
+        while (null == slot || slot.index < slotIndex) {
+            Slot newSlot = new Slot(slotIndex);
+            if (slots.compareAndSet(position, slot, newSlot)) {
+                return newSlot;
+            }
+            slot = slots.get(position);
+        }
+        return slot;
+    }
+    
+    private static class Slot extends LongAdder {
+        
+        private static final long serialVersionUID = 2446389722584095578L;
+        
+        private final long index;
+        
+        private Slot(long index) {
+            this.index = index;
+        }
+    }
+}
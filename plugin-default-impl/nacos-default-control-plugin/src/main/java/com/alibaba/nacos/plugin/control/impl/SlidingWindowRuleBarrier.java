@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.plugin.control.impl;
+
+import com.alibaba.nacos.plugin.control.tps.barrier.RateCounter;
+import com.alibaba.nacos.plugin.control.tps.barrier.SimpleCountRuleBarrier;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule barrier counted by {@link SlidingWindowRateCounter}.
+ *
+ * @author Nacos
+ */
+public class SlidingWindowRuleBarrier extends SimpleCountRuleBarrier {
+    
+    /**
+     * Same counter as the one used by super class, it is assigned while super class constructing.
+     */
+    private volatile SlidingWindowRateCounter counter;
+    
+    public SlidingWindowRuleBarrier(String pointName, String ruleName, TimeUnit period) {
+        super(pointName, ruleName, period);
+    }
+    
+    @Override
+    public RateCounter createSimpleCounter(String name, TimeUnit period) {
+        counter = new SlidingWindowRateCounter(name, period);
+        return counter;
+    }
+    
+    /**
+     * Whether nothing is counted in the period ending at the timestamp.
+     *
+     * @param timestamp timestamp milliseconds
+     * @return true if idle
+     */
+    public boolean isIdle(long timestamp) {
+        return counter.getCount(timestamp) <= 0;
+    }
+    
+    /**
+     * Remove the count applied at the timestamp, for the request denied by another barrier after passing this one.
+     *
+     * @param timestamp timestamp of the applied request
+     * @param count     count of the applied request
+     */
+    public void rollbackTps(long timestamp, long count) {
+        counter.rollback(timestamp, count);
+    }
+    
+    @Override
+    public String getBarrierName() {
+        return "slidingwindow";
+    }
+}
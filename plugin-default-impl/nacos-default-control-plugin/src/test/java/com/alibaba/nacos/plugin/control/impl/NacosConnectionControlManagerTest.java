@@ -17,11 +17,14 @@
 package com.alibaba.nacos.plugin.control.impl;
 
 import com.alibaba.nacos.plugin.control.connection.request.ConnectionCheckRequest;
+import com.alibaba.nacos.plugin.control.connection.response.ConnectionCheckCode;
 import com.alibaba.nacos.plugin.control.connection.response.ConnectionCheckResponse;
 import com.alibaba.nacos.plugin.control.connection.rule.ConnectionControlRule;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
+
 public class NacosConnectionControlManagerTest {
     
     @Test
@@ -66,4 +69,35 @@ public class NacosConnectionControlManagerTest {
         ConnectionCheckResponse connectionCheckResponse = nacosConnectionControlManager.check(connectionCheckRequest);
         Assert.assertTrue(connectionCheckResponse.isSuccess());
     }
+    
+    @Test
+    public void testCheckClientIpLimit() {
+        NacosConnectionControlManager nacosConnectionControlManager = new NacosConnectionControlManager();
+        ConnectionControlRule connectionControlRule = new ConnectionControlRule();
+        connectionControlRule.setCountLimitPerClientIp(10);
+        nacosConnectionControlManager.applyConnectionLimitRule(connectionControlRule);
+        ConnectionCheckRequest connectionCheckRequest = new ConnectionCheckRequest("127.0.0.1", "test", "test");
+        ConnectionCheckResponse connectionCheckResponse = nacosConnectionControlManager.check(connectionCheckRequest);
+        Assert.assertFalse(connectionCheckResponse.isSuccess());
+        Assert.assertEquals(ConnectionCheckCode.DENY_BY_IP_OVER, connectionCheckResponse.getCode());
+        
+        connectionControlRule.setCountLimitPerClientIp(11);
+        Assert.assertTrue(nacosConnectionControlManager.check(connectionCheckRequest).isSuccess());
+    }
+    
+    @Test
+    public void testCheckLabelLimit() {
+        NacosConnectionControlManager nacosConnectionControlManager = new NacosConnectionControlManager();
+        ConnectionControlRule connectionControlRule = new ConnectionControlRule();
+        connectionControlRule.setCountLimitPerLabel(Collections.singletonMap("app", Collections.singletonMap("test", 0)));
+        nacosConnectionControlManager.applyConnectionLimitRule(connectionControlRule);
+        ConnectionCheckRequest connectionCheckRequest = new ConnectionCheckRequest("127.0.0.1", "test", "test");
+        connectionCheckRequest.setLabels(Collections.singletonMap("app", "test"));
+        ConnectionCheckResponse connectionCheckResponse = nacosConnectionControlManager.check(connectionCheckRequest);
+        Assert.assertFalse(connectionCheckResponse.isSuccess());
+        Assert.assertEquals(ConnectionCheckCode.DENY_BY_LABEL_OVER, connectionCheckResponse.getCode());
+        
+        connectionCheckRequest.setLabels(Collections.singletonMap("app", "other"));
+        Assert.assertTrue(nacosConnectionControlManager.check(connectionCheckRequest).isSuccess());
+    }
 }
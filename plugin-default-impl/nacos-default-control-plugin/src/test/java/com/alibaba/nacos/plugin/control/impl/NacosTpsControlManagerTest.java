@@ -19,11 +19,13 @@ package com.alibaba.nacos.plugin.control.impl;
 import com.alibaba.nacos.plugin.control.tps.MonitorType;
 import com.alibaba.nacos.plugin.control.tps.request.TpsCheckRequest;
 import com.alibaba.nacos.plugin.control.tps.response.TpsCheckResponse;
+import com.alibaba.nacos.plugin.control.tps.response.TpsResultCode;
 import com.alibaba.nacos.plugin.control.tps.rule.RuleDetail;
 import com.alibaba.nacos.plugin.control.tps.rule.TpsControlRule;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 public class NacosTpsControlManagerTest {
@@ -84,4 +86,115 @@ public class NacosTpsControlManagerTest {
         TpsCheckResponse check = nacosTpsControlManager.check(tpsCheckRequest);
         Assert.assertTrue(check.isSuccess());
     }
+    
+    @Test
+    public void testCheckOverLimit() {
+        NacosTpsControlManager nacosTpsControlManager = new NacosTpsControlManager();
+        nacosTpsControlManager.registerTpsPoint("test");
+        nacosTpsControlManager.applyTpsRule("test", buildRule(1, null));
+        
+        long timeMillis = System.currentTimeMillis();
+        TpsCheckRequest tpsCheckRequest = new TpsCheckRequest("test", "connection1", "127.0.0.1");
+        tpsCheckRequest.setTimestamp(timeMillis);
+        Assert.assertTrue(nacosTpsControlManager.check(tpsCheckRequest).isSuccess());
+        TpsCheckResponse check = nacosTpsControlManager.check(tpsCheckRequest);
+        Assert.assertFalse(check.isSuccess());
+        Assert.assertEquals(TpsResultCode.DENY_BY_POINT, check.getCode());
+    }
+    
+    @Test
+    public void testCheckMonitorKeyOverLimit() {
+        NacosTpsControlManager nacosTpsControlManager = new NacosTpsControlManager();
+        nacosTpsControlManager.registerTpsPoint("test");
+        nacosTpsControlManager.applyTpsRule("test", buildRule(100, TpsControlRule.MONITOR_KEY_CLIENT_IP));
+        
+        long timeMillis = System.currentTimeMillis();
+        TpsCheckRequest tpsCheckRequest = new TpsCheckRequest("test", "connection1", "127.0.0.1");
+        tpsCheckRequest.setTimestamp(timeMillis);
+        Assert.assertTrue(nacosTpsControlManager.check(tpsCheckRequest).isSuccess());
+        TpsCheckResponse check = nacosTpsControlManager.check(tpsCheckRequest);
+        Assert.assertFalse(check.isSuccess());
+        Assert.assertEquals(TpsResultCode.DENY_BY_MONITOR_KEY, check.getCode());
+        
+        // another client ip is counted separately.
+        TpsCheckRequest otherRequest = new TpsCheckRequest("test", "connection2", "127.0.0.2");
+        otherRequest.setTimestamp(timeMillis);
+        Assert.assertTrue(nacosTpsControlManager.check(otherRequest).isSuccess());
+        
+        NacosTpsBarrier tpsBarrier = (NacosTpsBarrier) nacosTpsControlManager.getPoints().get("test");
+        Assert.assertEquals(2, tpsBarrier.getMonitorKeyBarrierCount());
+        tpsBarrier.clearIdleMonitorKeyBarriers(timeMillis);
+        Assert.assertEquals(2, tpsBarrier.getMonitorKeyBarrierCount());
+        tpsBarrier.clearIdleMonitorKeyBarriers(timeMillis + TimeUnit.SECONDS.toMillis(2));
+        Assert.assertEquals(0, tpsBarrier.getMonitorKeyBarrierCount());
+    }
+    
+    @Test
+    public void testDeniedRequestNotCounted() {
+        NacosTpsControlManager nacosTpsControlManager = new NacosTpsControlManager();
+        nacosTpsControlManager.registerTpsPoint("test");
+        nacosTpsControlManager.applyTpsRule("test", buildRule(2, TpsControlRule.MONITOR_KEY_CLIENT_IP));
+        
+        long timeMillis = System.currentTimeMillis();
+        TpsCheckRequest tpsCheckRequest = new TpsCheckRequest("test", "connection1", "127.0.0.1");
+        tpsCheckRequest.setTimestamp(timeMillis);
+        Assert.assertTrue(nacosTpsControlManager.check(tpsCheckRequest).isSuccess());
+        // denied by monitor key, the point count is rolled back.
+        Assert.assertEquals(TpsResultCode.DENY_BY_MONITOR_KEY, nacosTpsControlManager.check(tpsCheckRequest).getCode());
+        
+        TpsCheckRequest otherRequest = new TpsCheckRequest("test", "connection2", "127.0.0.2");
+        otherRequest.setTimestamp(timeMillis);
+        Assert.assertTrue(nacosTpsControlManager.check(otherRequest).isSuccess());
+        
+        // denied by point, the monitor key is not counted.
+        TpsCheckRequest deniedRequest = new TpsCheckRequest("test", "connection3", "127.0.0.3");
+        deniedRequest.setTimestamp(timeMillis);
+        Assert.assertEquals(TpsResultCode.DENY_BY_POINT, nacosTpsControlManager.check(deniedRequest).getCode());
+        NacosTpsBarrier tpsBarrier = (NacosTpsBarrier) nacosTpsControlManager.getPoints().get("test");
+        Assert.assertEquals(2, tpsBarrier.getMonitorKeyBarrierCount());
+    }
+    
+    @Test
+    public void testMonitorKeyCountKeptIfRuleNotChanged() {
+        NacosTpsControlManager nacosTpsControlManager = new NacosTpsControlManager();
+        nacosTpsControlManager.registerTpsPoint("test");
+        nacosTpsControlManager.applyTpsRule("test", buildRule(100, TpsControlRule.MONITOR_KEY_CLIENT_IP));
+        
+        long timeMillis = System.currentTimeMillis();
+        TpsCheckRequest tpsCheckRequest = new TpsCheckRequest("test", "connection1", "127.0.0.1");
+        tpsCheckRequest.setTimestamp(timeMillis);
+        Assert.assertTrue(nacosTpsControlManager.check(tpsCheckRequest).isSuccess());
+        
+        // the point rule is changed only, the count of monitor key is kept.
+        nacosTpsControlManager.applyTpsRule("test", buildRule(200, TpsControlRule.MONITOR_KEY_CLIENT_IP));
+        NacosTpsBarrier tpsBarrier = (NacosTpsBarrier) nacosTpsControlManager.getPoints().get("test");
+        Assert.assertEquals(1, tpsBarrier.getMonitorKeyBarrierCount());
+        Assert.assertEquals(TpsResultCode.DENY_BY_MONITOR_KEY, nacosTpsControlManager.check(tpsCheckRequest).getCode());
+        
+        // the monitor key rule is changed, the count of monitor key is dropped.
+        TpsControlRule changedRule = buildRule(200, null);
+        changedRule.setMonitorKeyRule(
+                Collections.singletonMap(TpsControlRule.MONITOR_KEY_CLIENT_IP, buildRuleDetail(2)));
+        nacosTpsControlManager.applyTpsRule("test", changedRule);
+        Assert.assertEquals(0, tpsBarrier.getMonitorKeyBarrierCount());
+        Assert.assertTrue(nacosTpsControlManager.check(tpsCheckRequest).isSuccess());
+    }
+    
+    private TpsControlRule buildRule(long pointMaxCount, String monitorKey) {
+        TpsControlRule tpsLimitRule = new TpsControlRule();
+        tpsLimitRule.setPointName("test");
+        tpsLimitRule.setPointRule(buildRuleDetail(pointMaxCount));
+        if (null != monitorKey) {
+            tpsLimitRule.setMonitorKeyRule(Collections.singletonMap(monitorKey, buildRuleDetail(1)));
+        }
+        return tpsLimitRule;
+    }
+    
+    private RuleDetail buildRuleDetail(long maxCount) {
+        RuleDetail ruleDetail = new RuleDetail();
+        ruleDetail.setMaxCount(maxCount);
+        ruleDetail.setMonitorType(MonitorType.INTERCEPT.getType());
+        ruleDetail.setPeriod(TimeUnit.SECONDS);
+        return ruleDetail;
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 1999-2023 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.plugin.control.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SlidingWindowRateCounterTest {
+    
+    @Test
+    public void testTryAdd() {
+        SlidingWindowRateCounter counter = new SlidingWindowRateCounter("test", TimeUnit.SECONDS);
+        long timestamp = 10000L;
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(counter.tryAdd(timestamp, 1, 5));
+        }
+        Assert.assertFalse(counter.tryAdd(timestamp, 1, 5));
+        // denied count is not counted.
+        Assert.assertEquals(5, counter.getCount(timestamp));
+    }
+    
+    @Test
+    public void testWindowSliding() {
+        SlidingWindowRateCounter counter = new SlidingWindowRateCounter("test", TimeUnit.SECONDS);
+        long timestamp = 10000L;
+        counter.add(timestamp, 3);
+        counter.add(timestamp + 500L, 2);
+        Assert.assertFalse(counter.tryAdd(timestamp + 900L, 1, 5));
+        // the first slot slides out of the window.
+        Assert.assertTrue(counter.tryAdd(timestamp + 1000L, 3, 5));
+        Assert.assertEquals(5, counter.getCount(timestamp + 1000L));
+        Assert.assertEquals(3, counter.getCount(timestamp + 1500L));
+        Assert.assertEquals(0, counter.getCount(timestamp + 2000L));
+    }
+    
+    @Test
+    public void testStaleTimestamp() {
+        SlidingWindowRateCounter counter = new SlidingWindowRateCounter("test", TimeUnit.SECONDS);
+        long timestamp = 10000L;
+        counter.add(timestamp + 1000L, 1);
+        // slot of the stale timestamp is taken by the newer one, which is reused.
+        counter.add(timestamp, 1);
+        Assert.assertEquals(2, counter.getCount(timestamp + 1000L));
+    }
+    
+    @Test
+    public void testRollback() {
+        SlidingWindowRateCounter counter = new SlidingWindowRateCounter("test", TimeUnit.SECONDS);
+        long timestamp = 10000L;
+        Assert.assertTrue(counter.tryAdd(timestamp, 1, 1));
+        counter.rollback(timestamp, 1);
+        Assert.assertEquals(0, counter.getCount(timestamp));
+        Assert.assertTrue(counter.tryAdd(timestamp, 1, 1));
+    }
+    
+    @Test
+    public void testConcurrentTryAdd() throws InterruptedException {
+        SlidingWindowRateCounter counter = new SlidingWindowRateCounter("test", TimeUnit.MINUTES);
+        long timestamp = System.currentTimeMillis();
+        AtomicInteger passed = new AtomicInteger();
+        int threadCount = 8;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    if (counter.tryAdd(timestamp, 1, 100)) {
+                        passed.incrementAndGet();
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(100, passed.get());
+        Assert.assertEquals(100, counter.getCount(timestamp));
+    }
+}
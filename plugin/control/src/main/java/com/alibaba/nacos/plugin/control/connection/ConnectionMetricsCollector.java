@@ -44,4 +44,36 @@ public interface ConnectionMetricsCollector {
      * @return
      */
     int getCountForIp(String ip);
+    
+    /**
+     * get count for label.
+     *
+     * @param labelKey   label key.
+     * @param labelValue label value.
+     * @return
+     */
+    default int getCountForLabel(String labelKey, String labelValue) {
+        return 0;
+    }
+    
+    /**
+     * get count for ip in the whole cluster, collectors not aware of cluster return the count of current node.
+     *
+     * @param ip ip.
+     * @return
+     */
+    default int getClusterCountForIp(String ip) {
+        return getCountForIp(ip);
+    }
+    
+    /**
+     * get count for label in the whole cluster, collectors not aware of cluster return the count of current node.
+     *
+     * @param labelKey   label key.
+     * @param labelValue label value.
+     * @return
+     */
+    default int getClusterCountForLabel(String labelKey, String labelValue) {
+        return getCountForLabel(labelKey, labelValue);
+    }
 }
@@ -38,6 +38,16 @@ public class ConnectionCheckCode {
      */
     public static final int DENY_BY_TOTAL_OVER = 300;
     
+    /**
+     * deny by connections of the client ip over limit in cluster.
+     */
+    public static final int DENY_BY_IP_OVER = 301;
+    
+    /**
+     * deny by connections of the label over limit in cluster.
+     */
+    public static final int DENY_BY_LABEL_OVER = 302;
+    
     /**
      * pass by monitor type.
      */
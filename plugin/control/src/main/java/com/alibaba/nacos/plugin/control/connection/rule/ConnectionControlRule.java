@@ -16,7 +16,9 @@
 
 package com.alibaba.nacos.plugin.control.connection.rule;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -30,6 +32,16 @@ public class ConnectionControlRule {
     
     private int countLimit = -1;
     
+    /**
+     * limit of connections from each client ip in the whole cluster, -1 means no limit.
+     */
+    private int countLimitPerClientIp = -1;
+    
+    /**
+     * label key -> label value -> limit of connections with the label in the whole cluster.
+     */
+    private Map<String, Map<String, Integer>> countLimitPerLabel = new HashMap<>();
+    
     public int getCountLimit() {
         return countLimit;
     }
@@ -45,4 +57,20 @@ public class ConnectionControlRule {
     public void setMonitorIpList(Set<String> monitorIpList) {
         this.monitorIpList = monitorIpList;
     }
+    
+    public int getCountLimitPerClientIp() {
+        return countLimitPerClientIp;
+    }
+    
+    public void setCountLimitPerClientIp(int countLimitPerClientIp) {
+        this.countLimitPerClientIp = countLimitPerClientIp;
+    }
+    
+    public Map<String, Map<String, Integer>> getCountLimitPerLabel() {
+        return countLimitPerLabel;
+    }
+    
+    public void setCountLimitPerLabel(Map<String, Map<String, Integer>> countLimitPerLabel) {
+        this.countLimitPerLabel = countLimitPerLabel;
+    }
 }
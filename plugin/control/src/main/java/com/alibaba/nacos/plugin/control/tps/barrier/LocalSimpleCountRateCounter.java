@@ -16,10 +16,9 @@
 
 package com.alibaba.nacos.plugin.control.tps.barrier;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * local simple count rate counter.
@@ -32,13 +31,16 @@ public class LocalSimpleCountRateCounter extends RateCounter {
     
     long startTime = System.currentTimeMillis();
     
-    private List<TpsSlot> slotList;
+    /**
+     * Slots are replaced by cas when the window moves, so counting never blocks.
+     */
+    private final AtomicReferenceArray<TpsSlot> slotList;
     
     public LocalSimpleCountRateCounter(String name, TimeUnit period) {
         super(name, period);
-        slotList = new ArrayList<>(DEFAULT_RECORD_SIZE);
+        slotList = new AtomicReferenceArray<>(DEFAULT_RECORD_SIZE);
         for (int i = 0; i < DEFAULT_RECORD_SIZE; i++) {
-            slotList.add(new TpsSlot());
+            slotList.set(i, new TpsSlot(0L));
         }
         long now = System.currentTimeMillis();
         
@@ -61,10 +63,11 @@ public class LocalSimpleCountRateCounter extends RateCounter {
 
     @Override
     public boolean tryAdd(long timestamp, long countDelta, long upperLimit) {
-        if (createSlotIfAbsent(timestamp).countHolder.count.addAndGet(countDelta) <= upperLimit) {
+        SlotCountHolder countHolder = createSlotIfAbsent(timestamp).countHolder;
+        if (countHolder.count.addAndGet(countDelta) <= upperLimit) {
             return true;
         } else {
-            createSlotIfAbsent(timestamp).countHolder.interceptedCount.addAndGet(countDelta);
+            countHolder.interceptedCount.addAndGet(countDelta);
             return false;
         }
     }
@@ -112,26 +115,24 @@ public class LocalSimpleCountRateCounter extends RateCounter {
         long currentWindowTime = startTime + diff * getPeriod().toMillis(1);
         int index = (int) diff % DEFAULT_RECORD_SIZE;
         TpsSlot tpsSlot = slotList.get(index);
-        if (tpsSlot.time != currentWindowTime) {
-            tpsSlot.reset(currentWindowTime);
+        while (tpsSlot.time != currentWindowTime) {
+            TpsSlot newSlot = new TpsSlot(currentWindowTime);
+            if (slotList.compareAndSet(index, tpsSlot, newSlot)) {
+                return newSlot;
+            }
+            tpsSlot = slotList.get(index);
         }
-        return slotList.get(index);
+        return tpsSlot;
     }
     
     static class TpsSlot {
         
-        long time = 0L;
+        final long time;
         
-        private SlotCountHolder countHolder = new SlotCountHolder();
+        private final SlotCountHolder countHolder = new SlotCountHolder();
         
-        public void reset(long second) {
-            synchronized (this) {
-                if (this.time != second) {
-                    this.time = second;
-                    countHolder.count.set(0L);
-                    countHolder.interceptedCount.set(0);
-                }
-            }
+        TpsSlot(long time) {
+            this.time = time;
         }
         
         @Override
@@ -35,6 +35,11 @@ public class TpsResultCode {
      */
     public static final int DENY_BY_POINT = 300;
     
+    /**
+     * deny by monitor key rule, such as client ip or connection id.
+     */
+    public static final int DENY_BY_MONITOR_KEY = 301;
+    
     /**
      * skip.
      */
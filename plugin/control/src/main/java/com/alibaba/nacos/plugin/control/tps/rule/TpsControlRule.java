@@ -16,6 +16,9 @@
 
 package com.alibaba.nacos.plugin.control.tps.rule;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * tps control point.
  *
@@ -24,10 +27,25 @@ package com.alibaba.nacos.plugin.control.tps.rule;
  */
 public class TpsControlRule {
     
+    /**
+     * monitor key of client ip, each client ip is counted separately.
+     */
+    public static final String MONITOR_KEY_CLIENT_IP = "clientIp";
+    
+    /**
+     * monitor key of connection id, each connection is counted separately.
+     */
+    public static final String MONITOR_KEY_CONNECTION_ID = "connectionId";
+    
     private String pointName;
     
     private RuleDetail pointRule;
     
+    /**
+     * monitor key -> rule detail, see {@link #MONITOR_KEY_CLIENT_IP} and {@link #MONITOR_KEY_CONNECTION_ID}.
+     */
+    private Map<String, RuleDetail> monitorKeyRule = new HashMap<>(4);
+    
     public String getPointName() {
         return pointName;
     }
@@ -44,8 +62,17 @@ public class TpsControlRule {
         this.pointRule = pointRule;
     }
     
+    public Map<String, RuleDetail> getMonitorKeyRule() {
+        return monitorKeyRule;
+    }
+    
+    public void setMonitorKeyRule(Map<String, RuleDetail> monitorKeyRule) {
+        this.monitorKeyRule = monitorKeyRule;
+    }
+    
     @Override
     public String toString() {
-        return "TpsControlRule{" + "pointName='" + pointName + '\'' + ", pointRule=" + pointRule + "}'";
+        return "TpsControlRule{" + "pointName='" + pointName + '\'' + ", pointRule=" + pointRule + ", monitorKeyRule="
+                + monitorKeyRule + "}'";
     }
 }